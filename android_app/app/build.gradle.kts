@@ -1,5 +1,8 @@
+import com.android.build.api.variant.BuildConfigField
+
 plugins {
     alias(libs.plugins.android.application)
+    alias(libs.plugins.baselineprofile)
     id("com.google.gms.google-services")
 }
 
@@ -16,16 +19,36 @@ android {
         versionName = "1.0"
 
         testInstrumentationRunner = "androidx.test.runner.AndroidJUnitRunner"
+        // Backend de desarrollo (IP del emulador Android)
+        buildConfigField("String", "API_BASE_URL", "\"http://10.0.2.2:8000/\"")
+        // Emulador de Firebase Auth (host vacío = Firebase real)
+        buildConfigField("String", "AUTH_EMULATOR_HOST", "\"\"")
+        buildConfigField("int", "AUTH_EMULATOR_PORT", "0")
+
+        // Esquema de Room versionado en el repositorio para probar las migraciones
+        javaCompileOptions {
+            annotationProcessorOptions {
+                arguments += mapOf("room.schemaLocation" to "$projectDir/schemas")
+            }
+        }
     }
 
     buildTypes {
         release {
-            isMinifyEnabled = false
+            // R8 en modo completo (gradle.properties): los modelos JSON no usan reflexión
+            // gracias a los TypeAdapter generados, así que se pueden recortar y renombrar
+            isMinifyEnabled = true
+            isShrinkResources = true
             proguardFiles(
                 getDefaultProguardFile("proguard-android-optimize.txt"),
                 "proguard-rules.pro"
             )
         }
+        // Solo las builds benchmarkRelease y nonMinifiedRelease (plugin de Baseline Profile) se
+        // firman con la clave de debug, para instalarlas desde :macrobenchmark; release no se firma
+        matching { it.name == "benchmarkRelease" || it.name == "nonMinifiedRelease" }.configureEach {
+            signingConfig = signingConfigs.getByName("debug")
+        }
     }
     compileOptions {
         sourceCompatibility = JavaVersion.VERSION_1_8
@@ -33,10 +56,46 @@ android {
     }
     buildFeatures {
         viewBinding = true
+        buildConfig = true
+    }
+    sourceSets {
+        // MigrationTestHelper lee los esquemas exportados desde los assets del test
+        getByName("androidTest").assets.srcDir("$projectDir/schemas")
+    }
+}
+
+androidComponents {
+    onVariants { variant ->
+        // Las builds que miden y perfilan los benchmarks usan el backend local que estos
+        // levantan en el dispositivo (StandInBackend), también como emulador de Firebase Auth:
+        // los tiempos no incluyen llamadas a Firebase y no hace falta una cuenta real
+        if (variant.buildType == "benchmarkRelease" || variant.buildType == "nonMinifiedRelease") {
+            variant.buildConfigFields.put(
+                "API_BASE_URL",
+                BuildConfigField("String", "\"http://127.0.0.1:8765/\"", null)
+            )
+            variant.buildConfigFields.put(
+                "AUTH_EMULATOR_HOST",
+                BuildConfigField("String", "\"127.0.0.1\"", null)
+            )
+            variant.buildConfigFields.put(
+                "AUTH_EMULATOR_PORT",
+                BuildConfigField("int", "8765", null)
+            )
+        }
     }
 }
 
+baselineProfile {
+    // El perfil generado se copia a src/main/generated/baselineProfiles y va en todas las builds
+    mergeIntoMain = true
+    // Agrupa en el DEX las clases del perfil de arranque
+    dexLayoutOptimization = true
+}
+
 dependencies {
+    // Modelos, cliente del API y cachés (módulo Java puro)
+    implementation(project(":core"))
     implementation(libs.appcompat)
     implementation(libs.material)
     implementation(libs.activity)
@@ -45,14 +104,26 @@ dependencies {
     testImplementation(libs.junit)
     androidTestImplementation(libs.ext.junit)
     androidTestImplementation(libs.espresso.core)
+    androidTestImplementation(libs.room.testing)
+    androidTestImplementation(libs.mockwebserver)
     implementation(platform(libs.firebase.bom))
     implementation(libs.firebase.analytics)
     implementation(libs.navigation.fragment)
     implementation(libs.navigation.ui)
+    // SavedStateHandle para restaurar pantallas sin volver a la red
+    implementation(libs.lifecycle.viewmodel.savedstate)
     // Retrofit
     implementation(libs.retrofit)
     implementation(libs.converter.gson)
     // OkHttp (para logging opcional)
     implementation(libs.logging.interceptor)
     implementation(libs.gson)
+    // Room (base de datos local)
+    implementation(libs.room.runtime)
+    annotationProcessor(libs.room.compiler)
+    // WorkManager (envío diferido de cambios hechos sin conexión)
+    implementation(libs.work.runtime)
+    // Instala el Baseline Profile en dispositivos sin Play Store (sideload, benchmarks)
+    implementation(libs.profileinstaller)
+    baselineProfile(project(":macrobenchmark"))
 }
\ No newline at end of file
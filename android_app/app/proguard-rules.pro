@@ -14,8 +14,25 @@
 
 # Uncomment this to preserve the line number information for
 # debugging stack traces.
-#-keepattributes SourceFile,LineNumberTable
+-keepattributes SourceFile,LineNumberTable
 
 # If you keep the line number information, uncomment this to
 # hide the original source file name.
-#-renamesourcefileattribute SourceFile
\ No newline at end of file
+-renamesourcefileattribute SourceFile
+
+# --- kAIroscope (R8 en modo completo) ---
+
+# Modelos JSON (data.model): sin reglas. Los lee y escribe el TypeAdapter que genera :codegen
+# para cada @JsonModel, con acceso directo a los campos, así que R8 puede renombrarlos.
+# Un modelo nuevo sin @JsonModel caería en la reflexión de Gson y perdería los nombres de sus
+# campos; GeneratedTypeAdapterFactoryTest comprueba que todos los de ApiService lo tienen.
+
+# Retrofit 2.9 no trae estas reglas (llegaron en 2.10): en modo completo R8 borra la firma
+# genérica de Call<T>/Response<T>, y Retrofit la necesita para saber a qué modelo convertir
+-keep,allowobfuscation,allowshrinking interface retrofit2.Call
+-keep,allowobfuscation,allowshrinking class retrofit2.Response
+
+# Fragments del grafo de navegación: se crean por nombre con su constructor vacío
+-keep class com.lmr.kairoscope.view.fragment.** extends androidx.fragment.app.Fragment {
+    public <init>();
+}
\ No newline at end of file
@@ -0,0 +1,144 @@
+package com.lmr.kairoscope.adapters;
+
+import android.app.Instrumentation;
+import android.content.Context;
+import android.os.SystemClock;
+import android.util.Log;
+import android.view.ContextThemeWrapper;
+import android.view.View;
+
+import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.LinearLayoutManager;
+import androidx.recyclerview.widget.RecyclerView;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.platform.app.InstrumentationRegistry;
+
+import com.lmr.kairoscope.R;
+import com.lmr.kairoscope.data.model.Deck;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Mide el trabajo en el hilo principal al refrescar una lista de varios cientos de barajas:
+ * repintado completo (notifyDataSetChanged) frente a la comparación en segundo plano
+ * de {@link DeckListAdapter}. Los tiempos se escriben en logcat con la etiqueta del test.
+ */
+@RunWith(AndroidJUnit4.class)
+public class DeckListAdapterFrameTest {
+
+    private static final String TAG = "DeckListFrameTest";
+    private static final int DECKS = 500;
+    private static final int ROUNDS = 20;
+    private static final int WIDTH = 1080;
+    private static final int HEIGHT = 2340;
+
+    private Instrumentation instrumentation;
+    private RecyclerView recyclerView;
+    private CountingAdapter adapter;
+
+    @Before
+    public void setUp() throws InterruptedException {
+        instrumentation = InstrumentationRegistry.getInstrumentation();
+        Context context = new ContextThemeWrapper(instrumentation.getTargetContext(), R.style.AppTheme);
+        instrumentation.runOnMainSync(() -> {
+            recyclerView = new RecyclerView(context);
+            recyclerView.setLayoutManager(new LinearLayoutManager(context));
+            // Sin animaciones: solo se mide el repintado de las filas
+            recyclerView.setItemAnimator(null);
+            adapter = new CountingAdapter();
+            recyclerView.setAdapter(adapter);
+        });
+        submitAndWait(decks(0));
+        runLayout();
+    }
+
+    @Test
+    public void diffedRefreshOnlyRebindsChangedRows() throws InterruptedException {
+        long fullNanos = 0;
+        int fullBinds = 0;
+        long diffNanos = 0;
+        int diffBinds = 0;
+
+        for (int round = 1; round <= ROUNDS; round++) {
+            // Refresco completo, como hacía el adaptador antes
+            adapter.binds.set(0);
+            instrumentation.runOnMainSync(adapter::notifyDataSetChanged);
+            fullNanos += runLayout();
+            fullBinds += adapter.binds.get();
+
+            // Refresco con una sola baraja visible modificada
+            adapter.binds.set(0);
+            submitAndWait(decks(round));
+            diffNanos += runLayout();
+            diffBinds += adapter.binds.get();
+        }
+
+        Log.i(TAG, String.format("full refresh: %.3f ms/frame, %d binds/frame",
+                fullNanos / 1e6 / ROUNDS, fullBinds / ROUNDS));
+        Log.i(TAG, String.format("diffed refresh: %.3f ms/frame, %d binds/frame",
+                diffNanos / 1e6 / ROUNDS, diffBinds / ROUNDS));
+
+        assertEquals("only the changed row is rebound", ROUNDS, diffBinds);
+        assertTrue("a full refresh rebinds every visible row", fullBinds > diffBinds);
+    }
+
+    /**
+     * Lista de barajas en la que solo cambia el número de cartas de la primera.
+     */
+    private static List<DeckUiModel> decks(int version) {
+        List<Deck> decks = new ArrayList<>(DECKS);
+        for (int i = 1; i <= DECKS; i++) {
+            decks.add(new Deck(i, "Baraja " + i, "Historia", "#3F51B5",
+                    "2024-05-01T10:00:00Z", i == 1 ? 40 + version : 40));
+        }
+        return DeckUiModel.fromDecks(decks);
+    }
+
+    private void submitAndWait(List<DeckUiModel> decks) throws InterruptedException {
+        CountDownLatch committed = new CountDownLatch(1);
+        instrumentation.runOnMainSync(() -> adapter.submitList(decks, committed::countDown));
+        assertTrue(committed.await(5, TimeUnit.SECONDS));
+    }
+
+    /**
+     * Ejecuta en el hilo principal el measure/layout que haría el siguiente frame.
+     * @return nanosegundos empleados
+     */
+    private long runLayout() {
+        long[] elapsed = new long[1];
+        instrumentation.runOnMainSync(() -> {
+            long start = SystemClock.elapsedRealtimeNanos();
+            recyclerView.measure(
+                    View.MeasureSpec.makeMeasureSpec(WIDTH, View.MeasureSpec.EXACTLY),
+                    View.MeasureSpec.makeMeasureSpec(HEIGHT, View.MeasureSpec.EXACTLY));
+            recyclerView.layout(0, 0, WIDTH, HEIGHT);
+            elapsed[0] = SystemClock.elapsedRealtimeNanos() - start;
+        });
+        return elapsed[0];
+    }
+
+    private static class CountingAdapter extends DeckListAdapter {
+        final AtomicInteger binds = new AtomicInteger();
+
+        CountingAdapter() {
+            super(null);
+        }
+
+        @Override
+        public void onBindViewHolder(@NonNull DeckViewHolder holder, int position) {
+            binds.incrementAndGet();
+            super.onBindViewHolder(holder, position);
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.lmr.kairoscope.data.local;
+
+import android.content.ContentValues;
+import android.database.Cursor;
+import android.database.sqlite.SQLiteDatabase;
+
+import androidx.room.Room;
+import androidx.room.testing.MigrationTestHelper;
+import androidx.sqlite.db.SupportSQLiteDatabase;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.platform.app.InstrumentationRegistry;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.io.IOException;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Comprueba las migraciones de {@link AppDatabase} contra los esquemas exportados en
+ * app/schemas: la base migrada debe coincidir con la que crearía Room y conservar los datos.
+ */
+@RunWith(AndroidJUnit4.class)
+public class AppDatabaseMigrationTest {
+
+    private static final String TEST_DB = "migration-test.db";
+    private static final String UID = "user-1";
+
+    @Rule
+    public MigrationTestHelper helper = new MigrationTestHelper(
+            InstrumentationRegistry.getInstrumentation(), AppDatabase.class);
+
+    @Test
+    public void migrate1To2KeepsDecksAndCards() throws IOException {
+        SupportSQLiteDatabase db = helper.createDatabase(TEST_DB, 1);
+        ContentValues deck = new ContentValues();
+        deck.put("id", 7);
+        deck.put("owner_uid", UID);
+        deck.put("name", "Baraja");
+        deck.put("card_count", 1);
+        db.insert("decks", SQLiteDatabase.CONFLICT_FAIL, deck);
+        ContentValues card = new ContentValues();
+        card.put("id", 70);
+        card.put("deck_id", 7);
+        card.put("position", 0);
+        card.put("text", "Carta");
+        db.insert("cards", SQLiteDatabase.CONFLICT_FAIL, card);
+        db.close();
+
+        db = helper.runMigrationsAndValidate(TEST_DB, 2, true, AppDatabase.MIGRATION_1_2);
+
+        try (Cursor cursor = db.query("SELECT sync_state FROM decks WHERE id = 7")) {
+            cursor.moveToFirst();
+            assertEquals(DeckEntity.SYNC_SYNCED, cursor.getInt(0));
+        }
+        try (Cursor cursor = db.query("SELECT COUNT(*) FROM pending_mutations")) {
+            cursor.moveToFirst();
+            assertEquals(0, cursor.getInt(0));
+        }
+        db.close();
+    }
+
+    @Test
+    public void migratedDatabaseOpensWithRoom() throws IOException {
+        helper.createDatabase(TEST_DB, 1).close();
+
+        // Room valida el esquema migrado contra las entidades compiladas al abrirla
+        AppDatabase database = Room.databaseBuilder(
+                        InstrumentationRegistry.getInstrumentation().getTargetContext(),
+                        AppDatabase.class, TEST_DB)
+                .addMigrations(AppDatabase.MIGRATION_1_2)
+                .allowMainThreadQueries()
+                .build();
+        helper.closeWhenFinished(database);
+
+        assertTrue(database.outboxDao().getPending(UID).isEmpty());
+        assertTrue(database.deckDao().getDecks(UID).isEmpty());
+    }
+}
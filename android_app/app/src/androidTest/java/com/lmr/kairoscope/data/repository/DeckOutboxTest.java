@@ -0,0 +1,197 @@
+package com.lmr.kairoscope.data.repository;
+
+import androidx.annotation.NonNull;
+import androidx.room.Room;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.platform.app.InstrumentationRegistry;
+
+import com.lmr.kairoscope.data.local.AppDatabase;
+import com.lmr.kairoscope.data.local.DeckEntity;
+import com.lmr.kairoscope.data.local.PendingMutationEntity;
+import com.lmr.kairoscope.data.model.DeckResponse;
+import com.lmr.kairoscope.data.network.ApiClient;
+import com.lmr.kairoscope.data.network.TokenSource;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import okhttp3.logging.HttpLoggingInterceptor;
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Vaciado del outbox contra un servidor local y una base Room en memoria: borrados
+ * confirmados, rechazados, abandonados tras {@link DeckOutbox#MAX_ATTEMPTS} fallos y
+ * rechazados por sesión caducada, con la baraja restaurada en los tres últimos casos.
+ */
+@RunWith(AndroidJUnit4.class)
+public class DeckOutboxTest {
+
+    private static final String UID = "user-1";
+    private static final int DECK_ID = 7;
+
+    private final MockWebServer server = new MockWebServer();
+    private final FakeTokenSource tokens = new FakeTokenSource();
+    private final RecordingListener listener = new RecordingListener();
+    private AppDatabase database;
+    private DeckOutbox outbox;
+
+    @Before
+    public void setUp() throws IOException {
+        server.start();
+        database = Room.inMemoryDatabaseBuilder(
+                        InstrumentationRegistry.getInstrumentation().getTargetContext(), AppDatabase.class)
+                .allowMainThreadQueries()
+                .build();
+        ApiClient client = new ApiClient(server.url("/").toString(), tokens, null, 0,
+                HttpLoggingInterceptor.Level.NONE);
+        outbox = new DeckOutbox(client.getApiService(), tokens, database.outboxDao(),
+                client.getGson(), listener);
+
+        DeckEntity deck = new DeckEntity();
+        deck.id = DECK_ID;
+        deck.ownerUid = UID;
+        deck.name = "Baraja";
+        database.deckDao().upsertDeck(deck);
+        outbox.enqueueDelete(UID, DECK_ID);
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        database.close();
+        server.shutdown();
+    }
+
+    @Test
+    public void confirmedDeleteRemovesDeck() {
+        respondAlways(new MockResponse().setResponseCode(200)
+                .setBody("{\"status\":\"success\",\"message\":\"Baraja eliminada\"}"));
+
+        assertTrue(outbox.drain(UID));
+
+        assertNull(database.deckDao().getDeck(UID, DECK_ID));
+        assertTrue(database.outboxDao().getPending(UID).isEmpty());
+        assertEquals(1, listener.confirmed.get());
+    }
+
+    @Test
+    public void rejectedDeleteRestoresDeck() {
+        respondAlways(new MockResponse().setResponseCode(403));
+
+        assertTrue(outbox.drain(UID));
+
+        assertRolledBack();
+    }
+
+    @Test
+    public void transientFailuresGiveUpAfterMaxAttempts() {
+        respondAlways(new MockResponse().setResponseCode(500));
+
+        for (int attempt = 1; attempt < DeckOutbox.MAX_ATTEMPTS; attempt++) {
+            assertFalse(outbox.drain(UID));
+            PendingMutationEntity pending = database.outboxDao().getPending(UID).get(0);
+            assertEquals(attempt, pending.attempts);
+        }
+        assertTrue(outbox.drain(UID));
+
+        assertRolledBack();
+    }
+
+    @Test
+    public void unauthorizedRetriesOnceWithRefreshedToken() {
+        respondAlways(new MockResponse().setResponseCode(401));
+
+        assertFalse(outbox.drain(UID));
+        assertTrue(database.outboxDao().getPending(UID).get(0).authRetried);
+        int refreshes = tokens.refreshes.get();
+
+        assertTrue(outbox.drain(UID));
+
+        assertRolledBack();
+        // El segundo 401 ya no fuerza otra renovación desde el outbox
+        assertEquals(refreshes + 1, tokens.refreshes.get());
+    }
+
+    @Test
+    public void unauthorizedWithoutSessionRollsBackAtOnce() {
+        respondAlways(new MockResponse().setResponseCode(401));
+        tokens.signedIn = false;
+
+        assertTrue(outbox.drain(UID));
+
+        assertRolledBack();
+    }
+
+    private void assertRolledBack() {
+        DeckEntity deck = database.deckDao().getDeck(UID, DECK_ID);
+        assertNotNull(deck);
+        assertEquals(DeckEntity.SYNC_SYNCED, deck.syncState);
+        assertTrue(database.outboxDao().getPending(UID).isEmpty());
+        assertEquals(1, listener.rejected.size());
+        assertEquals(0, listener.confirmed.get());
+    }
+
+    private void respondAlways(MockResponse response) {
+        server.setDispatcher(new Dispatcher() {
+            @NonNull
+            @Override
+            public MockResponse dispatch(@NonNull RecordedRequest request) {
+                return response;
+            }
+        });
+    }
+
+    private static class FakeTokenSource implements TokenSource {
+        volatile boolean signedIn = true;
+        final AtomicInteger refreshes = new AtomicInteger();
+
+        @Override
+        public String getToken() {
+            return signedIn ? "token" : null;
+        }
+
+        @Override
+        public String refreshToken() {
+            refreshes.incrementAndGet();
+            return signedIn ? "token-" + refreshes.get() : null;
+        }
+    }
+
+    private static class RecordingListener implements DeckOutbox.Listener {
+        final AtomicInteger confirmed = new AtomicInteger();
+        final List<String> rejected = new ArrayList<>();
+
+        @Override
+        public void onDeleteConfirmed(String uid, int deckId) {
+            confirmed.incrementAndGet();
+        }
+
+        @Override
+        public void onDeleteRejected(String uid, int deckId, String message) {
+            rejected.add(message);
+        }
+
+        @Override
+        public void onCreateCompleted(String uid, DeckResponse.DeckInfo deck) {
+        }
+
+        @Override
+        public void onCreateRejected(String uid, String message) {
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.lmr.kairoscope;
+
+import android.app.Application;
+import android.content.ComponentCallbacks2;
+import android.content.Context;
+
+import com.google.firebase.auth.FirebaseAuth;
+import com.lmr.kairoscope.data.repository.AuthRepository;
+import com.lmr.kairoscope.data.repository.DeckRepository;
+
+/**
+ * Application que mantiene el grafo de repositorios compartido por todo el proceso.
+ * Los repositorios se crean una sola vez, bajo demanda, para no penalizar el arranque.
+ */
+public class KairoscopeApplication extends Application {
+
+    private AuthRepository authRepository;
+    private DeckRepository deckRepository;
+
+    @Override
+    public void onCreate() {
+        super.onCreate();
+        // Builds de benchmark: Firebase Auth usa el emulador que sirve :macrobenchmark en el
+        // propio dispositivo. Debe configurarse antes de cualquier otro uso de FirebaseAuth
+        if (!BuildConfig.AUTH_EMULATOR_HOST.isEmpty()) {
+            FirebaseAuth.getInstance().useEmulator(BuildConfig.AUTH_EMULATOR_HOST,
+                    BuildConfig.AUTH_EMULATOR_PORT);
+        }
+    }
+
+    /**
+     * Obtiene la Application desde cualquier contexto.
+     */
+    public static KairoscopeApplication from(Context context) {
+        return (KairoscopeApplication) context.getApplicationContext();
+    }
+
+    public synchronized AuthRepository getAuthRepository() {
+        if (authRepository == null) {
+            authRepository = new AuthRepository(this);
+        }
+        return authRepository;
+    }
+
+    public synchronized DeckRepository getDeckRepository() {
+        if (deckRepository == null) {
+            deckRepository = new DeckRepository(this);
+        }
+        return deckRepository;
+    }
+
+    /**
+     * Reenvía la presión de memoria a las cachés del repositorio, si ya existe.
+     */
+    @Override
+    public void onTrimMemory(int level) {
+        super.onTrimMemory(level);
+        DeckRepository repository;
+        synchronized (this) {
+            repository = deckRepository;
+        }
+        if (repository != null) {
+            repository.onTrimMemory(level);
+        }
+    }
+
+    @Override
+    public void onLowMemory() {
+        super.onLowMemory();
+        onTrimMemory(ComponentCallbacks2.TRIM_MEMORY_COMPLETE);
+    }
+}
@@ -1,13 +1,16 @@
 package com.lmr.kairoscope.adapters;
 
-import android.graphics.Color;
-import android.graphics.drawable.GradientDrawable;
+import android.annotation.SuppressLint;
+import android.content.res.ColorStateList;
 import android.view.LayoutInflater;
+import android.view.MotionEvent;
 import android.view.View;
 import android.view.ViewGroup;
 import android.widget.TextView;
 
 import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.DiffUtil;
+import androidx.recyclerview.widget.ListAdapter;
 import androidx.recyclerview.widget.RecyclerView;
 import com.google.android.material.card.MaterialCardView;
 import com.google.android.material.button.MaterialButton;
@@ -15,31 +18,53 @@ import com.google.android.material.button.MaterialButton;
 import com.lmr.kairoscope.R;
 import com.lmr.kairoscope.data.model.Deck;
 
-import java.text.SimpleDateFormat;
 import java.util.ArrayList;
-import java.util.Date;
 import java.util.List;
-import java.util.Locale;
 
 /**
  * Adaptador para mostrar la lista de barajas del usuario en un RecyclerView.
  * Muestra nombre, disciplina, cantidad de cartas y fecha de creación de cada baraja.
+ * Las listas nuevas se comparan en un hilo de fondo ({@link ListAdapter}) y solo se
+ * notifican las filas que cambian; los ids estables son los de las barajas.
+ * Las filas llegan ya preparadas ({@link DeckUiModel}), así que pintar no formatea
+ * ni crea objetos.
  */
-public class DeckListAdapter extends RecyclerView.Adapter<DeckListAdapter.DeckViewHolder> {
+public class DeckListAdapter extends ListAdapter<DeckUiModel, DeckListAdapter.DeckViewHolder> {
+
+    /**
+     * Misma baraja si coincide el id; mismo contenido si no cambia nada de lo que se pinta.
+     */
+    private static final DiffUtil.ItemCallback<DeckUiModel> DIFF_CALLBACK = new DiffUtil.ItemCallback<DeckUiModel>() {
+        @Override
+        public boolean areItemsTheSame(@NonNull DeckUiModel oldItem, @NonNull DeckUiModel newItem) {
+            return oldItem.getId() == newItem.getId();
+        }
+
+        @Override
+        public boolean areContentsTheSame(@NonNull DeckUiModel oldItem, @NonNull DeckUiModel newItem) {
+            return oldItem.hasSameContent(newItem);
+        }
+    };
 
-    private List<Deck> deckList = new ArrayList<>();
     private OnDeckClickListener onDeckClickListener;
 
     /**
      * Interface para manejar los eventos de click en los elementos de la lista.
+     * onDeckPressed (al tocar, antes del click) y onDeckVisible permiten adelantar
+     * la carga del detalle.
      */
     public interface OnDeckClickListener {
         void onDeckClick(Deck deck);
         void onDeckDelete(Deck deck);
+        void onDeckLongClick(Deck deck);
+        void onDeckPressed(Deck deck);
+        void onDeckVisible(Deck deck);
     }
 
     public DeckListAdapter(OnDeckClickListener listener) {
+        super(DIFF_CALLBACK);
         this.onDeckClickListener = listener;
+        setHasStableIds(true);
     }
 
     @NonNull
@@ -52,24 +77,30 @@ public class DeckListAdapter extends RecyclerView.Adapter<DeckListAdapter.DeckVi
 
     @Override
     public void onBindViewHolder(@NonNull DeckViewHolder holder, int position) {
-        Deck deck = deckList.get(position);
-        holder.bind(deck);
+        holder.bind(getItem(position));
     }
 
     @Override
-    public int getItemCount() {
-        return deckList.size();
+    public void onViewAttachedToWindow(@NonNull DeckViewHolder holder) {
+        super.onViewAttachedToWindow(holder);
+        int position = holder.getAdapterPosition();
+        if (onDeckClickListener != null && position != RecyclerView.NO_POSITION) {
+            onDeckClickListener.onDeckVisible(getItem(position).getDeck());
+        }
+    }
+
+    @Override
+    public long getItemId(int position) {
+        return getItem(position).getId();
     }
 
     /**
-     * Actualiza la lista de barajas y notifica los cambios al RecyclerView.
+     * Actualiza la lista de barajas. La comparación con la anterior se hace fuera del
+     * hilo principal y solo se repintan o animan las filas que han cambiado.
      */
-    public void updateDeckList(List<Deck> newDeckList) {
-        this.deckList.clear();
-        if (newDeckList != null) {
-            this.deckList.addAll(newDeckList);
-        }
-        notifyDataSetChanged();
+    public void updateDeckList(List<DeckUiModel> newDeckList) {
+        // Copia propia: ListAdapter ignora una lista idéntica a la actual
+        submitList(newDeckList != null ? new ArrayList<>(newDeckList) : null);
     }
 
     /**
@@ -81,7 +112,10 @@ public class DeckListAdapter extends RecyclerView.Adapter<DeckListAdapter.DeckVi
         private TextView textViewCardCount;
         private TextView textViewCreationDate;
         private MaterialButton buttonDelete;
+        // Colores del tema para las barajas con un color no válido
+        private final ColorStateList defaultStrokeColor;
 
+        @SuppressLint("ClickableViewAccessibility")
         public DeckViewHolder(@NonNull View itemView) {
             super(itemView);
             // Inicializar vistas
@@ -90,22 +124,43 @@ public class DeckListAdapter extends RecyclerView.Adapter<DeckListAdapter.DeckVi
             textViewCardCount = itemView.findViewById(R.id.textViewCardCount);
             textViewCreationDate = itemView.findViewById(R.id.textViewCreationDate);
             buttonDelete = itemView.findViewById(R.id.buttonDeleteDeck);
+            defaultStrokeColor = ((MaterialCardView) itemView).getStrokeColorStateList();
+
+            // Al tocar (antes de soltar) se avisa para adelantar la carga; el click sigue su curso
+            itemView.setOnTouchListener((v, event) -> {
+                if (event.getActionMasked() == MotionEvent.ACTION_DOWN && onDeckClickListener != null) {
+                    int position = getAdapterPosition();
+                    if (position != RecyclerView.NO_POSITION) {
+                        onDeckClickListener.onDeckPressed(getItem(position).getDeck());
+                    }
+                }
+                return false;
+            });
 
             // Configurar listeners de click
             itemView.setOnClickListener(v -> {
                 if (onDeckClickListener != null) {
                     int position = getAdapterPosition();
                     if (position != RecyclerView.NO_POSITION) {
-                        onDeckClickListener.onDeckClick(deckList.get(position));
+                        onDeckClickListener.onDeckClick(getItem(position).getDeck());
                     }
                 }
             });
 
+            itemView.setOnLongClickListener(v -> {
+                int position = getAdapterPosition();
+                if (onDeckClickListener == null || position == RecyclerView.NO_POSITION) {
+                    return false;
+                }
+                onDeckClickListener.onDeckLongClick(getItem(position).getDeck());
+                return true;
+            });
+
             buttonDelete.setOnClickListener(v -> {
                 if (onDeckClickListener != null) {
                     int position = getAdapterPosition();
                     if (position != RecyclerView.NO_POSITION) {
-                        onDeckClickListener.onDeckDelete(deckList.get(position));
+                        onDeckClickListener.onDeckDelete(getItem(position).getDeck());
                     }
                 }
             });
@@ -113,55 +168,21 @@ public class DeckListAdapter extends RecyclerView.Adapter<DeckListAdapter.DeckVi
 
         /**
          * Vincula los datos de una baraja con las vistas del elemento.
+         * Solo asigna valores ya preparados: no formatea ni crea objetos.
          */
-        public void bind(Deck deck) {
-            textViewDeckName.setText(deck.getName());
-            textViewDiscipline.setText(deck.getDiscipline());
-            textViewCardCount.setText(deck.getCard_count() + " cartas");
-            textViewCreationDate.setText("Creado " + formatDate(deck.getCreated_at()));
-
-            // Aplicar color personalizado de la baraja
-            try {
-                int color = Color.parseColor(deck.getChosen_color());
-                ((MaterialCardView) itemView).setStrokeColor(color);
-
-                // Personalizar chip de disciplina con el color de la baraja
-                GradientDrawable drawable = (GradientDrawable) textViewDiscipline.getBackground();
-                drawable.setColor(color);
-
-                // Ajustar color del texto según la luminosidad del fondo
-                if (isColorDark(color)) {
-                    textViewDiscipline.setTextColor(Color.WHITE);
-                } else {
-                    textViewDiscipline.setTextColor(Color.BLACK);
-                }
-
-            } catch (Exception e) {
-                // Color por defecto en caso de error
-                textViewDiscipline.setTextColor(Color.WHITE);
-            }
-        }
-
-        /**
-         * Convierte fecha ISO a formato legible (dd MMM).
-         */
-        private String formatDate(String isoDate) {
-            try {
-                SimpleDateFormat inputFormat = new SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ss", Locale.getDefault());
-                SimpleDateFormat outputFormat = new SimpleDateFormat("dd MMM", Locale.getDefault());
-                Date date = inputFormat.parse(isoDate);
-                return outputFormat.format(date);
-            } catch (Exception e) {
-                return "Reciente";
-            }
-        }
-
-        /**
-         * Determina si un color es oscuro usando la fórmula de luminosidad.
-         */
-        private boolean isColorDark(int color) {
-            double darkness = 1 - (0.299 * Color.red(color) + 0.587 * Color.green(color) + 0.114 * Color.blue(color)) / 255;
-            return darkness >= 0.5;
+        public void bind(DeckUiModel item) {
+            textViewDeckName.setText(item.getName());
+            textViewDiscipline.setText(item.getDiscipline());
+            textViewCardCount.setText(item.getCardCountText());
+            textViewCreationDate.setText(item.getDateText());
+
+            // Aplicar color personalizado de la baraja al borde y al chip de disciplina;
+            // el tinte no modifica el fondo compartido entre filas
+            DeckPalette palette = item.getPalette();
+            ColorStateList accent = palette.getAccent();
+            ((MaterialCardView) itemView).setStrokeColor(accent != null ? accent : defaultStrokeColor);
+            textViewDiscipline.setBackgroundTintList(accent);
+            textViewDiscipline.setTextColor(palette.getChipText());
         }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,79 @@
+package com.lmr.kairoscope.adapters;
+
+import android.content.res.ColorStateList;
+import android.graphics.Color;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Colores ya resueltos para cada color de baraja ("#RRGGBB").
+ * Se calculan una vez por color, en cualquier hilo, y las filas solo aplican
+ * las instancias cacheadas: pintar una baraja no crea objetos nuevos.
+ */
+public final class DeckPalette {
+
+    private static final ColorStateList WHITE_TEXT = ColorStateList.valueOf(Color.WHITE);
+    private static final ColorStateList BLACK_TEXT = ColorStateList.valueOf(Color.BLACK);
+
+    /**
+     * Color de baraja no válido: se mantienen los colores del tema y texto blanco.
+     */
+    public static final DeckPalette DEFAULT = new DeckPalette(null, WHITE_TEXT);
+
+    // Cada usuario tiene pocas barajas (máximo 8), así que el número de colores es pequeño
+    private static final Map<String, DeckPalette> CACHE = new ConcurrentHashMap<>();
+
+    private final ColorStateList accent;
+    private final ColorStateList chipText;
+
+    private DeckPalette(ColorStateList accent, ColorStateList chipText) {
+        this.accent = accent;
+        this.chipText = chipText;
+    }
+
+    /**
+     * Paleta cacheada para el color indicado, o {@link #DEFAULT} si no se puede interpretar.
+     */
+    public static DeckPalette of(String hexColor) {
+        if (hexColor == null) {
+            return DEFAULT;
+        }
+        DeckPalette palette = CACHE.get(hexColor);
+        if (palette == null) {
+            palette = create(hexColor);
+            CACHE.put(hexColor, palette);
+        }
+        return palette;
+    }
+
+    private static DeckPalette create(String hexColor) {
+        int color;
+        try {
+            color = Color.parseColor(hexColor);
+        } catch (IllegalArgumentException e) {
+            return DEFAULT;
+        }
+        // Ajustar color del texto según la luminosidad del fondo
+        return new DeckPalette(ColorStateList.valueOf(color), isColorDark(color) ? WHITE_TEXT : BLACK_TEXT);
+    }
+
+    /**
+     * Determina si un color es oscuro usando la fórmula de luminosidad.
+     */
+    static boolean isColorDark(int color) {
+        double darkness = 1 - (0.299 * Color.red(color) + 0.587 * Color.green(color) + 0.114 * Color.blue(color)) / 255;
+        return darkness >= 0.5;
+    }
+
+    /**
+     * Color de la baraja para el borde y el fondo del chip; null si se usan los del tema.
+     */
+    public ColorStateList getAccent() {
+        return accent;
+    }
+
+    public ColorStateList getChipText() {
+        return chipText;
+    }
+}
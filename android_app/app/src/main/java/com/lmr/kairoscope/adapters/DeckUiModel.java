@@ -0,0 +1,135 @@
+package com.lmr.kairoscope.adapters;
+
+import com.lmr.kairoscope.data.model.Deck;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+
+/**
+ * Datos de una fila de la lista de barajas ya preparados para pintar:
+ * textos formateados y colores resueltos. Es inmutable y se construye fuera
+ * del hilo principal, de modo que el ViewHolder solo asigna valores.
+ */
+public final class DeckUiModel {
+
+    // Formateador de salida (dd MMM) para el idioma actual; se recrea solo si cambia
+    private static volatile DateTimeFormatter outputFormatter;
+    private static volatile Locale outputLocale;
+
+    private final Deck deck;
+    private final String name;
+    private final String discipline;
+    private final String cardCountText;
+    private final String dateText;
+    private final DeckPalette palette;
+
+    private DeckUiModel(Deck deck, String cardCountText, String dateText, DeckPalette palette) {
+        this.deck = deck;
+        this.name = deck.getName();
+        this.discipline = deck.getDiscipline();
+        this.cardCountText = cardCountText;
+        this.dateText = dateText;
+        this.palette = palette;
+    }
+
+    /**
+     * Prepara la fila de una baraja. Se puede llamar desde cualquier hilo.
+     */
+    public static DeckUiModel from(Deck deck) {
+        if (deck.isPending()) {
+            // Creada sin conexión: se generará al recuperar la red
+            return new DeckUiModel(deck, "Sin cartas todavía", "Pendiente de crear",
+                    DeckPalette.of(deck.getChosen_color()));
+        }
+        return new DeckUiModel(deck,
+                deck.getCard_count() + " cartas",
+                "Creado " + formatDate(deck.getCreated_at()),
+                DeckPalette.of(deck.getChosen_color()));
+    }
+
+    /**
+     * Prepara todas las filas de una lista.
+     */
+    public static List<DeckUiModel> fromDecks(List<Deck> decks) {
+        List<DeckUiModel> models = new ArrayList<>(decks.size());
+        for (Deck deck : decks) {
+            models.add(from(deck));
+        }
+        return models;
+    }
+
+    /**
+     * Convierte fecha ISO a formato legible (dd MMM).
+     */
+    static String formatDate(String isoDate) {
+        // Solo interesa el día: "yyyy-MM-dd" al principio de la fecha ISO
+        if (isoDate == null || isoDate.length() < 10) {
+            return "Reciente";
+        }
+        try {
+            LocalDate date = LocalDate.parse(isoDate.substring(0, 10));
+            return date.format(outputFormatter());
+        } catch (DateTimeParseException e) {
+            return "Reciente";
+        }
+    }
+
+    private static DateTimeFormatter outputFormatter() {
+        Locale locale = Locale.getDefault();
+        DateTimeFormatter formatter = outputFormatter;
+        if (formatter == null || !locale.equals(outputLocale)) {
+            formatter = DateTimeFormatter.ofPattern("dd MMM", locale);
+            outputFormatter = formatter;
+            outputLocale = locale;
+        }
+        return formatter;
+    }
+
+    public Deck getDeck() {
+        return deck;
+    }
+
+    public int getId() {
+        return deck.getId();
+    }
+
+    public boolean isPending() {
+        return deck.isPending();
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getDiscipline() {
+        return discipline;
+    }
+
+    public String getCardCountText() {
+        return cardCountText;
+    }
+
+    public String getDateText() {
+        return dateText;
+    }
+
+    public DeckPalette getPalette() {
+        return palette;
+    }
+
+    /**
+     * Indica si la fila se pinta igual que otra (las paletas están cacheadas por color).
+     */
+    public boolean hasSameContent(DeckUiModel other) {
+        return palette == other.palette
+                && Objects.equals(name, other.name)
+                && Objects.equals(discipline, other.discipline)
+                && Objects.equals(cardCountText, other.cardCountText)
+                && Objects.equals(dateText, other.dateText);
+    }
+}
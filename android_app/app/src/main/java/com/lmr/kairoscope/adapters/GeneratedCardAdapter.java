@@ -0,0 +1,78 @@
+package com.lmr.kairoscope.adapters;
+
+import android.view.LayoutInflater;
+import android.view.View;
+import android.view.ViewGroup;
+import android.widget.TextView;
+
+import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.RecyclerView;
+
+import com.lmr.kairoscope.R;
+import com.lmr.kairoscope.data.model.Card;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Adaptador para mostrar las cartas a medida que se generan.
+ * Las actualizaciones solo añaden cartas al final, así que se notifican como inserciones.
+ */
+public class GeneratedCardAdapter extends RecyclerView.Adapter<GeneratedCardAdapter.CardViewHolder> {
+
+    private final List<Card> cards = new ArrayList<>();
+
+    @NonNull
+    @Override
+    public CardViewHolder onCreateViewHolder(@NonNull ViewGroup parent, int viewType) {
+        View view = LayoutInflater.from(parent.getContext())
+                .inflate(R.layout.item_generated_card, parent, false);
+        return new CardViewHolder(view);
+    }
+
+    @Override
+    public void onBindViewHolder(@NonNull CardViewHolder holder, int position) {
+        holder.bind(position + 1, cards.get(position));
+    }
+
+    @Override
+    public int getItemCount() {
+        return cards.size();
+    }
+
+    /**
+     * Actualiza las cartas mostradas; si la nueva lista amplía la actual solo se insertan las nuevas.
+     */
+    public void updateCards(List<Card> newCards) {
+        if (newCards == null || newCards.size() < cards.size()) {
+            cards.clear();
+            if (newCards != null) {
+                cards.addAll(newCards);
+            }
+            notifyDataSetChanged();
+            return;
+        }
+        int start = cards.size();
+        cards.addAll(newCards.subList(start, newCards.size()));
+        notifyItemRangeInserted(start, newCards.size() - start);
+    }
+
+    /**
+     * ViewHolder con el número y el texto de la carta.
+     */
+    static class CardViewHolder extends RecyclerView.ViewHolder {
+        private final TextView textViewCardNumber;
+        private final TextView textViewCardText;
+
+        CardViewHolder(@NonNull View itemView) {
+            super(itemView);
+            textViewCardNumber = itemView.findViewById(R.id.textViewCardNumber);
+            textViewCardText = itemView.findViewById(R.id.textViewCardText);
+        }
+
+        void bind(int number, Card card) {
+            textViewCardNumber.setText(String.valueOf(number));
+            textViewCardText.setText(card.getText());
+        }
+    }
+}
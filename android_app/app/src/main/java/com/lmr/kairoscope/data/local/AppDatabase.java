@@ -0,0 +1,64 @@
+package com.lmr.kairoscope.data.local;
+
+import android.content.Context;
+
+import androidx.annotation.NonNull;
+import androidx.room.Database;
+import androidx.room.Room;
+import androidx.room.RoomDatabase;
+import androidx.room.migration.Migration;
+import androidx.sqlite.db.SupportSQLiteDatabase;
+
+/**
+ * Base de datos local que refleja las barajas y cartas del usuario.
+ * Permite pintar las pantallas desde disco y seguir funcionando sin conexión;
+ * los cambios hechos sin conexión esperan en la tabla pending_mutations.
+ * Cada versión del esquema se exporta a app/schemas para probar sus migraciones.
+ */
+@Database(entities = {DeckEntity.class, CardEntity.class, PendingMutationEntity.class},
+        version = 2, exportSchema = true)
+public abstract class AppDatabase extends RoomDatabase {
+
+    private static final String DATABASE_NAME = "kairoscope.db";
+    private static volatile AppDatabase instance;
+
+    /**
+     * Versión 2: estado de sincronización de las barajas y cola de cambios pendientes.
+     */
+    static final Migration MIGRATION_1_2 = new Migration(1, 2) {
+        @Override
+        public void migrate(@NonNull SupportSQLiteDatabase db) {
+            db.execSQL("ALTER TABLE `decks` ADD COLUMN `sync_state` INTEGER NOT NULL DEFAULT 0");
+            db.execSQL("CREATE TABLE IF NOT EXISTS `pending_mutations` ("
+                    + "`id` INTEGER PRIMARY KEY AUTOINCREMENT NOT NULL, "
+                    + "`owner_uid` TEXT NOT NULL, "
+                    + "`type` TEXT NOT NULL, "
+                    + "`deck_id` INTEGER NOT NULL, "
+                    + "`payload` TEXT, "
+                    + "`idempotency_key` TEXT, "
+                    + "`created_at` INTEGER NOT NULL, "
+                    + "`attempts` INTEGER NOT NULL, "
+                    + "`auth_retried` INTEGER NOT NULL)");
+            db.execSQL("CREATE INDEX IF NOT EXISTS `index_pending_mutations_owner_uid` "
+                    + "ON `pending_mutations` (`owner_uid`)");
+        }
+    };
+
+    public abstract DeckDao deckDao();
+
+    public abstract OutboxDao outboxDao();
+
+    public static AppDatabase getInstance(Context context) {
+        if (instance == null) {
+            synchronized (AppDatabase.class) {
+                if (instance == null) {
+                    instance = Room.databaseBuilder(context.getApplicationContext(),
+                                    AppDatabase.class, DATABASE_NAME)
+                            .addMigrations(MIGRATION_1_2)
+                            .build();
+                }
+            }
+        }
+        return instance;
+    }
+}
@@ -0,0 +1,45 @@
+package com.lmr.kairoscope.data.local;
+
+import androidx.room.ColumnInfo;
+import androidx.room.Entity;
+import androidx.room.ForeignKey;
+import androidx.room.Index;
+import androidx.room.PrimaryKey;
+
+import com.lmr.kairoscope.data.model.Card;
+
+/**
+ * Copia local de una carta. Se elimina en cascada junto con su baraja.
+ */
+@Entity(tableName = "cards",
+        foreignKeys = @ForeignKey(entity = DeckEntity.class,
+                parentColumns = "id",
+                childColumns = "deck_id",
+                onDelete = ForeignKey.CASCADE),
+        indices = {@Index("deck_id")})
+public class CardEntity {
+
+    @PrimaryKey
+    public int id;
+
+    @ColumnInfo(name = "deck_id")
+    public int deckId;
+
+    // Orden de la carta dentro de la baraja según la respuesta del servidor
+    public int position;
+
+    public String text;
+
+    public static CardEntity fromCard(Card card, int deckId, int position) {
+        CardEntity entity = new CardEntity();
+        entity.id = card.getId();
+        entity.deckId = deckId;
+        entity.position = position;
+        entity.text = card.getText();
+        return entity;
+    }
+
+    public Card toCard() {
+        return new Card(id, text);
+    }
+}
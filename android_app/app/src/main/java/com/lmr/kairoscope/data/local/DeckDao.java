@@ -0,0 +1,112 @@
+package com.lmr.kairoscope.data.local;
+
+import androidx.room.Dao;
+import androidx.room.Insert;
+import androidx.room.OnConflictStrategy;
+import androidx.room.Query;
+import androidx.room.Transaction;
+import androidx.room.Upsert;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Acceso a las barajas y cartas almacenadas localmente.
+ * Las operaciones de sincronización fusionan los datos del servidor con los existentes.
+ */
+@Dao
+public abstract class DeckDao {
+
+    // Las barajas con borrado pendiente ya no se muestran
+    @Query("SELECT * FROM decks WHERE owner_uid = :ownerUid AND sync_state != "
+            + DeckEntity.SYNC_PENDING_DELETE + " ORDER BY created_at DESC")
+    public abstract List<DeckEntity> getDecks(String ownerUid);
+
+    @Query("SELECT * FROM decks WHERE owner_uid = :ownerUid AND id = :deckId")
+    public abstract DeckEntity getDeck(String ownerUid, int deckId);
+
+    @Query("SELECT * FROM cards WHERE deck_id = :deckId ORDER BY position")
+    public abstract List<CardEntity> getCards(int deckId);
+
+    @Upsert
+    public abstract void upsertDeck(DeckEntity deck);
+
+    @Insert(onConflict = OnConflictStrategy.REPLACE)
+    public abstract void insertCards(List<CardEntity> cards);
+
+    @Query("DELETE FROM cards WHERE deck_id = :deckId")
+    public abstract void deleteCards(int deckId);
+
+    @Query("DELETE FROM decks WHERE owner_uid = :ownerUid AND id = :deckId")
+    public abstract void deleteDeck(String ownerUid, int deckId);
+
+    // Solo barajas sincronizadas: las pendientes del outbox aún no están en el servidor
+    @Query("DELETE FROM decks WHERE owner_uid = :ownerUid AND sync_state = "
+            + DeckEntity.SYNC_SYNCED + " AND id NOT IN (:keepIds)")
+    public abstract void deleteDecksNotIn(String ownerUid, List<Integer> keepIds);
+
+    @Query("DELETE FROM decks WHERE owner_uid = :ownerUid AND sync_state = " + DeckEntity.SYNC_SYNCED)
+    public abstract void deleteSyncedDecks(String ownerUid);
+
+    @Query("UPDATE decks SET card_count = (SELECT COUNT(*) FROM cards WHERE deck_id = :deckId) "
+            + "WHERE id = :deckId")
+    public abstract void refreshCardCount(int deckId);
+
+    @Query("UPDATE decks SET name = :name WHERE owner_uid = :ownerUid AND id = :deckId")
+    public abstract void renameDeck(String ownerUid, int deckId, String name);
+
+    /**
+     * Añade cartas recibidas en streaming si la baraja sigue guardada
+     * (una sincronización de la lista puede haberla eliminado entretanto).
+     */
+    @Transaction
+    public void appendCards(String ownerUid, int deckId, List<CardEntity> cards) {
+        if (getDeck(ownerUid, deckId) == null) {
+            return;
+        }
+        insertCards(cards);
+        refreshCardCount(deckId);
+    }
+
+    /**
+     * Sustituye la lista de barajas del usuario por la recibida del servidor.
+     * Conserva las cartas y la descripción de las barajas que siguen existiendo,
+     * ya que la respuesta de lista no las incluye, y los cambios pendientes del outbox.
+     */
+    @Transaction
+    public void replaceDeckList(String ownerUid, List<DeckEntity> decks) {
+        if (decks.isEmpty()) {
+            deleteSyncedDecks(ownerUid);
+            return;
+        }
+
+        List<Integer> ids = new ArrayList<>(decks.size());
+        for (DeckEntity deck : decks) {
+            ids.add(deck.id);
+            DeckEntity existing = getDeck(ownerUid, deck.id);
+            if (existing != null) {
+                if (deck.blockDescription == null) {
+                    deck.blockDescription = existing.blockDescription;
+                }
+                // Un borrado pendiente no se deshace porque el servidor aún la liste
+                deck.syncState = existing.syncState;
+            }
+            upsertDeck(deck);
+        }
+        deleteDecksNotIn(ownerUid, ids);
+    }
+
+    /**
+     * Guarda una baraja completa sustituyendo sus cartas.
+     */
+    @Transaction
+    public void replaceDeckDetail(DeckEntity deck, List<CardEntity> cards) {
+        DeckEntity existing = getDeck(deck.ownerUid, deck.id);
+        if (existing != null) {
+            deck.syncState = existing.syncState;
+        }
+        upsertDeck(deck);
+        deleteCards(deck.id);
+        insertCards(cards);
+    }
+}
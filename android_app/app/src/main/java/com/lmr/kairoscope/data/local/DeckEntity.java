@@ -0,0 +1,78 @@
+package com.lmr.kairoscope.data.local;
+
+import androidx.annotation.NonNull;
+import androidx.room.ColumnInfo;
+import androidx.room.Entity;
+import androidx.room.Index;
+import androidx.room.PrimaryKey;
+
+import com.lmr.kairoscope.data.model.Card;
+import com.lmr.kairoscope.data.model.Deck;
+
+import java.util.List;
+
+/**
+ * Copia local de una baraja del usuario en la base de datos Room.
+ */
+@Entity(tableName = "decks", indices = {@Index("owner_uid")})
+public class DeckEntity {
+
+    // Estado de sincronización con el servidor
+    public static final int SYNC_SYNCED = 0;
+    // Creada sin conexión: aún no existe en el servidor (id local negativo)
+    public static final int SYNC_PENDING_CREATE = 1;
+    // Eliminada localmente a la espera de confirmarlo en el servidor (no se muestra)
+    public static final int SYNC_PENDING_DELETE = 2;
+
+    @PrimaryKey
+    public int id;
+
+    // UID de Firebase del propietario, para no mezclar datos entre sesiones
+    @NonNull
+    @ColumnInfo(name = "owner_uid")
+    public String ownerUid = "";
+
+    public String name;
+    public String discipline;
+
+    @ColumnInfo(name = "block_description")
+    public String blockDescription;
+
+    @ColumnInfo(name = "chosen_color")
+    public String chosenColor;
+
+    @ColumnInfo(name = "created_at")
+    public String createdAt;
+
+    @ColumnInfo(name = "card_count")
+    public int cardCount;
+
+    @ColumnInfo(name = "sync_state", defaultValue = "0")
+    public int syncState = SYNC_SYNCED;
+
+    /**
+     * Crea la entidad a partir del modelo recibido de la API.
+     */
+    public static DeckEntity fromDeck(Deck deck, String ownerUid) {
+        DeckEntity entity = new DeckEntity();
+        entity.id = deck.getId();
+        entity.ownerUid = ownerUid;
+        entity.name = deck.getName();
+        entity.discipline = deck.getDiscipline();
+        entity.blockDescription = deck.getBlock_description();
+        entity.chosenColor = deck.getChosen_color();
+        entity.createdAt = deck.getCreated_at();
+        entity.cardCount = deck.getCard_count();
+        return entity;
+    }
+
+    /**
+     * Convierte la entidad en el modelo que consume la UI.
+     * @param cards cartas de la baraja o null para la vista de lista
+     */
+    public Deck toDeck(List<Card> cards) {
+        Deck deck = new Deck(id, name, discipline, blockDescription, chosenColor, createdAt, cardCount, cards);
+        deck.setPending(syncState == SYNC_PENDING_CREATE);
+        return deck;
+    }
+}
@@ -0,0 +1,127 @@
+package com.lmr.kairoscope.data.local;
+
+import androidx.room.Dao;
+import androidx.room.Insert;
+import androidx.room.Query;
+import androidx.room.Transaction;
+import androidx.room.Upsert;
+
+import java.util.List;
+
+/**
+ * Acceso a los cambios pendientes (outbox).
+ * Cada operación actualiza en la misma transacción la cola y la copia local
+ * de la baraja, para que la lista refleje siempre el resultado esperado.
+ */
+@Dao
+public abstract class OutboxDao {
+
+    @Insert
+    public abstract long insert(PendingMutationEntity mutation);
+
+    @Query("SELECT * FROM pending_mutations WHERE owner_uid = :ownerUid ORDER BY id")
+    public abstract List<PendingMutationEntity> getPending(String ownerUid);
+
+    @Query("SELECT * FROM pending_mutations WHERE id = :id")
+    public abstract PendingMutationEntity getMutation(long id);
+
+    @Query("SELECT * FROM pending_mutations WHERE owner_uid = :ownerUid AND type = :type "
+            + "AND deck_id = :deckId LIMIT 1")
+    public abstract PendingMutationEntity findMutation(String ownerUid, String type, int deckId);
+
+    @Query("DELETE FROM pending_mutations WHERE id = :id")
+    public abstract void delete(long id);
+
+    @Query("UPDATE pending_mutations SET deck_id = :deckId WHERE id = :id")
+    public abstract void setDeckId(long id, int deckId);
+
+    @Query("UPDATE pending_mutations SET attempts = attempts + 1 WHERE id = :id")
+    public abstract void incrementAttempts(long id);
+
+    @Query("UPDATE pending_mutations SET auth_retried = 1 WHERE id = :id")
+    public abstract void markAuthRetried(long id);
+
+    @Upsert
+    public abstract void upsertDeck(DeckEntity deck);
+
+    @Query("UPDATE decks SET sync_state = :syncState WHERE owner_uid = :ownerUid AND id = :deckId")
+    public abstract void setDeckSyncState(String ownerUid, int deckId, int syncState);
+
+    @Query("DELETE FROM decks WHERE owner_uid = :ownerUid AND id = :deckId")
+    public abstract void deleteDeck(String ownerUid, int deckId);
+
+    /**
+     * Encola una creación y guarda su baraja provisional.
+     * @return id local (negativo) de la baraja provisional
+     */
+    @Transaction
+    public int enqueueCreate(PendingMutationEntity mutation, DeckEntity placeholder) {
+        mutation.type = PendingMutationEntity.TYPE_CREATE;
+        long id = insert(mutation);
+        // Ids negativos: nunca coinciden con los del servidor
+        int localId = (int) -id;
+        setDeckId(id, localId);
+        placeholder.id = localId;
+        placeholder.ownerUid = mutation.ownerUid;
+        placeholder.syncState = DeckEntity.SYNC_PENDING_CREATE;
+        upsertDeck(placeholder);
+        return localId;
+    }
+
+    /**
+     * Oculta la baraja y encola su borrado. Si la baraja aún no se había creado
+     * en el servidor, basta con descartar la creación pendiente.
+     */
+    @Transaction
+    public void enqueueDelete(String ownerUid, int deckId, long now) {
+        PendingMutationEntity pendingCreate =
+                findMutation(ownerUid, PendingMutationEntity.TYPE_CREATE, deckId);
+        if (pendingCreate != null) {
+            delete(pendingCreate.id);
+            deleteDeck(ownerUid, deckId);
+            return;
+        }
+        setDeckSyncState(ownerUid, deckId, DeckEntity.SYNC_PENDING_DELETE);
+        if (findMutation(ownerUid, PendingMutationEntity.TYPE_DELETE, deckId) != null) {
+            return;
+        }
+        PendingMutationEntity mutation = new PendingMutationEntity();
+        mutation.ownerUid = ownerUid;
+        mutation.type = PendingMutationEntity.TYPE_DELETE;
+        mutation.deckId = deckId;
+        mutation.createdAt = now;
+        insert(mutation);
+    }
+
+    /**
+     * El servidor confirmó el borrado (o la baraja ya no existía).
+     */
+    @Transaction
+    public void completeDelete(PendingMutationEntity mutation) {
+        deleteDeck(mutation.ownerUid, mutation.deckId);
+        delete(mutation.id);
+    }
+
+    /**
+     * El servidor rechazó el borrado: la baraja vuelve a mostrarse.
+     */
+    @Transaction
+    public void rollbackDelete(PendingMutationEntity mutation) {
+        setDeckSyncState(mutation.ownerUid, mutation.deckId, DeckEntity.SYNC_SYNCED);
+        delete(mutation.id);
+    }
+
+    /**
+     * Retira la creación y su baraja provisional (creada o rechazada en el servidor).
+     * @return false si el usuario ya la había descartado mientras se enviaba
+     */
+    @Transaction
+    public boolean finishCreate(PendingMutationEntity mutation) {
+        if (getMutation(mutation.id) == null) {
+            return false;
+        }
+        deleteDeck(mutation.ownerUid, mutation.deckId);
+        delete(mutation.id);
+        return true;
+    }
+}
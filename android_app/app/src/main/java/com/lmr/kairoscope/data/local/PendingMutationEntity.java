@@ -0,0 +1,48 @@
+package com.lmr.kairoscope.data.local;
+
+import androidx.annotation.NonNull;
+import androidx.room.ColumnInfo;
+import androidx.room.Entity;
+import androidx.room.Index;
+import androidx.room.PrimaryKey;
+
+/**
+ * Cambio local pendiente de enviar al servidor (outbox).
+ * Se aplica en orden de id cuando hay conexión.
+ */
+@Entity(tableName = "pending_mutations", indices = {@Index("owner_uid")})
+public class PendingMutationEntity {
+
+    public static final String TYPE_CREATE = "create";
+    public static final String TYPE_DELETE = "delete";
+
+    @PrimaryKey(autoGenerate = true)
+    public long id;
+
+    @NonNull
+    @ColumnInfo(name = "owner_uid")
+    public String ownerUid = "";
+
+    @NonNull
+    public String type = TYPE_DELETE;
+
+    // Baraja afectada; en las creaciones, el id local negativo de la baraja provisional
+    @ColumnInfo(name = "deck_id")
+    public int deckId;
+
+    // Cuerpo JSON de la petición de creación
+    public String payload;
+
+    @ColumnInfo(name = "idempotency_key")
+    public String idempotencyKey;
+
+    @ColumnInfo(name = "created_at")
+    public long createdAt;
+
+    // Envíos fallidos por errores transitorios; al llegar al máximo se abandona el cambio
+    public int attempts;
+
+    // Ya se reintentó una vez tras un 401 con el token renovado
+    @ColumnInfo(name = "auth_retried")
+    public boolean authRetried;
+}
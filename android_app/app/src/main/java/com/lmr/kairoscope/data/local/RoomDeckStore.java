@@ -0,0 +1,97 @@
+package com.lmr.kairoscope.data.local;
+
+import com.lmr.kairoscope.data.model.Card;
+import com.lmr.kairoscope.data.model.Deck;
+import com.lmr.kairoscope.data.repository.LocalDeckStore;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * {@link LocalDeckStore} sobre Room: convierte entre los modelos y las entidades de {@link DeckDao}.
+ */
+public class RoomDeckStore implements LocalDeckStore {
+
+    private final DeckDao deckDao;
+
+    public RoomDeckStore(DeckDao deckDao) {
+        this.deckDao = deckDao;
+    }
+
+    @Override
+    public List<Deck> getDecks(String uid) {
+        List<DeckEntity> entities = deckDao.getDecks(uid);
+        List<Deck> decks = new ArrayList<>(entities.size());
+        for (DeckEntity entity : entities) {
+            decks.add(entity.toDeck(null));
+        }
+        return decks;
+    }
+
+    @Override
+    public Deck getDeck(String uid, int deckId) {
+        DeckEntity entity = deckDao.getDeck(uid, deckId);
+        if (entity == null) {
+            return null;
+        }
+        List<CardEntity> cardEntities = deckDao.getCards(deckId);
+        if (cardEntities.isEmpty()) {
+            return null;
+        }
+        List<Card> cards = new ArrayList<>(cardEntities.size());
+        for (CardEntity cardEntity : cardEntities) {
+            cards.add(cardEntity.toCard());
+        }
+        return entity.toDeck(cards);
+    }
+
+    @Override
+    public void replaceDeckList(String uid, List<Deck> decks) {
+        List<DeckEntity> entities = new ArrayList<>(decks.size());
+        for (Deck deck : decks) {
+            entities.add(DeckEntity.fromDeck(deck, uid));
+        }
+        deckDao.replaceDeckList(uid, entities);
+    }
+
+    @Override
+    public void replaceDeckDetail(String uid, Deck deck) {
+        List<CardEntity> cards = new ArrayList<>();
+        if (deck.getCards() != null) {
+            for (int i = 0; i < deck.getCards().size(); i++) {
+                cards.add(CardEntity.fromCard(deck.getCards().get(i), deck.getId(), i));
+            }
+        }
+        deckDao.replaceDeckDetail(DeckEntity.fromDeck(deck, uid), cards);
+    }
+
+    @Override
+    public void upsertDeck(String uid, Deck deck) {
+        deckDao.upsertDeck(DeckEntity.fromDeck(deck, uid));
+    }
+
+    @Override
+    public void appendCards(String uid, int deckId, Map<Integer, Card> cardsByPosition) {
+        List<CardEntity> cards = new ArrayList<>(cardsByPosition.size());
+        for (Map.Entry<Integer, Card> entry : cardsByPosition.entrySet()) {
+            cards.add(CardEntity.fromCard(entry.getValue(), deckId, entry.getKey()));
+        }
+        deckDao.appendCards(uid, deckId, cards);
+    }
+
+    @Override
+    public void renameDeck(String uid, int deckId, String name) {
+        deckDao.renameDeck(uid, deckId, name);
+    }
+
+    @Override
+    public void deleteDeck(String uid, int deckId) {
+        deckDao.deleteDeck(uid, deckId);
+    }
+
+    @Override
+    public void deleteCards(int deckId) {
+        deckDao.deleteCards(deckId);
+    }
+}
@@ -0,0 +1,175 @@
+package com.lmr.kairoscope.data.network;
+
+import android.util.Log;
+
+import com.google.android.gms.tasks.Task;
+import com.google.android.gms.tasks.Tasks;
+import com.google.firebase.auth.FirebaseAuth;
+import com.google.firebase.auth.FirebaseUser;
+import com.google.firebase.auth.GetTokenResult;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Proveedor Singleton del ID Token de Firebase.
+ * Mantiene el token en memoria hasta poco antes de su expiración, lo renueva
+ * en segundo plano y comparte una única renovación entre llamadas concurrentes.
+ */
+public class AuthTokenProvider implements TokenSource {
+
+    private static final String TAG = "AuthTokenProvider";
+
+    private static final long REFRESH_TIMEOUT_SECONDS = 30;
+
+    private static AuthTokenProvider instance;
+
+    private final FirebaseAuth firebaseAuth;
+    private final TokenRefreshPolicy policy = TokenRefreshPolicy.DEFAULT;
+
+    // Estado del token cacheado (protegido por this)
+    private String cachedToken;
+    private String cachedUid;
+    private long expiresAtMillis;
+    private Task<GetTokenResult> inFlightRefresh;
+
+    private AuthTokenProvider() {
+        this.firebaseAuth = FirebaseAuth.getInstance();
+        // Descartar el token en cuanto cambie o se cierre la sesión
+        firebaseAuth.addIdTokenListener((FirebaseAuth.IdTokenListener) auth -> {
+            FirebaseUser user = auth.getCurrentUser();
+            synchronized (AuthTokenProvider.this) {
+                if (user == null || !user.getUid().equals(cachedUid)) {
+                    clearLocked();
+                }
+            }
+        });
+    }
+
+    public static synchronized AuthTokenProvider getInstance() {
+        if (instance == null) {
+            instance = new AuthTokenProvider();
+        }
+        return instance;
+    }
+
+    /**
+     * Devuelve un token válido, bloqueando solo si no hay ninguno utilizable.
+     * No debe llamarse desde el hilo principal.
+     * @return el ID Token o null si no hay usuario autenticado o falla la renovación
+     */
+    @Override
+    public String getToken() {
+        FirebaseUser user = firebaseAuth.getCurrentUser();
+        if (user == null) {
+            invalidate();
+            return null;
+        }
+
+        Task<GetTokenResult> refresh;
+        synchronized (this) {
+            long now = System.currentTimeMillis();
+            if (cachedToken != null && user.getUid().equals(cachedUid) && policy.isUsable(expiresAtMillis, now)) {
+                // Token válido: renovar en segundo plano si está cerca de expirar
+                if (policy.shouldRefresh(expiresAtMillis, now)) {
+                    refreshLocked(user, false);
+                }
+                return cachedToken;
+            }
+            refresh = refreshLocked(user, false);
+        }
+        return await(refresh);
+    }
+
+    /**
+     * Fuerza la obtención de un token nuevo (por ejemplo tras un 401).
+     * Si otra llamada ya está renovando, se reutiliza esa renovación.
+     */
+    @Override
+    public String refreshToken() {
+        FirebaseUser user = firebaseAuth.getCurrentUser();
+        if (user == null) {
+            invalidate();
+            return null;
+        }
+
+        Task<GetTokenResult> refresh;
+        synchronized (this) {
+            cachedToken = null;
+            refresh = refreshLocked(user, true);
+        }
+        return await(refresh);
+    }
+
+    /**
+     * Lanza una renovación en segundo plano si el token no es válido o va a expirar pronto.
+     * Útil para calentar el token antes de una petición previsible.
+     */
+    @Override
+    public void prefetch() {
+        FirebaseUser user = firebaseAuth.getCurrentUser();
+        if (user == null) {
+            return;
+        }
+        synchronized (this) {
+            if (cachedToken == null || !user.getUid().equals(cachedUid)
+                    || policy.shouldRefresh(expiresAtMillis, System.currentTimeMillis())) {
+                refreshLocked(user, false);
+            }
+        }
+    }
+
+    /**
+     * Descarta el token cacheado (logout o cambio de usuario).
+     */
+    public synchronized void invalidate() {
+        clearLocked();
+    }
+
+    /**
+     * Inicia una renovación o devuelve la que ya está en curso (single-flight).
+     */
+    private Task<GetTokenResult> refreshLocked(FirebaseUser user, boolean forceRefresh) {
+        if (inFlightRefresh != null && !inFlightRefresh.isComplete()) {
+            return inFlightRefresh;
+        }
+
+        final String uid = user.getUid();
+        Task<GetTokenResult> task = user.getIdToken(forceRefresh);
+        inFlightRefresh = task;
+        task.addOnCompleteListener(completed -> {
+            synchronized (AuthTokenProvider.this) {
+                if (inFlightRefresh == completed) {
+                    inFlightRefresh = null;
+                }
+                if (completed.isSuccessful() && completed.getResult() != null) {
+                    cachedToken = completed.getResult().getToken();
+                    cachedUid = uid;
+                    // Firebase expresa la expiración en segundos
+                    expiresAtMillis = completed.getResult().getExpirationTimestamp() * 1000L;
+                } else if (completed.getException() != null) {
+                    Log.w(TAG, "Token refresh failed: " + completed.getException().getMessage());
+                }
+            }
+        });
+        return task;
+    }
+
+    /**
+     * Espera el resultado de una renovación desde un hilo de trabajo.
+     */
+    private String await(Task<GetTokenResult> task) {
+        try {
+            GetTokenResult result = Tasks.await(task, REFRESH_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+            return result != null ? result.getToken() : null;
+        } catch (Exception e) {
+            Log.e(TAG, "Error obtaining token: " + e.getMessage());
+            return null;
+        }
+    }
+
+    private void clearLocked() {
+        cachedToken = null;
+        cachedUid = null;
+        expiresAtMillis = 0;
+    }
+}
@@ -1,55 +1,70 @@
 package com.lmr.kairoscope.data.network;
 
-import java.util.concurrent.TimeUnit;
+import android.content.Context;
+import android.util.Log;
+
+import com.google.gson.Gson;
+import com.lmr.kairoscope.BuildConfig;
+import com.lmr.kairoscope.util.ConnectivityMonitor;
+
+import java.io.File;
+import java.io.IOException;
 
-import retrofit2.Retrofit;
-import retrofit2.converter.gson.GsonConverterFactory;
-import okhttp3.OkHttpClient;
 import okhttp3.logging.HttpLoggingInterceptor;
 
 /**
- * Cliente Singleton para configurar y gestionar las conexiones HTTP con Retrofit.
- * Incluye configuración de timeouts y logging para desarrollo.
+ * Cliente Singleton del backend para la app: configura {@link ApiClient} con el token
+ * de Firebase, la caché HTTP en el directorio de caché y el cambio de red del dispositivo.
  */
 public class RetrofitClient {
-    private static final String BASE_URL = "http://10.0.2.2:8000/"; // IP del emulador Android
+    private static final String TAG = "RetrofitClient";
+    // IP del emulador Android; en la build benchmark, el servidor local de :macrobenchmark
+    private static final String BASE_URL = BuildConfig.API_BASE_URL;
+    private static final String CACHE_DIR = "http_cache";
+    private static final long CACHE_SIZE_BYTES = 10L * 1024 * 1024; // 10 MB
     private static RetrofitClient instance;
-    private final ApiService apiService;
-
-    private RetrofitClient() {
-        // Interceptor para mostrar logs de peticiones HTTP en desarrollo
-        HttpLoggingInterceptor logging = new HttpLoggingInterceptor();
-        logging.setLevel(HttpLoggingInterceptor.Level.BODY);
-
-        // Cliente HTTP con timeouts extendidos para operaciones LLM
-        OkHttpClient client = new OkHttpClient.Builder()
-                .addInterceptor(logging)
-                .connectTimeout(60, TimeUnit.SECONDS)
-                .readTimeout(120, TimeUnit.SECONDS)      // Timeout mayor para generación de barajas
-                .writeTimeout(60, TimeUnit.SECONDS)
-                .build();
-
-        // Configurar Retrofit con conversor JSON
-        Retrofit retrofit = new Retrofit.Builder()
-                .baseUrl(BASE_URL)
-                .client(client)
-                .addConverterFactory(GsonConverterFactory.create())
-                .build();
-
-        apiService = retrofit.create(ApiService.class);
+    private final ApiClient apiClient;
+
+    private RetrofitClient(Context context) {
+        // Token de Firebase cacheado: se añade por interceptor y se renueva ante un 401.
+        // El log HTTP solo en debug: en release (y en las builds que miden los benchmarks)
+        // escribir cada cuerpo en logcat cuesta tiempo y expone datos del usuario
+        apiClient = new ApiClient(BASE_URL, AuthTokenProvider.getInstance(),
+                new File(context.getCacheDir(), CACHE_DIR), CACHE_SIZE_BYTES,
+                BuildConfig.DEBUG ? HttpLoggingInterceptor.Level.BODY : HttpLoggingInterceptor.Level.NONE);
+
+        // Al cambiar de red, las conexiones del pool pertenecen a la red anterior y
+        // fallarían por timeout: se descartan para que la siguiente petición abra una nueva
+        ConnectivityMonitor.getInstance(context).addNetworkChangeListener(
+                state -> apiClient.evictConnections());
     }
 
     /**
      * Patrón Singleton thread-safe para obtener la instancia única.
      */
-    public static synchronized RetrofitClient getInstance() {
+    public static synchronized RetrofitClient getInstance(Context context) {
         if (instance == null) {
-            instance = new RetrofitClient();
+            instance = new RetrofitClient(context.getApplicationContext());
         }
         return instance;
     }
 
     public ApiService getApiService() {
-        return apiService;
+        return apiClient.getApiService();
+    }
+
+    public Gson getGson() {
+        return apiClient.getGson();
+    }
+
+    /**
+     * Vacía la caché HTTP (por ejemplo al cerrar sesión).
+     */
+    public void clearCache() {
+        try {
+            apiClient.clearCache();
+        } catch (IOException e) {
+            Log.w(TAG, "Error clearing HTTP cache: " + e.getMessage());
+        }
     }
-}
\ No newline at end of file
+}
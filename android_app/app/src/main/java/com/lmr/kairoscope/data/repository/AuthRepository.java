@@ -13,7 +13,9 @@ import com.google.firebase.auth.UserProfileChangeRequest;
 
 import com.lmr.kairoscope.data.model.UserProfile;
 import com.lmr.kairoscope.data.model.AuthResult;
-import com.lmr.kairoscope.util.NetworkUtils;
+import com.lmr.kairoscope.data.network.AuthTokenProvider;
+import com.lmr.kairoscope.data.network.RetrofitClient;
+import com.lmr.kairoscope.util.ConnectivityMonitor;
 
 /**
  * Repositorio responsable de gestionar la autenticación con Firebase.
@@ -22,6 +24,7 @@ import com.lmr.kairoscope.util.NetworkUtils;
 public class AuthRepository {
     private final Context context;
     private final FirebaseAuth firebaseAuth;
+    private final ConnectivityMonitor connectivity;
 
     // LiveData para comunicar estados de autenticación al ViewModel
     private final MutableLiveData<AuthResult> authResultLiveData = new MutableLiveData<>();
@@ -29,8 +32,9 @@ public class AuthRepository {
     private final MutableLiveData<Boolean> isAuthenticatedLiveData = new MutableLiveData<>();
 
     public AuthRepository(Context context) {
-        this.context = context;
+        this.context = context.getApplicationContext();
         this.firebaseAuth = FirebaseAuth.getInstance();
+        this.connectivity = ConnectivityMonitor.getInstance(context);
         checkAuthenticationState();
     }
 
@@ -50,7 +54,7 @@ public class AuthRepository {
      * Inicia sesión con email y contraseña verificando conectividad.
      */
     public void login(String email, String password) {
-        if (!NetworkUtils.isNetworkAvailable(context)) {
+        if (!connectivity.isOnline()) {
             authResultLiveData.postValue(new AuthResult(false, "Sin conexión a internet"));
             isAuthenticatedLiveData.postValue(false);
             return;
@@ -90,7 +94,7 @@ public class AuthRepository {
      * Registra un nuevo usuario y actualiza su perfil con el nombre proporcionado.
      */
     public void register(String email, String password, String displayName) {
-        if (!NetworkUtils.isNetworkAvailable(context)) {
+        if (!connectivity.isOnline()) {
             authResultLiveData.postValue(new AuthResult(false, "Sin conexión a internet"));
             currentUserProfileLiveData.postValue(null);
             isAuthenticatedLiveData.postValue(false);
@@ -161,6 +165,10 @@ public class AuthRepository {
      */
     public void logout() {
         firebaseAuth.signOut();
+        authResultLiveData.postValue(null);
+        AuthTokenProvider.getInstance().invalidate();
+        // Evitar que otra sesión en el dispositivo reutilice respuestas cacheadas
+        RetrofitClient.getInstance(context).clearCache();
         isAuthenticatedLiveData.postValue(false);
         currentUserProfileLiveData.postValue(null);
     }
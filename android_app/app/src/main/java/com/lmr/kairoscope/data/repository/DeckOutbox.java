@@ -0,0 +1,278 @@
+package com.lmr.kairoscope.data.repository;
+
+import android.util.Log;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonObject;
+import com.lmr.kairoscope.data.local.DeckEntity;
+import com.lmr.kairoscope.data.local.OutboxDao;
+import com.lmr.kairoscope.data.local.PendingMutationEntity;
+import com.lmr.kairoscope.data.model.DeckCreationRequest;
+import com.lmr.kairoscope.data.model.DeckDeleteResponse;
+import com.lmr.kairoscope.data.model.DeckJob;
+import com.lmr.kairoscope.data.model.DeckJobResponse;
+import com.lmr.kairoscope.data.model.DeckResponse;
+import com.lmr.kairoscope.data.network.ApiService;
+import com.lmr.kairoscope.data.network.TokenSource;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+import retrofit2.Response;
+
+/**
+ * Cola persistente de creaciones y borrados hechos sin conexión (outbox).
+ * Los cambios se aplican primero en local y se envían en orden al recuperar la red;
+ * si el servidor los rechaza, se deshacen. Un cambio que sigue fallando tras
+ * {@link #MAX_ATTEMPTS} envíos también se deshace, para no bloquear la cola para siempre.
+ * Las llamadas son bloqueantes: encolar se hace en el hilo de disco y vaciar la cola
+ * en un hilo de red o en el worker.
+ */
+class DeckOutbox {
+
+    private static final String TAG = "DeckOutbox";
+
+    /**
+     * Resultado definitivo de los cambios enviados. Se invoca desde el hilo que vacía la cola.
+     */
+    interface Listener {
+        void onDeleteConfirmed(String uid, int deckId);
+
+        void onDeleteRejected(String uid, int deckId, String message);
+
+        void onCreateCompleted(String uid, DeckResponse.DeckInfo deck);
+
+        void onCreateRejected(String uid, String message);
+    }
+
+    /**
+     * Qué hacer tras enviar un cambio.
+     */
+    private enum Outcome {
+        // Resuelto (aceptado o rechazado): se pasa al siguiente
+        DONE,
+        // Fallo transitorio: se detiene el vaciado y se reintenta más tarde
+        RETRY,
+        // Sin sesión válida (401 tras renovar el token): se deshace como un rechazo
+        UNAUTHORIZED
+    }
+
+    static final int POLL_WAIT_SECONDS = 20;
+    // Margen para seguir una creación dentro del límite de 10 minutos de WorkManager
+    static final long CREATE_BUDGET_MS = TimeUnit.MINUTES.toMillis(8);
+    // Con el backoff exponencial del worker (30 s) son varias horas de reintentos
+    static final int MAX_ATTEMPTS = 8;
+
+    private final ApiService apiService;
+    private final TokenSource tokenSource;
+    private final OutboxDao outboxDao;
+    private final Gson gson;
+    private final Listener listener;
+    // Un único vaciado a la vez por proceso (ruta directa o worker)
+    private final ReentrantLock drainLock = new ReentrantLock();
+
+    DeckOutbox(ApiService apiService, TokenSource tokenSource, OutboxDao outboxDao, Gson gson,
+               Listener listener) {
+        this.apiService = apiService;
+        this.tokenSource = tokenSource;
+        this.outboxDao = outboxDao;
+        this.gson = gson;
+        this.listener = listener;
+    }
+
+    /**
+     * Oculta la baraja y encola su borrado.
+     */
+    void enqueueDelete(String uid, int deckId) {
+        outboxDao.enqueueDelete(uid, deckId, System.currentTimeMillis());
+    }
+
+    /**
+     * Encola una creación y guarda una baraja provisional marcada como pendiente.
+     * @return id local de la baraja provisional
+     */
+    int enqueueCreate(String uid, DeckCreationRequest request, String idempotencyKey) {
+        JsonObject body = new JsonObject();
+        body.addProperty("discipline", request.getDiscipline());
+        body.addProperty("blockDescription", request.getBlockDescription());
+        body.addProperty("color", request.getColor());
+
+        PendingMutationEntity mutation = new PendingMutationEntity();
+        mutation.ownerUid = uid;
+        mutation.payload = gson.toJson(body);
+        mutation.idempotencyKey = idempotencyKey;
+        mutation.createdAt = System.currentTimeMillis();
+
+        DeckEntity placeholder = new DeckEntity();
+        placeholder.name = "Nueva baraja";
+        placeholder.discipline = request.getDiscipline();
+        placeholder.blockDescription = request.getBlockDescription();
+        placeholder.chosenColor = request.getColor();
+        placeholder.createdAt = Instant.now().toString();
+        return outboxDao.enqueueCreate(mutation, placeholder);
+    }
+
+    /**
+     * Envía todos los cambios pendientes del usuario en una sola pasada,
+     * incluidos los que se encolen mientras tanto.
+     * @return false si queda algo pendiente por un fallo transitorio
+     */
+    boolean drain(String uid) {
+        if (!drainLock.tryLock()) {
+            // Otro vaciado está en curso y recogerá también los cambios nuevos
+            return true;
+        }
+        try {
+            while (true) {
+                List<PendingMutationEntity> pending = outboxDao.getPending(uid);
+                if (pending.isEmpty()) {
+                    return true;
+                }
+                for (PendingMutationEntity mutation : pending) {
+                    Outcome outcome = PendingMutationEntity.TYPE_CREATE.equals(mutation.type)
+                            ? sendCreate(mutation)
+                            : sendDelete(mutation);
+                    if (outcome == Outcome.UNAUTHORIZED) {
+                        Log.w(TAG, "Mutation " + mutation.id + " rejected: not authorized");
+                        reject(mutation, "la sesión ha caducado");
+                    } else if (outcome == Outcome.RETRY) {
+                        if (mutation.attempts + 1 < MAX_ATTEMPTS) {
+                            // Se mantiene el orden: lo siguiente puede depender de este cambio
+                            outboxDao.incrementAttempts(mutation.id);
+                            return false;
+                        }
+                        // Demasiados intentos: se abandona para no bloquear el resto de la cola
+                        Log.w(TAG, "Mutation " + mutation.id + " dropped after " + MAX_ATTEMPTS + " attempts");
+                        reject(mutation, "el servidor no responde");
+                    }
+                }
+            }
+        } finally {
+            drainLock.unlock();
+        }
+    }
+
+    private Outcome sendDelete(PendingMutationEntity mutation) {
+        Response<DeckDeleteResponse> response;
+        try {
+            response = apiService.deleteDeck(mutation.deckId).execute();
+        } catch (IOException e) {
+            Log.w(TAG, "Delete " + mutation.deckId + " deferred: " + e.getMessage());
+            return Outcome.RETRY;
+        }
+        int code = response.code();
+        if (code == 401) {
+            return onUnauthorized(mutation);
+        }
+        if (response.isSuccessful() || code == 404) {
+            // 404: ya no existe en el servidor, que es lo que se quería
+            outboxDao.completeDelete(mutation);
+            listener.onDeleteConfirmed(mutation.ownerUid, mutation.deckId);
+            return Outcome.DONE;
+        }
+        if (isTransient(code)) {
+            return Outcome.RETRY;
+        }
+        reject(mutation, "el servidor lo ha rechazado");
+        return Outcome.DONE;
+    }
+
+    private Outcome sendCreate(PendingMutationEntity mutation) {
+        JsonObject body = gson.fromJson(mutation.payload, JsonObject.class);
+        DeckJob job;
+        try {
+            // La misma clave de idempotencia en cada intento: el servidor devuelve el trabajo original
+            Response<DeckJobResponse> response =
+                    apiService.createDeckJob(mutation.idempotencyKey, body).execute();
+            DeckJobResponse jobResponse = response.body();
+            if (response.code() == 401) {
+                return onUnauthorized(mutation);
+            }
+            if (!response.isSuccessful() || jobResponse == null || jobResponse.getJob() == null) {
+                if (isTransient(response.code())) {
+                    return Outcome.RETRY;
+                }
+                String message = jobResponse != null && jobResponse.getMessage() != null
+                        ? jobResponse.getMessage() : "No se pudo crear la baraja";
+                reject(mutation, message);
+                return Outcome.DONE;
+            }
+            job = followJob(jobResponse.getJob());
+        } catch (IOException e) {
+            Log.w(TAG, "Create deferred: " + e.getMessage());
+            return Outcome.RETRY;
+        }
+
+        if (job == null) {
+            return Outcome.RETRY;
+        }
+        if (job.isFailed()) {
+            reject(mutation, job.getError() != null ? job.getError() : "Error al generar la baraja");
+            return Outcome.DONE;
+        }
+        boolean stillWanted = outboxDao.finishCreate(mutation);
+        if (!stillWanted && job.getDeck() != null) {
+            // Se descartó mientras se generaba: borrar también la baraja del servidor
+            enqueueDelete(mutation.ownerUid, job.getDeck().getId());
+        } else {
+            listener.onCreateCompleted(mutation.ownerUid, job.getDeck());
+        }
+        return Outcome.DONE;
+    }
+
+    /**
+     * Sigue el trabajo con long-polling hasta que termina.
+     * @return el trabajo terminado, o null si no terminó dentro del margen o se perdió
+     */
+    private DeckJob followJob(DeckJob job) throws IOException {
+        long deadline = System.currentTimeMillis() + CREATE_BUDGET_MS;
+        while (!job.isFinished()) {
+            if (System.currentTimeMillis() > deadline) {
+                return null;
+            }
+            Response<DeckJobResponse> response =
+                    apiService.getDeckJob(job.getJobId(), job.getVersion(), POLL_WAIT_SECONDS).execute();
+            DeckJobResponse body = response.body();
+            if (!response.isSuccessful() || body == null || body.getJob() == null) {
+                // 404 tras un reinicio del servidor o fallo transitorio: se reenvía la creación más tarde
+                return null;
+            }
+            job = body.getJob();
+        }
+        return job;
+    }
+
+    /**
+     * Un 401 llega cuando el token renovado por el cliente HTTP tampoco vale. Se fuerza
+     * otra renovación y se reintenta una sola vez por cambio; si no hay sesión o vuelve
+     * a fallar, el cambio se deshace.
+     */
+    private Outcome onUnauthorized(PendingMutationEntity mutation) {
+        if (mutation.authRetried || tokenSource.refreshToken() == null) {
+            return Outcome.UNAUTHORIZED;
+        }
+        outboxDao.markAuthRetried(mutation.id);
+        return Outcome.RETRY;
+    }
+
+    /**
+     * Deshace un cambio que no se va a aplicar en el servidor y avisa al listener.
+     */
+    private void reject(PendingMutationEntity mutation, String message) {
+        if (PendingMutationEntity.TYPE_CREATE.equals(mutation.type)) {
+            if (outboxDao.finishCreate(mutation)) {
+                listener.onCreateRejected(mutation.ownerUid, message);
+            }
+        } else {
+            outboxDao.rollbackDelete(mutation);
+            listener.onDeleteRejected(mutation.ownerUid, mutation.deckId, message);
+        }
+    }
+
+    private static boolean isTransient(int code) {
+        return code == 408 || code == 429 || code >= 500;
+    }
+}
@@ -1,66 +1,146 @@
 package com.lmr.kairoscope.data.repository;
 
+import android.app.ActivityManager;
+import android.content.ComponentCallbacks2;
 import android.content.Context;
+import android.os.Looper;
 
 import androidx.lifecycle.LiveData;
 import androidx.lifecycle.MutableLiveData;
 
 import com.google.firebase.auth.FirebaseAuth;
 import com.google.firebase.auth.FirebaseUser;
-import com.google.gson.JsonObject;
+import com.google.gson.Gson;
+import com.lmr.kairoscope.data.cache.TtlLruCache;
+import com.lmr.kairoscope.data.local.AppDatabase;
+import com.lmr.kairoscope.data.local.RoomDeckStore;
+import com.lmr.kairoscope.data.model.Card;
+import com.lmr.kairoscope.data.model.Deck;
 import com.lmr.kairoscope.data.model.DeckCreationRequest;
 import com.lmr.kairoscope.data.model.DeckDetailResponse;
+import com.lmr.kairoscope.data.model.DeckJob;
 import com.lmr.kairoscope.data.model.DeckListResponse;
 import com.lmr.kairoscope.data.model.DeckResponse;
 import com.lmr.kairoscope.data.model.DeckDeleteResponse;
+import com.lmr.kairoscope.data.model.DrawState;
 import com.lmr.kairoscope.data.network.ApiService;
+import com.lmr.kairoscope.data.network.AuthTokenProvider;
 import com.lmr.kairoscope.data.network.RetrofitClient;
-import com.lmr.kairoscope.util.NetworkUtils;
+import com.lmr.kairoscope.data.sync.OutboxWorker;
+import com.lmr.kairoscope.util.AppExecutors;
+import com.lmr.kairoscope.util.ConnectivityMonitor;
 
-import retrofit2.Call;
-import retrofit2.Callback;
-import retrofit2.Response;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
 
 /**
  * Repositorio responsable de gestionar las operaciones relacionadas con las barajas.
+ * Las cachés, la precarga y la creación viven en {@link DeckSource} (módulo core); aquí
+ * solo se resuelve el usuario de Firebase, se publican los resultados en {@link ResultStream},
+ * que cancela las lecturas cuando no se ve ninguna pantalla que las use, y se conecta Room.
+ * Se usa una única instancia por proceso, obtenida de {@link com.lmr.kairoscope.KairoscopeApplication}.
+ * Las creaciones y borrados se aplican primero en local y, sin conexión, esperan en un
+ * outbox persistente que {@link OutboxWorker} envía al recuperar la red.
  */
 public class DeckRepository {
 
-    private final ApiService apiService;
+    // Fracción del heap de la app reservada a detalles de barajas en memoria
+    private static final int DETAIL_CACHE_HEAP_DIVISOR = 64;
+    private static final int DETAIL_CACHE_HEAP_DIVISOR_LOW_RAM = 128;
+    private static final long MIN_DETAIL_CACHE_BYTES = 256 * 1024;
+
     private final FirebaseAuth firebaseAuth;
     private final Context context;
+    private final Executor diskIO;
+    private final Executor networkIO;
+    private final Executor mainThread;
+    private final ConnectivityMonitor connectivity;
+    private final DrawStateStore drawStates;
+    private final DeckOutbox outbox;
+    private final DeckSource deckSource;
 
     // LiveData para comunicar resultados al ViewModel
-    private final MutableLiveData<DeckResponse> deckCreationResult = new MutableLiveData<>();
-    private final MutableLiveData<DeckListResponse> deckListResult = new MutableLiveData<>();
-    private final MutableLiveData<DeckDetailResponse> deckDetailResult = new MutableLiveData<>();
-    private final MutableLiveData<DeckDeleteResponse> deckDeleteResult = new MutableLiveData<>();
+    private final ResultStream<DeckResponse> deckCreationResult = new ResultStream<>();
+    private final ResultStream<DeckJob> deckCreationProgress = new ResultStream<>();
+    private final ResultStream<List<Card>> deckCreationCards = new ResultStream<>();
+    private final ResultStream<DeckListResponse> deckListResult = new ResultStream<>();
+    private final ResultStream<DeckDetailResponse> deckDetailResult = new ResultStream<>();
+    // Resultado de cada borrado que el servidor aún no ha confirmado, por id de baraja
+    private final Map<Integer, ResultStream<DeckDeleteResponse>> pendingDeletes = new ConcurrentHashMap<>();
+    // Avisos de cambios del outbox resueltos en segundo plano
+    private final MutableLiveData<String> syncMessages = new MutableLiveData<>();
+    private final ResultStream<DeckDrawPool> drawPoolResult = new ResultStream<>();
 
     public DeckRepository(Context context) {
-        this.context = context;
+        this.context = context.getApplicationContext();
         // Obtenemos la instancia de ApiService usando RetrofitClient
-        this.apiService = RetrofitClient.getInstance().getApiService();
+        ApiService apiService = RetrofitClient.getInstance(context).getApiService();
+        Gson gson = RetrofitClient.getInstance(context).getGson();
+        AppExecutors executors = AppExecutors.getInstance();
         this.firebaseAuth = FirebaseAuth.getInstance();
+        this.diskIO = executors.diskIO();
+        this.networkIO = executors.networkIO();
+        this.mainThread = executors.mainThread();
+        this.connectivity = ConnectivityMonitor.getInstance(context);
+        this.drawStates = new DrawStateStore(context);
+        this.outbox = new DeckOutbox(apiService, AuthTokenProvider.getInstance(),
+                AppDatabase.getInstance(context).outboxDao(), gson, new OutboxListener());
+        this.deckSource = new CachedDeckSource(apiService,
+                new RoomDeckStore(AppDatabase.getInstance(context).deckDao()), connectivity,
+                new IdempotencyKeyStore(context), new DrawWeightStore(context),
+                AuthTokenProvider.getInstance(),
+                new DeckJobStreamer(apiService, executors.networkIO(), gson),
+                new DeckJobPoller(apiService, executors.scheduler()),
+                diskIO, mainThread, detailCacheBudget(context));
     }
 
-    public LiveData<DeckResponse> getDeckCreationResult() {
+    public ResultStream<DeckResponse> getDeckCreationResult() {
         return deckCreationResult;
     }
 
-    public LiveData<DeckListResponse> getDeckListResult() {
+    /**
+     * Estado del trabajo de creación en curso (null si no hay ninguno).
+     */
+    public ResultStream<DeckJob> getDeckCreationProgress() {
+        return deckCreationProgress;
+    }
+
+    /**
+     * Cartas nuevas del trabajo de creación en curso, en lotes y en orden: cada valor trae
+     * solo las que llegaron desde el anterior. null al empezar otro trabajo o al limpiarlo.
+     * Se publica con setValue en el hilo principal, así que ningún lote se pierde.
+     */
+    public ResultStream<List<Card>> getDeckCreationCards() {
+        return deckCreationCards;
+    }
+
+    public ResultStream<DeckListResponse> getDeckListResult() {
         return deckListResult;
     }
 
-    public LiveData<DeckDetailResponse> getDeckDetailResult() {
+    public ResultStream<DeckDetailResponse> getDeckDetailResult() {
         return deckDetailResult;
     }
 
-    public LiveData<DeckDeleteResponse> getDeckDeleteResult() {
-        return deckDeleteResult;
+    /**
+     * Mensajes para el usuario cuando se resuelve un cambio hecho sin conexión.
+     */
+    public LiveData<String> getSyncMessages() {
+        return syncMessages;
     }
 
 
-    // Método para crear una baraja
+    /**
+     * Crea una baraja como trabajo asíncrono en el servidor.
+     * La petición inicial solo encola la generación; las cartas llegan en lotes por
+     * {@link #getDeckCreationCards()}, el progreso por {@link #getDeckCreationProgress()}
+     * y el resultado final por {@link #getDeckCreationResult()}.
+     * La petición lleva una clave de idempotencia que se reutiliza al reintentar la misma
+     * solicitud, de modo que un reintento tras un corte nunca genera una baraja duplicada.
+     * Sin conexión, la solicitud pasa al outbox y se publica un resultado "pending".
+     */
     public void createDeck(DeckCreationRequest request) {
         // Obtener el usuario actual
         FirebaseUser currentUser = firebaseAuth.getCurrentUser();
@@ -70,60 +150,42 @@ public class DeckRepository {
             deckCreationResult.postValue(new DeckResponse("error", "Usuario no autenticado"));
             return;
         }
-        // AÑADIR verificación de conexión
-        if (!NetworkUtils.isNetworkAvailable(context)) {
-            deckCreationResult.postValue(new DeckResponse("error", "Sin conexión a internet"));
-            return;
-        }
-
-        // Obtener el ID Token de Firebase
-        currentUser.getIdToken(true)
-                .addOnCompleteListener(task -> {
-                    if (task.isSuccessful()) {
-                        String idToken = task.getResult().getToken();
-
-                        // Crear un objeto JSON con el token y los datos de la solicitud
-                        JsonObject requestBody = new JsonObject();
-                        requestBody.addProperty("token", idToken);
-                        requestBody.addProperty("discipline", request.getDiscipline());
-                        requestBody.addProperty("blockDescription", request.getBlockDescription());
-                        requestBody.addProperty("color", request.getColor());
-
-                        // Hacer la llamada a la API
-                        Call<DeckResponse> call = apiService.createDeck(requestBody);
-
-                        call.enqueue(new Callback<DeckResponse>() {
-                            @Override
-                            public void onResponse(Call<DeckResponse> call, Response<DeckResponse> response) {
-                                if (response.isSuccessful() && response.body() != null) {
-                                    deckCreationResult.postValue(response.body());
-                                } else {
-                                    // Error en la respuesta
-                                    DeckResponse errorResponse = new DeckResponse("error",
-                                            "Error: " + response.code() + " " + response.message());
-                                    deckCreationResult.postValue(errorResponse);
-                                }
-                            }
-
-                            @Override
-                            public void onFailure(Call<DeckResponse> call, Throwable t) {
-                                // Error de red o conexión
-                                DeckResponse errorResponse = new DeckResponse("error",
-                                        "Error de conexión: " + t.getMessage());
-                                deckCreationResult.postValue(errorResponse);
-                            }
-                        });
-
-                    } else {
-                        // Error al obtener el token
-                        deckCreationResult.postValue(new DeckResponse("error",
-                                "Error al obtener token de autenticación"));
-                    }
-                });
+        deckSource.createDeck(currentUser.getUid(), request, new DeckSource.CreationListener() {
+            @Override
+            public void onProgress(DeckJob job) {
+                deckCreationProgress.postValue(job);
+            }
+
+            @Override
+            public void onCards(List<Card> batch) {
+                deckCreationCards.setValue(batch);
+            }
+
+            @Override
+            public void onResult(DeckResponse result) {
+                deckCreationResult.postValue(result);
+            }
+
+            @Override
+            public void onQueuedOffline(String uid, DeckCreationRequest queued, String idempotencyKey) {
+                // La creación queda en el outbox y la baraja aparece como pendiente
+                outbox.enqueueCreate(uid, queued, idempotencyKey);
+                deckCreationResult.postValue(new DeckResponse("pending",
+                        "Sin conexión: la baraja se creará al recuperar la conexión"));
+                syncOutbox(uid);
+            }
+        });
     }
 
     // Método para obtener lista de barajas
     public void getDeckList() {
+        getDeckList(CachePolicy.STALE_WHILE_REVALIDATE);
+    }
+
+    /**
+     * Obtiene la lista de barajas aplicando la política de caché indicada.
+     */
+    public void getDeckList(CachePolicy policy) {
         FirebaseUser currentUser = firebaseAuth.getCurrentUser();
 
         if (currentUser == null) {
@@ -131,45 +193,48 @@ public class DeckRepository {
             return;
         }
 
-        if (!NetworkUtils.isNetworkAvailable(context)) {
-            deckListResult.postValue(new DeckListResponse("error", null, 0));
-            return;
-        }
+        deckSource.loadDeckList(currentUser.getUid(), policy, deckListResult,
+                new CachedLoader.ResultCallback<DeckListResponse>() {
+                    @Override
+                    public void onSuccess(DeckListResponse value) {
+                        deliver(deckListResult, value);
+                    }
 
-        currentUser.getIdToken(true)
-                .addOnCompleteListener(task -> {
-                    if (task.isSuccessful()) {
-                        String idToken = task.getResult().getToken();
-                        String authHeader = "Bearer " + idToken;
-
-                        Call<DeckListResponse> call = apiService.getDeckList(authHeader);
-
-                        call.enqueue(new Callback<DeckListResponse>() {
-                            @Override
-                            public void onResponse(Call<DeckListResponse> call, Response<DeckListResponse> response) {
-                                if (response.isSuccessful() && response.body() != null) {
-                                    deckListResult.postValue(response.body());
-                                } else {
-                                    DeckListResponse errorResponse = new DeckListResponse("error", null, 0);
-                                    deckListResult.postValue(errorResponse);
-                                }
-                            }
-
-                            @Override
-                            public void onFailure(Call<DeckListResponse> call, Throwable t) {
-                                DeckListResponse errorResponse = new DeckListResponse("error", null, 0);
-                                deckListResult.postValue(errorResponse);
-                            }
-                        });
-
-                    } else {
-                        deckListResult.postValue(new DeckListResponse("error", null, 0));
+                    @Override
+                    public void onError() {
+                        // Lectura cancelada o sin receptores: no dejar un error pegado
+                        if (deckListResult.isListened()) {
+                            deckListResult.postValue(new DeckListResponse("error", null, 0));
+                        }
                     }
                 });
     }
 
+    /**
+     * Indica si hay una lista en memoria que pueda pintarse sin esperar.
+     */
+    public boolean hasCachedDeckList() {
+        FirebaseUser currentUser = firebaseAuth.getCurrentUser();
+        return currentUser != null && deckSource.hasCachedDeckList(currentUser.getUid());
+    }
+
+    /**
+     * Indica si el detalle de una baraja está en memoria y puede pintarse sin esperar.
+     */
+    public boolean hasCachedDeckDetail(int deckId) {
+        FirebaseUser currentUser = firebaseAuth.getCurrentUser();
+        return currentUser != null && deckSource.hasCachedDeckDetail(currentUser.getUid(), deckId);
+    }
+
     // Método para obtener detalles de una baraja
     public void getDeckDetail(int deckId) {
+        getDeckDetail(deckId, CachePolicy.STALE_WHILE_REVALIDATE);
+    }
+
+    /**
+     * Obtiene el detalle de una baraja aplicando la política de caché indicada.
+     */
+    public void getDeckDetail(int deckId, CachePolicy policy) {
         FirebaseUser currentUser = firebaseAuth.getCurrentUser();
 
         if (currentUser == null) {
@@ -177,96 +242,305 @@ public class DeckRepository {
             return;
         }
 
-        if (!NetworkUtils.isNetworkAvailable(context)) {
-            // Para getDeckDetail:
-            deckDetailResult.postValue(new DeckDetailResponse("error", null));
-            // Para deleteDeck:
-            deckDeleteResult.postValue(new DeckDeleteResponse("error", "Sin conexión a internet"));
-            return;
-        }
+        deckSource.loadDeckDetail(currentUser.getUid(), deckId, policy, deckDetailResult,
+                new CachedLoader.ResultCallback<DeckDetailResponse>() {
+                    @Override
+                    public void onSuccess(DeckDetailResponse value) {
+                        deliver(deckDetailResult, value);
+                    }
 
-        currentUser.getIdToken(true)
-                .addOnCompleteListener(task -> {
-                    if (task.isSuccessful()) {
-                        String idToken = task.getResult().getToken();
-                        String authHeader = "Bearer " + idToken;
-
-                        Call<DeckDetailResponse> call = apiService.getDeckDetail(deckId, authHeader);
-
-                        call.enqueue(new Callback<DeckDetailResponse>() {
-                            @Override
-                            public void onResponse(Call<DeckDetailResponse> call, Response<DeckDetailResponse> response) {
-                                if (response.isSuccessful() && response.body() != null) {
-                                    deckDetailResult.postValue(response.body());
-                                } else {
-                                    DeckDetailResponse errorResponse = new DeckDetailResponse("error", null);
-                                    deckDetailResult.postValue(errorResponse);
-                                }
-                            }
-
-                            @Override
-                            public void onFailure(Call<DeckDetailResponse> call, Throwable t) {
-                                DeckDetailResponse errorResponse = new DeckDetailResponse("error", null);
-                                deckDetailResult.postValue(errorResponse);
-                            }
-                        });
-
-                    } else {
-                        deckDetailResult.postValue(new DeckDetailResponse("error", null));
+                    @Override
+                    public void onError() {
+                        if (deckDetailResult.isListened()) {
+                            deckDetailResult.postValue(new DeckDetailResponse("error", null));
+                        }
                     }
                 });
     }
 
-    // Método para eliminar una baraja
-    public void deleteDeck(int deckId) {
+    /**
+     * Adelanta la carga del detalle de una baraja para que esté en memoria al abrirla.
+     * El resultado no se publica: queda en la caché y, si aún está en curso cuando se pide
+     * el detalle, {@link #getDeckDetail(int)} se suma a la misma petición en lugar de repetirla.
+     * @param pressed true si el usuario ya está pulsando la baraja; si solo es visible,
+     *                se descarga únicamente en redes rápidas y sin tarificar
+     */
+    public void prefetchDeckDetail(int deckId, boolean pressed) {
+        FirebaseUser currentUser = firebaseAuth.getCurrentUser();
+        if (currentUser != null) {
+            deckSource.prefetchDeckDetail(currentUser.getUid(), deckId, pressed);
+        }
+    }
+
+    /**
+     * Cartas de todas las barajas guardadas, tras {@link #loadDrawPool()}.
+     * El mismo objeto se mantiene actualizado al guardar o borrar barajas.
+     */
+    public ResultStream<DeckDrawPool> getDrawPool() {
+        return drawPoolResult;
+    }
+
+    /**
+     * Carga desde disco las barajas con cartas del usuario actual, con sus pesos, y publica
+     * el pool. Solo lee disco la primera vez por usuario.
+     */
+    public void loadDrawPool() {
+        FirebaseUser currentUser = firebaseAuth.getCurrentUser();
+        if (currentUser != null) {
+            deckSource.loadDrawPool(currentUser.getUid(), drawPoolResult::postValue);
+        }
+    }
+
+    /**
+     * Peso de una baraja en el modo "todas las barajas" (el propio, el de su disciplina o 1).
+     */
+    public double getDrawWeight(Deck deck) {
+        FirebaseUser currentUser = firebaseAuth.getCurrentUser();
+        if (currentUser == null) {
+            return DeckDrawPool.DEFAULT_WEIGHT;
+        }
+        return deckSource.getDrawWeight(currentUser.getUid(), deck);
+    }
+
+    /**
+     * Fija el peso de una baraja en el modo "todas las barajas" (0 la excluye).
+     */
+    public void setDeckDrawWeight(int deckId, double weight) {
+        FirebaseUser currentUser = firebaseAuth.getCurrentUser();
+        if (currentUser != null) {
+            deckSource.setDeckDrawWeight(currentUser.getUid(), deckId, weight);
+        }
+    }
+
+    /**
+     * Fija el peso de toda una disciplina. La baraja indicada deja de tener peso propio
+     * para seguir al de su disciplina.
+     */
+    public void setDisciplineDrawWeight(Deck deck, double weight) {
         FirebaseUser currentUser = firebaseAuth.getCurrentUser();
+        if (currentUser != null) {
+            deckSource.setDisciplineDrawWeight(currentUser.getUid(), deck, weight);
+        }
+    }
+
+    /**
+     * Receptor del estado guardado de las extracciones, en el hilo principal.
+     */
+    public interface DrawStateCallback {
+        /**
+         * @param state el estado o null si no hay ninguno
+         */
+        void onLoaded(DrawState state);
+    }
 
+    /**
+     * Lee en el hilo de disco el estado guardado de las extracciones de una baraja del
+     * usuario actual y lo entrega en el hilo principal.
+     */
+    public void loadDrawState(int deckId, DrawStateCallback callback) {
+        FirebaseUser currentUser = firebaseAuth.getCurrentUser();
         if (currentUser == null) {
-            deckDeleteResult.postValue(new DeckDeleteResponse("error", "Usuario no autenticado"));
+            mainThread.execute(() -> callback.onLoaded(null));
             return;
         }
+        final String uid = currentUser.getUid();
+        diskIO.execute(() -> {
+            DrawState state = drawStates.load(uid, deckId);
+            mainThread.execute(() -> callback.onLoaded(state));
+        });
+    }
+
+    /**
+     * Guarda el estado de las extracciones para continuar en la próxima sesión.
+     */
+    public void saveDrawState(int deckId, DrawState state) {
+        FirebaseUser currentUser = firebaseAuth.getCurrentUser();
+        if (currentUser != null) {
+            drawStates.save(currentUser.getUid(), deckId, state);
+        }
+    }
 
-        if (!NetworkUtils.isNetworkAvailable(context)) {
-            // Para getDeckDetail:
-            deckDetailResult.postValue(new DeckDetailResponse("error", null));
-            // Para deleteDeck:
-            deckDeleteResult.postValue(new DeckDeleteResponse("error", "Sin conexión a internet"));
+    /**
+     * Elimina una baraja de forma optimista: desaparece de la lista local al momento y
+     * el outbox confirma el borrado con el servidor (o lo deshace si lo rechaza).
+     * La UI nunca espera a la red.
+     * @return stream propio de este borrado: primero el resultado local ("pending") y después
+     * el final, "success" cuando el servidor lo confirma o un error si lo rechaza. Cada
+     * llamada tiene el suyo, así que dos borrados seguidos no se pisan los resultados.
+     */
+    public ResultStream<DeckDeleteResponse> deleteDeck(int deckId) {
+        ResultStream<DeckDeleteResponse> result = new ResultStream<>();
+        FirebaseUser currentUser = firebaseAuth.getCurrentUser();
+
+        if (currentUser == null) {
+            deliverDeleteResult(result, new DeckDeleteResponse("error", "Usuario no autenticado", deckId));
+            return result;
+        }
+
+        final String uid = currentUser.getUid();
+        pendingDeletes.put(deckId, result);
+        diskIO.execute(() -> {
+            outbox.enqueueDelete(uid, deckId);
+            drawStates.remove(uid, deckId);
+            deckSource.onDeckDeleted(uid, deckId);
+            deliverDeleteResult(result, new DeckDeleteResponse("pending", connectivity.isOnline()
+                    ? "Baraja eliminada"
+                    : "Baraja eliminada. Se sincronizará al recuperar la conexión", deckId));
+            syncOutbox(uid);
+        });
+        return result;
+    }
+
+    /**
+     * Entrega un resultado de borrado con setValue: con postValue el local y el final
+     * podrían fusionarse y el ViewModel no vería el aviso de que se sincronizará luego.
+     */
+    private void deliverDeleteResult(ResultStream<DeckDeleteResponse> stream, DeckDeleteResponse result) {
+        mainThread.execute(() -> stream.setValue(result));
+    }
+
+    /**
+     * Envía los cambios pendientes del usuario. Bloqueante: lo usa {@link OutboxWorker}.
+     * @return false si queda algo pendiente y conviene reintentar
+     */
+    public boolean syncPendingMutations(String uid) {
+        return outbox.drain(uid);
+    }
+
+    /**
+     * Vacía el outbox ahora si hay red; si no, o si falla, lo deja programado en WorkManager.
+     */
+    private void syncOutbox(String uid) {
+        if (!connectivity.isOnline()) {
+            OutboxWorker.schedule(context);
             return;
         }
+        networkIO.execute(() -> {
+            if (!outbox.drain(uid)) {
+                OutboxWorker.schedule(context);
+            }
+        });
+    }
 
-        currentUser.getIdToken(true)
-                .addOnCompleteListener(task -> {
-                    if (task.isSuccessful()) {
-                        String idToken = task.getResult().getToken();
-                        String authHeader = "Bearer " + idToken;
-
-                        Call<DeckDeleteResponse> call = apiService.deleteDeck(deckId, authHeader);
-
-                        call.enqueue(new Callback<DeckDeleteResponse>() {
-                            @Override
-                            public void onResponse(Call<DeckDeleteResponse> call, Response<DeckDeleteResponse> response) {
-                                if (response.isSuccessful() && response.body() != null) {
-                                    deckDeleteResult.postValue(response.body());
-                                } else {
-                                    DeckDeleteResponse errorResponse = new DeckDeleteResponse("error", "Error al eliminar baraja");
-                                    deckDeleteResult.postValue(errorResponse);
-                                }
-                            }
-
-                            @Override
-                            public void onFailure(Call<DeckDeleteResponse> call, Throwable t) {
-                                DeckDeleteResponse errorResponse = new DeckDeleteResponse("error", "Error de conexión");
-                                deckDeleteResult.postValue(errorResponse);
-                            }
-                        });
-
-                    } else {
-                        deckDeleteResult.postValue(new DeckDeleteResponse("error", "Error de autenticación"));
-                    }
-                });
+    /**
+     * Republica la lista local tras un cambio del outbox, si alguien la está mostrando.
+     */
+    private void publishLocalDeckList(String uid) {
+        if (!deckListResult.isListened()) {
+            deckSource.invalidateDeckList(uid);
+            return;
+        }
+        deckSource.loadLocalDeckList(uid, new CachedLoader.ResultCallback<DeckListResponse>() {
+            @Override
+            public void onSuccess(DeckListResponse value) {
+                deckListResult.postValue(value);
+            }
+
+            @Override
+            public void onError() {
+                // La lectura de disco no falla
+            }
+        });
+    }
+
+    /**
+     * Resultados del outbox: actualiza la lista y avisa de lo que no se pudo aplicar.
+     */
+    private class OutboxListener implements DeckOutbox.Listener {
+        @Override
+        public void onDeleteConfirmed(String uid, int deckId) {
+            deckSource.invalidateDeckList(uid);
+            ResultStream<DeckDeleteResponse> result = pendingDeletes.remove(deckId);
+            if (result != null) {
+                deliverDeleteResult(result, new DeckDeleteResponse("success", null, deckId));
+            }
+        }
+
+        @Override
+        public void onDeleteRejected(String uid, int deckId, String message) {
+            // La baraja vuelve a estar en disco: mostrarla de nuevo
+            publishLocalDeckList(uid);
+            diskIO.execute(() -> deckSource.onDeckRestored(uid, deckId));
+            ResultStream<DeckDeleteResponse> result = pendingDeletes.remove(deckId);
+            if (result != null) {
+                deliverDeleteResult(result, new DeckDeleteResponse("error", message, deckId));
+            } else {
+                // Borrado de una sesión anterior del proceso: nadie espera su resultado
+                syncMessages.postValue("No se pudo eliminar la baraja: " + message);
+            }
+        }
+
+        @Override
+        public void onCreateCompleted(String uid, DeckResponse.DeckInfo deck) {
+            deckSource.invalidateDeckList(uid);
+            // La baraja real solo está en el servidor: recargar la lista si se está viendo
+            if (deckListResult.isListened()) {
+                getDeckList(CachePolicy.NETWORK_ONLY);
+            }
+            if (deck != null) {
+                syncMessages.postValue("Baraja '" + deck.getName() + "' creada");
+            }
+        }
+
+        @Override
+        public void onCreateRejected(String uid, String message) {
+            publishLocalDeckList(uid);
+            syncMessages.postValue("No se pudo crear la baraja pendiente: " + message);
+        }
     }
 
-    public void clearDeleteResult() {
-        deckDeleteResult.postValue(null);
+    /**
+     * Libera memoria cuando el sistema lo pide (ver {@link ComponentCallbacks2}):
+     * con presión moderada se queda la mitad de los detalles más usados; con presión
+     * alta, o si el proceso va a ser de los primeros en morir, se vacían las cachés.
+     * Lo descartado sigue en disco.
+     */
+    public void onTrimMemory(int level) {
+        if (level >= ComponentCallbacks2.TRIM_MEMORY_MODERATE
+                || level == ComponentCallbacks2.TRIM_MEMORY_RUNNING_CRITICAL) {
+            deckSource.trimMemory(true);
+        } else if (level >= ComponentCallbacks2.TRIM_MEMORY_BACKGROUND
+                || level == ComponentCallbacks2.TRIM_MEMORY_RUNNING_LOW) {
+            deckSource.trimMemory(false);
+        }
+    }
+
+    /**
+     * Aciertos, fallos, expulsiones y bytes usados de la caché de detalles.
+     */
+    public TtlLruCache.Stats getDeckDetailCacheStats() {
+        return deckSource.getDeckDetailCacheStats();
+    }
+
+    public void clearCreationResult() {
+        deckCreationResult.postValue(null);
+        deckCreationProgress.postValue(null);
+        mainThread.execute(() -> deckCreationCards.setValue(null));
+    }
+
+    /**
+     * Presupuesto en bytes de la caché de detalles según el heap disponible para la app.
+     */
+    private static long detailCacheBudget(Context context) {
+        ActivityManager activityManager =
+                (ActivityManager) context.getSystemService(Context.ACTIVITY_SERVICE);
+        if (activityManager == null) {
+            return MIN_DETAIL_CACHE_BYTES;
+        }
+        int divisor = activityManager.isLowRamDevice()
+                ? DETAIL_CACHE_HEAP_DIVISOR_LOW_RAM : DETAIL_CACHE_HEAP_DIVISOR;
+        long heapBytes = activityManager.getMemoryClass() * 1024L * 1024L;
+        return Math.max(MIN_DETAIL_CACHE_BYTES, heapBytes / divisor);
+    }
+
+    /**
+     * Publica un valor: de forma inmediata si ya estamos en el hilo principal.
+     */
+    private static <T> void deliver(MutableLiveData<T> liveData, T value) {
+        if (Looper.myLooper() == Looper.getMainLooper()) {
+            liveData.setValue(value);
+        } else {
+            liveData.postValue(value);
+        }
     }
-}
\ No newline at end of file
+}
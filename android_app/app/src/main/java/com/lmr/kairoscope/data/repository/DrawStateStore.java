@@ -0,0 +1,66 @@
+package com.lmr.kairoscope.data.repository;
+
+import android.content.Context;
+import android.content.SharedPreferences;
+
+import com.lmr.kairoscope.data.model.DrawState;
+
+/**
+ * Guarda por usuario y baraja el orden barajado y la posición de las extracciones,
+ * para que cada sesión continúe el ciclo donde lo dejó la anterior.
+ * Formato: "cursor;id,id,...".
+ */
+class DrawStateStore {
+
+    private static final String PREFS_NAME = "draw_state";
+
+    private final SharedPreferences prefs;
+
+    DrawStateStore(Context context) {
+        this.prefs = context.getApplicationContext()
+                .getSharedPreferences(PREFS_NAME, Context.MODE_PRIVATE);
+    }
+
+    /**
+     * @return el estado guardado o null si no hay o no se puede leer
+     */
+    DrawState load(String uid, int deckId) {
+        String value = prefs.getString(key(uid, deckId), null);
+        if (value == null) {
+            return null;
+        }
+        try {
+            int separator = value.indexOf(';');
+            int cursor = Integer.parseInt(value.substring(0, separator));
+            String[] ids = value.substring(separator + 1).split(",");
+            int[] cardIds = new int[ids.length];
+            for (int i = 0; i < ids.length; i++) {
+                cardIds[i] = Integer.parseInt(ids[i]);
+            }
+            return new DrawState(cardIds, cursor);
+        } catch (RuntimeException e) {
+            // Valor corrupto: se empieza un ciclo nuevo
+            return null;
+        }
+    }
+
+    void save(String uid, int deckId, DrawState state) {
+        StringBuilder value = new StringBuilder().append(state.getCursor()).append(';');
+        int[] cardIds = state.getCardIds();
+        for (int i = 0; i < cardIds.length; i++) {
+            if (i > 0) {
+                value.append(',');
+            }
+            value.append(cardIds[i]);
+        }
+        prefs.edit().putString(key(uid, deckId), value.toString()).apply();
+    }
+
+    void remove(String uid, int deckId) {
+        prefs.edit().remove(key(uid, deckId)).apply();
+    }
+
+    private static String key(String uid, int deckId) {
+        return uid + ":" + deckId;
+    }
+}
@@ -0,0 +1,78 @@
+package com.lmr.kairoscope.data.repository;
+
+import android.content.Context;
+import android.content.SharedPreferences;
+
+import java.util.Map;
+
+/**
+ * Guarda por usuario los pesos elegidos para el modo "todas las barajas":
+ * por baraja ("uid:deck:id") y por disciplina ("uid:discipline:nombre").
+ */
+class DrawWeightStore implements DrawWeights {
+
+    private static final String PREFS_NAME = "draw_weights";
+    private static final String DECK = ":deck:";
+    private static final String DISCIPLINE = ":discipline:";
+
+    private final SharedPreferences prefs;
+
+    DrawWeightStore(Context context) {
+        this.prefs = context.getApplicationContext()
+                .getSharedPreferences(PREFS_NAME, Context.MODE_PRIVATE);
+    }
+
+    @Override
+    public void applyTo(String uid, DeckDrawPool pool) {
+        String deckPrefix = uid + DECK;
+        String disciplinePrefix = uid + DISCIPLINE;
+        for (Map.Entry<String, ?> entry : prefs.getAll().entrySet()) {
+            if (!(entry.getValue() instanceof Float)) {
+                continue;
+            }
+            double weight = (Float) entry.getValue();
+            String key = entry.getKey();
+            try {
+                if (key.startsWith(deckPrefix)) {
+                    pool.setDeckWeight(Integer.parseInt(key.substring(deckPrefix.length())), weight);
+                } else if (key.startsWith(disciplinePrefix)) {
+                    pool.setDisciplineWeight(key.substring(disciplinePrefix.length()), weight);
+                }
+            } catch (IllegalArgumentException e) {
+                // Valor corrupto: se usa el peso por defecto
+            }
+        }
+    }
+
+    @Override
+    public Double getDeckWeight(String uid, int deckId) {
+        return get(uid + DECK + deckId);
+    }
+
+    @Override
+    public Double getDisciplineWeight(String uid, String discipline) {
+        return get(uid + DISCIPLINE + discipline);
+    }
+
+    @Override
+    public void setDeckWeight(String uid, int deckId, Double weight) {
+        set(uid + DECK + deckId, weight);
+    }
+
+    @Override
+    public void setDisciplineWeight(String uid, String discipline, Double weight) {
+        set(uid + DISCIPLINE + discipline, weight);
+    }
+
+    private Double get(String key) {
+        return prefs.contains(key) ? (double) prefs.getFloat(key, 0) : null;
+    }
+
+    private void set(String key, Double weight) {
+        if (weight == null) {
+            prefs.edit().remove(key).apply();
+        } else {
+            prefs.edit().putFloat(key, weight.floatValue()).apply();
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.lmr.kairoscope.data.repository;
+
+import android.content.Context;
+import android.content.SharedPreferences;
+
+import java.util.UUID;
+
+/**
+ * Guarda la clave de idempotencia de la creación de baraja pendiente.
+ * Mientras la misma solicitud no se resuelva, cada reintento (aunque la app se
+ * haya reiniciado) reutiliza la clave y el servidor devuelve la baraja original
+ * en lugar de generar otra.
+ */
+class IdempotencyKeyStore implements IdempotencyKeys {
+
+    private static final String PREFS_NAME = "idempotency_keys";
+    private static final String KEY_FINGERPRINT = "pending_fingerprint";
+    private static final String KEY_VALUE = "pending_key";
+
+    private final SharedPreferences prefs;
+
+    IdempotencyKeyStore(Context context) {
+        this.prefs = context.getApplicationContext()
+                .getSharedPreferences(PREFS_NAME, Context.MODE_PRIVATE);
+    }
+
+    @Override
+    public synchronized String keyFor(String fingerprint) {
+        String key = prefs.getString(KEY_VALUE, null);
+        if (key != null && fingerprint.equals(prefs.getString(KEY_FINGERPRINT, null))) {
+            return key;
+        }
+        key = UUID.randomUUID().toString();
+        // commit: la clave debe estar en disco antes de enviar la petición
+        prefs.edit()
+                .putString(KEY_FINGERPRINT, fingerprint)
+                .putString(KEY_VALUE, key)
+                .commit();
+        return key;
+    }
+
+    @Override
+    public synchronized void clear(String key) {
+        if (key != null && key.equals(prefs.getString(KEY_VALUE, null))) {
+            prefs.edit().remove(KEY_FINGERPRINT).remove(KEY_VALUE).apply();
+        }
+    }
+}
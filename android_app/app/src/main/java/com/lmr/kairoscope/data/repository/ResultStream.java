@@ -0,0 +1,112 @@
+package com.lmr.kairoscope.data.repository;
+
+import androidx.annotation.NonNull;
+import androidx.lifecycle.Lifecycle;
+import androidx.lifecycle.LifecycleEventObserver;
+import androidx.lifecycle.LifecycleOwner;
+import androidx.lifecycle.MutableLiveData;
+import androidx.lifecycle.Observer;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import retrofit2.Call;
+
+/**
+ * LiveData del repositorio que conoce las llamadas de red que lo alimentan.
+ * Los ViewModel se suscriben durante toda su vida, pero el stream solo se considera
+ * escuchado mientras alguna pantalla atada con {@link #bindTo(LifecycleOwner)} está
+ * visible: cuando la última se detiene, o se quedan sin observadores, cancela las
+ * lecturas en curso, de modo que no se gasta red en resultados que nadie va a mostrar.
+ */
+public class ResultStream<T> extends MutableLiveData<T> implements CallTracker {
+
+    private final Set<Call<?>> inFlightCalls = new HashSet<>();
+    // Pantallas atadas que no se han detenido
+    private final AtomicInteger visibleScreens = new AtomicInteger();
+
+    /**
+     * Observa el stream fuera de un ciclo de vida (desde un ViewModel).
+     * Debe llamarse desde el hilo principal.
+     * @return suscripción a cancelar en onCleared()
+     */
+    public Subscription subscribe(Observer<T> observer) {
+        observeForever(observer);
+        return () -> removeObserver(observer);
+    }
+
+    /**
+     * Ata el stream a una pantalla (el ciclo de vida de la vista de un fragment): cuenta
+     * como visible desde ahora hasta onStop, otra vez desde onStart, y se desata sola al
+     * destruirse. Debe llamarse desde el hilo principal, en onViewCreated.
+     */
+    public void bindTo(LifecycleOwner screen) {
+        if (screen.getLifecycle().getCurrentState() == Lifecycle.State.DESTROYED) {
+            return;
+        }
+        visibleScreens.incrementAndGet();
+        screen.getLifecycle().addObserver(new LifecycleEventObserver() {
+            private boolean visible = true;
+
+            @Override
+            public void onStateChanged(@NonNull LifecycleOwner source, @NonNull Lifecycle.Event event) {
+                if (event == Lifecycle.Event.ON_START && !visible) {
+                    visible = true;
+                    visibleScreens.incrementAndGet();
+                } else if (event == Lifecycle.Event.ON_STOP || event == Lifecycle.Event.ON_DESTROY) {
+                    if (visible) {
+                        visible = false;
+                        screenHidden();
+                    }
+                    if (event == Lifecycle.Event.ON_DESTROY) {
+                        source.getLifecycle().removeObserver(this);
+                    }
+                }
+            }
+        });
+    }
+
+    @Override
+    public void track(Call<?> call) {
+        synchronized (inFlightCalls) {
+            inFlightCalls.add(call);
+        }
+    }
+
+    @Override
+    public void untrack(Call<?> call) {
+        synchronized (inFlightCalls) {
+            inFlightCalls.remove(call);
+        }
+    }
+
+    /**
+     * Indica si alguien va a recibir el valor; los errores sin receptor se descartan
+     * para no dejar un error pegado en el stream.
+     */
+    boolean isListened() {
+        return hasActiveObservers() && visibleScreens.get() > 0;
+    }
+
+    @Override
+    protected void onInactive() {
+        super.onInactive();
+        cancelInFlightCalls();
+    }
+
+    private void screenHidden() {
+        if (visibleScreens.decrementAndGet() == 0) {
+            cancelInFlightCalls();
+        }
+    }
+
+    private void cancelInFlightCalls() {
+        synchronized (inFlightCalls) {
+            for (Call<?> call : inFlightCalls) {
+                call.cancel();
+            }
+            inFlightCalls.clear();
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.lmr.kairoscope.data.sync;
+
+import android.content.Context;
+
+import androidx.annotation.NonNull;
+import androidx.work.BackoffPolicy;
+import androidx.work.Constraints;
+import androidx.work.ExistingWorkPolicy;
+import androidx.work.NetworkType;
+import androidx.work.OneTimeWorkRequest;
+import androidx.work.WorkManager;
+import androidx.work.Worker;
+import androidx.work.WorkerParameters;
+
+import com.google.firebase.auth.FirebaseAuth;
+import com.google.firebase.auth.FirebaseUser;
+import com.lmr.kairoscope.KairoscopeApplication;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Worker que envía los cambios pendientes del outbox cuando hay conexión.
+ * WorkManager lo conserva aunque la app se cierre y lo relanza con backoff
+ * exponencial mientras queden fallos transitorios.
+ */
+public class OutboxWorker extends Worker {
+
+    private static final String UNIQUE_WORK_NAME = "deck_outbox";
+    private static final long INITIAL_BACKOFF_SECONDS = 30;
+
+    public OutboxWorker(@NonNull Context context, @NonNull WorkerParameters params) {
+        super(context, params);
+    }
+
+    @NonNull
+    @Override
+    public Result doWork() {
+        FirebaseUser user = FirebaseAuth.getInstance().getCurrentUser();
+        if (user == null) {
+            // Sin sesión no se puede autenticar; la cola se conserva para cuando vuelva
+            return Result.success();
+        }
+        boolean drained = KairoscopeApplication.from(getApplicationContext())
+                .getDeckRepository()
+                .syncPendingMutations(user.getUid());
+        return drained ? Result.success() : Result.retry();
+    }
+
+    /**
+     * Programa el envío para cuando haya red. Si ya hay uno en marcha, el nuevo se
+     * encadena detrás para recoger los cambios que lleguen mientras tanto.
+     */
+    public static void schedule(Context context) {
+        Constraints constraints = new Constraints.Builder()
+                .setRequiredNetworkType(NetworkType.CONNECTED)
+                .build();
+        OneTimeWorkRequest request = new OneTimeWorkRequest.Builder(OutboxWorker.class)
+                .setConstraints(constraints)
+                .setBackoffCriteria(BackoffPolicy.EXPONENTIAL, INITIAL_BACKOFF_SECONDS, TimeUnit.SECONDS)
+                .build();
+        WorkManager.getInstance(context)
+                .enqueueUniqueWork(UNIQUE_WORK_NAME, ExistingWorkPolicy.APPEND_OR_REPLACE, request);
+    }
+}
@@ -0,0 +1,82 @@
+package com.lmr.kairoscope.util;
+
+import android.os.Handler;
+import android.os.Looper;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+
+/**
+ * Ejecutores compartidos de la aplicación.
+ * Agrupa el hilo de disco (base de datos local), los hilos de red para lecturas
+ * bloqueantes, el planificador de tareas diferidas, el hilo de cálculo para
+ * preparar datos de la UI y el hilo principal.
+ */
+public class AppExecutors {
+
+    private static AppExecutors instance;
+
+    private final ExecutorService diskIO;
+    private final ExecutorService networkIO;
+    private final ScheduledExecutorService scheduler;
+    private final ExecutorService computation;
+    private final Executor mainThread;
+
+    private AppExecutors() {
+        // Un único hilo serializa las escrituras en la base de datos local
+        this.diskIO = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "kairoscope-disk-io");
+            thread.setPriority(Thread.NORM_PRIORITY - 1);
+            return thread;
+        });
+        // Lecturas de red largas (streaming) que no deben ocupar los hilos de OkHttp
+        this.networkIO = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "kairoscope-network-io");
+            thread.setDaemon(true);
+            return thread;
+        });
+        // Reintentos y consultas periódicas (sondeo de trabajos, backoff)
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "kairoscope-scheduler");
+            thread.setDaemon(true);
+            return thread;
+        });
+        // Preparación de modelos de presentación fuera del hilo principal, en orden de llegada
+        this.computation = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "kairoscope-computation");
+            thread.setDaemon(true);
+            return thread;
+        });
+        Handler mainHandler = new Handler(Looper.getMainLooper());
+        this.mainThread = mainHandler::post;
+    }
+
+    public static synchronized AppExecutors getInstance() {
+        if (instance == null) {
+            instance = new AppExecutors();
+        }
+        return instance;
+    }
+
+    public ExecutorService diskIO() {
+        return diskIO;
+    }
+
+    public ExecutorService networkIO() {
+        return networkIO;
+    }
+
+    public ScheduledExecutorService scheduler() {
+        return scheduler;
+    }
+
+    public ExecutorService computation() {
+        return computation;
+    }
+
+    public Executor mainThread() {
+        return mainThread;
+    }
+}
@@ -0,0 +1,199 @@
+package com.lmr.kairoscope.util;
+
+import android.content.Context;
+import android.net.ConnectivityManager;
+import android.net.Network;
+import android.net.NetworkCapabilities;
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+import androidx.lifecycle.LiveData;
+import androidx.lifecycle.MutableLiveData;
+
+import com.lmr.kairoscope.data.repository.NetworkStatus;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Estado de la red por defecto mantenido en memoria mediante
+ * {@link ConnectivityManager.NetworkCallback}.
+ * Consultar el estado no hace llamadas al sistema: los repositorios pueden
+ * comprobarlo antes de cada petición sin coste.
+ */
+public class ConnectivityMonitor implements NetworkStatus {
+
+    private static final String TAG = "ConnectivityMonitor";
+
+    // Por debajo de este ancho de banda no se adelantan descargas
+    private static final int MIN_PREFETCH_KBPS = 1000;
+
+    /**
+     * Instantánea inmutable del estado de la red.
+     */
+    public static final class NetworkState {
+        static final NetworkState DISCONNECTED = new NetworkState(null, false, false, true, 0);
+
+        private final Network network;
+        private final boolean connected;
+        private final boolean validated;
+        private final boolean metered;
+        private final int downstreamKbps;
+
+        NetworkState(Network network, boolean connected, boolean validated, boolean metered,
+                     int downstreamKbps) {
+            this.network = network;
+            this.connected = connected;
+            this.validated = validated;
+            this.metered = metered;
+            this.downstreamKbps = downstreamKbps;
+        }
+
+        static NetworkState from(Network network, NetworkCapabilities capabilities) {
+            if (network == null || capabilities == null
+                    || !capabilities.hasCapability(NetworkCapabilities.NET_CAPABILITY_INTERNET)) {
+                return DISCONNECTED;
+            }
+            // Un portal cautivo tiene red pero no salida real a internet
+            boolean validated = capabilities.hasCapability(NetworkCapabilities.NET_CAPABILITY_VALIDATED)
+                    && !capabilities.hasCapability(NetworkCapabilities.NET_CAPABILITY_CAPTIVE_PORTAL);
+            boolean metered = !capabilities.hasCapability(NetworkCapabilities.NET_CAPABILITY_NOT_METERED);
+            return new NetworkState(network, true, validated, metered,
+                    capabilities.getLinkDownstreamBandwidthKbps());
+        }
+
+        public boolean isConnected() {
+            return connected;
+        }
+
+        /**
+         * Hay red y el sistema ha comprobado que llega a internet.
+         */
+        public boolean isValidated() {
+            return validated;
+        }
+
+        public boolean isMetered() {
+            return metered;
+        }
+
+        public int getDownstreamKbps() {
+            return downstreamKbps;
+        }
+
+        public boolean isOnline() {
+            return connected && validated;
+        }
+    }
+
+    /**
+     * Aviso de cambio de la red por defecto (otra red o pérdida de conexión).
+     * Se invoca desde el hilo de callbacks de ConnectivityManager.
+     */
+    public interface NetworkChangeListener {
+        void onNetworkChanged(NetworkState state);
+    }
+
+    private static ConnectivityMonitor instance;
+
+    private final MutableLiveData<NetworkState> stateLiveData = new MutableLiveData<>();
+    private final List<NetworkChangeListener> listeners = new CopyOnWriteArrayList<>();
+    private volatile NetworkState state = NetworkState.DISCONNECTED;
+
+    private ConnectivityMonitor(Context context) {
+        ConnectivityManager cm = (ConnectivityManager)
+                context.getSystemService(Context.CONNECTIVITY_SERVICE);
+        if (cm == null) {
+            return;
+        }
+        // Estado inicial con una única consulta; después solo se actualiza por callbacks
+        Network active = cm.getActiveNetwork();
+        state = NetworkState.from(active, active != null ? cm.getNetworkCapabilities(active) : null);
+        stateLiveData.postValue(state);
+
+        try {
+            cm.registerDefaultNetworkCallback(new ConnectivityManager.NetworkCallback() {
+                @Override
+                public void onCapabilitiesChanged(@NonNull Network network,
+                                                  @NonNull NetworkCapabilities capabilities) {
+                    update(NetworkState.from(network, capabilities));
+                }
+
+                @Override
+                public void onLost(@NonNull Network network) {
+                    if (network.equals(state.network)) {
+                        update(NetworkState.DISCONNECTED);
+                    }
+                }
+            });
+        } catch (RuntimeException e) {
+            // Límite de callbacks del sistema alcanzado: se mantiene el estado inicial
+            Log.w(TAG, "Could not register network callback: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Patrón Singleton thread-safe para obtener la instancia única.
+     */
+    public static synchronized ConnectivityMonitor getInstance(Context context) {
+        if (instance == null) {
+            instance = new ConnectivityMonitor(context.getApplicationContext());
+        }
+        return instance;
+    }
+
+    public NetworkState getState() {
+        return state;
+    }
+
+    public LiveData<NetworkState> getStateLiveData() {
+        return stateLiveData;
+    }
+
+    /**
+     * Hay una red validada (sin portal cautivo).
+     */
+    @Override
+    public boolean isOnline() {
+        return state.isOnline();
+    }
+
+    /**
+     * Indica si conviene adelantar descargas que el usuario aún no ha pedido:
+     * solo en redes validadas, sin tarificar y con ancho de banda suficiente.
+     */
+    @Override
+    public boolean shouldPrefetch() {
+        NetworkState current = state;
+        return current.isOnline() && !current.isMetered()
+                && current.getDownstreamKbps() >= MIN_PREFETCH_KBPS;
+    }
+
+    @Override
+    public boolean isMetered() {
+        return state.isMetered();
+    }
+
+    public void addNetworkChangeListener(NetworkChangeListener listener) {
+        listeners.add(listener);
+    }
+
+    public void removeNetworkChangeListener(NetworkChangeListener listener) {
+        listeners.remove(listener);
+    }
+
+    private void update(NetworkState newState) {
+        NetworkState previous = state;
+        state = newState;
+        stateLiveData.postValue(newState);
+        boolean networkChanged = previous.network == null
+                ? newState.network != null
+                : !previous.network.equals(newState.network);
+        if (networkChanged) {
+            Log.d(TAG, "Default network changed, online=" + newState.isOnline());
+            for (NetworkChangeListener listener : listeners) {
+                listener.onNetworkChanged(newState);
+            }
+        }
+    }
+}
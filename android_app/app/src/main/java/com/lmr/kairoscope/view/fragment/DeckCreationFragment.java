@@ -7,6 +7,7 @@ import android.view.LayoutInflater;
 import android.view.View;
 import android.view.ViewGroup;
 import android.widget.GridLayout;
+import android.widget.TextView;
 import android.widget.Toast;
 
 import androidx.annotation.NonNull;
@@ -15,6 +16,8 @@ import androidx.fragment.app.Fragment;
 import androidx.lifecycle.ViewModelProvider;
 import androidx.navigation.NavController;
 import androidx.navigation.fragment.NavHostFragment;
+import androidx.recyclerview.widget.LinearLayoutManager;
+import androidx.recyclerview.widget.RecyclerView;
 
 import com.google.android.material.chip.Chip;
 import com.google.android.material.chip.ChipGroup;
@@ -22,7 +25,9 @@ import com.google.android.material.progressindicator.CircularProgressIndicator;
 import com.google.android.material.snackbar.Snackbar;
 import com.google.android.material.textfield.TextInputEditText;
 
+import com.lmr.kairoscope.KairoscopeApplication;
 import com.lmr.kairoscope.R;
+import com.lmr.kairoscope.adapters.GeneratedCardAdapter;
 import com.lmr.kairoscope.data.model.DeckListResponse;
 import com.lmr.kairoscope.data.repository.DeckRepository;
 import com.lmr.kairoscope.viewmodel.DeckCreationViewModel;
@@ -47,6 +52,10 @@ public class DeckCreationFragment extends Fragment {
     private GridLayout gridLayoutColors;
     private View buttonCreateDeck;
     private CircularProgressIndicator progressBar;
+    private TextView textViewProgressStage;
+    private View scrollViewForm;
+    private RecyclerView recyclerViewGeneratedCards;
+    private GeneratedCardAdapter generatedCardAdapter;
 
     // ViewModel y navegación
     private DeckCreationViewModel viewModel;
@@ -67,18 +76,24 @@ public class DeckCreationFragment extends Fragment {
         View view = inflater.inflate(R.layout.fragment_deck_creation, container, false);
 
         // Inicializar ViewModel para verificar límite de barajas
-        DeckRepository deckRepository = new DeckRepository(requireContext());
+        DeckRepository deckRepository = KairoscopeApplication.from(requireContext()).getDeckRepository();
         deckListViewModel = new ViewModelProvider(requireActivity(), new DeckListViewModel.Factory(deckRepository))
                 .get(DeckListViewModel.class);
 
-        deckListViewModel.loadDeckList();
-
         // Obtener referencias UI
         editTextDiscipline = view.findViewById(R.id.editTextDiscipline);
         chipGroupBlockTags = view.findViewById(R.id.chipGroupBlockTags);
         gridLayoutColors = view.findViewById(R.id.gridLayoutColors);
         buttonCreateDeck = view.findViewById(R.id.buttonCreateDeck);
         progressBar = view.findViewById(R.id.progressBar);
+        textViewProgressStage = view.findViewById(R.id.textViewProgressStage);
+        scrollViewForm = view.findViewById(R.id.scrollViewForm);
+        recyclerViewGeneratedCards = view.findViewById(R.id.recyclerViewGeneratedCards);
+
+        // Lista de cartas que se rellena mientras se generan
+        generatedCardAdapter = new GeneratedCardAdapter();
+        recyclerViewGeneratedCards.setLayoutManager(new LinearLayoutManager(requireContext()));
+        recyclerViewGeneratedCards.setAdapter(generatedCardAdapter);
 
         return view;
     }
@@ -90,10 +105,14 @@ public class DeckCreationFragment extends Fragment {
         navController = NavHostFragment.findNavController(this);
 
         // Inicializar ViewModel de creación
-        DeckRepository repository = new DeckRepository(requireContext());
+        DeckRepository repository = KairoscopeApplication.from(requireContext()).getDeckRepository();
         viewModel = new ViewModelProvider(this, new DeckCreationViewModel.Factory(repository))
                 .get(DeckCreationViewModel.class);
 
+        // Lista actual para comprobar el límite de barajas
+        deckListViewModel.bindTo(getViewLifecycleOwner());
+        deckListViewModel.loadDeckList();
+
         setupObservers();
         setupColorCircles();
         setupBlockTagChips();
@@ -115,9 +134,33 @@ public class DeckCreationFragment extends Fragment {
         // Estado de carga
         viewModel.getIsLoading().observe(getViewLifecycleOwner(), isLoading -> {
             progressBar.setVisibility(isLoading ? View.VISIBLE : View.GONE);
+            textViewProgressStage.setVisibility(isLoading ? View.VISIBLE : View.GONE);
+            recyclerViewGeneratedCards.setVisibility(isLoading ? View.VISIBLE : View.GONE);
+            scrollViewForm.setVisibility(isLoading ? View.GONE : View.VISIBLE);
             setFormEnabled(!isLoading);
         });
 
+        // Progreso real del trabajo de generación
+        viewModel.getProgress().observe(getViewLifecycleOwner(), progress -> {
+            if (progress == null) {
+                progressBar.setIndeterminate(true);
+            } else {
+                progressBar.setIndeterminate(false);
+                progressBar.setProgressCompat(progress, true);
+            }
+        });
+
+        viewModel.getProgressStage().observe(getViewLifecycleOwner(), stage ->
+                textViewProgressStage.setText(stage));
+
+        // Cartas generadas: se muestran en cuanto llegan, siguiendo la última
+        viewModel.getGeneratedCards().observe(getViewLifecycleOwner(), cards -> {
+            generatedCardAdapter.updateCards(cards);
+            if (cards != null && !cards.isEmpty()) {
+                recyclerViewGeneratedCards.scrollToPosition(cards.size() - 1);
+            }
+        });
+
         // Navegación después de crear baraja
         viewModel.getShouldNavigateToDeck().observe(getViewLifecycleOwner(), deckId -> {
             if (deckId != null) {
@@ -127,6 +170,14 @@ public class DeckCreationFragment extends Fragment {
             }
         });
 
+        // Creación encolada sin conexión: la baraja pendiente se ve en la lista
+        viewModel.getShouldReturnToList().observe(getViewLifecycleOwner(), shouldReturn -> {
+            if (Boolean.TRUE.equals(shouldReturn)) {
+                clearFields();
+                navController.popBackStack();
+            }
+        });
+
         // Mensajes de estado
         viewModel.getMessage().observe(getViewLifecycleOwner(), message -> {
             if (message != null && !message.isEmpty()) {
@@ -356,6 +407,10 @@ public class DeckCreationFragment extends Fragment {
         gridLayoutColors = null;
         buttonCreateDeck = null;
         progressBar = null;
+        textViewProgressStage = null;
+        scrollViewForm = null;
+        recyclerViewGeneratedCards = null;
+        generatedCardAdapter = null;
         selectedTags.clear();
         selectedColorView = null;
         deckListViewModel = null;
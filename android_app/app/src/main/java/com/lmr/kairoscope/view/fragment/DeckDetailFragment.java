@@ -17,6 +17,7 @@ import androidx.lifecycle.ViewModelProvider;
 
 import com.google.android.material.progressindicator.CircularProgressIndicator;
 import com.google.android.material.snackbar.Snackbar;
+import com.lmr.kairoscope.KairoscopeApplication;
 import com.lmr.kairoscope.R;
 import com.lmr.kairoscope.data.repository.DeckRepository;
 import com.lmr.kairoscope.viewmodel.DeckDetailViewModel;
@@ -30,9 +31,9 @@ import java.util.Random;
 public class DeckDetailFragment extends Fragment {
 
     private static final String TAG = "DeckDetailFragment";
-    // Claves para conservar estado durante rotaciones
-    private static final String STATE_CARD_TEXT = "current_card_text";
-    private static final String STATE_CARD_LOADED = "card_loaded";
+    // Claves para conservar estado durante rotaciones (la baraja y la carta las guarda el ViewModel)
+    private static final String STATE_SHOWN_CARD_ID = "shown_card_id";
+    private static final String STATE_BACK_COLOR = "card_back_color";
     private static final String ARG_DECK_ID = "deck_id";
 
     // Referencias UI
@@ -47,7 +48,9 @@ public class DeckDetailFragment extends Fragment {
     private DeckDetailViewModel viewModel;
 
     private int deckId;
-    private boolean cardAlreadyLoaded = false;
+    // Carta cuyo reverso ya tiene color asignado; el color se mantiene al recrear la vista
+    private int shownCardId = -1;
+    private int cardBackColor;
 
     /**
      * Crea una nueva instancia del fragment con el ID de baraja especificado.
@@ -64,13 +67,11 @@ public class DeckDetailFragment extends Fragment {
     public void onCreate(@Nullable Bundle savedInstanceState) {
         super.onCreate(savedInstanceState);
 
-        // Recuperar estado tras rotación o argumentos iniciales
+        // Los argumentos se conservan también tras rotación o muerte del proceso
+        deckId = getArguments() != null ? getArguments().getInt(ARG_DECK_ID, -1) : -1;
         if (savedInstanceState != null) {
-            deckId = savedInstanceState.getInt("deck_id", -1);
-            cardAlreadyLoaded = savedInstanceState.getBoolean(STATE_CARD_LOADED, false);
-        }
-        else if (getArguments() != null) {
-            deckId = getArguments().getInt(ARG_DECK_ID, -1);
+            shownCardId = savedInstanceState.getInt(STATE_SHOWN_CARD_ID, -1);
+            cardBackColor = savedInstanceState.getInt(STATE_BACK_COLOR);
         }
 
         // Validar que tenemos un ID válido
@@ -102,22 +103,20 @@ public class DeckDetailFragment extends Fragment {
         super.onViewCreated(view, savedInstanceState);
 
         // Configurar ViewModel con repositorio
-        DeckRepository repository = new DeckRepository(requireContext());
+        DeckRepository repository = KairoscopeApplication.from(requireContext()).getDeckRepository();
         viewModel = new ViewModelProvider(this, new DeckDetailViewModel.Factory(repository))
                 .get(DeckDetailViewModel.class);
 
-        // Restaurar texto de carta tras rotación
-        if (savedInstanceState != null) {
-            String cardText = savedInstanceState.getString(STATE_CARD_TEXT);
-            if (cardText != null && textViewCardText != null) {
-                textViewCardText.setText(cardText);
-            }
-        }
+        // Restaurar la cara visible de la carta sin animación
+        boolean revealed = viewModel.isCardRevealed();
+        cardViewFront.setVisibility(revealed ? View.VISIBLE : View.GONE);
+        cardViewBack.setVisibility(revealed ? View.GONE : View.VISIBLE);
 
         setupObservers();
         setupListeners();
 
-        // Cargar datos de la baraja
+        // Cargar datos de la baraja (no hace nada si el ViewModel ya la tiene o la ha restaurado)
+        viewModel.bindTo(getViewLifecycleOwner());
         viewModel.loadDeckDetail(deckId);
     }
 
@@ -152,10 +151,9 @@ public class DeckDetailFragment extends Fragment {
                     Log.w(TAG, "Invalid color format: " + deck.getChosen_color());
                 }
 
-                // Sacar primera carta solo si no se había cargado antes
-                if (!cardAlreadyLoaded) {
+                // Sacar primera carta solo si no hay ya una (restaurada o de antes de rotar)
+                if (viewModel.getCurrentCard().getValue() == null) {
                     viewModel.drawRandomCard();
-                    cardAlreadyLoaded = true;
                 }
             }
         });
@@ -165,13 +163,16 @@ public class DeckDetailFragment extends Fragment {
             if (card != null) {
                 textViewCardText.setText(card.getText());
 
-                // Asignar color aleatorio al reverso de la carta
-                TypedArray colors = getResources().obtainTypedArray(R.array.card_back_colors);
-                int randomIndex = new Random().nextInt(colors.length());
-                int randomColor = colors.getColor(randomIndex, getResources().getColor(R.color.md_theme_primary));
-                colors.recycle();
+                // Asignar color aleatorio al reverso solo si es una carta nueva
+                if (card.getId() != shownCardId) {
+                    TypedArray colors = getResources().obtainTypedArray(R.array.card_back_colors);
+                    int randomIndex = new Random().nextInt(colors.length());
+                    cardBackColor = colors.getColor(randomIndex, getResources().getColor(R.color.md_theme_primary));
+                    colors.recycle();
+                    shownCardId = card.getId();
+                }
 
-                cardViewBack.setCardBackgroundColor(randomColor);
+                cardViewBack.setCardBackgroundColor(cardBackColor);
             }
         });
     }
@@ -209,6 +210,7 @@ public class DeckDetailFragment extends Fragment {
                 .setDuration(200)
                 .setInterpolator(new android.view.animation.AccelerateInterpolator())
                 .withEndAction(() -> {
+                    viewModel.setCardRevealed(true);
                     cardViewBack.setVisibility(View.GONE);
                     cardViewFront.setVisibility(View.VISIBLE);
                     cardViewFront.setRotationY(-90f);
@@ -228,7 +230,7 @@ public class DeckDetailFragment extends Fragment {
                 .setDuration(200)
                 .setInterpolator(new android.view.animation.AccelerateInterpolator())
                 .withEndAction(() -> {
-                    viewModel.drawRandomCard(); // Sacar nueva carta
+                    viewModel.drawRandomCard(); // Sacar nueva carta (queda boca abajo)
                     cardViewFront.setVisibility(View.GONE);
                     cardViewBack.setVisibility(View.VISIBLE);
                     cardViewBack.setRotationY(-90f);
@@ -242,13 +244,9 @@ public class DeckDetailFragment extends Fragment {
     @Override
     public void onSaveInstanceState(@NonNull Bundle outState) {
         super.onSaveInstanceState(outState);
-        // Conservar estado para rotaciones
-        outState.putInt("deck_id", deckId);
-        outState.putBoolean(STATE_CARD_LOADED, cardAlreadyLoaded);
-
-        if (textViewCardText != null) {
-            outState.putString(STATE_CARD_TEXT, textViewCardText.getText().toString());
-        }
+        // Conservar el color del reverso de la carta actual
+        outState.putInt(STATE_SHOWN_CARD_ID, shownCardId);
+        outState.putInt(STATE_BACK_COLOR, cardBackColor);
     }
 
     @Override
@@ -16,14 +16,17 @@ import androidx.navigation.fragment.NavHostFragment;
 import androidx.recyclerview.widget.LinearLayoutManager;
 import androidx.recyclerview.widget.RecyclerView;
 
+import com.google.android.material.floatingactionbutton.ExtendedFloatingActionButton;
 import com.google.android.material.floatingactionbutton.FloatingActionButton;
 import com.google.android.material.progressindicator.CircularProgressIndicator;
 import com.google.android.material.snackbar.Snackbar;
 
+import com.lmr.kairoscope.KairoscopeApplication;
 import com.lmr.kairoscope.R;
 import com.lmr.kairoscope.adapters.DeckListAdapter;
 import com.lmr.kairoscope.data.model.Deck;
 import com.lmr.kairoscope.data.repository.DeckRepository;
+import com.lmr.kairoscope.viewmodel.DeckDetailViewModel;
 import com.lmr.kairoscope.viewmodel.DeckListViewModel;
 
 /**
@@ -33,11 +36,14 @@ import com.lmr.kairoscope.viewmodel.DeckListViewModel;
 public class DeckListFragment extends Fragment implements DeckListAdapter.OnDeckClickListener {
 
     private static final String TAG = "DeckListFragment";
+    // Pesos del modo "todas las barajas", en el orden de R.array.draw_weight_labels
+    private static final double[] DRAW_WEIGHT_VALUES = {0, 0.5, 1, 2, 3};
 
     // UI Elements
     private RecyclerView recyclerViewDecks;
     private LinearLayout layoutEmptyState;
     private CircularProgressIndicator progressBar;
+    private ExtendedFloatingActionButton fabDrawAll;
 
     // ViewModel y Adapter
     private DeckListViewModel viewModel;
@@ -54,6 +60,7 @@ public class DeckListFragment extends Fragment implements DeckListAdapter.OnDeck
         recyclerViewDecks = view.findViewById(R.id.recyclerViewDecks);
         layoutEmptyState = view.findViewById(R.id.layoutEmptyState);
         progressBar = view.findViewById(R.id.progressBar);
+        fabDrawAll = view.findViewById(R.id.fabDrawAll);
 
         return view;
     }
@@ -65,14 +72,16 @@ public class DeckListFragment extends Fragment implements DeckListAdapter.OnDeck
         navController = NavHostFragment.findNavController(this);
 
         // Usar requireActivity() para compartir ViewModel entre fragments si es necesario
-        DeckRepository repository = new DeckRepository(requireContext());
+        DeckRepository repository = KairoscopeApplication.from(requireContext()).getDeckRepository();
         viewModel = new ViewModelProvider(requireActivity(), new DeckListViewModel.Factory(repository))
                 .get(DeckListViewModel.class);
 
         setupRecyclerView();
         setupObservers();
+        fabDrawAll.setOnClickListener(v -> openDeckDetail(DeckDetailViewModel.ALL_DECKS));
 
-        // Cargar datos inicial
+        // Cargar datos inicial (se cancelan si la pantalla deja de verse)
+        viewModel.bindTo(getViewLifecycleOwner());
         viewModel.loadDeckList();
     }
 
@@ -102,42 +111,42 @@ public class DeckListFragment extends Fragment implements DeckListAdapter.OnDeck
             }
         });
 
-        // Observar lista de barajas y gestionar estados vacío/con datos
-        viewModel.getDeckListResult().observe(getViewLifecycleOwner(), response -> {
-            if (response != null && response.isSuccess()) {
-                adapter.updateDeckList(response.getDecks());
-
-                // Alternar entre lista y estado vacío
-                if (response.getDecks() != null && !response.getDecks().isEmpty()) {
-                    recyclerViewDecks.setVisibility(View.VISIBLE);
-                    layoutEmptyState.setVisibility(View.GONE);
-                } else {
-                    recyclerViewDecks.setVisibility(View.GONE);
-                    layoutEmptyState.setVisibility(View.VISIBLE);
-                }
+        // Observar lista de barajas (con los borrados optimistas aplicados y ya formateada)
+        // y gestionar estados vacío/con datos
+        viewModel.getDeckItems().observe(getViewLifecycleOwner(), items -> {
+            adapter.updateDeckList(items);
+
+            // Alternar entre lista y estado vacío
+            if (items != null && !items.isEmpty()) {
+                recyclerViewDecks.setVisibility(View.VISIBLE);
+                layoutEmptyState.setVisibility(View.GONE);
+                fabDrawAll.setVisibility(View.VISIBLE);
             } else {
-                // Error - mostrar estado vacío
                 recyclerViewDecks.setVisibility(View.GONE);
                 layoutEmptyState.setVisibility(View.VISIBLE);
-                adapter.updateDeckList(null);
-            }
-        });
-
-        // Observar resultado de eliminación
-        viewModel.getDeckDeleteResult().observe(getViewLifecycleOwner(), result -> {
-            if (result != null && result.isSuccess()) {
-                Snackbar.make(requireView(), result.getMessage(), Snackbar.LENGTH_SHORT).show();
-                viewModel.clearMessage();
+                fabDrawAll.setVisibility(View.GONE);
             }
         });
     }
 
     @Override
     public void onDeckClick(Deck deck) {
-        // Navegar al detalle pasando el ID como argumento
+        if (deck.isPending()) {
+            // Aún no existe en el servidor: no hay cartas que mostrar
+            Snackbar.make(requireView(), "La baraja se creará al recuperar la conexión",
+                    Snackbar.LENGTH_SHORT).show();
+            return;
+        }
+        openDeckDetail(deck.getId());
+    }
+
+    /**
+     * Navega al detalle pasando el ID como argumento ({@link DeckDetailViewModel#ALL_DECKS} para todas).
+     */
+    private void openDeckDetail(int deckId) {
         try {
             Bundle args = new Bundle();
-            args.putInt("deck_id", deck.getId());
+            args.putInt("deck_id", deckId);
             navController.navigate(R.id.action_deckListFragment_to_deckDetailFragment, args);
         } catch (Exception e) {
             Log.e(TAG, "Navigation error to DeckDetail: " + e.getMessage());
@@ -146,6 +155,17 @@ public class DeckListFragment extends Fragment implements DeckListAdapter.OnDeck
         }
     }
 
+    @Override
+    public void onDeckPressed(Deck deck) {
+        // El detalle empieza a cargarse antes del click y suele estar listo al navegar
+        viewModel.prefetchDeck(deck, true);
+    }
+
+    @Override
+    public void onDeckVisible(Deck deck) {
+        viewModel.prefetchDeck(deck, false);
+    }
+
     @Override
     public void onDeckDelete(Deck deck) {
         // Confirmar eliminación con diálogo
@@ -153,12 +173,44 @@ public class DeckListFragment extends Fragment implements DeckListAdapter.OnDeck
                 .setTitle("Eliminar baraja")
                 .setMessage("¿Estás seguro de que quieres eliminar \"" + deck.getName() + "\"? Esta acción no se puede deshacer.")
                 .setPositiveButton("Eliminar", (dialog, which) -> {
-                    viewModel.deleteDeck(deck.getId());
+                    viewModel.deleteDeck(deck);
                 })
                 .setNegativeButton("Cancelar", null)
                 .show();
     }
 
+    @Override
+    public void onDeckLongClick(Deck deck) {
+        if (deck.isPending()) {
+            return;
+        }
+        // Peso de la baraja al sacar de todas: para ella sola o para toda su disciplina
+        int[] selected = {indexOfWeight(viewModel.getDrawWeight(deck))};
+        new androidx.appcompat.app.AlertDialog.Builder(requireContext())
+                .setTitle("Peso al sacar de todas")
+                .setSingleChoiceItems(R.array.draw_weight_labels, selected[0],
+                        (dialog, which) -> selected[0] = which)
+                .setPositiveButton("Esta baraja", (dialog, which) ->
+                        viewModel.setDrawWeight(deck, DRAW_WEIGHT_VALUES[selected[0]], false))
+                .setNeutralButton("Toda la disciplina", (dialog, which) ->
+                        viewModel.setDrawWeight(deck, DRAW_WEIGHT_VALUES[selected[0]], true))
+                .setNegativeButton("Cancelar", null)
+                .show();
+    }
+
+    /**
+     * Opción del diálogo más cercana a un peso guardado.
+     */
+    private static int indexOfWeight(double weight) {
+        int closest = 0;
+        for (int i = 1; i < DRAW_WEIGHT_VALUES.length; i++) {
+            if (Math.abs(DRAW_WEIGHT_VALUES[i] - weight) < Math.abs(DRAW_WEIGHT_VALUES[closest] - weight)) {
+                closest = i;
+            }
+        }
+        return closest;
+    }
+
     @Override
     public void onDestroyView() {
         super.onDestroyView();
@@ -166,6 +218,7 @@ public class DeckListFragment extends Fragment implements DeckListAdapter.OnDeck
         recyclerViewDecks = null;
         layoutEmptyState = null;
         progressBar = null;
+        fabDrawAll = null;
         adapter = null;
     }
 }
\ No newline at end of file
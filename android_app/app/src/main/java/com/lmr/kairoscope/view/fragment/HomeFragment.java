@@ -1,8 +1,10 @@
 package com.lmr.kairoscope.view.fragment;
 
+import android.annotation.SuppressLint;
 import android.graphics.Color;
 import android.os.Bundle;
 import android.view.LayoutInflater;
+import android.view.MotionEvent;
 import android.view.View;
 import android.view.ViewGroup;
 import android.widget.ImageView;
@@ -17,6 +19,7 @@ import androidx.navigation.fragment.NavHostFragment;
 
 import com.google.android.material.progressindicator.CircularProgressIndicator;
 import com.google.android.material.snackbar.Snackbar;
+import com.lmr.kairoscope.KairoscopeApplication;
 import com.lmr.kairoscope.R;
 import com.lmr.kairoscope.data.repository.AuthRepository;
 import com.lmr.kairoscope.data.repository.DeckRepository;
@@ -56,7 +59,8 @@ public class HomeFragment extends Fragment {
         setupViewModel();
         setupObservers();
 
-        // Cargar datos iniciales
+        // Cargar datos iniciales (se cancelan si la pantalla deja de verse)
+        viewModel.bindTo(getViewLifecycleOwner());
         viewModel.loadHomeData();
     }
 
@@ -78,8 +82,8 @@ public class HomeFragment extends Fragment {
      * Configura el ViewModel con sus dependencias.
      */
     private void setupViewModel() {
-        AuthRepository authRepository = new AuthRepository(requireContext());
-        DeckRepository deckRepository = new DeckRepository(requireContext());
+        AuthRepository authRepository = KairoscopeApplication.from(requireContext()).getAuthRepository();
+        DeckRepository deckRepository = KairoscopeApplication.from(requireContext()).getDeckRepository();
 
         viewModel = new ViewModelProvider(this, new HomeViewModel.Factory(authRepository, deckRepository))
                 .get(HomeViewModel.class);
@@ -118,12 +122,16 @@ public class HomeFragment extends Fragment {
             } else {
                 showEmptyState();
             }
+            // Fin del arranque para Macrobenchmark (timeToFullDisplay); solo cuenta la primera vez
+            requireActivity().reportFullyDrawn();
         });
     }
 
     /**
      * Muestra la información de la última baraja creada.
+     * Al quedar visible (y de nuevo al tocarla) se adelanta la carga de su detalle.
      */
+    @SuppressLint("ClickableViewAccessibility")
     private void showLatestDeck(com.lmr.kairoscope.data.model.Deck deck) {
         cardViewDeck.setVisibility(View.VISIBLE);
         textViewEmptyMessage.setVisibility(View.GONE);
@@ -141,6 +149,14 @@ public class HomeFragment extends Fragment {
             cardViewDeck.setCardBackgroundColor(getResources().getColor(R.color.md_theme_primary));
         }
 
+        viewModel.prefetchDeck(deck, false);
+        cardViewDeck.setOnTouchListener((v, event) -> {
+            if (event.getActionMasked() == MotionEvent.ACTION_DOWN) {
+                viewModel.prefetchDeck(deck, true);
+            }
+            return false;
+        });
+
         // Configurar navegación al detalle al hacer clic
         cardViewDeck.setOnClickListener(v -> {
             Bundle args = new Bundle();
@@ -159,6 +175,7 @@ public class HomeFragment extends Fragment {
         textViewDeckName.setVisibility(View.GONE);
         textViewDiscipline.setVisibility(View.GONE);
         imageViewLogo.setVisibility(View.GONE);
+        cardViewDeck.setOnTouchListener(null);
 
         // Aplicar color por defecto
         cardViewDeck.setCardBackgroundColor(getResources().getColor(R.color.md_theme_primary));
@@ -20,6 +20,7 @@ import com.google.android.material.snackbar.Snackbar;
 import com.google.android.material.textfield.TextInputEditText;
 import com.google.android.material.progressindicator.CircularProgressIndicator;
 
+import com.lmr.kairoscope.KairoscopeApplication;
 import com.lmr.kairoscope.R;
 import com.lmr.kairoscope.data.repository.AuthRepository;
 import com.lmr.kairoscope.viewmodel.AuthViewModel;
@@ -64,7 +65,7 @@ public class LoginFragment extends Fragment {
         navController = NavHostFragment.findNavController(this);
 
         // Configurar ViewModel con su factory
-        AuthRepository authRepository = new AuthRepository(requireContext());
+        AuthRepository authRepository = KairoscopeApplication.from(requireContext()).getAuthRepository();
         authViewModel = new ViewModelProvider(this, new AuthViewModel.Factory(authRepository))
                 .get(AuthViewModel.class);
 
@@ -19,6 +19,7 @@ import com.google.android.material.snackbar.Snackbar;
 import com.google.android.material.textfield.TextInputEditText;
 import com.google.android.material.progressindicator.CircularProgressIndicator;
 
+import com.lmr.kairoscope.KairoscopeApplication;
 import com.lmr.kairoscope.R;
 import com.lmr.kairoscope.data.repository.AuthRepository;
 import com.lmr.kairoscope.viewmodel.AuthViewModel;
@@ -69,7 +70,7 @@ public class RegisterFragment extends Fragment {
         navController = NavHostFragment.findNavController(this);
 
         // Configurar ViewModel con su factory
-        AuthRepository authRepository = new AuthRepository(requireContext());
+        AuthRepository authRepository = KairoscopeApplication.from(requireContext()).getAuthRepository();
         authViewModel = new ViewModelProvider(this, new AuthViewModel.Factory(authRepository))
                 .get(AuthViewModel.class);
 
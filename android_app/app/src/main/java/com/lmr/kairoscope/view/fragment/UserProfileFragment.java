@@ -18,6 +18,7 @@ import com.google.android.material.textfield.TextInputEditText;
 
 import com.google.firebase.auth.FirebaseAuth;
 import com.google.firebase.auth.FirebaseUser;
+import com.lmr.kairoscope.KairoscopeApplication;
 import com.lmr.kairoscope.R;
 import com.lmr.kairoscope.data.repository.AuthRepository;
 import com.lmr.kairoscope.viewmodel.UserProfileViewModel;
@@ -83,7 +84,7 @@ public class UserProfileFragment extends Fragment {
      * Configura el ViewModel con sus dependencias.
      */
     private void setupViewModel() {
-        AuthRepository authRepository = new AuthRepository(requireContext());
+        AuthRepository authRepository = KairoscopeApplication.from(requireContext()).getAuthRepository();
         viewModel = new ViewModelProvider(this, new UserProfileViewModel.Factory(authRepository))
                 .get(UserProfileViewModel.class);
     }
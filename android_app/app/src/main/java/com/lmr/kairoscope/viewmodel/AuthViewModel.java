@@ -3,6 +3,7 @@ package com.lmr.kairoscope.viewmodel;
 import android.util.Log;
 import androidx.lifecycle.LiveData;
 import androidx.lifecycle.MutableLiveData;
+import androidx.lifecycle.Observer;
 import androidx.lifecycle.ViewModel;
 import androidx.lifecycle.ViewModelProvider;
 import androidx.annotation.NonNull;
@@ -19,6 +20,8 @@ public class AuthViewModel extends ViewModel {
 
     private static final String TAG = "AuthViewModel";
     private final AuthRepository authRepository;
+    private final Observer<AuthResult> authResultObserver;
+    private boolean awaitingResult = false;
 
     // Estado de carga para mostrar indicadores visuales
     private final MutableLiveData<Boolean> isLoading = new MutableLiveData<>();
@@ -40,9 +43,11 @@ public class AuthViewModel extends ViewModel {
     public AuthViewModel(AuthRepository authRepository) {
         this.authRepository = authRepository;
 
-        // Observar resultados del Repository para generar mensajes y gestionar carga
-        this.authRepository.getAuthResultLiveData().observeForever(result -> {
-            if (result != null) {
+        // Observar resultados del Repository para generar mensajes y gestionar carga.
+        // El repositorio es compartido: solo se procesan resultados de operaciones lanzadas aquí
+        this.authResultObserver = result -> {
+            if (result != null && awaitingResult) {
+                awaitingResult = false;
                 Log.d(TAG, "AuthResult received: Success=" + result.isSuccess() + ", Error=" + result.getErrorMessage());
 
                 // Detener carga al completarse la operación
@@ -59,7 +64,8 @@ public class AuthViewModel extends ViewModel {
                     message.postValue("Error: " + errorMsg);
                 }
             }
-        });
+        };
+        this.authRepository.getAuthResultLiveData().observeForever(authResultObserver);
     }
 
     /**
@@ -67,6 +73,7 @@ public class AuthViewModel extends ViewModel {
      */
     public void login(String email, String password) {
         isLoading.setValue(true);
+        awaitingResult = true;
         authRepository.login(email, password);
     }
 
@@ -75,6 +82,7 @@ public class AuthViewModel extends ViewModel {
      */
     public void register(String email, String password, String displayName) {
         isLoading.setValue(true);
+        awaitingResult = true;
         authRepository.register(email, password, displayName);
     }
 
@@ -104,7 +112,8 @@ public class AuthViewModel extends ViewModel {
     @Override
     protected void onCleared() {
         super.onCleared();
-        // Los observers se limpian automáticamente al destruirse el ViewModel
+        // El repositorio es compartido: retirar el observer para no retener este ViewModel
+        authRepository.getAuthResultLiveData().removeObserver(authResultObserver);
     }
 
     /**
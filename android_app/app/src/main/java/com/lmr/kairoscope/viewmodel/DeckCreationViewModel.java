@@ -8,9 +8,16 @@ import androidx.lifecycle.ViewModel;
 import androidx.lifecycle.ViewModelProvider;
 import androidx.annotation.NonNull;
 
+import com.lmr.kairoscope.data.model.Card;
 import com.lmr.kairoscope.data.model.DeckCreationRequest;
+import com.lmr.kairoscope.data.model.DeckJob;
 import com.lmr.kairoscope.data.model.DeckResponse;
 import com.lmr.kairoscope.data.repository.DeckRepository;
+import com.lmr.kairoscope.data.repository.Subscription;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 
 /**
  * ViewModel que gestiona la creación de nuevas barajas de estrategias.
@@ -20,6 +27,9 @@ public class DeckCreationViewModel extends ViewModel {
 
     private static final String TAG = "DeckCreationViewModel";
     private final DeckRepository deckRepository;
+    private final Subscription deckCreationSubscription;
+    private final Subscription progressSubscription;
+    private final Subscription cardsSubscription;
 
     // Parámetros de entrada del usuario
     private final MutableLiveData<String> discipline = new MutableLiveData<>("");
@@ -29,10 +39,20 @@ public class DeckCreationViewModel extends ViewModel {
     // Estados de la UI
     private final MutableLiveData<Boolean> isLoading = new MutableLiveData<>(false);
     private final MutableLiveData<String> message = new MutableLiveData<>();
+    // Progreso real de la generación (0-100) y etapa legible; null mientras no hay trabajo
+    private final MutableLiveData<Integer> progress = new MutableLiveData<>();
+    private final MutableLiveData<String> progressStage = new MutableLiveData<>();
+    // Cartas generadas hasta el momento, para mostrarlas mientras llegan
+    private final MutableLiveData<List<Card>> generatedCards = new MutableLiveData<>();
+    // Solo crece con cada lote del repositorio (o se vacía); se usa en el hilo principal
+    private final List<Card> receivedCards = new ArrayList<>();
 
     // Navegación post-creación exitosa
     private final MutableLiveData<Integer> shouldNavigateToDeck = new MutableLiveData<>();
     public LiveData<Integer> getShouldNavigateToDeck() { return shouldNavigateToDeck; }
+    // Creación encolada sin conexión: volver a la lista, donde aparece como pendiente
+    private final MutableLiveData<Boolean> shouldReturnToList = new MutableLiveData<>();
+    public LiveData<Boolean> getShouldReturnToList() { return shouldReturnToList; }
 
     /**
      * Constructor que inicializa el ViewModel con el Repository.
@@ -42,17 +62,72 @@ public class DeckCreationViewModel extends ViewModel {
         this.deckRepository = deckRepository;
 
         // Observar resultado de creación para navegación y feedback
-        this.deckRepository.getDeckCreationResult().observeForever(result -> {
+        this.deckCreationSubscription = deckRepository.getDeckCreationResult().subscribe(result -> {
+            if (result == null) {
+                return;
+            }
             isLoading.postValue(false);
 
             if (result.isSuccess()) {
                 shouldNavigateToDeck.postValue(result.getDeck().getId());
+            } else if (result.isPending()) {
+                message.postValue(result.getMessage());
+                shouldReturnToList.postValue(true);
             } else {
                 message.postValue("Error: " + result.getMessage());
             }
+            // El stream es compartido: consumir el resultado para que no se repita en otra pantalla
+            deckRepository.clearCreationResult();
+        });
+
+        // Observar el estado del trabajo de generación para mostrar el avance
+        this.progressSubscription = deckRepository.getDeckCreationProgress().subscribe(job -> {
+            if (job == null) {
+                progress.setValue(null);
+                progressStage.setValue(null);
+                return;
+            }
+            isLoading.setValue(true);
+            progress.setValue(job.getProgress());
+            progressStage.setValue(describeStage(job.getStage()));
+        });
+
+        // El repositorio entrega solo las cartas nuevas: se acumulan aquí sin copiar la lista
+        this.cardsSubscription = deckRepository.getDeckCreationCards().subscribe(batch -> {
+            if (batch == null) {
+                receivedCards.clear();
+            } else {
+                receivedCards.addAll(batch);
+            }
+            // Vista sin copia: GeneratedCardAdapter solo inserta lo añadido desde la última vez
+            generatedCards.setValue(Collections.unmodifiableList(receivedCards));
         });
     }
 
+    /**
+     * Traduce la etapa del servidor a un texto para el usuario.
+     */
+    private static String describeStage(String stage) {
+        if (stage == null) {
+            return "Generando baraja…";
+        }
+        switch (stage) {
+            case "queued":
+            case "starting":
+                return "Preparando la generación…";
+            case "generating_strategies":
+                return "Generando estrategias…";
+            case "naming":
+                return "Buscando un nombre…";
+            case "saving":
+                return "Guardando la baraja…";
+            case "done":
+                return "¡Baraja lista!";
+            default:
+                return "Generando baraja…";
+        }
+    }
+
     // Getters y setters para los parámetros de entrada
     public LiveData<String> getDiscipline() { return discipline; }
     public void setDiscipline(String value) { discipline.setValue(value); }
@@ -66,6 +141,9 @@ public class DeckCreationViewModel extends ViewModel {
     // Getters para estados de la UI
     public LiveData<Boolean> getIsLoading() { return isLoading; }
     public LiveData<String> getMessage() { return message; }
+    public LiveData<Integer> getProgress() { return progress; }
+    public LiveData<String> getProgressStage() { return progressStage; }
+    public LiveData<List<Card>> getGeneratedCards() { return generatedCards; }
     public LiveData<DeckResponse> getDeckCreationResult() { return deckRepository.getDeckCreationResult(); }
 
     /**
@@ -107,6 +185,17 @@ public class DeckCreationViewModel extends ViewModel {
         deckRepository.createDeck(request);
     }
 
+    /**
+     * Cancela las suscripciones al repositorio compartido para no retener este ViewModel.
+     */
+    @Override
+    protected void onCleared() {
+        super.onCleared();
+        deckCreationSubscription.cancel();
+        progressSubscription.cancel();
+        cardsSubscription.cancel();
+    }
+
     /**
      * Factory para crear instancias del ViewModel con dependencias.
      */
@@ -1,28 +1,77 @@
 package com.lmr.kairoscope.viewmodel;
 
+import android.os.Bundle;
+
+import androidx.lifecycle.LifecycleOwner;
 import androidx.lifecycle.LiveData;
 import androidx.lifecycle.MutableLiveData;
+import androidx.lifecycle.SavedStateHandle;
+import androidx.lifecycle.SavedStateHandleSupport;
 import androidx.lifecycle.ViewModel;
 import androidx.lifecycle.ViewModelProvider;
+import androidx.lifecycle.viewmodel.CreationExtras;
 import androidx.annotation.NonNull;
 
 import com.lmr.kairoscope.data.model.Card;
 import com.lmr.kairoscope.data.model.Deck;
 import com.lmr.kairoscope.data.model.DeckDetailResponse;
+import com.lmr.kairoscope.data.model.DrawState;
+import com.lmr.kairoscope.data.repository.CachePolicy;
+import com.lmr.kairoscope.data.repository.DeckDrawPool;
 import com.lmr.kairoscope.data.repository.DeckRepository;
+import com.lmr.kairoscope.data.repository.Subscription;
+import com.lmr.kairoscope.util.ShuffleBag;
 
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Random;
 
 /**
  * ViewModel que gestiona el detalle de una baraja específica.
  * Permite cargar información completa y extraer cartas aleatorias.
+ * La baraja, la carta actual y si está boca arriba se guardan en el {@link SavedStateHandle}:
+ * tras una rotación o la muerte del proceso la pantalla se restaura sin pedir nada al servidor.
+ * Las cartas salen de una {@link ShuffleBag}: todas una vez por ciclo, sin repetir, y el
+ * ciclo continúa en la siguiente sesión.
+ * Con {@link #ALL_DECKS} se extrae de todas las barajas guardadas según sus pesos.
  */
 public class DeckDetailViewModel extends ViewModel {
 
+    /**
+     * Id de baraja que abre el modo "todas las barajas".
+     */
+    public static final int ALL_DECKS = 0;
+
+    // Claves del estado guardado
+    private static final String KEY_DECK_SNAPSHOT = "deck_snapshot";
+    private static final String KEY_DRAW_STATE = "draw_state";
+    private static final String KEY_CARD_REVEALED = "card_revealed";
+    // Modo todas las barajas: {id de baraja, id de carta} de la carta en pantalla
+    private static final String KEY_POOL_CARD = "pool_card";
+    private static final String DRAW_DECK_ID = "deck_id";
+    private static final String DRAW_ORDER = "order";
+    private static final String DRAW_CURSOR = "cursor";
+
     private final DeckRepository deckRepository;
+    private final SavedStateHandle savedState;
+    private final Subscription deckDetailSubscription;
+    private int requestedDeckId = -1;
+    // La petición en curso solo lee memoria o disco (restauración de una baraja grande)
+    private boolean localOnlyRequest = false;
     private final Random random = new Random();
 
+    // Motor de extracción: índices sobre drawCards, de la baraja drawDeckId
+    private Card[] drawCards = new Card[0];
+    private ShuffleBag bag;
+    private int drawDeckId = -1;
+    // Baraja que espera su estado guardado del disco para mostrarse; null si ninguna
+    private Deck pendingDeck;
+
+    // Modo todas las barajas: pool del repositorio, null hasta que se carga
+    private DeckDrawPool drawPool;
+    private Subscription drawPoolSubscription;
+
     // Estados de la UI
     private final MutableLiveData<Boolean> isLoading = new MutableLiveData<>(false);
     private final MutableLiveData<String> message = new MutableLiveData<>();
@@ -35,19 +84,39 @@ public class DeckDetailViewModel extends ViewModel {
      * Constructor que inicializa el ViewModel con el Repository.
      * Configura observador para procesar respuestas del detalle de baraja.
      */
-    public DeckDetailViewModel(DeckRepository deckRepository) {
+    public DeckDetailViewModel(DeckRepository deckRepository, SavedStateHandle savedState) {
         this.deckRepository = deckRepository;
+        this.savedState = savedState;
 
         // Observar resultado de carga del detalle
-        this.deckRepository.getDeckDetailResult().observeForever(result -> {
-            isLoading.postValue(false);
+        this.deckDetailSubscription = deckRepository.getDeckDetailResult().subscribe(result -> {
+            // El stream es compartido entre barajas: ignorar resultados que no son de la solicitada
+            if (result == null || requestedDeckId == -1) {
+                return;
+            }
+            if (result.getDeck() != null && result.getDeck().getId() != requestedDeckId) {
+                return;
+            }
+            if (!result.isSuccess() && localOnlyRequest) {
+                // No estaba en disco: se pide al servidor como en una carga normal
+                localOnlyRequest = false;
+                deckRepository.getDeckDetail(requestedDeckId);
+                return;
+            }
+            localOnlyRequest = false;
+            // Los observadores corren en el hilo principal: un acierto de caché se pinta en este frame
+            isLoading.setValue(false);
 
-            if (result != null && result.isSuccess()) {
-                currentDeck.postValue(result.getDeck());
+            if (result.isSuccess()) {
+                showDeck(result.getDeck());
             } else {
-                message.postValue("Error al cargar la baraja");
+                message.setValue("Error al cargar la baraja");
             }
         });
+
+        // El estado de las extracciones se calcula solo al guardar: sacar cartas no escribe nada
+        savedState.setSavedStateProvider(KEY_DRAW_STATE, this::saveDrawState);
+        restoreSavedDeck();
     }
 
     // Getters para LiveData
@@ -58,25 +127,263 @@ public class DeckDetailViewModel extends ViewModel {
     public LiveData<DeckDetailResponse> getDeckDetailResult() { return deckRepository.getDeckDetailResult(); }
 
     /**
-     * Carga los detalles completos de una baraja desde el servidor.
+     * Ata la lectura del detalle a la pantalla: si deja de verse, la descarga en curso
+     * se cancela. Se llama desde onViewCreated.
+     */
+    public void bindTo(LifecycleOwner screen) {
+        deckRepository.getDeckDetailResult().bindTo(screen);
+    }
+
+    /**
+     * Carga los detalles completos de una baraja. Si ya están en memoria (por ejemplo,
+     * adelantados al tocarla en la lista) se muestran sin indicador de carga.
+     * No hace nada si la baraja ya se está mostrando (rotación o estado restaurado).
      */
     public void loadDeckDetail(int deckId) {
+        if (deckId == ALL_DECKS) {
+            loadAllDecks();
+            return;
+        }
+        Deck shown = currentDeck.getValue();
+        if (shown != null && shown.getId() == deckId) {
+            return;
+        }
+        requestedDeckId = deckId;
+        Bundle snapshot = savedState.get(KEY_DECK_SNAPSHOT);
+        // Copia sin textos (baraja grande): las cartas ya están en disco, no hace falta red
+        localOnlyRequest = snapshot != null && DeckSnapshot.getDeckId(snapshot) == deckId;
+        isLoading.setValue(!deckRepository.hasCachedDeckDetail(deckId));
+        deckRepository.getDeckDetail(deckId, localOnlyRequest
+                ? CachePolicy.CACHE_ONLY : CachePolicy.STALE_WHILE_REVALIDATE);
+    }
+
+    /**
+     * Carga el pool de todas las barajas y restaura la carta que estaba en pantalla.
+     */
+    private void loadAllDecks() {
+        if (drawPoolSubscription != null) {
+            return;
+        }
         isLoading.setValue(true);
-        deckRepository.getDeckDetail(deckId);
+        drawPoolSubscription = deckRepository.getDrawPool().subscribe(pool -> {
+            if (pool == null || drawPool != null) {
+                return;
+            }
+            isLoading.setValue(false);
+            drawPool = pool;
+            int[] saved = savedState.get(KEY_POOL_CARD);
+            DeckDrawPool.Draw restored = saved != null ? pool.find(saved[0], saved[1]) : null;
+            if (restored != null) {
+                showDraw(restored);
+            } else {
+                drawRandomCard();
+            }
+        });
+        deckRepository.loadDrawPool();
     }
 
     /**
-     * Extrae una carta aleatoria de la baraja actual.
+     * Extrae la siguiente carta del ciclo: no se repite ninguna hasta haber salido todas.
+     * En el modo todas las barajas, una carta cualquiera según los pesos.
      */
     public void drawRandomCard() {
-        Deck deck = currentDeck.getValue();
-        if (deck != null && deck.getCards() != null && !deck.getCards().isEmpty()) {
-            List<Card> cards = deck.getCards();
-            int randomIndex = random.nextInt(cards.size());
-            Card randomCard = cards.get(randomIndex);
-            currentCard.setValue(randomCard);
-        } else {
+        if (pendingDeck != null) {
+            // El ciclo de la baraja aún se está leyendo: la carta sale al mostrarla
+            return;
+        }
+        if (drawPool != null) {
+            DeckDrawPool.Draw draw = drawPool.draw(random);
+            if (draw == null) {
+                message.setValue("No hay cartas disponibles");
+                return;
+            }
+            showDraw(draw);
+            savedState.set(KEY_POOL_CARD, new int[]{draw.getDeck().getId(), draw.getCard().getId()});
+            savedState.set(KEY_CARD_REVEALED, false);
+            return;
+        }
+        if (bag == null) {
             message.setValue("No hay cartas disponibles");
+            return;
+        }
+        currentCard.setValue(drawCards[bag.next()]);
+        savedState.set(KEY_CARD_REVEALED, false);
+    }
+
+    /**
+     * Muestra una carta del pool: la baraja mostrada es la de la carta.
+     * La carta va primero para que la pantalla no saque otra al ver la baraja.
+     */
+    private void showDraw(DeckDrawPool.Draw draw) {
+        currentCard.setValue(draw.getCard());
+        currentDeck.setValue(draw.getDeck());
+    }
+
+    /**
+     * Indica si la carta actual se está mostrando boca arriba.
+     */
+    public boolean isCardRevealed() {
+        Boolean revealed = savedState.get(KEY_CARD_REVEALED);
+        return revealed != null && revealed;
+    }
+
+    public void setCardRevealed(boolean revealed) {
+        savedState.set(KEY_CARD_REVEALED, revealed);
+    }
+
+    /**
+     * Restaura la baraja desde el estado guardado si la copia incluye las cartas.
+     * Con el ciclo también en el estado es síncrono: la pantalla recreada tiene sus datos
+     * antes del primer frame.
+     */
+    private void restoreSavedDeck() {
+        Bundle snapshot = savedState.get(KEY_DECK_SNAPSHOT);
+        if (snapshot == null || !DeckSnapshot.isComplete(snapshot)) {
+            return;
+        }
+        Deck deck = DeckSnapshot.toDeck(snapshot);
+        requestedDeckId = deck.getId();
+        prepareDraws(deck, false);
+    }
+
+    /**
+     * Muestra una baraja recibida del repositorio y la guarda en el estado.
+     */
+    private void showDeck(Deck deck) {
+        savedState.set(KEY_DECK_SNAPSHOT, DeckSnapshot.toBundle(deck));
+        if (deck.getId() != drawDeckId || !hasSameCards(deck.getCards())) {
+            // Baraja nueva o con otras cartas: el ciclo sigue solo si las cartas coinciden
+            prepareDraws(deck, true);
+        } else if (pendingDeck != null) {
+            // Misma baraja mientras se lee su ciclo: se mostrará la más reciente
+            pendingDeck = deck;
+        } else {
+            currentDeck.setValue(deck);
+        }
+    }
+
+    /**
+     * Prepara el motor de extracción de una baraja y la muestra. El ciclo se recupera del
+     * estado guardado (misma pantalla recreada, con su carta actual) o, si no, del de la
+     * sesión anterior, que se lee del disco fuera del hilo principal: hasta tenerlo la
+     * baraja no se muestra, para que la primera carta ya salga de ese ciclo.
+     * @param persistCurrent guardar antes el ciclo de la baraja que se deja
+     */
+    private void prepareDraws(Deck deck, boolean persistCurrent) {
+        if (persistCurrent) {
+            persistDrawState();
+        }
+        List<Card> cards = deck.getCards();
+        drawDeckId = deck.getId();
+        drawCards = cards != null ? cards.toArray(new Card[0]) : new Card[0];
+        bag = null;
+        pendingDeck = null;
+        if (drawCards.length == 0) {
+            currentDeck.setValue(deck);
+            return;
+        }
+
+        Bundle saved = savedState.remove(KEY_DRAW_STATE);
+        if (saved != null && saved.getInt(DRAW_DECK_ID, -1) == drawDeckId) {
+            bag = restoreBag(saved.getIntArray(DRAW_ORDER), saved.getInt(DRAW_CURSOR));
+            if (bag != null && bag.getCursor() > 0) {
+                // La carta en pantalla es la última que salió
+                currentCard.setValue(drawCards[bag.getOrder()[bag.getCursor() - 1]]);
+            }
+        }
+        if (bag != null) {
+            currentDeck.setValue(deck);
+            return;
+        }
+
+        pendingDeck = deck;
+        final int deckId = drawDeckId;
+        deckRepository.loadDrawState(deckId, stored -> {
+            if (pendingDeck == null || drawDeckId != deckId) {
+                // Llegó otra baraja mientras tanto
+                return;
+            }
+            if (stored != null) {
+                bag = restoreBag(stored.getCardIds(), stored.getCursor());
+            }
+            if (bag == null) {
+                bag = new ShuffleBag(drawCards.length, random);
+            }
+            Deck shown = pendingDeck;
+            pendingDeck = null;
+            currentDeck.setValue(shown);
+        });
+    }
+
+    /**
+     * Traduce un orden guardado (ids de carta) a índices de drawCards.
+     * @return null si las cartas de la baraja ya no son las mismas
+     */
+    private ShuffleBag restoreBag(int[] cardIdOrder, int cursor) {
+        if (cardIdOrder == null || cardIdOrder.length != drawCards.length) {
+            return null;
+        }
+        Map<Integer, Integer> indexById = new HashMap<>();
+        for (int i = 0; i < drawCards.length; i++) {
+            indexById.put(drawCards[i].getId(), i);
+        }
+        int[] order = new int[cardIdOrder.length];
+        for (int i = 0; i < cardIdOrder.length; i++) {
+            Integer index = indexById.get(cardIdOrder[i]);
+            if (index == null) {
+                return null;
+            }
+            order[i] = index;
+        }
+        try {
+            return ShuffleBag.restore(order, cursor, random);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private boolean hasSameCards(List<Card> cards) {
+        if (cards == null || cards.size() != drawCards.length) {
+            return false;
+        }
+        for (int i = 0; i < drawCards.length; i++) {
+            if (cards.get(i).getId() != drawCards[i].getId()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Orden del ciclo actual expresado en ids de carta.
+     */
+    private int[] cardIdOrder() {
+        int[] order = bag.getOrder();
+        for (int i = 0; i < order.length; i++) {
+            order[i] = drawCards[order[i]].getId();
+        }
+        return order;
+    }
+
+    /**
+     * Proveedor del SavedStateHandle: se llama al guardar el estado de la pantalla (rotación
+     * o paso a segundo plano), momento en que también se guarda para la próxima sesión.
+     */
+    private Bundle saveDrawState() {
+        Bundle state = new Bundle();
+        if (bag != null) {
+            int[] order = cardIdOrder();
+            state.putInt(DRAW_DECK_ID, drawDeckId);
+            state.putIntArray(DRAW_ORDER, order);
+            state.putInt(DRAW_CURSOR, bag.getCursor());
+            deckRepository.saveDrawState(drawDeckId, new DrawState(order, bag.getCursor()));
+        }
+        return state;
+    }
+
+    private void persistDrawState() {
+        if (bag != null) {
+            deckRepository.saveDrawState(drawDeckId, new DrawState(cardIdOrder(), bag.getCursor()));
         }
     }
 
@@ -87,6 +394,19 @@ public class DeckDetailViewModel extends ViewModel {
         message.setValue(null);
     }
 
+    /**
+     * Cancela las suscripciones al repositorio compartido para no retener este ViewModel.
+     */
+    @Override
+    protected void onCleared() {
+        super.onCleared();
+        deckDetailSubscription.cancel();
+        if (drawPoolSubscription != null) {
+            drawPoolSubscription.cancel();
+        }
+        persistDrawState();
+    }
+
     /**
      * Factory para crear instancias del ViewModel con dependencias.
      */
@@ -99,9 +419,11 @@ public class DeckDetailViewModel extends ViewModel {
 
         @NonNull
         @Override
-        public <T extends ViewModel> T create(@NonNull Class<T> modelClass) {
+        public <T extends ViewModel> T create(@NonNull Class<T> modelClass, @NonNull CreationExtras extras) {
             if (modelClass.isAssignableFrom(DeckDetailViewModel.class)) {
-                return (T) new DeckDetailViewModel(repository);
+                // El handle incluye los argumentos del fragment (deck_id) y su estado guardado
+                return (T) new DeckDetailViewModel(repository,
+                        SavedStateHandleSupport.createSavedStateHandle(extras));
             }
             throw new IllegalArgumentException("Unknown ViewModel class: " + modelClass.getName());
         }
@@ -1,55 +1,88 @@
 package com.lmr.kairoscope.viewmodel;
 
+import androidx.lifecycle.LifecycleOwner;
 import androidx.lifecycle.LiveData;
 import androidx.lifecycle.MutableLiveData;
+import androidx.lifecycle.Observer;
 import androidx.lifecycle.ViewModel;
 import androidx.lifecycle.ViewModelProvider;
 import androidx.annotation.NonNull;
 
+import com.lmr.kairoscope.adapters.DeckUiModel;
+import com.lmr.kairoscope.data.model.Deck;
 import com.lmr.kairoscope.data.model.DeckDeleteResponse;
 import com.lmr.kairoscope.data.model.DeckListResponse;
+import com.lmr.kairoscope.data.repository.CachePolicy;
 import com.lmr.kairoscope.data.repository.DeckRepository;
+import com.lmr.kairoscope.data.repository.Subscription;
+import com.lmr.kairoscope.util.AppExecutors;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executor;
 
 /**
  * ViewModel que gestiona la lista de barajas del usuario.
  * Coordina carga, eliminación y validación de límites de barajas.
+ * Los borrados se aplican al instante sobre la lista en memoria y se deshacen si fallan,
+ * sin volver a descargar la lista. Las filas se preparan en el hilo de cálculo
+ * para que la lista solo tenga que pintarlas.
  */
 public class DeckListViewModel extends ViewModel {
 
     private final DeckRepository deckRepository;
+    private final Executor computation;
+    private final Subscription deckListSubscription;
+    // Un stream por borrado en curso, por id de baraja; se suelta al llegar el resultado final
+    private final Map<Integer, Subscription> deleteSubscriptions = new HashMap<>();
+    private final Observer<String> syncMessageObserver;
 
     // Estados de la UI
     private final MutableLiveData<Boolean> isLoading = new MutableLiveData<>(false);
     private final MutableLiveData<String> message = new MutableLiveData<>();
+    // Lista mostrada: la del repositorio sin las barajas cuyo borrado está en curso
+    private final MutableLiveData<List<Deck>> decks = new MutableLiveData<>();
+    // La misma lista ya preparada para el adaptador
+    private final MutableLiveData<List<DeckUiModel>> deckItems = new MutableLiveData<>();
+
+    // Solo se usan desde el hilo principal
+    private List<Deck> loadedDecks = Collections.emptyList();
+    private final Set<Integer> hiddenDeckIds = new HashSet<>();
 
     /**
      * Constructor que inicializa el ViewModel con el Repository.
-     * Configura observadores para procesar respuestas de lista y eliminación.
+     * Configura observadores para procesar la lista y los avisos de sincronización.
      */
     public DeckListViewModel(DeckRepository deckRepository) {
         this.deckRepository = deckRepository;
+        this.computation = AppExecutors.getInstance().computation();
 
         // Observar resultado de carga de lista
-        this.deckRepository.getDeckListResult().observeForever(result -> {
+        this.deckListSubscription = deckRepository.getDeckListResult().subscribe(result -> {
             isLoading.postValue(false);
 
-            if (result != null && !result.isSuccess()) {
+            if (result != null && result.isSuccess()) {
+                loadedDecks = result.getDecks() != null ? result.getDecks() : Collections.emptyList();
+                publishDecks();
+            } else if (result != null) {
                 message.postValue("Error al cargar las barajas. Comprueba tu conexión");
+                loadedDecks = Collections.emptyList();
+                publishDecks();
             }
         });
 
-        // Observar resultado de eliminación y recargar lista si es exitosa
-        this.deckRepository.getDeckDeleteResult().observeForever(result -> {
-            isLoading.postValue(false);
-
-            if (result != null && result.isSuccess()) {
-                message.postValue(result.getMessage());
-                loadDeckList(); // Recargar lista tras eliminación exitosa
-                deckRepository.clearDeleteResult();
-            } else if (result != null) {
-                message.postValue("Error al eliminar la baraja");
+        // Avisos de los cambios sin conexión que se resuelven más tarde
+        this.syncMessageObserver = text -> {
+            if (text != null) {
+                message.setValue(text);
             }
-        });
+        };
+        deckRepository.getSyncMessages().observeForever(syncMessageObserver);
     }
 
     // Getters para LiveData
@@ -65,16 +98,34 @@ public class DeckListViewModel extends ViewModel {
         return deckRepository.getDeckListResult();
     }
 
-    public LiveData<DeckDeleteResponse> getDeckDeleteResult() {
-        return deckRepository.getDeckDeleteResult();
+    /**
+     * Barajas a mostrar, con los borrados optimistas ya aplicados.
+     */
+    public LiveData<List<Deck>> getDecks() {
+        return decks;
+    }
+
+    /**
+     * Filas de la lista ya formateadas, en el mismo orden que {@link #getDecks()}.
+     */
+    public LiveData<List<DeckUiModel>> getDeckItems() {
+        return deckItems;
+    }
+
+    /**
+     * Ata la lectura de la lista a una pantalla que la usa: si ninguna está visible,
+     * la descarga en curso se cancela. Se llama desde onViewCreated de cada pantalla.
+     */
+    public void bindTo(LifecycleOwner screen) {
+        deckRepository.getDeckListResult().bindTo(screen);
     }
 
     /**
-     * Carga la lista actualizada de barajas desde el servidor.
+     * Carga la lista de barajas: pinta lo cacheado al instante y revalida con el servidor.
      */
     public void loadDeckList() {
-        isLoading.setValue(true);
-        deckRepository.getDeckList();
+        isLoading.setValue(!deckRepository.hasCachedDeckList());
+        deckRepository.getDeckList(CachePolicy.STALE_WHILE_REVALIDATE);
     }
 
     /**
@@ -85,11 +136,71 @@ public class DeckListViewModel extends ViewModel {
     }
 
     /**
-     * Elimina una baraja específica del usuario.
+     * Elimina una baraja: desaparece de la lista al momento y se restaura si el borrado falla.
+     */
+    public void deleteDeck(Deck deck) {
+        hiddenDeckIds.add(deck.getId());
+        publishDecks();
+        Subscription previous = deleteSubscriptions.put(deck.getId(),
+                deckRepository.deleteDeck(deck.getId()).subscribe(this::onDeleteResult));
+        if (previous != null) {
+            previous.cancel();
+        }
+    }
+
+    /**
+     * Resultado de un borrado: la fila ya se quitó, solo se confirma o se restaura.
+     * El resultado local solo avisa; con el final se suelta la suscripción del borrado.
+     */
+    private void onDeleteResult(DeckDeleteResponse result) {
+        if (result == null) {
+            return;
+        }
+        int deckId = result.getDeckId();
+        if (result.isPending()) {
+            message.setValue(result.getMessage());
+            return;
+        }
+        Subscription subscription = deleteSubscriptions.remove(deckId);
+        if (subscription != null) {
+            subscription.cancel();
+        }
+        hiddenDeckIds.remove(deckId);
+        if (result.isSuccess()) {
+            // El repositorio ya no la incluirá: quitarla también de la copia cargada
+            loadedDecks = without(loadedDecks, deckId);
+        } else {
+            // Rollback: la baraja vuelve a su posición
+            publishDecks();
+            message.setValue("Error al eliminar la baraja");
+        }
+    }
+
+    /**
+     * Adelanta la carga del detalle de una baraja que el usuario está tocando o viendo.
+     */
+    public void prefetchDeck(Deck deck, boolean pressed) {
+        if (!deck.isPending()) {
+            deckRepository.prefetchDeckDetail(deck.getId(), pressed);
+        }
+    }
+
+    /**
+     * Peso de una baraja al sacar cartas de todas las barajas.
      */
-    public void deleteDeck(int deckId) {
-        isLoading.setValue(true);
-        deckRepository.deleteDeck(deckId);
+    public double getDrawWeight(Deck deck) {
+        return deckRepository.getDrawWeight(deck);
+    }
+
+    /**
+     * Cambia el peso de una baraja, o de toda su disciplina, al sacar de todas las barajas.
+     */
+    public void setDrawWeight(Deck deck, double weight, boolean wholeDiscipline) {
+        if (wholeDiscipline) {
+            deckRepository.setDisciplineDrawWeight(deck, weight);
+        } else {
+            deckRepository.setDeckDrawWeight(deck.getId(), weight);
+        }
     }
 
     /**
@@ -97,14 +208,50 @@ public class DeckListViewModel extends ViewModel {
      * @return true si puede crear más barajas, false si alcanzó el límite
      */
     public boolean canCreateNewDeck() {
-        DeckListResponse currentResponse = getDeckListResult().getValue();
-        if (currentResponse != null && currentResponse.isSuccess() &&
-                currentResponse.getDecks() != null) {
-            return currentResponse.getDecks().size() < 8;
+        List<Deck> currentDecks = decks.getValue();
+        if (currentDecks != null) {
+            return currentDecks.size() < 8;
         }
         return true; // Permitir intento si no hay datos cargados
     }
 
+    /**
+     * Publica la lista cargada sin las barajas ocultas.
+     */
+    private void publishDecks() {
+        List<Deck> visible = loadedDecks;
+        for (Integer hiddenId : hiddenDeckIds) {
+            visible = without(visible, hiddenId);
+        }
+        decks.setValue(visible);
+        // Un único hilo en orden: la última lista publicada es la que queda
+        List<Deck> snapshot = visible;
+        computation.execute(() -> deckItems.postValue(DeckUiModel.fromDecks(snapshot)));
+    }
+
+    private static List<Deck> without(List<Deck> source, int deckId) {
+        List<Deck> result = new ArrayList<>(source.size());
+        for (Deck deck : source) {
+            if (deck.getId() != deckId) {
+                result.add(deck);
+            }
+        }
+        return result.size() == source.size() ? source : result;
+    }
+
+    /**
+     * Cancela las suscripciones al repositorio compartido para no retener este ViewModel.
+     */
+    @Override
+    protected void onCleared() {
+        super.onCleared();
+        deckListSubscription.cancel();
+        for (Subscription subscription : deleteSubscriptions.values()) {
+            subscription.cancel();
+        }
+        deckRepository.getSyncMessages().removeObserver(syncMessageObserver);
+    }
+
     /**
      * Factory para crear instancias del ViewModel con dependencias.
      */
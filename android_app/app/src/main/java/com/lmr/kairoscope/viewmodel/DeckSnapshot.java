@@ -0,0 +1,88 @@
+package com.lmr.kairoscope.viewmodel;
+
+import android.os.Bundle;
+
+import com.lmr.kairoscope.data.model.Card;
+import com.lmr.kairoscope.data.model.Deck;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Copia compacta de una baraja para el estado guardado de la pantalla de detalle:
+ * datos básicos, ids de las cartas y, si caben, sus textos en arrays planos.
+ * Permite restaurar la pantalla tras una rotación o la muerte del proceso sin red.
+ */
+final class DeckSnapshot {
+
+    // El estado guardado viaja en una transacción Binder (~1 MB compartido por toda la app):
+    // por encima de este total de caracteres solo se guardan los ids y los textos se leen de disco
+    static final int MAX_TEXT_CHARS = 64 * 1024;
+
+    private static final String KEY_ID = "id";
+    private static final String KEY_NAME = "name";
+    private static final String KEY_DISCIPLINE = "discipline";
+    private static final String KEY_COLOR = "color";
+    private static final String KEY_CREATED_AT = "created_at";
+    private static final String KEY_CARD_IDS = "card_ids";
+    private static final String KEY_CARD_TEXTS = "card_texts";
+
+    private DeckSnapshot() {
+    }
+
+    /**
+     * Genera la copia de una baraja con sus cartas.
+     */
+    static Bundle toBundle(Deck deck) {
+        Bundle bundle = new Bundle();
+        bundle.putInt(KEY_ID, deck.getId());
+        bundle.putString(KEY_NAME, deck.getName());
+        bundle.putString(KEY_DISCIPLINE, deck.getDiscipline());
+        bundle.putString(KEY_COLOR, deck.getChosen_color());
+        bundle.putString(KEY_CREATED_AT, deck.getCreated_at());
+
+        List<Card> cards = deck.getCards() != null ? deck.getCards() : new ArrayList<>();
+        int[] ids = new int[cards.size()];
+        String[] texts = new String[cards.size()];
+        long totalChars = 0;
+        for (int i = 0; i < ids.length; i++) {
+            Card card = cards.get(i);
+            ids[i] = card.getId();
+            texts[i] = card.getText();
+            totalChars += texts[i] != null ? texts[i].length() : 0;
+        }
+        bundle.putIntArray(KEY_CARD_IDS, ids);
+        if (totalChars <= MAX_TEXT_CHARS) {
+            bundle.putStringArray(KEY_CARD_TEXTS, texts);
+        }
+        return bundle;
+    }
+
+    static int getDeckId(Bundle bundle) {
+        return bundle.getInt(KEY_ID, -1);
+    }
+
+    /**
+     * Indica si la copia incluye los textos y basta para reconstruir la baraja.
+     */
+    static boolean isComplete(Bundle bundle) {
+        return bundle.getIntArray(KEY_CARD_IDS) != null && bundle.getStringArray(KEY_CARD_TEXTS) != null;
+    }
+
+    /**
+     * Reconstruye la baraja. Solo es válido si {@link #isComplete(Bundle)}.
+     */
+    static Deck toDeck(Bundle bundle) {
+        int[] ids = bundle.getIntArray(KEY_CARD_IDS);
+        String[] texts = bundle.getStringArray(KEY_CARD_TEXTS);
+        List<Card> cards = new ArrayList<>(ids.length);
+        for (int i = 0; i < ids.length; i++) {
+            cards.add(new Card(ids[i], texts[i]));
+        }
+        Deck deck = new Deck(getDeckId(bundle), bundle.getString(KEY_NAME),
+                bundle.getString(KEY_DISCIPLINE), bundle.getString(KEY_COLOR),
+                bundle.getString(KEY_CREATED_AT), cards.size());
+        deck.setCards(cards);
+        return deck;
+    }
+}
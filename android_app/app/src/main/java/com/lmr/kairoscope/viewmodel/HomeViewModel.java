@@ -1,5 +1,6 @@
 package com.lmr.kairoscope.viewmodel;
 
+import androidx.lifecycle.LifecycleOwner;
 import androidx.lifecycle.LiveData;
 import androidx.lifecycle.MutableLiveData;
 import androidx.lifecycle.ViewModel;
@@ -10,7 +11,9 @@ import com.lmr.kairoscope.data.model.Deck;
 import com.lmr.kairoscope.data.model.DeckListResponse;
 import com.lmr.kairoscope.data.model.UserProfile;
 import com.lmr.kairoscope.data.repository.AuthRepository;
+import com.lmr.kairoscope.data.repository.CachePolicy;
 import com.lmr.kairoscope.data.repository.DeckRepository;
+import com.lmr.kairoscope.data.repository.Subscription;
 
 /**
  * ViewModel para la pantalla principal que muestra saludo personalizado y última baraja.
@@ -20,6 +23,7 @@ public class HomeViewModel extends ViewModel {
 
     private final AuthRepository authRepository;
     private final DeckRepository deckRepository;
+    private final Subscription deckListSubscription;
 
     // Estados de la UI
     private final MutableLiveData<Boolean> isLoading = new MutableLiveData<>(false);
@@ -37,17 +41,22 @@ public class HomeViewModel extends ViewModel {
         this.deckRepository = deckRepository;
 
         // Observar lista de barajas para identificar la más reciente
-        this.deckRepository.getDeckListResult().observeForever(result -> {
+        this.deckListSubscription = deckRepository.getDeckListResult().subscribe(result -> {
             isLoading.postValue(false);
 
             if (result != null && result.isSuccess()) {
-                if (result.getDecks() != null && !result.getDecks().isEmpty()) {
-                    // Obtener la baraja más reciente (última en la lista ordenada por fecha)
-                    Deck latest = result.getDecks().get(0); // Asumiendo orden descendente por fecha
-                    latestDeck.postValue(latest);
-                } else {
-                    latestDeck.postValue(null); // Sin barajas disponibles
+                // Obtener la baraja más reciente (orden descendente por fecha) que ya exista
+                // en el servidor: las pendientes del outbox aún no se pueden abrir
+                Deck latest = null;
+                if (result.getDecks() != null) {
+                    for (Deck deck : result.getDecks()) {
+                        if (!deck.isPending()) {
+                            latest = deck;
+                            break;
+                        }
+                    }
                 }
+                latestDeck.postValue(latest); // null si no hay barajas disponibles
             } else {
                 message.postValue("Error al cargar las barajas");
                 latestDeck.postValue(null);
@@ -62,12 +71,31 @@ public class HomeViewModel extends ViewModel {
     public LiveData<UserProfile> getCurrentUserProfile() { return authRepository.getCurrentUserProfileLiveData(); }
     public LiveData<DeckListResponse> getDeckListResult() { return deckRepository.getDeckListResult(); }
 
+    /**
+     * Ata la lectura de la lista a la pantalla de inicio: si deja de verse, la descarga
+     * en curso se cancela. Se llama desde onViewCreated.
+     */
+    public void bindTo(LifecycleOwner screen) {
+        deckRepository.getDeckListResult().bindTo(screen);
+    }
+
     /**
      * Carga los datos iniciales necesarios para la pantalla de inicio.
+     * Si hay barajas en caché se pintan al instante y se revalidan en segundo plano.
      */
     public void loadHomeData() {
-        isLoading.setValue(true);
-        deckRepository.getDeckList();
+        isLoading.setValue(!deckRepository.hasCachedDeckList());
+        deckRepository.getDeckList(CachePolicy.STALE_WHILE_REVALIDATE);
+    }
+
+    /**
+     * Adelanta la carga del detalle de la última baraja, mostrada en la tarjeta de inicio.
+     * @param pressed true si el usuario está tocando la tarjeta
+     */
+    public void prefetchDeck(Deck deck, boolean pressed) {
+        if (!deck.isPending()) {
+            deckRepository.prefetchDeckDetail(deck.getId(), pressed);
+        }
     }
 
     /**
@@ -77,6 +105,15 @@ public class HomeViewModel extends ViewModel {
         message.setValue(null);
     }
 
+    /**
+     * Cancela las suscripciones al repositorio compartido para no retener este ViewModel.
+     */
+    @Override
+    protected void onCleared() {
+        super.onCleared();
+        deckListSubscription.cancel();
+    }
+
     /**
      * Factory para crear instancias del ViewModel con múltiples dependencias.
      */
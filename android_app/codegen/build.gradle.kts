@@ -0,0 +1,10 @@
+// Procesador de anotaciones que genera los TypeAdapter de Gson de los modelos @JsonModel
+// de :core. Solo se usa en compilación (annotationProcessor), no viaja en la app.
+plugins {
+    `java-library`
+}
+
+java {
+    sourceCompatibility = JavaVersion.VERSION_1_8
+    targetCompatibility = JavaVersion.VERSION_1_8
+}
@@ -0,0 +1,33 @@
+package com.lmr.kairoscope.codegen;
+
+/**
+ * Escritor mínimo de código fuente con sangría de cuatro espacios.
+ */
+final class JavaWriter {
+
+    private final StringBuilder out = new StringBuilder();
+    private int depth;
+
+    void indent() {
+        depth++;
+    }
+
+    void outdent() {
+        depth--;
+    }
+
+    void line(String text) {
+        if (!text.isEmpty()) {
+            for (int i = 0; i < depth; i++) {
+                out.append("    ");
+            }
+            out.append(text);
+        }
+        out.append('\n');
+    }
+
+    @Override
+    public String toString() {
+        return out.toString();
+    }
+}
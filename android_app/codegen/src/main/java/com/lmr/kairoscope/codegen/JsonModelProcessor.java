@@ -0,0 +1,532 @@
+package com.lmr.kairoscope.codegen;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.NestingKind;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.ArrayType;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.PrimitiveType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic;
+
+/**
+ * Genera un TypeAdapter de Gson por cada clase anotada con
+ * {@code com.lmr.kairoscope.data.model.JsonModel} y una {@code GeneratedTypeAdapterFactory}
+ * por paquete que los registra.
+ *
+ * <p>El adaptador lee y escribe los campos directamente (sin reflexión), con las mismas reglas
+ * que el adaptador reflexivo de Gson: se ignoran los campos static y transient, los nombres
+ * desconocidos se saltan, un null en JSON no cambia un campo primitivo y los nombres salen
+ * del campo o de {@code @SerializedName}. String, int, long y boolean se leen en línea; el
+ * resto de tipos (listas, otros modelos, números en caja) se delegan en el adaptador que
+ * Gson tenga registrado, que para los modelos anotados es también uno generado.</p>
+ */
+public class JsonModelProcessor extends AbstractProcessor {
+
+    static final String ANNOTATION = "com.lmr.kairoscope.data.model.JsonModel";
+    static final String FACTORY_NAME = "GeneratedTypeAdapterFactory";
+
+    private static final String SERIALIZED_NAME = "com.google.gson.annotations.SerializedName";
+    private static final String GET_TYPE = ".getType()";
+
+    @Override
+    public Set<String> getSupportedAnnotationTypes() {
+        return Collections.singleton(ANNOTATION);
+    }
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        if (annotations.isEmpty()) {
+            return false;
+        }
+        // Modelos de cada paquete, para generar una factoría por paquete
+        Map<String, List<TypeElement>> byPackage = new LinkedHashMap<>();
+        for (TypeElement annotation : annotations) {
+            for (Element element : roundEnv.getElementsAnnotatedWith(annotation)) {
+                TypeElement type = (TypeElement) element;
+                if (!isValidModel(type)) {
+                    continue;
+                }
+                List<Field> fields = collectFields(type);
+                if (fields == null) {
+                    continue;
+                }
+                String packageName = packageOf(type);
+                writeAdapter(type, packageName, fields);
+                List<TypeElement> models = byPackage.get(packageName);
+                if (models == null) {
+                    models = new ArrayList<>();
+                    byPackage.put(packageName, models);
+                }
+                models.add(type);
+            }
+        }
+        for (Map.Entry<String, List<TypeElement>> entry : byPackage.entrySet()) {
+            writeFactory(entry.getKey(), entry.getValue());
+        }
+        return true;
+    }
+
+    private boolean isValidModel(TypeElement type) {
+        if (type.getKind() != ElementKind.CLASS || type.getModifiers().contains(Modifier.ABSTRACT)) {
+            return error(type, "@JsonModel solo admite clases concretas");
+        }
+        if (type.getNestingKind() != NestingKind.TOP_LEVEL && type.getNestingKind() != NestingKind.MEMBER) {
+            return error(type, "@JsonModel no admite clases locales ni anónimas");
+        }
+        if (type.getNestingKind() == NestingKind.MEMBER && !type.getModifiers().contains(Modifier.STATIC)) {
+            return error(type, "Una clase @JsonModel anidada debe ser static");
+        }
+        for (Element current = type; current instanceof TypeElement; current = current.getEnclosingElement()) {
+            if (current.getModifiers().contains(Modifier.PRIVATE)) {
+                return error(type, "Una clase @JsonModel no puede ser private ni estar dentro de una private");
+            }
+        }
+        for (ExecutableElement constructor : ElementFilter.constructorsIn(type.getEnclosedElements())) {
+            if (constructor.getParameters().isEmpty() && !constructor.getModifiers().contains(Modifier.PRIVATE)) {
+                return true;
+            }
+        }
+        return error(type, "Una clase @JsonModel necesita un constructor sin argumentos no private");
+    }
+
+    /**
+     * Campos serializables de la clase y sus superclases, o null si alguno no es accesible.
+     */
+    private List<Field> collectFields(TypeElement type) {
+        List<Field> fields = new ArrayList<>();
+        String packageName = packageOf(type);
+        boolean valid = true;
+        TypeElement current = type;
+        while (current != null && !current.getQualifiedName().contentEquals("java.lang.Object")) {
+            for (VariableElement field : ElementFilter.fieldsIn(current.getEnclosedElements())) {
+                Set<Modifier> modifiers = field.getModifiers();
+                if (modifiers.contains(Modifier.STATIC) || modifiers.contains(Modifier.TRANSIENT)) {
+                    continue;
+                }
+                if (modifiers.contains(Modifier.PRIVATE) || modifiers.contains(Modifier.FINAL)
+                        || (!packageOf(current).equals(packageName) && !modifiers.contains(Modifier.PUBLIC))) {
+                    valid = error(field, "Los campos de un @JsonModel deben ser accesibles desde "
+                            + packageName + " y no final (o transient si no son JSON)");
+                    continue;
+                }
+                fields.add(new Field(field.getSimpleName().toString(), jsonName(field), field.asType()));
+            }
+            TypeMirror superclass = current.getSuperclass();
+            current = superclass.getKind() == TypeKind.DECLARED
+                    ? (TypeElement) ((DeclaredType) superclass).asElement() : null;
+        }
+        for (Field field : fields) {
+            if (!field.isInline() && typeExpression(field.type) == null) {
+                valid = error(type, "Tipo no admitido en el campo " + field.name + ": " + field.type);
+            }
+        }
+        return valid ? fields : null;
+    }
+
+    private String jsonName(VariableElement field) {
+        for (AnnotationMirror mirror : field.getAnnotationMirrors()) {
+            if (!((TypeElement) mirror.getAnnotationType().asElement()).getQualifiedName()
+                    .contentEquals(SERIALIZED_NAME)) {
+                continue;
+            }
+            for (Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> value
+                    : mirror.getElementValues().entrySet()) {
+                if (value.getKey().getSimpleName().contentEquals("value")) {
+                    return (String) value.getValue().getValue();
+                }
+            }
+        }
+        return field.getSimpleName().toString();
+    }
+
+    private void writeAdapter(TypeElement type, String packageName, List<Field> fields) {
+        String model = type.getQualifiedName().toString();
+        String adapterName = adapterName(type);
+
+        JavaWriter w = new JavaWriter();
+        w.line("// Generado por " + JsonModelProcessor.class.getSimpleName() + " a partir de @JsonModel. No editar.");
+        w.line("package " + packageName + ";");
+        w.line("");
+        w.line("final class " + adapterName + " extends com.google.gson.TypeAdapter<" + model + "> {");
+        w.indent();
+        for (Field field : fields) {
+            if (!field.isInline()) {
+                w.line("private final com.google.gson.TypeAdapter<" + field.boxedType() + "> "
+                        + field.adapterField() + ";");
+            }
+        }
+        w.line("");
+        List<String> lookups = new ArrayList<>();
+        boolean unchecked = false;
+        for (Field field : fields) {
+            if (field.isInline()) {
+                continue;
+            }
+            String token = typeExpression(field.type);
+            if (token.endsWith(GET_TYPE)) {
+                // Tipo genérico: se pide por TypeToken y hay que convertir el resultado
+                lookups.add(field.adapterField() + " = (com.google.gson.TypeAdapter<" + field.boxedType()
+                        + ">) gson.getAdapter(" + token.substring(0, token.length() - GET_TYPE.length()) + ");");
+                unchecked = true;
+            } else {
+                lookups.add(field.adapterField() + " = gson.getAdapter(" + token + ");");
+            }
+        }
+        if (unchecked) {
+            w.line("@SuppressWarnings(\"unchecked\")");
+        }
+        w.line(adapterName + "(com.google.gson.Gson gson) {");
+        w.indent();
+        for (String lookup : lookups) {
+            w.line(lookup);
+        }
+        w.outdent();
+        w.line("}");
+        w.line("");
+
+        w.line("@Override");
+        w.line("public void write(com.google.gson.stream.JsonWriter out, " + model
+                + " value) throws java.io.IOException {");
+        w.indent();
+        w.line("if (value == null) {");
+        w.line("    out.nullValue();");
+        w.line("    return;");
+        w.line("}");
+        w.line("out.beginObject();");
+        for (Field field : fields) {
+            String name = "out.name(" + literal(field.jsonName) + ")";
+            if (field.isInline()) {
+                w.line(name + ".value(value." + field.name + ");");
+            } else {
+                w.line(name + ";");
+                w.line(field.adapterField() + ".write(out, value." + field.name + ");");
+            }
+        }
+        w.line("out.endObject();");
+        w.outdent();
+        w.line("}");
+        w.line("");
+
+        w.line("@Override");
+        w.line("public " + model + " read(com.google.gson.stream.JsonReader in) throws java.io.IOException {");
+        w.indent();
+        w.line("if (in.peek() == com.google.gson.stream.JsonToken.NULL) {");
+        w.line("    in.nextNull();");
+        w.line("    return null;");
+        w.line("}");
+        w.line(model + " value = new " + model + "();");
+        w.line("in.beginObject();");
+        w.line("while (in.hasNext()) {");
+        w.indent();
+        w.line("switch (in.nextName()) {");
+        w.indent();
+        for (Field field : fields) {
+            w.line("case " + literal(field.jsonName) + ":");
+            w.indent();
+            writeRead(w, field);
+            w.line("break;");
+            w.outdent();
+        }
+        w.line("default:");
+        w.line("    in.skipValue();");
+        w.outdent();
+        w.line("}");
+        w.outdent();
+        w.line("}");
+        w.line("in.endObject();");
+        w.line("return value;");
+        w.outdent();
+        w.line("}");
+        writeHelpers(w, fields);
+        w.outdent();
+        w.line("}");
+
+        write(packageName + "." + adapterName, w.toString(), type);
+    }
+
+    private void writeRead(JavaWriter w, Field field) {
+        String target = "value." + field.name;
+        switch (field.type.getKind()) {
+            case INT:
+            case LONG:
+            case BOOLEAN:
+                // Como Gson: un null en JSON deja el valor por defecto del campo primitivo
+                w.line("if (in.peek() == com.google.gson.stream.JsonToken.NULL) {");
+                w.line("    in.nextNull();");
+                w.line("} else {");
+                w.line("    " + target + " = " + field.helper() + "(in);");
+                w.line("}");
+                break;
+            case DECLARED:
+                if (field.isInline()) {
+                    w.line(target + " = readString(in);");
+                    break;
+                }
+                w.line(target + " = " + field.adapterField() + ".read(in);");
+                break;
+            default:
+                if (field.type.getKind().isPrimitive()) {
+                    w.line(field.boxedType() + " " + field.name + "Value = "
+                            + field.adapterField() + ".read(in);");
+                    w.line("if (" + field.name + "Value != null) {");
+                    w.line("    " + target + " = " + field.name + "Value;");
+                    w.line("}");
+                } else {
+                    w.line(target + " = " + field.adapterField() + ".read(in);");
+                }
+        }
+    }
+
+    /**
+     * Lecturas en línea con las mismas conversiones que los adaptadores básicos de Gson.
+     */
+    private void writeHelpers(JavaWriter w, List<Field> fields) {
+        boolean string = false;
+        boolean integer = false;
+        boolean longValue = false;
+        boolean bool = false;
+        for (Field field : fields) {
+            if (!field.isInline()) {
+                continue;
+            }
+            switch (field.type.getKind()) {
+                case INT:
+                    integer = true;
+                    break;
+                case LONG:
+                    longValue = true;
+                    break;
+                case BOOLEAN:
+                    bool = true;
+                    break;
+                default:
+                    string = true;
+            }
+        }
+        if (string) {
+            w.line("");
+            w.line("private static String readString(com.google.gson.stream.JsonReader in) throws java.io.IOException {");
+            w.line("    com.google.gson.stream.JsonToken token = in.peek();");
+            w.line("    if (token == com.google.gson.stream.JsonToken.NULL) {");
+            w.line("        in.nextNull();");
+            w.line("        return null;");
+            w.line("    }");
+            w.line("    return token == com.google.gson.stream.JsonToken.BOOLEAN");
+            w.line("            ? Boolean.toString(in.nextBoolean()) : in.nextString();");
+            w.line("}");
+        }
+        if (integer) {
+            w.line("");
+            w.line("private static int readInt(com.google.gson.stream.JsonReader in) throws java.io.IOException {");
+            w.line("    try {");
+            w.line("        return in.nextInt();");
+            w.line("    } catch (NumberFormatException e) {");
+            w.line("        throw new com.google.gson.JsonSyntaxException(e);");
+            w.line("    }");
+            w.line("}");
+        }
+        if (longValue) {
+            w.line("");
+            w.line("private static long readLong(com.google.gson.stream.JsonReader in) throws java.io.IOException {");
+            w.line("    try {");
+            w.line("        return in.nextLong();");
+            w.line("    } catch (NumberFormatException e) {");
+            w.line("        throw new com.google.gson.JsonSyntaxException(e);");
+            w.line("    }");
+            w.line("}");
+        }
+        if (bool) {
+            w.line("");
+            w.line("private static boolean readBoolean(com.google.gson.stream.JsonReader in) throws java.io.IOException {");
+            w.line("    if (in.peek() == com.google.gson.stream.JsonToken.STRING) {");
+            w.line("        return Boolean.parseBoolean(in.nextString());");
+            w.line("    }");
+            w.line("    return in.nextBoolean();");
+            w.line("}");
+        }
+    }
+
+    private void writeFactory(String packageName, List<TypeElement> models) {
+        JavaWriter w = new JavaWriter();
+        w.line("// Generado por " + JsonModelProcessor.class.getSimpleName() + " a partir de @JsonModel. No editar.");
+        w.line("package " + packageName + ";");
+        w.line("");
+        w.line("/**");
+        w.line(" * Registra en Gson los TypeAdapter generados para los @JsonModel de este paquete.");
+        w.line(" */");
+        w.line("public final class " + FACTORY_NAME + " implements com.google.gson.TypeAdapterFactory {");
+        w.indent();
+        w.line("");
+        w.line("@Override");
+        w.line("@SuppressWarnings(\"unchecked\")");
+        w.line("public <T> com.google.gson.TypeAdapter<T> create(com.google.gson.Gson gson, "
+                + "com.google.gson.reflect.TypeToken<T> type) {");
+        w.indent();
+        w.line("Class<? super T> raw = type.getRawType();");
+        for (TypeElement model : models) {
+            w.line("if (raw == " + model.getQualifiedName() + ".class) {");
+            w.line("    return (com.google.gson.TypeAdapter<T>) new " + adapterName(model) + "(gson);");
+            w.line("}");
+        }
+        w.line("return null;");
+        w.outdent();
+        w.line("}");
+        w.outdent();
+        w.line("}");
+
+        write(packageName + "." + FACTORY_NAME, w.toString(), models.toArray(new Element[0]));
+    }
+
+    private void write(String className, String source, Element... originatingElements) {
+        try (Writer writer = processingEnv.getFiler()
+                .createSourceFile(className, originatingElements).openWriter()) {
+            writer.write(source);
+        } catch (IOException e) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
+                    "No se pudo generar " + className + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * Expresión java.lang.reflect.Type del tipo del campo, o null si no se puede expresar
+     * (variables de tipo, comodines).
+     */
+    private String typeExpression(TypeMirror type) {
+        if (type.getKind().isPrimitive()) {
+            return boxed(type) + ".class";
+        }
+        if (type.getKind() == TypeKind.ARRAY) {
+            TypeMirror component = ((ArrayType) type).getComponentType();
+            if (component.getKind().isPrimitive()
+                    || (component.getKind() == TypeKind.DECLARED
+                    && ((DeclaredType) component).getTypeArguments().isEmpty())) {
+                return processingEnv.getTypeUtils().erasure(type) + ".class";
+            }
+            return null;
+        }
+        if (type.getKind() != TypeKind.DECLARED) {
+            return null;
+        }
+        DeclaredType declared = (DeclaredType) type;
+        String raw = ((TypeElement) declared.asElement()).getQualifiedName() + ".class";
+        if (declared.getTypeArguments().isEmpty()) {
+            return raw;
+        }
+        StringBuilder expression = new StringBuilder("com.google.gson.reflect.TypeToken.getParameterized(")
+                .append(raw);
+        for (TypeMirror argument : declared.getTypeArguments()) {
+            String argumentExpression = typeExpression(argument);
+            if (argumentExpression == null || argument.getKind().isPrimitive()) {
+                return null;
+            }
+            expression.append(", ").append(argumentExpression);
+        }
+        return expression.append(")").append(GET_TYPE).toString();
+    }
+
+    private String boxed(TypeMirror type) {
+        return processingEnv.getTypeUtils().boxedClass((PrimitiveType) type).getQualifiedName().toString();
+    }
+
+    private String packageOf(Element element) {
+        PackageElement packageElement = processingEnv.getElementUtils().getPackageOf(element);
+        return packageElement.getQualifiedName().toString();
+    }
+
+    /**
+     * Deck → DeckTypeAdapter; DeckResponse.DeckInfo → DeckResponse_DeckInfoTypeAdapter.
+     */
+    private String adapterName(TypeElement type) {
+        String qualified = type.getQualifiedName().toString();
+        String packageName = packageOf(type);
+        String simple = packageName.isEmpty() ? qualified : qualified.substring(packageName.length() + 1);
+        return simple.replace('.', '_') + "TypeAdapter";
+    }
+
+    private boolean error(Element element, String message) {
+        processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, message, element);
+        return false;
+    }
+
+    private static String literal(String value) {
+        return "\"" + value.replace("\\", "\\\\").replace("\"", "\\\"") + "\"";
+    }
+
+    /**
+     * Campo serializable de un modelo.
+     */
+    private final class Field {
+        final String name;
+        final String jsonName;
+        final TypeMirror type;
+
+        Field(String name, String jsonName, TypeMirror type) {
+            this.name = name;
+            this.jsonName = jsonName;
+            this.type = type;
+        }
+
+        /**
+         * Se lee y escribe sin delegar en otro adaptador.
+         */
+        boolean isInline() {
+            switch (type.getKind()) {
+                case INT:
+                case LONG:
+                case BOOLEAN:
+                    return true;
+                case DECLARED:
+                    return ((TypeElement) ((DeclaredType) type).asElement()).getQualifiedName()
+                            .contentEquals("java.lang.String");
+                default:
+                    return false;
+            }
+        }
+
+        String helper() {
+            switch (type.getKind()) {
+                case INT:
+                    return "readInt";
+                case LONG:
+                    return "readLong";
+                default:
+                    return "readBoolean";
+            }
+        }
+
+        String adapterField() {
+            return name + "Adapter";
+        }
+
+        String boxedType() {
+            return type.getKind().isPrimitive() ? boxed(type) : type.toString();
+        }
+    }
+}
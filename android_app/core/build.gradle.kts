@@ -0,0 +1,34 @@
+// Capa de datos sin dependencias de Android: modelos, cliente del API, políticas de token
+// y reintentos, y cachés. Se prueba y se mide en la JVM sin emulador.
+plugins {
+    `java-library`
+    // Benchmarks JMH en src/jmh: ./gradlew :core:jmh
+    alias(libs.plugins.jmh)
+}
+
+java {
+    sourceCompatibility = JavaVersion.VERSION_1_8
+    targetCompatibility = JavaVersion.VERSION_1_8
+}
+
+dependencies {
+    // Tipos de Retrofit, OkHttp y Gson forman parte del API público (ApiService, interceptores)
+    api(libs.retrofit)
+    api(libs.converter.gson)
+    api(libs.logging.interceptor)
+    api(libs.gson)
+    // Solo anotaciones @NonNull/@Nullable: no arrastra nada de Android
+    compileOnly(libs.androidx.annotation)
+    // TypeAdapter de Gson generados en compilación para los modelos @JsonModel
+    annotationProcessor(project(":codegen"))
+    testImplementation(libs.junit)
+}
+
+jmh {
+    jmhVersion.set(libs.versions.jmh.get())
+    // Bytes asignados por operación (gc.alloc.rate.norm) además de tiempos y throughput
+    profilers.set(listOf("gc"))
+    resultFormat.set("JSON")
+    // Un subconjunto: ./gradlew :core:jmh -PjmhIncludes=DeckDetail
+    providers.gradleProperty("jmhIncludes").orNull?.let { includes.set(listOf(it)) }
+}
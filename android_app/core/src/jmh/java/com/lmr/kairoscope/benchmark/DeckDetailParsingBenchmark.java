@@ -0,0 +1,115 @@
+package com.lmr.kairoscope.benchmark;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonParser;
+import com.google.gson.stream.JsonReader;
+import com.lmr.kairoscope.data.model.DeckDetailResponse;
+import com.lmr.kairoscope.data.network.ApiClient;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.lang.annotation.Annotation;
+import java.util.concurrent.TimeUnit;
+
+import okhttp3.MediaType;
+import okhttp3.ResponseBody;
+import retrofit2.Converter;
+import retrofit2.Retrofit;
+import retrofit2.converter.gson.GsonConverterFactory;
+
+/**
+ * Coste de convertir la respuesta de detalle de baraja (GET /api/deck/{id}/) según su
+ * número de cartas. Cada variante aísla una parte del trabajo:
+ * <ul>
+ *     <li>{@link #retrofitConverter}: lo que hace la app (GsonConverterFactory de ApiClient).</li>
+ *     <li>{@link #streamingBinding}: Gson leyendo del stream directamente a Deck/Card.</li>
+ *     <li>{@link #streamingTokens}: solo leer los tokens, sin construir nada (el suelo).</li>
+ *     <li>{@link #treeParse}: construir el árbol JsonElement completo.</li>
+ *     <li>{@link #treeParseAndMap}: árbol completo y después mapeo a Deck/Card.</li>
+ *     <li>{@link #mapFromTree}: solo el mapeo de un árbol ya parseado a Deck/Card.</li>
+ * </ul>
+ * El parámetro {@code adapters} repite cada variante con el Gson reflexivo ({@code new Gson()},
+ * lo que usaba la app antes) y con el de {@link ApiClient#createGson()}, que registra los
+ * TypeAdapter generados para los @JsonModel.
+ * Con {@code -prof gc} (activado en la tarea jmh de :core) cada resultado incluye
+ * gc.alloc.rate.norm, los bytes asignados por conversión.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DeckDetailParsingBenchmark {
+
+    private static final MediaType JSON = MediaType.get("application/json; charset=utf-8");
+
+    @Param({"10", "100", "1000", "10000", "100000"})
+    public int cards;
+
+    // Antes/después de los TypeAdapter generados
+    @Param({"reflective", "generated"})
+    public String adapters;
+
+    private Gson gson;
+    private Converter<ResponseBody, DeckDetailResponse> converter;
+    private byte[] payload;
+    private JsonElement tree;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        gson = "generated".equals(adapters) ? ApiClient.createGson() : new Gson();
+        // El mismo conversor que crea Retrofit para ApiService.getDeckDetail
+        Retrofit retrofit = new Retrofit.Builder()
+                .baseUrl("http://localhost/")
+                .addConverterFactory(GsonConverterFactory.create(gson))
+                .build();
+        converter = retrofit.responseBodyConverter(DeckDetailResponse.class, new Annotation[0]);
+        payload = DeckPayloads.detail(cards);
+        tree = JsonParser.parseReader(DeckPayloads.reader(payload));
+    }
+
+    @Benchmark
+    public DeckDetailResponse retrofitConverter() throws IOException {
+        return converter.convert(ResponseBody.create(payload, JSON));
+    }
+
+    @Benchmark
+    public DeckDetailResponse streamingBinding() {
+        return gson.fromJson(DeckPayloads.reader(payload), DeckDetailResponse.class);
+    }
+
+    @Benchmark
+    public int streamingTokens(Blackhole blackhole) throws IOException {
+        return DeckPayloads.consumeTokens(new JsonReader(DeckPayloads.reader(payload)), blackhole);
+    }
+
+    @Benchmark
+    public JsonElement treeParse() {
+        return JsonParser.parseReader(DeckPayloads.reader(payload));
+    }
+
+    @Benchmark
+    public DeckDetailResponse treeParseAndMap() {
+        return gson.fromJson(JsonParser.parseReader(DeckPayloads.reader(payload)), DeckDetailResponse.class);
+    }
+
+    @Benchmark
+    public DeckDetailResponse mapFromTree() {
+        return gson.fromJson(tree, DeckDetailResponse.class);
+    }
+}
@@ -0,0 +1,101 @@
+package com.lmr.kairoscope.benchmark;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonParser;
+import com.google.gson.stream.JsonReader;
+import com.lmr.kairoscope.data.model.DeckListResponse;
+import com.lmr.kairoscope.data.network.ApiClient;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.lang.annotation.Annotation;
+import java.util.concurrent.TimeUnit;
+
+import okhttp3.MediaType;
+import okhttp3.ResponseBody;
+import retrofit2.Converter;
+import retrofit2.Retrofit;
+import retrofit2.converter.gson.GsonConverterFactory;
+
+/**
+ * Coste de convertir la lista de barajas (GET /api/deck/) según su número de barajas,
+ * con las mismas variantes que {@link DeckDetailParsingBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DeckListParsingBenchmark {
+
+    private static final MediaType JSON = MediaType.get("application/json; charset=utf-8");
+
+    @Param({"10", "100", "1000", "10000", "100000"})
+    public int decks;
+
+    // Igual que en DeckDetailParsingBenchmark
+    @Param({"reflective", "generated"})
+    public String adapters;
+
+    private Gson gson;
+    private Converter<ResponseBody, DeckListResponse> converter;
+    private byte[] payload;
+    private JsonElement tree;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        gson = "generated".equals(adapters) ? ApiClient.createGson() : new Gson();
+        Retrofit retrofit = new Retrofit.Builder()
+                .baseUrl("http://localhost/")
+                .addConverterFactory(GsonConverterFactory.create(gson))
+                .build();
+        converter = retrofit.responseBodyConverter(DeckListResponse.class, new Annotation[0]);
+        payload = DeckPayloads.list(decks);
+        tree = JsonParser.parseReader(DeckPayloads.reader(payload));
+    }
+
+    @Benchmark
+    public DeckListResponse retrofitConverter() throws IOException {
+        return converter.convert(ResponseBody.create(payload, JSON));
+    }
+
+    @Benchmark
+    public DeckListResponse streamingBinding() {
+        return gson.fromJson(DeckPayloads.reader(payload), DeckListResponse.class);
+    }
+
+    @Benchmark
+    public int streamingTokens(Blackhole blackhole) throws IOException {
+        return DeckPayloads.consumeTokens(new JsonReader(DeckPayloads.reader(payload)), blackhole);
+    }
+
+    @Benchmark
+    public JsonElement treeParse() {
+        return JsonParser.parseReader(DeckPayloads.reader(payload));
+    }
+
+    @Benchmark
+    public DeckListResponse treeParseAndMap() {
+        return gson.fromJson(JsonParser.parseReader(DeckPayloads.reader(payload)), DeckListResponse.class);
+    }
+
+    @Benchmark
+    public DeckListResponse mapFromTree() {
+        return gson.fromJson(tree, DeckListResponse.class);
+    }
+}
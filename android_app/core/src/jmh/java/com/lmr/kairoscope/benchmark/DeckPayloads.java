@@ -0,0 +1,129 @@
+package com.lmr.kairoscope.benchmark;
+
+import com.google.gson.stream.JsonReader;
+
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Respuestas sintéticas del backend con la misma forma que las de Django
+ * (GET /api/deck/{id}/ y GET /api/deck/) y textos de carta de longitud realista,
+ * con acentos para que la decodificación UTF-8 también cuente.
+ */
+final class DeckPayloads {
+
+    private static final String[] PHRASES = {
+            "Cambia el instrumento con el que empezaste y repite la última frase",
+            "¿Qué haría alguien que no sabe nada de tu disciplina?",
+            "Quita la mitad de los elementos y observa qué echa de menos la obra",
+            "Trabaja diez minutos con los ojos cerrados; después decide qué conservas",
+            "Convierte el error más reciente en la regla de la siguiente versión",
+    };
+
+    private DeckPayloads() {
+    }
+
+    /**
+     * Detalle de una baraja con el número de cartas indicado.
+     */
+    static byte[] detail(int cards) {
+        StringBuilder json = new StringBuilder(64 + cards * 110);
+        json.append("{\"status\":\"success\",\"deck\":");
+        appendDeck(json, 1, cards);
+        json.append(",\"cards\":[");
+        for (int i = 0; i < cards; i++) {
+            if (i > 0) {
+                json.append(',');
+            }
+            json.append("{\"id\":").append(100_000 + i)
+                    .append(",\"text\":\"").append(PHRASES[i % PHRASES.length])
+                    .append(" (").append(i).append(")\"}");
+        }
+        json.append("]}}");
+        return json.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Lista de barajas (sin cartas, como la devuelve el servidor).
+     */
+    static byte[] list(int decks) {
+        StringBuilder json = new StringBuilder(64 + decks * 260);
+        json.append("{\"status\":\"success\",\"decks\":[");
+        for (int i = 0; i < decks; i++) {
+            if (i > 0) {
+                json.append(',');
+            }
+            appendDeck(json, i + 1, 123);
+            json.append('}');
+        }
+        json.append("],\"total\":").append(decks).append('}');
+        return json.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Campos de una baraja sin cerrar el objeto, para poder añadir sus cartas.
+     */
+    private static void appendDeck(StringBuilder json, int id, int cardCount) {
+        json.append("{\"id\":").append(id)
+                .append(",\"name\":\"Estrategias oblicuas ").append(id).append('"')
+                .append(",\"discipline\":\"Composición musical\"")
+                .append(",\"block_description\":\"Perfeccionismo y falta de inspiración al terminar\"")
+                .append(",\"chosen_color\":\"#3F51B5\"")
+                .append(",\"created_at\":\"2024-05-01T10:00:00.000000Z\"")
+                .append(",\"card_count\":").append(cardCount);
+    }
+
+    /**
+     * Lector del cuerpo como lo entrega OkHttp: bytes decodificados en UTF-8.
+     */
+    static Reader reader(byte[] payload) {
+        return new InputStreamReader(new ByteArrayInputStream(payload), StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Recorre todos los tokens sin construir nada: el coste mínimo de leer el JSON.
+     * @return número de tokens
+     */
+    static int consumeTokens(JsonReader reader, Blackhole blackhole) throws IOException {
+        int tokens = 0;
+        while (true) {
+            switch (reader.peek()) {
+                case BEGIN_ARRAY:
+                    reader.beginArray();
+                    break;
+                case END_ARRAY:
+                    reader.endArray();
+                    break;
+                case BEGIN_OBJECT:
+                    reader.beginObject();
+                    break;
+                case END_OBJECT:
+                    reader.endObject();
+                    break;
+                case NAME:
+                    blackhole.consume(reader.nextName());
+                    break;
+                case STRING:
+                    blackhole.consume(reader.nextString());
+                    break;
+                case NUMBER:
+                    blackhole.consume(reader.nextLong());
+                    break;
+                case BOOLEAN:
+                    blackhole.consume(reader.nextBoolean());
+                    break;
+                case NULL:
+                    reader.nextNull();
+                    break;
+                case END_DOCUMENT:
+                    return tokens;
+            }
+            tokens++;
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.lmr.kairoscope.benchmark;
+
+import com.lmr.kairoscope.util.ShuffleBag;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Coste por carta de {@link ShuffleBag#next()}, incluidos los rebarajados al vaciarse la bolsa.
+ * Sacar cartas no debería reservar memoria: gc.alloc.rate.norm tiene que quedarse en ~0 B/op.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ShuffleBagBenchmark {
+
+    // Una baraja real (123 cartas) y el modo "todas las barajas" con muchas
+    @Param({"123", "500", "5000"})
+    public int cards;
+
+    private ShuffleBag bag;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        bag = new ShuffleBag(cards, new Random(42));
+    }
+
+    @Benchmark
+    public int next() {
+        return bag.next();
+    }
+}
@@ -0,0 +1,48 @@
+package com.lmr.kairoscope.data.cache;
+
+import com.lmr.kairoscope.data.model.Card;
+import com.lmr.kairoscope.data.model.Deck;
+import com.lmr.kairoscope.data.model.DeckDetailResponse;
+
+import java.util.List;
+
+/**
+ * Estima los bytes que ocupa en el heap un detalle de baraja ya parseado.
+ * No es exacto: basta con que crezca con el número y la longitud de las cartas
+ * para repartir el presupuesto de la caché de forma razonable.
+ */
+public class DeckDetailWeigher implements TtlLruCache.Weigher<DeckDetailResponse> {
+
+    // Cabecera de objeto más campos, redondeado
+    private static final int OBJECT_OVERHEAD = 16;
+    private static final int REFERENCE_SIZE = 4;
+    // Objeto String más su array; se cuentan 2 bytes por carácter (peor caso, texto no latino)
+    private static final int STRING_OVERHEAD = 40;
+
+    @Override
+    public long weigh(DeckDetailResponse value) {
+        long bytes = OBJECT_OVERHEAD + sizeOf(value.getStatus());
+        Deck deck = value.getDeck();
+        if (deck == null) {
+            return bytes;
+        }
+        bytes += OBJECT_OVERHEAD + 8 * REFERENCE_SIZE
+                + sizeOf(deck.getName())
+                + sizeOf(deck.getDiscipline())
+                + sizeOf(deck.getBlock_description())
+                + sizeOf(deck.getChosen_color())
+                + sizeOf(deck.getCreated_at());
+        List<Card> cards = deck.getCards();
+        if (cards != null) {
+            bytes += OBJECT_OVERHEAD + (long) cards.size() * REFERENCE_SIZE;
+            for (Card card : cards) {
+                bytes += OBJECT_OVERHEAD + REFERENCE_SIZE + sizeOf(card.getText());
+            }
+        }
+        return bytes;
+    }
+
+    private static long sizeOf(String text) {
+        return text == null ? 0 : STRING_OVERHEAD + 2L * text.length();
+    }
+}
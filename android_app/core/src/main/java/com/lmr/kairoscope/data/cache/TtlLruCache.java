@@ -0,0 +1,227 @@
+package com.lmr.kairoscope.data.cache;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Caché LRU en memoria con caducidad por entrada.
+ * Las entradas caducadas no se eliminan al leerlas: se devuelven marcadas como obsoletas
+ * para que el llamador decida si las muestra mientras revalida.
+ * El tamaño se limita por peso (por defecto, una unidad por entrada); con un {@link Weigher}
+ * en bytes estimados sirve de caché con presupuesto de memoria.
+ */
+public class TtlLruCache<K, V> {
+
+    /**
+     * Calcula el peso de un valor (por ejemplo, bytes estimados en el heap).
+     */
+    public interface Weigher<V> {
+        long weigh(V value);
+    }
+
+    /**
+     * Contadores de uso de la caché en un instante dado.
+     */
+    public static class Stats {
+        private final long hits;
+        private final long misses;
+        private final long evictions;
+        private final long weight;
+        private final long maxWeight;
+
+        Stats(long hits, long misses, long evictions, long weight, long maxWeight) {
+            this.hits = hits;
+            this.misses = misses;
+            this.evictions = evictions;
+            this.weight = weight;
+            this.maxWeight = maxWeight;
+        }
+
+        public long getHits() {
+            return hits;
+        }
+
+        public long getMisses() {
+            return misses;
+        }
+
+        /**
+         * Entradas expulsadas por falta de espacio o por presión de memoria.
+         */
+        public long getEvictions() {
+            return evictions;
+        }
+
+        public long getWeight() {
+            return weight;
+        }
+
+        public long getMaxWeight() {
+            return maxWeight;
+        }
+
+        @Override
+        public String toString() {
+            return "hits=" + hits + ", misses=" + misses + ", evictions=" + evictions
+                    + ", weight=" + weight + "/" + maxWeight;
+        }
+    }
+
+    /**
+     * Valor cacheado junto con su momento de caducidad.
+     */
+    public static class Entry<V> {
+        private final V value;
+        private final long expiresAtMillis;
+        private final long weight;
+
+        Entry(V value, long expiresAtMillis, long weight) {
+            this.value = value;
+            this.expiresAtMillis = expiresAtMillis;
+            this.weight = weight;
+        }
+
+        public V getValue() {
+            return value;
+        }
+
+        boolean isFreshAt(long nowMillis) {
+            return nowMillis < expiresAtMillis;
+        }
+    }
+
+    private final long maxWeight;
+    private final long defaultTtlMillis;
+    private final Weigher<V> weigher;
+    private final LinkedHashMap<K, Entry<V>> map;
+
+    // Protegidos por this
+    private long weight;
+    private long hitCount;
+    private long missCount;
+    private long evictionCount;
+
+    /**
+     * Caché limitada a un número de entradas.
+     */
+    public TtlLruCache(int maxEntries, long defaultTtlMillis) {
+        this(maxEntries, defaultTtlMillis, value -> 1);
+    }
+
+    /**
+     * Caché limitada por la suma de los pesos de sus valores.
+     */
+    public TtlLruCache(long maxWeight, long defaultTtlMillis, Weigher<V> weigher) {
+        this.maxWeight = maxWeight;
+        this.defaultTtlMillis = defaultTtlMillis;
+        this.weigher = weigher;
+        // accessOrder = true: el recorrido va del menos al más recientemente usado
+        this.map = new LinkedHashMap<>(16, 0.75f, true);
+    }
+
+    /**
+     * @return la entrada (fresca u obsoleta) o null si no existe
+     */
+    public synchronized Entry<V> get(K key) {
+        Entry<V> entry = map.get(key);
+        if (entry != null) {
+            hitCount++;
+        } else {
+            missCount++;
+        }
+        return entry;
+    }
+
+    /**
+     * Como {@link #get(Object)}, pero sin contar acierto ni fallo (consultas de estado).
+     */
+    public synchronized Entry<V> peek(K key) {
+        return map.get(key);
+    }
+
+    /**
+     * Indica si la entrada sigue dentro de su TTL.
+     */
+    public boolean isFresh(Entry<V> entry) {
+        return entry != null && entry.isFreshAt(now());
+    }
+
+    public void put(K key, V value) {
+        put(key, value, defaultTtlMillis);
+    }
+
+    /**
+     * Guarda un valor con un TTL concreto. Un TTL de 0 lo guarda ya obsoleto
+     * (útil para datos leídos de disco cuya antigüedad se desconoce).
+     */
+    public synchronized void put(K key, V value, long ttlMillis) {
+        long entryWeight = weigher.weigh(value);
+        if (entryWeight > maxWeight) {
+            // Nunca cabría: se descarta en lugar de vaciar la caché entera
+            remove(key);
+            return;
+        }
+        Entry<V> previous = map.put(key, new Entry<>(value, now() + ttlMillis, entryWeight));
+        weight += entryWeight;
+        if (previous != null) {
+            weight -= previous.weight;
+        }
+        trimTo(maxWeight);
+    }
+
+    public synchronized void remove(K key) {
+        Entry<V> removed = map.remove(key);
+        if (removed != null) {
+            weight -= removed.weight;
+        }
+    }
+
+    /**
+     * Elimina todas las claves que empiezan por el prefijo indicado.
+     */
+    public synchronized void removeByPrefix(String prefix) {
+        Iterator<Map.Entry<K, Entry<V>>> iterator = map.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<K, Entry<V>> entry = iterator.next();
+            if (String.valueOf(entry.getKey()).startsWith(prefix)) {
+                weight -= entry.getValue().weight;
+                iterator.remove();
+            }
+        }
+    }
+
+    public synchronized void clear() {
+        map.clear();
+        weight = 0;
+    }
+
+    public synchronized int size() {
+        return map.size();
+    }
+
+    /**
+     * Expulsa las entradas menos usadas hasta que el peso total no supere el indicado.
+     * Se usa para liberar memoria cuando el sistema lo pide.
+     */
+    public synchronized void trimTo(long targetWeight) {
+        Iterator<Map.Entry<K, Entry<V>>> iterator = map.entrySet().iterator();
+        while (weight > targetWeight && iterator.hasNext()) {
+            weight -= iterator.next().getValue().weight;
+            iterator.remove();
+            evictionCount++;
+        }
+    }
+
+    public synchronized Stats stats() {
+        return new Stats(hitCount, missCount, evictionCount, weight, maxWeight);
+    }
+
+    public long getMaxWeight() {
+        return maxWeight;
+    }
+
+    protected long now() {
+        return System.currentTimeMillis();
+    }
+}
@@ -3,9 +3,10 @@ package com.lmr.kairoscope.data.model;
 /**
  * Representa una carta de estrategía oblicua.
  */
+@JsonModel
 public class Card {
-    private int id;
-    private String text;
+    int id;
+    String text;
 
     // Constructor vacío
     public Card() {}
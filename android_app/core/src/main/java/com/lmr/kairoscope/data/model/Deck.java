@@ -2,18 +2,21 @@ package com.lmr.kairoscope.data.model;
 
 import java.util.List;
 
+@JsonModel
 public class Deck {
     /**
      * Clase que representa una baraja en la aplicación.
      */
-    private int id;
-    private String name;
-    private String discipline;
-    private String block_description;
-    private String chosen_color;
-    private String created_at;
-    private int card_count;
-    private List<Card> cards;
+    int id;
+    String name;
+    String discipline;
+    String block_description;
+    String chosen_color;
+    String created_at;
+    int card_count;
+    List<Card> cards;
+    // Creada sin conexión y pendiente de enviar al servidor (solo local, Gson la ignora)
+    private transient boolean pending;
 
     // Constructor vacío (requerido para Gson)
     public Deck() {}
@@ -46,6 +49,7 @@ public class Deck {
     public int getCard_count() { return card_count; }
     public String getBlock_description() { return block_description; }
     public List<Card> getCards() { return cards; }
+    public boolean isPending() { return pending; }
 
     // Setters existentes
     public void setId(int id) { this.id = id; }
@@ -56,4 +60,5 @@ public class Deck {
     public void setCard_count(int card_count) { this.card_count = card_count; }
     public void setBlock_description(String block_description) { this.block_description = block_description; }
     public void setCards(List<Card> cards) { this.cards = cards; }
+    public void setPending(boolean pending) { this.pending = pending; }
 }
\ No newline at end of file
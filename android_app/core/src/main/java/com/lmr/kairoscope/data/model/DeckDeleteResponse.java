@@ -4,9 +4,12 @@ package com.lmr.kairoscope.data.model;
  * Modelo de respuesta para operaciones de eliminación de barajas.
  * Contiene el estado y mensaje de confirmación del servidor.
  */
+@JsonModel
 public class DeckDeleteResponse {
-    private String status;
-    private String message;
+    String status;
+    String message;
+    // Baraja afectada; lo rellena el repositorio (no viene en el JSON)
+    private transient int deckId;
 
     public DeckDeleteResponse() {
     }
@@ -16,6 +19,11 @@ public class DeckDeleteResponse {
         this.message = message;
     }
 
+    public DeckDeleteResponse(String status, String message, int deckId) {
+        this(status, message);
+        this.deckId = deckId;
+    }
+
     public String getStatus() {
         return status;
     }
@@ -32,10 +40,21 @@ public class DeckDeleteResponse {
         this.message = message;
     }
 
+    public int getDeckId() {
+        return deckId;
+    }
+
     /**
      * Verifica si la operación de eliminación fue exitosa.
      */
     public boolean isSuccess() {
         return "success".equals(status);
     }
+
+    /**
+     * Borrado aplicado en local a la espera de que el servidor lo confirme o lo rechace.
+     */
+    public boolean isPending() {
+        return "pending".equals(status);
+    }
 }
\ No newline at end of file
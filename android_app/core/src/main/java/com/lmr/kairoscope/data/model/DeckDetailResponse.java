@@ -3,9 +3,10 @@ package com.lmr.kairoscope.data.model;
 /**
  * Respuesta de detalle de baraja. GET /deck/{id}
  */
+@JsonModel
 public class DeckDetailResponse {
-    private String status;
-    private Deck deck; // Usar Deck directamente
+    String status;
+    Deck deck; // Usar Deck directamente
 
     // Constructor vacío
     public DeckDetailResponse() {
@@ -0,0 +1,96 @@
+package com.lmr.kairoscope.data.model;
+
+/**
+ * Estado de un trabajo de generación de baraja en el servidor.
+ * El cliente lo consulta periódicamente hasta que termina.
+ */
+@JsonModel
+public class DeckJob {
+
+    public static final String STATUS_PENDING = "pending";
+    public static final String STATUS_RUNNING = "running";
+    public static final String STATUS_COMPLETED = "completed";
+    public static final String STATUS_FAILED = "failed";
+
+    String job_id;
+    String status;
+    int progress;
+    String stage;
+    int version;
+    DeckResponse.DeckInfo deck;
+    String error;
+    // Baraja provisional donde el servidor va guardando las cartas en streaming
+    Integer deck_id;
+    int card_count;
+
+    public DeckJob() {
+    }
+
+    public DeckJob(String jobId, String status, int progress, String stage, int version) {
+        this.job_id = jobId;
+        this.status = status;
+        this.progress = progress;
+        this.stage = stage;
+        this.version = version;
+    }
+
+    public String getJobId() {
+        return job_id;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    /**
+     * Progreso de la generación entre 0 y 100.
+     */
+    public int getProgress() {
+        return progress;
+    }
+
+    public String getStage() {
+        return stage;
+    }
+
+    /**
+     * Versión del estado; aumenta con cada cambio en el servidor.
+     */
+    public int getVersion() {
+        return version;
+    }
+
+    public DeckResponse.DeckInfo getDeck() {
+        return deck;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    /**
+     * Id de la baraja que se está generando, o null si aún no existe.
+     */
+    public Integer getDeckId() {
+        return deck_id;
+    }
+
+    /**
+     * Cartas generadas hasta el momento.
+     */
+    public int getCardCount() {
+        return card_count;
+    }
+
+    public boolean isCompleted() {
+        return STATUS_COMPLETED.equals(status);
+    }
+
+    public boolean isFailed() {
+        return STATUS_FAILED.equals(status);
+    }
+
+    public boolean isFinished() {
+        return isCompleted() || isFailed();
+    }
+}
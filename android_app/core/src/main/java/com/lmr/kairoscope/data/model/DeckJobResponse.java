@@ -0,0 +1,32 @@
+package com.lmr.kairoscope.data.model;
+
+/**
+ * Modelo de respuesta de los endpoints de trabajos de generación.
+ */
+@JsonModel
+public class DeckJobResponse {
+    String status;
+    String message;
+    String error;
+    DeckJob job;
+
+    public DeckJobResponse() {
+    }
+
+    public DeckJobResponse(String status, String message) {
+        this.status = status;
+        this.message = message;
+    }
+
+    public boolean isSuccess() {
+        return "success".equals(status);
+    }
+
+    public String getMessage() {
+        return message != null ? message : error;
+    }
+
+    public DeckJob getJob() {
+        return job;
+    }
+}
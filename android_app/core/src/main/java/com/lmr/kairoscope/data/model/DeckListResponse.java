@@ -6,10 +6,11 @@ import java.util.List;
  * Respuesta modelo para GET /api/deck/ endpoint.
  * Contiene la lista de barajas y el total de barajas disponibles.
  */
+@JsonModel
 public class DeckListResponse {
-    private String status;
-    private List<Deck> decks;
-    private int total;
+    String status;
+    List<Deck> decks;
+    int total;
 
     // Constructor vacío
     public DeckListResponse() {
@@ -10,10 +10,23 @@ public class DeckResponse {
         this.message = message;
     }
 
+    public DeckResponse(String status, String message, DeckInfo deck) {
+        this.status = status;
+        this.message = message;
+        this.deck = deck;
+    }
+
     public boolean isSuccess() {
         return "success".equals(status);
     }
 
+    /**
+     * La creación quedó en cola sin conexión y se completará en segundo plano.
+     */
+    public boolean isPending() {
+        return "pending".equals(status);
+    }
+
     public String getMessage() {
         return message;
     }
@@ -23,11 +36,12 @@ public class DeckResponse {
     }
 
     // Clase interna para representar el objeto deck en la respuesta
+    @JsonModel
     public static class DeckInfo {
-        private int id;
-        private String name;
-        private String user;
-        private String created_at;
+        int id;
+        String name;
+        String user;
+        String created_at;
 
         public int getId() {
             return id;
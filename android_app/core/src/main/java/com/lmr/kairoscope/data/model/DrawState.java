@@ -0,0 +1,24 @@
+package com.lmr.kairoscope.data.model;
+
+/**
+ * Estado de las extracciones de una baraja: orden del ciclo actual (ids de carta)
+ * y posición de la próxima carta. Permite continuar el ciclo en otra sesión.
+ */
+public class DrawState {
+
+    private final int[] cardIds;
+    private final int cursor;
+
+    public DrawState(int[] cardIds, int cursor) {
+        this.cardIds = cardIds;
+        this.cursor = cursor;
+    }
+
+    public int[] getCardIds() {
+        return cardIds;
+    }
+
+    public int getCursor() {
+        return cursor;
+    }
+}
@@ -0,0 +1,20 @@
+package com.lmr.kairoscope.data.model;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marca un modelo que llega o se envía como JSON. El procesador de anotaciones del módulo
+ * :codegen genera en compilación su TypeAdapter ({@code <Clase>TypeAdapter}) y los registra
+ * en {@code GeneratedTypeAdapterFactory}, así Gson no usa reflexión para leerlo ni escribirlo.
+ *
+ * <p>Los campos serializados no pueden ser private (el adaptador generado está en el mismo
+ * paquete) y la clase necesita un constructor sin argumentos. Los campos transient se ignoran,
+ * igual que en Gson.</p>
+ */
+@Retention(RetentionPolicy.SOURCE)
+@Target(ElementType.TYPE)
+public @interface JsonModel {
+}
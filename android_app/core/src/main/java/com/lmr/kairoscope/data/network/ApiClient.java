@@ -0,0 +1,110 @@
+package com.lmr.kairoscope.data.network;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.lmr.kairoscope.data.model.GeneratedTypeAdapterFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import okhttp3.Cache;
+import okhttp3.OkHttpClient;
+import okhttp3.logging.HttpLoggingInterceptor;
+import retrofit2.Retrofit;
+import retrofit2.converter.gson.GsonConverterFactory;
+
+/**
+ * Cliente HTTP del backend sin dependencias de Android: autenticación por interceptor,
+ * reintentos con circuito por endpoint, caché HTTP opcional en disco, timeouts y logging.
+ * La app lo envuelve en {@code RetrofitClient}; los benchmarks y pruebas de carga lo
+ * crean directamente contra un servidor local.
+ */
+public class ApiClient {
+
+    // Debe superar la espera de long-polling del servidor (20 s)
+    private static final long READ_TIMEOUT_SECONDS = 30;
+
+    private final OkHttpClient okHttpClient;
+    private final ApiService apiService;
+    private final Cache cache;
+    private final Gson gson;
+
+    /**
+     * @param baseUrl     URL base del backend, terminada en "/"
+     * @param tokenSource token que se añade a cada petición y se renueva ante un 401
+     * @param cacheDir    directorio de la caché HTTP, o null para no cachear
+     * @param cacheSize   tamaño máximo de la caché en bytes
+     * @param logLevel    nivel del log HTTP; NONE fuera de desarrollo
+     */
+    public ApiClient(String baseUrl, TokenSource tokenSource, File cacheDir, long cacheSize,
+                     HttpLoggingInterceptor.Level logLevel) {
+        // Caché en disco: las barajas sin cambios se revalidan con ETag y vuelven como 304
+        cache = cacheDir != null ? new Cache(cacheDir, cacheSize) : null;
+
+        // La generación con LLM es asíncrona (trabajos + long-polling), así que el timeout
+        // de lectura solo tiene que cubrir la espera máxima de un sondeo
+        OkHttpClient.Builder builder = new OkHttpClient.Builder()
+                .cache(cache)
+                .addInterceptor(new CacheMetricsInterceptor())
+                // Antes que AuthInterceptor para que cada reintento lleve el token vigente
+                .addInterceptor(new RetryInterceptor())
+                .addInterceptor(new AuthInterceptor(tokenSource))
+                .authenticator(new TokenAuthenticator(tokenSource))
+                .connectTimeout(15, TimeUnit.SECONDS)
+                .readTimeout(READ_TIMEOUT_SECONDS, TimeUnit.SECONDS)
+                .writeTimeout(30, TimeUnit.SECONDS);
+        if (logLevel != HttpLoggingInterceptor.Level.NONE) {
+            // Logs de peticiones HTTP en desarrollo (sin leer los streams)
+            builder.addInterceptor(new StreamingAwareLoggingInterceptor(logLevel));
+        }
+        okHttpClient = builder.build();
+
+        // Configurar Retrofit con conversor JSON
+        gson = createGson();
+        Retrofit retrofit = new Retrofit.Builder()
+                .baseUrl(baseUrl)
+                .client(okHttpClient)
+                .addConverterFactory(GsonConverterFactory.create(gson))
+                .build();
+
+        apiService = retrofit.create(ApiService.class);
+    }
+
+    /**
+     * Gson con los TypeAdapter generados para los modelos (@JsonModel): no usa reflexión,
+     * así que R8 puede renombrar y recortar los modelos sin romper el parseo.
+     */
+    public static Gson createGson() {
+        return new GsonBuilder()
+                .registerTypeAdapterFactory(new GeneratedTypeAdapterFactory())
+                .create();
+    }
+
+    public ApiService getApiService() {
+        return apiService;
+    }
+
+    /**
+     * El mismo Gson que usa el conversor de Retrofit, para leer streams y payloads a mano.
+     */
+    public Gson getGson() {
+        return gson;
+    }
+
+    /**
+     * Descarta las conexiones abiertas, por ejemplo porque pertenecen a una red que ya no está.
+     */
+    public void evictConnections() {
+        okHttpClient.connectionPool().evictAll();
+    }
+
+    /**
+     * Vacía la caché HTTP (por ejemplo al cerrar sesión).
+     */
+    public void clearCache() throws IOException {
+        if (cache != null) {
+            cache.evictAll();
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.lmr.kairoscope.data.network;
+
+import com.google.gson.JsonObject;
+import com.lmr.kairoscope.data.model.DeckDeleteResponse;
+import com.lmr.kairoscope.data.model.DeckDetailResponse;
+import com.lmr.kairoscope.data.model.DeckJobResponse;
+import com.lmr.kairoscope.data.model.DeckListResponse;
+
+import okhttp3.ResponseBody;
+import retrofit2.Call;
+import retrofit2.http.Body;
+import retrofit2.http.DELETE;
+import retrofit2.http.GET;
+import retrofit2.http.Header;
+import retrofit2.http.Headers;
+import retrofit2.http.POST;
+import retrofit2.http.Path;
+import retrofit2.http.Query;
+import retrofit2.http.Streaming;
+
+/**
+ * Endpoints de la API de barajas.
+ * La cabecera Authorization la añade {@link AuthInterceptor} y los reintentos
+ * {@link RetryInterceptor}; los métodos {@link NoRetry} se reintentan por su cuenta.
+ */
+public interface ApiService {
+
+    // Endpoint para encolar la generación de una baraja (POST /api/deck/jobs/)
+    // Con la misma Idempotency-Key, el servidor devuelve el trabajo o la baraja originales
+    @POST("api/deck/jobs/")
+    @Headers("Content-Type: application/json")
+    Call<DeckJobResponse> createDeckJob(@Header("Idempotency-Key") String idempotencyKey,
+                                        @Body JsonObject requestBody);
+
+    // Estado de un trabajo; el servidor retiene la respuesta hasta waitSeconds si no hay cambios
+    @NoRetry
+    @GET("api/deck/jobs/{jobId}/")
+    Call<DeckJobResponse> getDeckJob(@Path("jobId") String jobId,
+                                     @Query("since") int sinceVersion,
+                                     @Query("wait") int waitSeconds);
+
+    // Eventos del trabajo en NDJSON; fromCard omite las cartas ya recibidas al reconectar
+    @NoRetry
+    @Streaming
+    @GET("api/deck/jobs/{jobId}/stream/")
+    Call<ResponseBody> streamDeckJob(@Path("jobId") String jobId, @Query("from") int fromCard);
+
+    // Endpoint para obtener todas las barajas del usuario (GET /api/deck/)
+    @GET("api/deck/")
+    Call<DeckListResponse> getDeckList();
+
+    // Endpoint para obtener detalles de una baraja específica
+    @GET("api/deck/{deckId}/")
+    Call<DeckDetailResponse> getDeckDetail(@Path("deckId") int deckId);
+
+    // Endpoint para eliminar una baraja
+    @DELETE("api/deck/{deckId}/")
+    Call<DeckDeleteResponse> deleteDeck(@Path("deckId") int deckId);
+
+}
\ No newline at end of file
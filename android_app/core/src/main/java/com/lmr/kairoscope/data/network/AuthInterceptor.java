@@ -0,0 +1,45 @@
+package com.lmr.kairoscope.data.network;
+
+import androidx.annotation.NonNull;
+
+import java.io.IOException;
+
+import okhttp3.Interceptor;
+import okhttp3.Request;
+import okhttp3.Response;
+
+/**
+ * Interceptor que añade la cabecera Authorization con el ID Token cacheado.
+ * Sustituye la construcción manual de "Bearer " + token en cada llamada del repositorio.
+ */
+public class AuthInterceptor implements Interceptor {
+
+    static final String HEADER_AUTHORIZATION = "Authorization";
+    static final String BEARER_PREFIX = "Bearer ";
+
+    private final TokenSource tokenProvider;
+
+    public AuthInterceptor(TokenSource tokenProvider) {
+        this.tokenProvider = tokenProvider;
+    }
+
+    @NonNull
+    @Override
+    public Response intercept(@NonNull Chain chain) throws IOException {
+        Request request = chain.request();
+
+        // Respetar cabeceras puestas explícitamente por el llamador
+        if (request.header(HEADER_AUTHORIZATION) != null) {
+            return chain.proceed(request);
+        }
+
+        String token = tokenProvider.getToken();
+        if (token == null) {
+            return chain.proceed(request);
+        }
+
+        return chain.proceed(request.newBuilder()
+                .header(HEADER_AUTHORIZATION, BEARER_PREFIX + token)
+                .build());
+    }
+}
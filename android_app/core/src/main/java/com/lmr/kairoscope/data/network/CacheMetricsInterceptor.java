@@ -0,0 +1,49 @@
+package com.lmr.kairoscope.data.network;
+
+import androidx.annotation.NonNull;
+
+import com.lmr.kairoscope.util.Metrics;
+
+import java.io.IOException;
+import java.net.HttpURLConnection;
+
+import okhttp3.Interceptor;
+import okhttp3.Response;
+
+/**
+ * Interceptor que clasifica cada respuesta GET según su paso por la caché HTTP
+ * (acierto, revalidación con 304 o descarga completa) y lo registra en {@link Metrics}.
+ */
+public class CacheMetricsInterceptor implements Interceptor {
+
+    public static final String METRIC_HIT = "http.cache.hit";
+    public static final String METRIC_REVALIDATED = "http.cache.revalidated";
+    public static final String METRIC_MISS = "http.cache.miss";
+    public static final String METRIC_NETWORK_BYTES = "http.network.bytes";
+
+    @NonNull
+    @Override
+    public Response intercept(@NonNull Chain chain) throws IOException {
+        Response response = chain.proceed(chain.request());
+        if (!"GET".equals(chain.request().method())) {
+            return response;
+        }
+
+        Response cacheResponse = response.cacheResponse();
+        Response networkResponse = response.networkResponse();
+
+        if (cacheResponse != null && networkResponse == null) {
+            // Servida íntegramente desde disco
+            Metrics.increment(METRIC_HIT);
+        } else if (cacheResponse != null && networkResponse.code() == HttpURLConnection.HTTP_NOT_MODIFIED) {
+            // If-None-Match aceptado: solo viajan las cabeceras
+            Metrics.increment(METRIC_REVALIDATED);
+        } else {
+            Metrics.increment(METRIC_MISS);
+            if (response.body() != null && response.body().contentLength() > 0) {
+                Metrics.add(METRIC_NETWORK_BYTES, response.body().contentLength());
+            }
+        }
+        return response;
+    }
+}
@@ -0,0 +1,112 @@
+package com.lmr.kairoscope.data.network;
+
+import com.lmr.kairoscope.util.Metrics;
+
+/**
+ * Circuito de un endpoint concreto.
+ * Tras varios fallos transitorios seguidos se abre y rechaza las peticiones al momento;
+ * pasado el tiempo de espera deja pasar una sola petición de prueba (semiabierto)
+ * y, según su resultado, se cierra o vuelve a abrirse.
+ */
+public class CircuitBreaker {
+
+    /**
+     * Estados del circuito; el ordinal es el valor publicado en {@link Metrics}.
+     */
+    public enum State {
+        CLOSED, OPEN, HALF_OPEN
+    }
+
+    /**
+     * Fuente de tiempo, sustituible en pruebas.
+     */
+    interface Clock {
+        long nowMillis();
+    }
+
+    private final String metricName;
+    private final int failureThreshold;
+    private final long openMillis;
+    private final Clock clock;
+
+    // Protegido por this
+    private State state = State.CLOSED;
+    private int consecutiveFailures;
+    private long openedAt;
+    private boolean probeInFlight;
+
+    CircuitBreaker(String endpoint, int failureThreshold, long openMillis) {
+        this(endpoint, failureThreshold, openMillis, System::currentTimeMillis);
+    }
+
+    CircuitBreaker(String endpoint, int failureThreshold, long openMillis, Clock clock) {
+        this.metricName = "http.circuit." + endpoint + ".state";
+        this.failureThreshold = failureThreshold;
+        this.openMillis = openMillis;
+        this.clock = clock;
+        Metrics.set(metricName, State.CLOSED.ordinal());
+    }
+
+    /**
+     * Indica si la petición puede salir. En semiabierto solo se admite una a la vez.
+     */
+    synchronized boolean allowRequest() {
+        switch (state) {
+            case CLOSED:
+                return true;
+            case OPEN:
+                if (clock.nowMillis() - openedAt < openMillis) {
+                    return false;
+                }
+                setState(State.HALF_OPEN);
+                probeInFlight = true;
+                return true;
+            case HALF_OPEN:
+            default:
+                if (probeInFlight) {
+                    return false;
+                }
+                probeInFlight = true;
+                return true;
+        }
+    }
+
+    /**
+     * Respuesta válida (incluidos los 4xx): el servidor está sano.
+     */
+    synchronized void onSuccess() {
+        consecutiveFailures = 0;
+        probeInFlight = false;
+        if (state != State.CLOSED) {
+            setState(State.CLOSED);
+        }
+    }
+
+    /**
+     * Fallo transitorio (red, timeout o 5xx).
+     */
+    synchronized void onFailure() {
+        probeInFlight = false;
+        consecutiveFailures++;
+        if (state == State.HALF_OPEN || consecutiveFailures >= failureThreshold) {
+            openedAt = clock.nowMillis();
+            setState(State.OPEN);
+        }
+    }
+
+    /**
+     * La petición de prueba terminó sin resultado (por ejemplo, se canceló).
+     */
+    synchronized void onAbandoned() {
+        probeInFlight = false;
+    }
+
+    public synchronized State getState() {
+        return state;
+    }
+
+    private void setState(State newState) {
+        state = newState;
+        Metrics.set(metricName, newState.ordinal());
+    }
+}
@@ -0,0 +1,23 @@
+package com.lmr.kairoscope.data.network;
+
+import java.io.IOException;
+
+/**
+ * Petición rechazada sin salir a la red porque el circuito del endpoint está abierto.
+ * Extiende {@link IOException} para llegar a {@code Callback.onFailure} como un fallo de red.
+ */
+public class CircuitOpenException extends IOException {
+
+    private static final long serialVersionUID = 1L;
+
+    private final String endpoint;
+
+    public CircuitOpenException(String endpoint) {
+        super("Servicio no disponible temporalmente");
+        this.endpoint = endpoint;
+    }
+
+    public String getEndpoint() {
+        return endpoint;
+    }
+}
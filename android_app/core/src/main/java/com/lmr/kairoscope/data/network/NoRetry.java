@@ -0,0 +1,18 @@
+package com.lmr.kairoscope.data.network;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marca los métodos de {@link ApiService} que gestionan sus propios reintentos
+ * (sondeo y streaming de trabajos) para que {@link RetryInterceptor} no los repita.
+ * El circuito del endpoint se sigue aplicando.
+ */
+@Documented
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface NoRetry {
+}
@@ -0,0 +1,212 @@
+package com.lmr.kairoscope.data.network;
+
+import androidx.annotation.NonNull;
+
+import com.lmr.kairoscope.util.Backoff;
+import com.lmr.kairoscope.util.Metrics;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+import okhttp3.Interceptor;
+import okhttp3.Request;
+import okhttp3.Response;
+import retrofit2.Invocation;
+
+/**
+ * Reintenta las peticiones idempotentes ante fallos transitorios y aplica un circuito
+ * por endpoint.
+ * Solo se repiten GET, DELETE y los POST con Idempotency-Key, y solo tras errores de red,
+ * 408, 429, 502, 503 o 504. La espera sigue un backoff exponencial con jitter, salvo que
+ * el servidor indique Retry-After. Si un endpoint falla repetidamente, su circuito se abre
+ * y las peticiones fallan al momento con {@link CircuitOpenException} en lugar de esperar
+ * a un timeout.
+ */
+public class RetryInterceptor implements Interceptor {
+
+    public static final String METRIC_RETRIES = "http.retry.count";
+    public static final String METRIC_EXHAUSTED = "http.retry.exhausted";
+    public static final String METRIC_REJECTED = "http.circuit.rejected";
+
+    static final int DEFAULT_MAX_ATTEMPTS = 3;
+    static final long DEFAULT_INITIAL_BACKOFF_MS = 500;
+    static final long DEFAULT_MAX_BACKOFF_MS = TimeUnit.SECONDS.toMillis(5);
+    // Un Retry-After mayor no compensa: se devuelve la respuesta al llamante
+    static final long DEFAULT_MAX_RETRY_AFTER_MS = TimeUnit.SECONDS.toMillis(10);
+    static final int DEFAULT_FAILURE_THRESHOLD = 5;
+    static final long DEFAULT_OPEN_MS = TimeUnit.SECONDS.toMillis(30);
+
+    // Segmentos variables de la ruta: ids numéricos y ids de trabajo (hex o UUID)
+    private static final Pattern ID_SEGMENT = Pattern.compile("\\d+|[0-9a-fA-F-]{16,}");
+
+    private final int maxAttempts;
+    private final long initialBackoffMs;
+    private final long maxBackoffMs;
+    private final long maxRetryAfterMs;
+    private final int failureThreshold;
+    private final long openMillis;
+    private final ConcurrentHashMap<String, CircuitBreaker> breakers = new ConcurrentHashMap<>();
+
+    public RetryInterceptor() {
+        this(DEFAULT_MAX_ATTEMPTS, DEFAULT_INITIAL_BACKOFF_MS, DEFAULT_MAX_BACKOFF_MS,
+                DEFAULT_MAX_RETRY_AFTER_MS, DEFAULT_FAILURE_THRESHOLD, DEFAULT_OPEN_MS);
+    }
+
+    RetryInterceptor(int maxAttempts, long initialBackoffMs, long maxBackoffMs,
+                     long maxRetryAfterMs, int failureThreshold, long openMillis) {
+        this.maxAttempts = maxAttempts;
+        this.initialBackoffMs = initialBackoffMs;
+        this.maxBackoffMs = maxBackoffMs;
+        this.maxRetryAfterMs = maxRetryAfterMs;
+        this.failureThreshold = failureThreshold;
+        this.openMillis = openMillis;
+    }
+
+    @NonNull
+    @Override
+    public Response intercept(@NonNull Chain chain) throws IOException {
+        Request request = chain.request();
+        String endpoint = endpointOf(request);
+        CircuitBreaker breaker = breakerFor(endpoint);
+        boolean retryable = isRetryable(request);
+        Backoff backoff = new Backoff(initialBackoffMs, maxBackoffMs);
+
+        int attempt = 1;
+        while (true) {
+            if (!breaker.allowRequest()) {
+                Metrics.increment(METRIC_REJECTED);
+                throw new CircuitOpenException(endpoint);
+            }
+
+            Response response;
+            try {
+                response = chain.proceed(request);
+            } catch (IOException e) {
+                if (chain.call().isCanceled()) {
+                    breaker.onAbandoned();
+                    throw e;
+                }
+                breaker.onFailure();
+                if (!retryable || attempt >= maxAttempts) {
+                    if (retryable) {
+                        Metrics.increment(METRIC_EXHAUSTED);
+                    }
+                    throw e;
+                }
+                waitBeforeRetry(chain, endpoint, backoff.next());
+                attempt++;
+                continue;
+            }
+
+            int code = response.code();
+            if (code >= 500) {
+                breaker.onFailure();
+            } else {
+                breaker.onSuccess();
+            }
+            if (!retryable || !isTransient(code)) {
+                return response;
+            }
+            if (attempt >= maxAttempts) {
+                Metrics.increment(METRIC_EXHAUSTED);
+                return response;
+            }
+
+            long delay = retryAfterMillis(response);
+            if (delay > maxRetryAfterMs) {
+                return response;
+            }
+            response.close();
+            waitBeforeRetry(chain, endpoint, delay >= 0 ? delay : backoff.next());
+            attempt++;
+        }
+    }
+
+    /**
+     * Circuito del endpoint, creado la primera vez que se usa.
+     */
+    CircuitBreaker breakerFor(String endpoint) {
+        CircuitBreaker breaker = breakers.get(endpoint);
+        if (breaker == null) {
+            CircuitBreaker created = new CircuitBreaker(endpoint, failureThreshold, openMillis);
+            breaker = breakers.putIfAbsent(endpoint, created);
+            if (breaker == null) {
+                breaker = created;
+            }
+        }
+        return breaker;
+    }
+
+    /**
+     * Método y ruta con los ids sustituidos por {id}, p. ej. "GET:api/deck/{id}/".
+     */
+    static String endpointOf(Request request) {
+        StringBuilder endpoint = new StringBuilder(request.method()).append(':');
+        List<String> segments = request.url().pathSegments();
+        for (int i = 0; i < segments.size(); i++) {
+            String segment = segments.get(i);
+            if (i > 0) {
+                endpoint.append('/');
+            }
+            endpoint.append(ID_SEGMENT.matcher(segment).matches() ? "{id}" : segment);
+        }
+        return endpoint.toString();
+    }
+
+    private static boolean isRetryable(Request request) {
+        Invocation invocation = request.tag(Invocation.class);
+        if (invocation != null && invocation.method().isAnnotationPresent(NoRetry.class)) {
+            return false;
+        }
+        switch (request.method()) {
+            case "GET":
+            case "HEAD":
+            case "DELETE":
+                return true;
+            case "POST":
+                // Con clave de idempotencia el servidor no repite el efecto
+                return request.header("Idempotency-Key") != null;
+            default:
+                return false;
+        }
+    }
+
+    private static boolean isTransient(int code) {
+        return code == 408 || code == 429 || code == 502 || code == 503 || code == 504;
+    }
+
+    /**
+     * Espera indicada por Retry-After (segundos o fecha HTTP), o -1 si no hay.
+     */
+    private static long retryAfterMillis(Response response) {
+        String value = response.header("Retry-After");
+        if (value == null) {
+            return -1;
+        }
+        try {
+            return TimeUnit.SECONDS.toMillis(Math.max(0, Long.parseLong(value.trim())));
+        } catch (NumberFormatException e) {
+            Date date = response.headers().getDate("Retry-After");
+            return date != null ? Math.max(0, date.getTime() - System.currentTimeMillis()) : -1;
+        }
+    }
+
+    private static void waitBeforeRetry(Chain chain, String endpoint, long delayMs) throws IOException {
+        Metrics.increment(METRIC_RETRIES);
+        Metrics.increment("http.retry." + endpoint);
+        try {
+            Thread.sleep(delayMs);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Reintento interrumpido");
+        }
+        if (chain.call().isCanceled()) {
+            throw new IOException("Canceled");
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.lmr.kairoscope.data.network;
+
+import androidx.annotation.NonNull;
+
+import java.io.IOException;
+
+import okhttp3.Interceptor;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.logging.HttpLoggingInterceptor;
+import retrofit2.Invocation;
+import retrofit2.http.Streaming;
+
+/**
+ * Logging HTTP con el nivel indicado, salvo en los endpoints {@link Streaming}, donde
+ * como mucho se registran las cabeceras: leer el cuerpo para el log obligaría a esperar
+ * al final del stream y a mantenerlo entero en memoria. El token nunca aparece en el log.
+ */
+public class StreamingAwareLoggingInterceptor implements Interceptor {
+
+    private final HttpLoggingInterceptor bodyLogging = new HttpLoggingInterceptor();
+    private final HttpLoggingInterceptor headersLogging = new HttpLoggingInterceptor();
+
+    public StreamingAwareLoggingInterceptor(HttpLoggingInterceptor.Level level) {
+        bodyLogging.setLevel(level);
+        headersLogging.setLevel(level.compareTo(HttpLoggingInterceptor.Level.HEADERS) > 0
+                ? HttpLoggingInterceptor.Level.HEADERS : level);
+        bodyLogging.redactHeader("Authorization");
+        headersLogging.redactHeader("Authorization");
+    }
+
+    @NonNull
+    @Override
+    public Response intercept(@NonNull Chain chain) throws IOException {
+        return isStreaming(chain.request())
+                ? headersLogging.intercept(chain)
+                : bodyLogging.intercept(chain);
+    }
+
+    private static boolean isStreaming(Request request) {
+        Invocation invocation = request.tag(Invocation.class);
+        return invocation != null && invocation.method().isAnnotationPresent(Streaming.class);
+    }
+}
@@ -0,0 +1,39 @@
+package com.lmr.kairoscope.data.network;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import okhttp3.Authenticator;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.Route;
+
+/**
+ * Authenticator de OkHttp que, ante un 401, renueva el token y reintenta una única vez.
+ */
+public class TokenAuthenticator implements Authenticator {
+
+    private final TokenSource tokenProvider;
+
+    public TokenAuthenticator(TokenSource tokenProvider) {
+        this.tokenProvider = tokenProvider;
+    }
+
+    @Nullable
+    @Override
+    public Request authenticate(@Nullable Route route, @NonNull Response response) {
+        // Si ya se reintentó una vez, abandonar para evitar bucles
+        if (response.priorResponse() != null) {
+            return null;
+        }
+
+        String token = tokenProvider.refreshToken();
+        if (token == null) {
+            return null;
+        }
+
+        return response.request().newBuilder()
+                .header(AuthInterceptor.HEADER_AUTHORIZATION, AuthInterceptor.BEARER_PREFIX + token)
+                .build();
+    }
+}
@@ -0,0 +1,44 @@
+package com.lmr.kairoscope.data.network;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cuándo un token cacheado sigue sirviendo y cuándo conviene renovarlo antes de que expire.
+ */
+public final class TokenRefreshPolicy {
+
+    /**
+     * Renovación en segundo plano 5 minutos antes de expirar; inutilizable a 30 segundos.
+     */
+    public static final TokenRefreshPolicy DEFAULT = new TokenRefreshPolicy(
+            TimeUnit.MINUTES.toMillis(5), TimeUnit.SECONDS.toMillis(30));
+
+    private final long proactiveRefreshMs;
+    private final long minValidityMs;
+
+    /**
+     * @param proactiveRefreshMs margen antes de la expiración a partir del cual se renueva en segundo plano
+     * @param minValidityMs      margen a partir del cual el token ya no se considera utilizable
+     */
+    public TokenRefreshPolicy(long proactiveRefreshMs, long minValidityMs) {
+        if (minValidityMs < 0 || proactiveRefreshMs < minValidityMs) {
+            throw new IllegalArgumentException("proactive refresh must not be shorter than min validity");
+        }
+        this.proactiveRefreshMs = proactiveRefreshMs;
+        this.minValidityMs = minValidityMs;
+    }
+
+    /**
+     * Indica si un token que expira en expiresAtMillis puede usarse todavía.
+     */
+    public boolean isUsable(long expiresAtMillis, long nowMillis) {
+        return expiresAtMillis - nowMillis > minValidityMs;
+    }
+
+    /**
+     * Indica si conviene lanzar ya una renovación en segundo plano.
+     */
+    public boolean shouldRefresh(long expiresAtMillis, long nowMillis) {
+        return expiresAtMillis - nowMillis < proactiveRefreshMs;
+    }
+}
@@ -0,0 +1,28 @@
+package com.lmr.kairoscope.data.network;
+
+/**
+ * Origen del token de autenticación que {@link AuthInterceptor} y {@link TokenAuthenticator}
+ * añaden a las peticiones. En la app lo implementa el proveedor de Firebase; en pruebas y
+ * benchmarks basta con un token fijo.
+ */
+public interface TokenSource {
+
+    /**
+     * Token válido, bloqueando si hay que renovarlo. No se llama desde el hilo principal.
+     * @return el token o null si no hay sesión
+     */
+    String getToken();
+
+    /**
+     * Descarta el token actual (el servidor lo ha rechazado) y obtiene uno nuevo.
+     * @return el token nuevo o null si no se puede renovar
+     */
+    String refreshToken();
+
+    /**
+     * Renueva el token en segundo plano si va a caducar pronto, sin bloquear, para que la
+     * próxima petición no espere. Por defecto no hace nada.
+     */
+    default void prefetch() {
+    }
+}
@@ -0,0 +1,15 @@
+package com.lmr.kairoscope.data.repository;
+
+/**
+ * Política de caché aplicada a cada lectura del repositorio.
+ */
+public enum CachePolicy {
+    /** Siempre consulta al servidor; la caché solo se actualiza. */
+    NETWORK_ONLY,
+    /** Usa la caché si está fresca; si no, consulta al servidor y recurre a lo obsoleto si falla. */
+    CACHE_FIRST,
+    /** Emite lo cacheado al instante (aunque esté obsoleto) y lo sustituye al llegar datos frescos. */
+    STALE_WHILE_REVALIDATE,
+    /** Solo lee de caché (memoria o disco), nunca de la red. */
+    CACHE_ONLY
+}
@@ -0,0 +1,645 @@
+package com.lmr.kairoscope.data.repository;
+
+import com.google.gson.JsonObject;
+import com.lmr.kairoscope.data.cache.DeckDetailWeigher;
+import com.lmr.kairoscope.data.cache.TtlLruCache;
+import com.lmr.kairoscope.data.model.Card;
+import com.lmr.kairoscope.data.model.Deck;
+import com.lmr.kairoscope.data.model.DeckCreationRequest;
+import com.lmr.kairoscope.data.model.DeckDetailResponse;
+import com.lmr.kairoscope.data.model.DeckJob;
+import com.lmr.kairoscope.data.model.DeckJobResponse;
+import com.lmr.kairoscope.data.model.DeckListResponse;
+import com.lmr.kairoscope.data.model.DeckResponse;
+import com.lmr.kairoscope.data.network.ApiService;
+import com.lmr.kairoscope.data.network.TokenSource;
+import com.lmr.kairoscope.util.Metrics;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+
+import retrofit2.Call;
+import retrofit2.Callback;
+import retrofit2.Response;
+
+/**
+ * {@link DeckSource} con la base de datos local como fuente de verdad: las lecturas se
+ * resuelven según una {@link CachePolicy} sobre memoria, disco y red, y las respuestas del
+ * servidor se fusionan en disco antes de entregarse. Mantiene también el pool del modo
+ * "todas las barajas" al día con lo que se guarda y se borra.
+ * Las cachés en memoria son por usuario; se usa una única instancia por proceso.
+ */
+public class CachedDeckSource implements DeckSource {
+
+    private final ApiService apiService;
+    private final LocalDeckStore store;
+    private final NetworkStatus network;
+    private final IdempotencyKeys idempotencyKeys;
+    private final DrawWeights drawWeights;
+    private final TokenSource tokenSource;
+    private final DeckJobStreamer deckJobStreamer;
+    private final DeckJobPoller deckJobPoller;
+    private final Executor diskIO;
+    private final Executor delivery;
+
+    private final CachedLoader<DeckListResponse> deckListLoader;
+    private final CachedLoader<DeckDetailResponse> deckDetailLoader;
+
+    // Cartas guardadas de todas las barajas para el modo "todas las barajas"
+    private final DeckDrawPool drawPool = new DeckDrawPool();
+    // Usuario cuyas barajas están en drawPool (null si no se ha cargado); se escribe en el hilo de disco
+    private volatile String drawPoolUid;
+
+    /**
+     * @param diskIO hilo de disco, donde se lee y escribe el store
+     * @param delivery donde se entregan los lotes de cartas de una creación (el hilo principal)
+     * @param detailCacheBytes presupuesto en bytes estimados de la caché de detalles
+     */
+    public CachedDeckSource(ApiService apiService, LocalDeckStore store, NetworkStatus network,
+                            IdempotencyKeys idempotencyKeys, DrawWeights drawWeights,
+                            TokenSource tokenSource, DeckJobStreamer deckJobStreamer,
+                            DeckJobPoller deckJobPoller, Executor diskIO, Executor delivery,
+                            long detailCacheBytes) {
+        this.apiService = apiService;
+        this.store = store;
+        this.network = network;
+        this.idempotencyKeys = idempotencyKeys;
+        this.drawWeights = drawWeights;
+        this.tokenSource = tokenSource;
+        this.deckJobStreamer = deckJobStreamer;
+        this.deckJobPoller = deckJobPoller;
+        this.diskIO = diskIO;
+        this.delivery = delivery;
+        this.deckListLoader = new CachedLoader<>("deck_list",
+                new TtlLruCache<>(4, TimeUnit.SECONDS.toMillis(60)), diskIO);
+        // El detalle incluye todas las cartas: se limita por bytes estimados, no por número de barajas
+        this.deckDetailLoader = new CachedLoader<>("deck_detail",
+                new TtlLruCache<>(detailCacheBytes, TimeUnit.MINUTES.toMillis(10),
+                        new DeckDetailWeigher()), diskIO);
+    }
+
+    @Override
+    public void createDeck(String uid, DeckCreationRequest request, CreationListener listener) {
+        final String fingerprint = IdempotencyKeys.fingerprint(uid, request.getDiscipline(),
+                request.getBlockDescription(), request.getColor());
+
+        // Sin conexión: la creación queda guardada y la baraja aparece como pendiente
+        if (!network.isOnline()) {
+            diskIO.execute(() -> queueCreation(uid, request, idempotencyKeys.keyFor(fingerprint), listener));
+            return;
+        }
+
+        // Crear un objeto JSON con los datos de la solicitud (el token viaja en la cabecera)
+        JsonObject requestBody = new JsonObject();
+        requestBody.addProperty("discipline", request.getDiscipline());
+        requestBody.addProperty("blockDescription", request.getBlockDescription());
+        requestBody.addProperty("color", request.getColor());
+
+        // La clave se lee y guarda en disco antes de enviar la petición
+        diskIO.execute(() -> {
+            final String idempotencyKey = idempotencyKeys.keyFor(fingerprint);
+
+            // Encolar la generación: el servidor responde enseguida con el trabajo
+            Call<DeckJobResponse> call = apiService.createDeckJob(idempotencyKey, requestBody);
+
+            call.enqueue(new Callback<DeckJobResponse>() {
+                @Override
+                public void onResponse(Call<DeckJobResponse> call, Response<DeckJobResponse> response) {
+                    DeckJobResponse body = response.body();
+                    if (response.isSuccessful() && body != null && body.isSuccess() && body.getJob() != null) {
+                        DeckJob job = body.getJob();
+                        if (job.isCompleted()) {
+                            // Reintento de una creación que ya terminó: el servidor devuelve la baraja original
+                            completeCreation(uid, idempotencyKey, job, listener);
+                            return;
+                        }
+                        listener.onProgress(job);
+                        delivery.execute(() -> listener.onCards(null));
+                        deckJobStreamer.stream(job,
+                                new CreationStreamListener(uid, request, job, idempotencyKey, listener));
+                    } else {
+                        // Un 4xx es definitivo; ante un 5xx se conserva la clave para reintentar
+                        if (response.code() < 500) {
+                            idempotencyKeys.clear(idempotencyKey);
+                        }
+                        listener.onResult(new DeckResponse("error",
+                                "Error: " + response.code() + " " + response.message()));
+                    }
+                }
+
+                @Override
+                public void onFailure(Call<DeckJobResponse> call, Throwable t) {
+                    if (t instanceof IOException) {
+                        // Error de red: se reintenta más tarde con la misma clave,
+                        // así que si el servidor llegó a recibirla no se duplica
+                        diskIO.execute(() -> queueCreation(uid, request, idempotencyKey, listener));
+                        return;
+                    }
+                    listener.onResult(new DeckResponse("error", "Error de conexión: " + t.getMessage()));
+                }
+            });
+        });
+    }
+
+    /**
+     * Entrega la creación al receptor para que la guarde. Debe ejecutarse en el hilo de disco.
+     */
+    private void queueCreation(String uid, DeckCreationRequest request, String idempotencyKey,
+                               CreationListener listener) {
+        listener.onQueuedOffline(uid, request, idempotencyKey);
+        // La solicitud guardada conserva la clave; una nueva solicitud igual será otra baraja
+        idempotencyKeys.clear(idempotencyKey);
+        deckListLoader.invalidate(listKey(uid));
+        listener.onProgress(null);
+    }
+
+    /**
+     * Entrega una creación que el servidor ya había completado con esta clave.
+     */
+    private void completeCreation(String uid, String idempotencyKey, DeckJob job, CreationListener listener) {
+        idempotencyKeys.clear(idempotencyKey);
+        deckListLoader.invalidate(listKey(uid));
+        listener.onProgress(job);
+        listener.onResult(new DeckResponse("success", "Deck creado exitosamente", job.getDeck()));
+    }
+
+    /**
+     * Sondea el trabajo de creación hasta que termina y entrega su progreso.
+     * Sigue activo aunque nadie observe: la baraja se guarda igualmente.
+     */
+    private void followCreationJob(String uid, DeckJob job, Integer placeholderDeckId,
+                                   String idempotencyKey, CreationListener listener) {
+        deckJobPoller.poll(job, new DeckJobPoller.Listener() {
+            @Override
+            public void onProgress(DeckJob update) {
+                listener.onProgress(update);
+            }
+
+            @Override
+            public void onCompleted(DeckJob finished) {
+                idempotencyKeys.clear(idempotencyKey);
+                listener.onProgress(finished);
+                // La lista cacheada ya no incluye todas las barajas
+                deckListLoader.invalidate(listKey(uid));
+                if (finished.getDeck() != null) {
+                    deckDetailLoader.invalidate(deckKey(uid, finished.getDeck().getId()));
+                }
+                if (placeholderDeckId != null) {
+                    // Descartar las cartas parciales del streaming para que el detalle se pida al servidor
+                    diskIO.execute(() -> {
+                        store.deleteCards(placeholderDeckId);
+                        removeFromDrawPool(uid, placeholderDeckId);
+                        listener.onResult(new DeckResponse("success",
+                                "Deck creado exitosamente", finished.getDeck()));
+                    });
+                } else {
+                    listener.onResult(new DeckResponse("success",
+                            "Deck creado exitosamente", finished.getDeck()));
+                }
+            }
+
+            @Override
+            public void onFailed(String message) {
+                idempotencyKeys.clear(idempotencyKey);
+                if (placeholderDeckId != null) {
+                    diskIO.execute(() -> {
+                        store.deleteDeck(uid, placeholderDeckId);
+                        removeFromDrawPool(uid, placeholderDeckId);
+                    });
+                }
+                listener.onProgress(null);
+                listener.onResult(new DeckResponse("error", message));
+            }
+        });
+    }
+
+    /**
+     * Receptor del stream de creación: cada carta se entrega al momento y se guarda en
+     * disco por lotes. Si el stream no está disponible, se continúa por sondeo.
+     * Todos los eventos llegan desde el mismo hilo de lectura.
+     */
+    private class CreationStreamListener implements DeckJobStreamer.Listener {
+        // Cartas acumuladas antes de escribir en disco
+        private static final int CARD_BATCH_SIZE = 10;
+
+        private final String uid;
+        private final DeckCreationRequest request;
+        private final DeckJob job;
+        private final String idempotencyKey;
+        private final CreationListener listener;
+        // Cartas que el executor de entrega aún no ha publicado
+        private final List<Card> undelivered = new ArrayList<>();
+        private int receivedCount;
+        private Map<Integer, Card> pendingCards = new LinkedHashMap<>();
+        private Integer deckId;
+
+        CreationStreamListener(String uid, DeckCreationRequest request, DeckJob job,
+                               String idempotencyKey, CreationListener listener) {
+            this.uid = uid;
+            this.request = request;
+            this.job = job;
+            this.idempotencyKey = idempotencyKey;
+            this.listener = listener;
+        }
+
+        @Override
+        public void onDeck(int id) {
+            if (deckId != null) {
+                // Reconexión: la baraja provisional ya está guardada
+                return;
+            }
+            deckId = id;
+            Deck placeholder = new Deck(id, "Generando…", request.getDiscipline(),
+                    request.getBlockDescription(), request.getColor(), Instant.now().toString(), 0, null);
+            diskIO.execute(() -> store.upsertDeck(uid, placeholder));
+        }
+
+        @Override
+        public void onCard(int position, Card card) {
+            if (position < receivedCount) {
+                return;
+            }
+            receivedCount++;
+            synchronized (undelivered) {
+                undelivered.add(card);
+                // Una sola entrega pendiente: lo que llega mientras tanto va en el mismo lote
+                if (undelivered.size() == 1) {
+                    delivery.execute(this::deliverCards);
+                }
+            }
+
+            if (deckId != null) {
+                pendingCards.put(position, card);
+                if (pendingCards.size() >= CARD_BATCH_SIZE) {
+                    flushCards();
+                }
+            }
+        }
+
+        @Override
+        public void onProgress(int progress, String stage) {
+            listener.onProgress(new DeckJob(job.getJobId(), DeckJob.STATUS_RUNNING, progress, stage, 0));
+        }
+
+        @Override
+        public void onCompleted(DeckResponse.DeckInfo deck) {
+            flushCards();
+            diskIO.execute(() -> {
+                idempotencyKeys.clear(idempotencyKey);
+                if (deck != null) {
+                    store.renameDeck(uid, deck.getId(), deck.getName());
+                    // Ya tiene todas sus cartas en disco: entra en el modo "todas las barajas"
+                    if (uid.equals(drawPoolUid)) {
+                        Deck saved = store.getDeck(uid, deck.getId());
+                        if (saved != null) {
+                            drawPool.putDeck(saved);
+                        }
+                    }
+                }
+                // La lista cacheada ya no incluye todas las barajas
+                deckListLoader.invalidate(listKey(uid));
+                if (deck != null) {
+                    deckDetailLoader.invalidate(deckKey(uid, deck.getId()));
+                }
+                listener.onProgress(new DeckJob(job.getJobId(), DeckJob.STATUS_COMPLETED, 100, "done", 0));
+                listener.onResult(new DeckResponse("success", "Deck creado exitosamente", deck));
+            });
+        }
+
+        @Override
+        public void onFailed(String message) {
+            idempotencyKeys.clear(idempotencyKey);
+            pendingCards.clear();
+            if (deckId != null) {
+                final int failedDeckId = deckId;
+                diskIO.execute(() -> {
+                    store.deleteDeck(uid, failedDeckId);
+                    removeFromDrawPool(uid, failedDeckId);
+                });
+            }
+            listener.onProgress(null);
+            listener.onResult(new DeckResponse("error", message));
+        }
+
+        @Override
+        public void onStreamUnavailable() {
+            flushCards();
+            followCreationJob(uid, job, deckId, idempotencyKey, listener);
+        }
+
+        /**
+         * Entrega las cartas llegadas desde la última entrega.
+         */
+        private void deliverCards() {
+            List<Card> batch;
+            synchronized (undelivered) {
+                batch = new ArrayList<>(undelivered);
+                undelivered.clear();
+            }
+            listener.onCards(Collections.unmodifiableList(batch));
+        }
+
+        private void flushCards() {
+            if (pendingCards.isEmpty() || deckId == null) {
+                return;
+            }
+            final Map<Integer, Card> batch = pendingCards;
+            final int targetDeckId = deckId;
+            pendingCards = new LinkedHashMap<>();
+            diskIO.execute(() -> store.appendCards(uid, targetDeckId, batch));
+        }
+    }
+
+    @Override
+    public void loadDeckList(String uid, CachePolicy policy, CallTracker tracker,
+                             CachedLoader.ResultCallback<DeckListResponse> callback) {
+        deckListLoader.load(listKey(uid), adaptToNetwork(policy),
+                () -> {
+                    List<Deck> localDecks = store.getDecks(uid);
+                    return localDecks.isEmpty() ? null
+                            : new DeckListResponse("success", localDecks, localDecks.size());
+                },
+                networkCallback -> {
+                    if (!network.isOnline()) {
+                        networkCallback.onError();
+                        return;
+                    }
+                    Call<DeckListResponse> listCall = apiService.getDeckList();
+                    tracker.track(listCall);
+                    listCall.enqueue(new Callback<DeckListResponse>() {
+                        @Override
+                        public void onResponse(Call<DeckListResponse> call, Response<DeckListResponse> response) {
+                            tracker.untrack(call);
+                            if (response.isSuccessful() && response.body() != null && response.body().isSuccess()) {
+                                List<Deck> remoteDecks = response.body().getDecks();
+                                // Fusionar en disco y entregar lo que queda guardado
+                                diskIO.execute(() -> {
+                                    saveDeckList(uid, remoteDecks);
+                                    List<Deck> merged = store.getDecks(uid);
+                                    networkCallback.onSuccess(new DeckListResponse("success", merged, merged.size()));
+                                });
+                            } else {
+                                networkCallback.onError();
+                            }
+                        }
+
+                        @Override
+                        public void onFailure(Call<DeckListResponse> call, Throwable t) {
+                            tracker.untrack(call);
+                            networkCallback.onError();
+                        }
+                    });
+                },
+                callback);
+    }
+
+    @Override
+    public void loadLocalDeckList(String uid, CachedLoader.ResultCallback<DeckListResponse> callback) {
+        deckListLoader.invalidate(listKey(uid));
+        diskIO.execute(() -> {
+            List<Deck> decks = store.getDecks(uid);
+            callback.onSuccess(new DeckListResponse("success", decks, decks.size()));
+        });
+    }
+
+    @Override
+    public boolean hasCachedDeckList(String uid) {
+        return deckListLoader.hasCached(listKey(uid));
+    }
+
+    @Override
+    public void invalidateDeckList(String uid) {
+        deckListLoader.invalidate(listKey(uid));
+    }
+
+    @Override
+    public void loadDeckDetail(String uid, int deckId, CachePolicy policy, CallTracker tracker,
+                               CachedLoader.ResultCallback<DeckDetailResponse> callback) {
+        deckDetailLoader.load(deckKey(uid, deckId), adaptToNetwork(policy),
+                () -> loadLocalDetail(uid, deckId),
+                detailNetworkSource(uid, deckId, tracker),
+                callback);
+    }
+
+    @Override
+    public boolean hasCachedDeckDetail(String uid, int deckId) {
+        return deckDetailLoader.hasCached(deckKey(uid, deckId));
+    }
+
+    @Override
+    public void prefetchDeckDetail(String uid, int deckId, boolean pressed) {
+        // Las barajas pendientes de crear (id negativo) no existen aún en el servidor
+        if (deckId <= 0) {
+            return;
+        }
+        if (pressed ? !network.isOnline() : !network.shouldPrefetch()) {
+            return;
+        }
+
+        String key = deckKey(uid, deckId);
+        if (deckDetailLoader.hasFresh(key)) {
+            return;
+        }
+        Metrics.increment(pressed ? "prefetch.deck_detail.pressed" : "prefetch.deck_detail.visible");
+        // La petición del detalle necesitará el token: renovarlo ya si va a caducar
+        tokenSource.prefetch();
+        // Sin seguimiento: nadie observa todavía y no debe cancelarse al navegar
+        deckDetailLoader.load(key, CachePolicy.CACHE_FIRST,
+                () -> loadLocalDetail(uid, deckId),
+                detailNetworkSource(uid, deckId, null),
+                new CachedLoader.ResultCallback<DeckDetailResponse>() {
+                    @Override
+                    public void onSuccess(DeckDetailResponse value) {
+                        // Queda en memoria para la navegación
+                    }
+
+                    @Override
+                    public void onError() {
+                        // Se reintentará al abrir la baraja
+                    }
+                });
+    }
+
+    /**
+     * Descarga el detalle y lo fusiona en disco.
+     * @param tracker destino que puede cancelarla, o null si no debe cancelarse
+     */
+    private CachedLoader.NetworkSource<DeckDetailResponse> detailNetworkSource(String uid, int deckId,
+                                                                               CallTracker tracker) {
+        return callback -> {
+            if (!network.isOnline()) {
+                callback.onError();
+                return;
+            }
+            Call<DeckDetailResponse> detailCall = apiService.getDeckDetail(deckId);
+            if (tracker != null) {
+                tracker.track(detailCall);
+            }
+            detailCall.enqueue(new Callback<DeckDetailResponse>() {
+                @Override
+                public void onResponse(Call<DeckDetailResponse> call, Response<DeckDetailResponse> response) {
+                    if (tracker != null) {
+                        tracker.untrack(call);
+                    }
+                    if (response.isSuccessful() && response.body() != null && response.body().isSuccess()
+                            && response.body().getDeck() != null) {
+                        Deck remoteDeck = response.body().getDeck();
+                        diskIO.execute(() -> {
+                            saveDeckDetail(uid, remoteDeck);
+                            callback.onSuccess(new DeckDetailResponse("success", store.getDeck(uid, deckId)));
+                        });
+                    } else {
+                        callback.onError();
+                    }
+                }
+
+                @Override
+                public void onFailure(Call<DeckDetailResponse> call, Throwable t) {
+                    if (tracker != null) {
+                        tracker.untrack(call);
+                    }
+                    callback.onError();
+                }
+            });
+        };
+    }
+
+    @Override
+    public void onDeckDeleted(String uid, int deckId) {
+        drawWeights.setDeckWeight(uid, deckId, null);
+        removeFromDrawPool(uid, deckId);
+        deckDetailLoader.invalidate(deckKey(uid, deckId));
+        deckListLoader.invalidate(listKey(uid));
+    }
+
+    @Override
+    public void onDeckRestored(String uid, int deckId) {
+        deckListLoader.invalidate(listKey(uid));
+        Deck restored = store.getDeck(uid, deckId);
+        if (restored != null && uid.equals(drawPoolUid)) {
+            drawPool.putDeck(restored);
+        }
+    }
+
+    @Override
+    public void loadDrawPool(String uid, DrawPoolCallback callback) {
+        diskIO.execute(() -> {
+            if (!uid.equals(drawPoolUid)) {
+                drawPool.clear();
+                for (Deck deck : store.getDecks(uid)) {
+                    Deck withCards = store.getDeck(uid, deck.getId());
+                    if (withCards != null) {
+                        drawPool.putDeck(withCards);
+                    }
+                }
+                drawWeights.applyTo(uid, drawPool);
+                drawPoolUid = uid;
+            }
+            callback.onLoaded(drawPool);
+        });
+    }
+
+    @Override
+    public double getDrawWeight(String uid, Deck deck) {
+        Double weight = drawWeights.getDeckWeight(uid, deck.getId());
+        if (weight == null) {
+            weight = drawWeights.getDisciplineWeight(uid, deck.getDiscipline());
+        }
+        return weight != null ? weight : DeckDrawPool.DEFAULT_WEIGHT;
+    }
+
+    @Override
+    public void setDeckDrawWeight(String uid, int deckId, double weight) {
+        drawWeights.setDeckWeight(uid, deckId, weight);
+        if (uid.equals(drawPoolUid)) {
+            drawPool.setDeckWeight(deckId, weight);
+        }
+    }
+
+    @Override
+    public void setDisciplineDrawWeight(String uid, Deck deck, double weight) {
+        drawWeights.setDisciplineWeight(uid, deck.getDiscipline(), weight);
+        drawWeights.setDeckWeight(uid, deck.getId(), null);
+        if (uid.equals(drawPoolUid)) {
+            drawPool.setDisciplineWeight(deck.getDiscipline(), weight);
+            drawPool.setDeckWeight(deck.getId(), null);
+        }
+    }
+
+    @Override
+    public void trimMemory(boolean critical) {
+        if (critical) {
+            deckDetailLoader.trimMemory(0);
+            deckListLoader.trimMemory(0);
+        } else {
+            deckDetailLoader.trimMemory(0.5);
+        }
+    }
+
+    @Override
+    public TtlLruCache.Stats getDeckDetailCacheStats() {
+        return deckDetailLoader.stats();
+    }
+
+    /**
+     * Quita una baraja del pool si está cargado para ese usuario. Se llama en el hilo de disco.
+     */
+    private void removeFromDrawPool(String uid, int deckId) {
+        if (uid.equals(drawPoolUid)) {
+            drawPool.removeDeck(deckId);
+        }
+    }
+
+    /**
+     * En redes tarificadas no se revalida en segundo plano lo que la caché aún sirve:
+     * STALE_WHILE_REVALIDATE pasa a CACHE_FIRST y solo se descarga lo caducado.
+     */
+    private CachePolicy adaptToNetwork(CachePolicy policy) {
+        if (policy == CachePolicy.STALE_WHILE_REVALIDATE && network.isMetered()) {
+            return CachePolicy.CACHE_FIRST;
+        }
+        return policy;
+    }
+
+    private static String listKey(String uid) {
+        return uid + ":list";
+    }
+
+    private static String deckKey(String uid, int deckId) {
+        return uid + ":deck:" + deckId;
+    }
+
+    /**
+     * Detalle guardado en disco, o null si no hay. Debe ejecutarse en el hilo de disco.
+     */
+    private DeckDetailResponse loadLocalDetail(String uid, int deckId) {
+        Deck localDeck = store.getDeck(uid, deckId);
+        return localDeck != null ? new DeckDetailResponse("success", localDeck) : null;
+    }
+
+    private void saveDeckList(String uid, List<Deck> decks) {
+        store.replaceDeckList(uid, decks != null ? decks : Collections.<Deck>emptyList());
+        if (uid.equals(drawPoolUid)) {
+            // Las barajas borradas en el servidor salen también del pool
+            List<Integer> keepIds = new ArrayList<>();
+            for (Deck deck : store.getDecks(uid)) {
+                keepIds.add(deck.getId());
+            }
+            drawPool.retainDecks(keepIds);
+        }
+    }
+
+    private void saveDeckDetail(String uid, Deck deck) {
+        store.replaceDeckDetail(uid, deck);
+        if (uid.equals(drawPoolUid)) {
+            drawPool.putDeck(deck);
+        }
+    }
+}
@@ -0,0 +1,175 @@
+package com.lmr.kairoscope.data.repository;
+
+import com.lmr.kairoscope.data.cache.TtlLruCache;
+import com.lmr.kairoscope.util.Metrics;
+
+import java.util.concurrent.Executor;
+
+/**
+ * Motor que resuelve una lectura combinando memoria, disco y red según una {@link CachePolicy}.
+ * El repositorio aporta cómo leer de disco, cómo sincronizar con la red y dónde entregar el resultado.
+ */
+public class CachedLoader<T> {
+
+    /**
+     * Lectura síncrona desde la base de datos local. Devuelve null si no hay datos.
+     */
+    public interface DiskSource<T> {
+        T read();
+    }
+
+    /**
+     * Petición al servidor; el valor entregado debe estar ya fusionado en disco.
+     */
+    public interface NetworkSource<T> {
+        void fetch(ResultCallback<T> callback);
+    }
+
+    public interface ResultCallback<T> {
+        void onSuccess(T value);
+        void onError();
+    }
+
+    private final String name;
+    private final TtlLruCache<String, T> memoryCache;
+    private final Executor diskIO;
+    private final RequestCoalescer<T> coalescer;
+
+    public CachedLoader(String name, TtlLruCache<String, T> memoryCache, Executor diskIO) {
+        this.name = name;
+        this.memoryCache = memoryCache;
+        this.diskIO = diskIO;
+        this.coalescer = new RequestCoalescer<>(name);
+    }
+
+    /**
+     * Resuelve la lectura. Los aciertos en memoria se entregan de forma síncrona.
+     */
+    public void load(String key, CachePolicy policy, DiskSource<T> disk, NetworkSource<T> network,
+              ResultCallback<T> delivery) {
+        if (policy == CachePolicy.NETWORK_ONLY) {
+            fetch(key, network, delivery, false, null);
+            return;
+        }
+
+        TtlLruCache.Entry<T> entry = memoryCache.get(key);
+        if (entry != null) {
+            boolean fresh = memoryCache.isFresh(entry);
+            if (fresh || policy == CachePolicy.CACHE_ONLY) {
+                Metrics.increment("cache." + name + ".memory_hit");
+                delivery.onSuccess(entry.getValue());
+                return;
+            }
+
+            Metrics.increment("cache." + name + ".memory_stale");
+            if (policy == CachePolicy.STALE_WHILE_REVALIDATE) {
+                delivery.onSuccess(entry.getValue());
+                fetch(key, network, delivery, true, null);
+            } else {
+                fetch(key, network, delivery, false, entry.getValue());
+            }
+            return;
+        }
+
+        diskIO.execute(() -> {
+            T local = disk.read();
+            if (local != null) {
+                Metrics.increment("cache." + name + ".disk_hit");
+                // Se desconoce su antigüedad: se guarda en memoria ya obsoleto
+                memoryCache.put(key, local, 0);
+            } else {
+                Metrics.increment("cache." + name + ".miss");
+            }
+
+            switch (policy) {
+                case CACHE_ONLY:
+                    if (local != null) {
+                        delivery.onSuccess(local);
+                    } else {
+                        delivery.onError();
+                    }
+                    break;
+                case STALE_WHILE_REVALIDATE:
+                    if (local != null) {
+                        delivery.onSuccess(local);
+                    }
+                    fetch(key, network, delivery, local != null, null);
+                    break;
+                default:
+                    fetch(key, network, delivery, false, local);
+                    break;
+            }
+        });
+    }
+
+    /**
+     * Invalida una entrada en memoria para que la próxima lectura vuelva a disco o red.
+     */
+    public void invalidate(String key) {
+        memoryCache.remove(key);
+    }
+
+    /**
+     * Consulta si hay algo en memoria (fresco u obsoleto) para pintar sin esperar.
+     */
+    public boolean hasCached(String key) {
+        return memoryCache.peek(key) != null;
+    }
+
+    /**
+     * Consulta si hay algo en memoria que aún no haya caducado.
+     */
+    public boolean hasFresh(String key) {
+        return memoryCache.isFresh(memoryCache.peek(key));
+    }
+
+    /**
+     * Reduce la memoria usada hasta la fracción indicada del presupuesto (0 la vacía).
+     */
+    public void trimMemory(double fraction) {
+        long before = memoryCache.stats().getEvictions();
+        memoryCache.trimTo((long) (memoryCache.getMaxWeight() * fraction));
+        Metrics.add("cache." + name + ".trimmed", memoryCache.stats().getEvictions() - before);
+    }
+
+    public TtlLruCache.Stats stats() {
+        return memoryCache.stats();
+    }
+
+    private void fetch(String key, NetworkSource<T> network, ResultCallback<T> delivery,
+                       boolean alreadyDelivered, T fallback) {
+        // La petición compartida guarda en memoria una sola vez; cada llamador conserva su respaldo
+        NetworkSource<T> cachingSource = callback -> network.fetch(new ResultCallback<T>() {
+            @Override
+            public void onSuccess(T value) {
+                memoryCache.put(key, value);
+                callback.onSuccess(value);
+            }
+
+            @Override
+            public void onError() {
+                callback.onError();
+            }
+        });
+
+        coalescer.execute(key, cachingSource, new ResultCallback<T>() {
+            @Override
+            public void onSuccess(T value) {
+                delivery.onSuccess(value);
+            }
+
+            @Override
+            public void onError() {
+                if (alreadyDelivered) {
+                    // Se mantiene lo ya mostrado
+                    return;
+                }
+                if (fallback != null) {
+                    delivery.onSuccess(fallback);
+                } else {
+                    delivery.onError();
+                }
+            }
+        });
+    }
+}
@@ -0,0 +1,17 @@
+package com.lmr.kairoscope.data.repository;
+
+import retrofit2.Call;
+
+/**
+ * Destino de una lectura que conoce sus llamadas en curso para cancelarlas cuando
+ * nadie va a mostrar el resultado. En la app es el stream que recibe el valor.
+ */
+public interface CallTracker {
+
+    /**
+     * Registra una llamada en curso para poder cancelarla.
+     */
+    void track(Call<?> call);
+
+    void untrack(Call<?> call);
+}
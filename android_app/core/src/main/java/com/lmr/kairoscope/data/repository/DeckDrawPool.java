@@ -0,0 +1,238 @@
+package com.lmr.kairoscope.data.repository;
+
+import com.lmr.kairoscope.data.model.Card;
+import com.lmr.kairoscope.data.model.Deck;
+import com.lmr.kairoscope.util.AliasSampler;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * Cartas de todas las barajas guardadas del usuario para el modo "todas las barajas".
+ * Cada carta pesa lo que su baraja: el peso propio de la baraja si lo tiene, si no el de
+ * su disciplina y, por defecto, {@link #DEFAULT_WEIGHT}. Con los pesos por defecto todas
+ * las cartas son igual de probables.
+ *
+ * Se elige la baraja con un {@link AliasSampler} sobre peso × número de cartas y después
+ * una carta uniforme dentro de ella: cada extracción es O(1) aunque haya decenas de miles
+ * de cartas. Añadir o quitar una baraja solo toca su entrada; la tabla de pesos, del tamaño
+ * del número de barajas, se reconstruye una vez en la siguiente extracción.
+ * Es thread-safe: el repositorio la actualiza desde el hilo de disco y la UI extrae.
+ */
+public final class DeckDrawPool {
+
+    public static final double DEFAULT_WEIGHT = 1;
+
+    /**
+     * Carta extraída junto con la baraja de la que sale.
+     */
+    public static final class Draw {
+        private final Deck deck;
+        private final Card card;
+
+        Draw(Deck deck, Card card) {
+            this.deck = deck;
+            this.card = card;
+        }
+
+        public Deck getDeck() {
+            return deck;
+        }
+
+        public Card getCard() {
+            return card;
+        }
+    }
+
+    private static final class Entry {
+        final Deck deck;
+        final Card[] cards;
+
+        Entry(Deck deck, Card[] cards) {
+            this.deck = deck;
+            this.cards = cards;
+        }
+    }
+
+    // Entradas contiguas para indexar la tabla; al quitar una, la última ocupa su hueco
+    private final List<Entry> entries = new ArrayList<>();
+    private final Map<Integer, Integer> indexByDeckId = new HashMap<>();
+    private final Map<Integer, Double> deckWeights = new HashMap<>();
+    private final Map<String, Double> disciplineWeights = new HashMap<>();
+    private int cardCount;
+
+    // Tabla para el estado actual; null si hay que reconstruirla
+    private AliasSampler sampler;
+    // No queda ninguna carta con peso mayor que cero
+    private boolean exhausted;
+
+    /**
+     * Añade una baraja con sus cartas o sustituye la que tuviera el mismo id.
+     * Una baraja sin cartas se quita.
+     */
+    public synchronized void putDeck(Deck deck) {
+        List<Card> cards = deck.getCards();
+        if (cards == null || cards.isEmpty()) {
+            removeDeck(deck.getId());
+            return;
+        }
+        Entry entry = new Entry(deck, cards.toArray(new Card[0]));
+        Integer index = indexByDeckId.get(deck.getId());
+        if (index != null) {
+            cardCount -= entries.get(index).cards.length;
+            entries.set(index, entry);
+        } else {
+            indexByDeckId.put(deck.getId(), entries.size());
+            entries.add(entry);
+        }
+        cardCount += entry.cards.length;
+        invalidate();
+    }
+
+    public synchronized void removeDeck(int deckId) {
+        Integer index = indexByDeckId.remove(deckId);
+        if (index == null) {
+            return;
+        }
+        Entry last = entries.remove(entries.size() - 1);
+        if (index < entries.size()) {
+            Entry removed = entries.set(index, last);
+            indexByDeckId.put(last.deck.getId(), index);
+            cardCount -= removed.cards.length;
+        } else {
+            cardCount -= last.cards.length;
+        }
+        invalidate();
+    }
+
+    /**
+     * Quita las barajas que ya no están entre las indicadas.
+     */
+    public synchronized void retainDecks(Collection<Integer> deckIds) {
+        Set<Integer> keep = new HashSet<>(deckIds);
+        for (int i = entries.size() - 1; i >= 0; i--) {
+            int deckId = entries.get(i).deck.getId();
+            if (!keep.contains(deckId)) {
+                removeDeck(deckId);
+            }
+        }
+    }
+
+    public synchronized void clear() {
+        entries.clear();
+        indexByDeckId.clear();
+        deckWeights.clear();
+        disciplineWeights.clear();
+        cardCount = 0;
+        invalidate();
+    }
+
+    /**
+     * Fija el peso propio de una baraja.
+     * @param weight peso no negativo (0 la excluye) o null para usar el de su disciplina
+     */
+    public synchronized void setDeckWeight(int deckId, Double weight) {
+        setWeight(deckWeights, deckId, weight);
+    }
+
+    /**
+     * Fija el peso de las barajas de una disciplina que no tienen peso propio.
+     * @param weight peso no negativo (0 las excluye) o null para usar {@link #DEFAULT_WEIGHT}
+     */
+    public synchronized void setDisciplineWeight(String discipline, Double weight) {
+        setWeight(disciplineWeights, discipline, weight);
+    }
+
+    private <K> void setWeight(Map<K, Double> weights, K key, Double weight) {
+        if (weight != null && !(weight >= 0)) {
+            throw new IllegalArgumentException("invalid weight: " + weight);
+        }
+        if (weight == null) {
+            weights.remove(key);
+        } else {
+            weights.put(key, weight);
+        }
+        invalidate();
+    }
+
+    /**
+     * Peso efectivo de una baraja.
+     */
+    public synchronized double getWeight(Deck deck) {
+        Double weight = deckWeights.get(deck.getId());
+        if (weight == null) {
+            weight = disciplineWeights.get(deck.getDiscipline());
+        }
+        return weight != null ? weight : DEFAULT_WEIGHT;
+    }
+
+    /**
+     * Extrae una carta según los pesos.
+     * @return la carta o null si no hay ninguna con peso mayor que cero
+     */
+    public synchronized Draw draw(Random random) {
+        if (sampler == null && !exhausted) {
+            rebuild();
+        }
+        if (exhausted) {
+            return null;
+        }
+        Entry entry = entries.get(sampler.sample(random));
+        return new Draw(entry.deck, entry.cards[random.nextInt(entry.cards.length)]);
+    }
+
+    /**
+     * Busca una carta concreta, por ejemplo para restaurar la que estaba en pantalla.
+     * @return la carta o null si su baraja ya no está o no la contiene
+     */
+    public synchronized Draw find(int deckId, int cardId) {
+        Integer index = indexByDeckId.get(deckId);
+        if (index == null) {
+            return null;
+        }
+        Entry entry = entries.get(index);
+        for (Card card : entry.cards) {
+            if (card.getId() == cardId) {
+                return new Draw(entry.deck, card);
+            }
+        }
+        return null;
+    }
+
+    public synchronized int getDeckCount() {
+        return entries.size();
+    }
+
+    public synchronized int getCardCount() {
+        return cardCount;
+    }
+
+    private void invalidate() {
+        sampler = null;
+        exhausted = false;
+    }
+
+    /**
+     * Construye la tabla sobre las barajas actuales: O(número de barajas).
+     */
+    private void rebuild() {
+        double[] masses = new double[entries.size()];
+        double total = 0;
+        for (int i = 0; i < masses.length; i++) {
+            Entry entry = entries.get(i);
+            masses[i] = getWeight(entry.deck) * entry.cards.length;
+            total += masses[i];
+        }
+        if (total <= 0) {
+            exhausted = true;
+            return;
+        }
+        sampler = new AliasSampler(masses);
+    }
+}
@@ -0,0 +1,208 @@
+package com.lmr.kairoscope.data.repository;
+
+import com.lmr.kairoscope.data.model.DeckJob;
+import com.lmr.kairoscope.data.model.DeckJobResponse;
+import com.lmr.kairoscope.data.network.ApiService;
+import com.lmr.kairoscope.util.Backoff;
+
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import retrofit2.Call;
+import retrofit2.Callback;
+import retrofit2.Response;
+
+/**
+ * Sigue un trabajo de generación hasta que termina mediante long-polling.
+ * Cada consulta pide al servidor que retenga la respuesta hasta que el trabajo cambie;
+ * si no hay cambios o la red falla, la siguiente consulta se retrasa con backoff exponencial.
+ * Un corte de conexión solo cuesta un sondeo: el trabajo sigue en el servidor.
+ */
+public class DeckJobPoller {
+
+    /**
+     * Receptor de los cambios del trabajo. Se invoca desde hilos de red o del planificador.
+     */
+    public interface Listener {
+        void onProgress(DeckJob job);
+
+        void onCompleted(DeckJob job);
+
+        void onFailed(String message);
+    }
+
+    static final int DEFAULT_WAIT_SECONDS = 20;
+    static final long DEFAULT_INITIAL_BACKOFF_MS = 1000;
+    static final long DEFAULT_MAX_BACKOFF_MS = TimeUnit.SECONDS.toMillis(30);
+    static final int DEFAULT_MAX_FAILURES = 6;
+
+    // Pausa mínima tras un cambio, para no encadenar peticiones sin respiro
+    private static final long MIN_POLL_DELAY_MS = 250;
+
+    private final ApiService apiService;
+    private final ScheduledExecutorService scheduler;
+    private final int waitSeconds;
+    private final long initialBackoffMs;
+    private final long maxBackoffMs;
+    private final int maxFailures;
+
+    public DeckJobPoller(ApiService apiService, ScheduledExecutorService scheduler) {
+        this(apiService, scheduler, DEFAULT_WAIT_SECONDS, DEFAULT_INITIAL_BACKOFF_MS,
+                DEFAULT_MAX_BACKOFF_MS, DEFAULT_MAX_FAILURES);
+    }
+
+    DeckJobPoller(ApiService apiService, ScheduledExecutorService scheduler, int waitSeconds,
+                  long initialBackoffMs, long maxBackoffMs, int maxFailures) {
+        this.apiService = apiService;
+        this.scheduler = scheduler;
+        this.waitSeconds = waitSeconds;
+        this.initialBackoffMs = initialBackoffMs;
+        this.maxBackoffMs = maxBackoffMs;
+        this.maxFailures = maxFailures;
+    }
+
+    /**
+     * Empieza a seguir el trabajo indicado.
+     * @return suscripción que detiene el sondeo (el trabajo del servidor no se cancela)
+     */
+    public Subscription poll(DeckJob job, Listener listener) {
+        Poll poll = new Poll(job, listener);
+        poll.schedule(0);
+        return poll;
+    }
+
+    /**
+     * Estado de un seguimiento concreto.
+     */
+    private class Poll implements Subscription {
+        private final String jobId;
+        private final Listener listener;
+
+        // Protegido por this
+        private int version;
+        private final Backoff backoff;
+        private int consecutiveFailures;
+        private boolean cancelled;
+        private Call<DeckJobResponse> currentCall;
+        private ScheduledFuture<?> pending;
+
+        Poll(DeckJob job, Listener listener) {
+            this.jobId = job.getJobId();
+            this.version = job.getVersion();
+            this.listener = listener;
+            this.backoff = new Backoff(initialBackoffMs, maxBackoffMs);
+        }
+
+        @Override
+        public void cancel() {
+            Call<DeckJobResponse> call;
+            synchronized (this) {
+                cancelled = true;
+                call = currentCall;
+                currentCall = null;
+                if (pending != null) {
+                    pending.cancel(false);
+                    pending = null;
+                }
+            }
+            if (call != null) {
+                call.cancel();
+            }
+        }
+
+        private synchronized void schedule(long delayMs) {
+            if (!cancelled) {
+                pending = scheduler.schedule(this::request, delayMs, TimeUnit.MILLISECONDS);
+            }
+        }
+
+        private void request() {
+            Call<DeckJobResponse> call;
+            synchronized (this) {
+                if (cancelled) {
+                    return;
+                }
+                pending = null;
+                call = apiService.getDeckJob(jobId, version, waitSeconds);
+                currentCall = call;
+            }
+            call.enqueue(new Callback<DeckJobResponse>() {
+                @Override
+                public void onResponse(Call<DeckJobResponse> call, Response<DeckJobResponse> response) {
+                    if (!finishCall(call)) {
+                        return;
+                    }
+                    DeckJobResponse body = response.body();
+                    if (response.code() == 404) {
+                        // El servidor ya no conoce el trabajo (por ejemplo, tras un reinicio)
+                        listener.onFailed("La generación se ha perdido en el servidor");
+                    } else if (response.isSuccessful() && body != null && body.getJob() != null) {
+                        handleJob(body.getJob());
+                    } else {
+                        handleFailure();
+                    }
+                }
+
+                @Override
+                public void onFailure(Call<DeckJobResponse> call, Throwable t) {
+                    if (finishCall(call)) {
+                        handleFailure();
+                    }
+                }
+            });
+        }
+
+        /**
+         * Marca la llamada como terminada.
+         * @return false si el seguimiento se ha cancelado y hay que ignorar el resultado
+         */
+        private synchronized boolean finishCall(Call<DeckJobResponse> call) {
+            if (currentCall == call) {
+                currentCall = null;
+            }
+            return !cancelled;
+        }
+
+        private void handleJob(DeckJob job) {
+            long delay;
+            synchronized (this) {
+                consecutiveFailures = 0;
+                if (job.getVersion() > version) {
+                    version = job.getVersion();
+                    backoff.reset();
+                    delay = MIN_POLL_DELAY_MS;
+                } else {
+                    // Sin novedades tras la espera: espaciar las consultas
+                    delay = backoff.next();
+                }
+            }
+
+            if (job.isCompleted()) {
+                listener.onCompleted(job);
+            } else if (job.isFailed()) {
+                listener.onFailed(job.getError() != null ? job.getError() : "Error al generar la baraja");
+            } else {
+                listener.onProgress(job);
+                schedule(delay);
+            }
+        }
+
+        private void handleFailure() {
+            long delay;
+            synchronized (this) {
+                consecutiveFailures++;
+                if (consecutiveFailures > maxFailures) {
+                    delay = -1;
+                } else {
+                    delay = backoff.next();
+                }
+            }
+            if (delay < 0) {
+                listener.onFailed("No se pudo consultar el estado de la generación");
+            } else {
+                schedule(delay);
+            }
+        }
+    }
+}
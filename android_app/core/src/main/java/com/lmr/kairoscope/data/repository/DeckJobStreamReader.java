@@ -0,0 +1,129 @@
+package com.lmr.kairoscope.data.repository;
+
+import com.google.gson.Gson;
+import com.google.gson.Strictness;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.lmr.kairoscope.data.model.Card;
+import com.lmr.kairoscope.data.model.DeckResponse;
+
+import java.io.IOException;
+import java.io.Reader;
+
+/**
+ * Lee los eventos NDJSON de un trabajo de generación con un {@link JsonReader} en modo lenient,
+ * que acepta varios objetos JSON seguidos. Cada evento se entrega en cuanto se ha leído,
+ * sin acumular la respuesta completa en memoria.
+ */
+public class DeckJobStreamReader {
+
+    /**
+     * Receptor de los eventos del stream, en el orden en que llegan.
+     */
+    public interface Listener {
+        void onDeck(int deckId);
+
+        void onCard(int position, Card card);
+
+        void onProgress(int progress, String stage);
+
+        void onCompleted(DeckResponse.DeckInfo deck);
+
+        void onFailed(String error);
+    }
+
+    private final Gson gson;
+
+    DeckJobStreamReader(Gson gson) {
+        this.gson = gson;
+    }
+
+    /**
+     * Consume eventos hasta un evento final o el fin del stream.
+     * @return true si se recibió completed o failed; false si el stream terminó antes
+     */
+    boolean read(Reader source, Listener listener) throws IOException {
+        JsonReader reader = new JsonReader(source);
+        reader.setStrictness(Strictness.LENIENT);
+
+        while (reader.peek() != JsonToken.END_DOCUMENT) {
+            // Los campos pueden llegar en cualquier orden: leer el evento entero y luego despacharlo
+            String type = null;
+            String text = null;
+            String stage = null;
+            String error = null;
+            int id = 0;
+            int position = -1;
+            int progress = 0;
+            int deckId = -1;
+            DeckResponse.DeckInfo deck = null;
+
+            reader.beginObject();
+            while (reader.hasNext()) {
+                String name = reader.nextName();
+                if (reader.peek() == JsonToken.NULL) {
+                    reader.nextNull();
+                    continue;
+                }
+                switch (name) {
+                    case "type":
+                        type = reader.nextString();
+                        break;
+                    case "id":
+                        id = reader.nextInt();
+                        break;
+                    case "text":
+                        text = reader.nextString();
+                        break;
+                    case "position":
+                        position = reader.nextInt();
+                        break;
+                    case "progress":
+                        progress = reader.nextInt();
+                        break;
+                    case "stage":
+                        stage = reader.nextString();
+                        break;
+                    case "deck_id":
+                        deckId = reader.nextInt();
+                        break;
+                    case "deck":
+                        deck = gson.fromJson(reader, DeckResponse.DeckInfo.class);
+                        break;
+                    case "error":
+                        error = reader.nextString();
+                        break;
+                    default:
+                        reader.skipValue();
+                        break;
+                }
+            }
+            reader.endObject();
+
+            if (type == null) {
+                continue;
+            }
+            switch (type) {
+                case "deck":
+                    listener.onDeck(deckId);
+                    break;
+                case "card":
+                    listener.onCard(position, new Card(id, text));
+                    break;
+                case "progress":
+                    listener.onProgress(progress, stage);
+                    break;
+                case "completed":
+                    listener.onCompleted(deck);
+                    return true;
+                case "failed":
+                    listener.onFailed(error);
+                    return true;
+                default:
+                    // heartbeat u otros eventos: solo mantienen viva la conexión
+                    break;
+            }
+        }
+        return false;
+    }
+}
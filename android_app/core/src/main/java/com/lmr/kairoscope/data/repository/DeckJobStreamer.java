@@ -0,0 +1,194 @@
+package com.lmr.kairoscope.data.repository;
+
+import com.google.gson.Gson;
+import com.lmr.kairoscope.data.model.Card;
+import com.lmr.kairoscope.data.model.DeckJob;
+import com.lmr.kairoscope.data.model.DeckResponse;
+import com.lmr.kairoscope.data.network.ApiService;
+import com.lmr.kairoscope.util.Backoff;
+
+import java.io.IOException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import okhttp3.ResponseBody;
+import retrofit2.Call;
+import retrofit2.Response;
+
+/**
+ * Sigue un trabajo de generación leyendo sus cartas en streaming.
+ * Si la conexión se corta, se reconecta con backoff pidiendo solo las cartas que faltan.
+ * Si el stream no está disponible tras varios intentos, avisa para pasar a sondeo.
+ */
+public class DeckJobStreamer {
+
+    /**
+     * Receptor de eventos del stream. Se invoca desde el hilo de lectura.
+     */
+    public interface Listener extends DeckJobStreamReader.Listener {
+        /**
+         * El stream no se pudo mantener; el trabajo puede seguir en el servidor.
+         */
+        void onStreamUnavailable();
+    }
+
+    static final long DEFAULT_INITIAL_BACKOFF_MS = 1000;
+    static final long DEFAULT_MAX_BACKOFF_MS = TimeUnit.SECONDS.toMillis(15);
+    static final int DEFAULT_MAX_FAILURES = 4;
+
+    private final ApiService apiService;
+    private final ExecutorService executor;
+    private final DeckJobStreamReader streamReader;
+    private final long initialBackoffMs;
+    private final long maxBackoffMs;
+    private final int maxFailures;
+
+    public DeckJobStreamer(ApiService apiService, ExecutorService executor, Gson gson) {
+        this(apiService, executor, gson, DEFAULT_INITIAL_BACKOFF_MS, DEFAULT_MAX_BACKOFF_MS,
+                DEFAULT_MAX_FAILURES);
+    }
+
+    DeckJobStreamer(ApiService apiService, ExecutorService executor, Gson gson,
+                    long initialBackoffMs, long maxBackoffMs, int maxFailures) {
+        this.apiService = apiService;
+        this.executor = executor;
+        this.streamReader = new DeckJobStreamReader(gson);
+        this.initialBackoffMs = initialBackoffMs;
+        this.maxBackoffMs = maxBackoffMs;
+        this.maxFailures = maxFailures;
+    }
+
+    /**
+     * Empieza a leer el stream del trabajo en un hilo de red.
+     * @return suscripción que corta la lectura (el trabajo del servidor no se cancela)
+     */
+    public Subscription stream(DeckJob job, Listener listener) {
+        StreamTask task = new StreamTask(job.getJobId(), listener);
+        task.future = executor.submit(task);
+        return task;
+    }
+
+    /**
+     * Bucle de lectura y reconexión de un trabajo concreto.
+     */
+    private class StreamTask implements Runnable, Subscription, DeckJobStreamReader.Listener {
+        private final String jobId;
+        private final Listener listener;
+        private final Backoff backoff = new Backoff(initialBackoffMs, maxBackoffMs);
+
+        private volatile boolean cancelled;
+        private volatile Call<ResponseBody> currentCall;
+        volatile Future<?> future;
+
+        // Solo se usan desde el hilo de lectura
+        private int receivedCards;
+        private boolean receivedEvent;
+
+        StreamTask(String jobId, Listener listener) {
+            this.jobId = jobId;
+            this.listener = listener;
+        }
+
+        @Override
+        public void cancel() {
+            cancelled = true;
+            Call<ResponseBody> call = currentCall;
+            if (call != null) {
+                call.cancel();
+            }
+            Future<?> task = future;
+            if (task != null) {
+                task.cancel(true);
+            }
+        }
+
+        @Override
+        public void run() {
+            int failures = 0;
+            while (!cancelled) {
+                receivedEvent = false;
+                Call<ResponseBody> call = apiService.streamDeckJob(jobId, receivedCards);
+                currentCall = call;
+                try {
+                    Response<ResponseBody> response = call.execute();
+                    if (response.code() == 404) {
+                        listener.onFailed("La generación se ha perdido en el servidor");
+                        return;
+                    }
+                    ResponseBody body = response.body();
+                    if (response.isSuccessful() && body != null) {
+                        try {
+                            if (streamReader.read(body.charStream(), this)) {
+                                return;
+                            }
+                        } finally {
+                            body.close();
+                        }
+                    } else if (response.errorBody() != null) {
+                        response.errorBody().close();
+                    }
+                } catch (IOException | RuntimeException e) {
+                    // Corte de red o JSON malformado: se reintenta desde la última carta recibida
+                    if (cancelled) {
+                        return;
+                    }
+                } finally {
+                    currentCall = null;
+                }
+
+                // Cualquier evento recibido demuestra que el stream funciona
+                if (receivedEvent) {
+                    failures = 0;
+                    backoff.reset();
+                }
+                if (++failures > maxFailures) {
+                    if (!cancelled) {
+                        listener.onStreamUnavailable();
+                    }
+                    return;
+                }
+                try {
+                    Thread.sleep(backoff.next());
+                } catch (InterruptedException e) {
+                    return;
+                }
+            }
+        }
+
+        @Override
+        public void onDeck(int deckId) {
+            receivedEvent = true;
+            deliver(() -> listener.onDeck(deckId));
+        }
+
+        @Override
+        public void onCard(int position, Card card) {
+            receivedEvent = true;
+            receivedCards = Math.max(receivedCards, position + 1);
+            deliver(() -> listener.onCard(position, card));
+        }
+
+        @Override
+        public void onProgress(int progress, String stage) {
+            receivedEvent = true;
+            deliver(() -> listener.onProgress(progress, stage));
+        }
+
+        @Override
+        public void onCompleted(DeckResponse.DeckInfo deck) {
+            deliver(() -> listener.onCompleted(deck));
+        }
+
+        @Override
+        public void onFailed(String error) {
+            deliver(() -> listener.onFailed(error != null ? error : "Error al generar la baraja"));
+        }
+
+        private void deliver(Runnable event) {
+            if (!cancelled) {
+                event.run();
+            }
+        }
+    }
+}
@@ -0,0 +1,144 @@
+package com.lmr.kairoscope.data.repository;
+
+import com.lmr.kairoscope.data.cache.TtlLruCache;
+import com.lmr.kairoscope.data.model.Card;
+import com.lmr.kairoscope.data.model.Deck;
+import com.lmr.kairoscope.data.model.DeckCreationRequest;
+import com.lmr.kairoscope.data.model.DeckDetailResponse;
+import com.lmr.kairoscope.data.model.DeckJob;
+import com.lmr.kairoscope.data.model.DeckListResponse;
+import com.lmr.kairoscope.data.model.DeckResponse;
+
+import java.util.List;
+
+/**
+ * Lecturas y creaciones de barajas de un usuario sobre memoria, disco y red, sin nada de
+ * Android: el repositorio de la app aporta el usuario, publica los resultados en sus streams
+ * y se ocupa del outbox. Los resultados se entregan en cualquier hilo salvo donde se indica.
+ */
+public interface DeckSource {
+
+    /**
+     * Receptor de una creación de baraja.
+     */
+    interface CreationListener {
+        /**
+         * Estado del trabajo en el servidor, o null si ya no hay ninguno en curso.
+         */
+        void onProgress(DeckJob job);
+
+        /**
+         * Cartas llegadas desde el lote anterior, en orden; null al empezar el trabajo.
+         * Se llama en el executor de entrega, con un único lote pendiente cada vez.
+         */
+        void onCards(List<Card> batch);
+
+        void onResult(DeckResponse result);
+
+        /**
+         * No hay red: la solicitud debe quedar guardada para enviarla más tarde con la
+         * misma clave. Se llama en el hilo de disco y la clave se olvida al volver.
+         */
+        void onQueuedOffline(String uid, DeckCreationRequest request, String idempotencyKey);
+    }
+
+    /**
+     * Receptor del pool de cartas de todas las barajas.
+     */
+    interface DrawPoolCallback {
+        void onLoaded(DeckDrawPool pool);
+    }
+
+    /**
+     * Obtiene la lista de barajas aplicando la política de caché indicada.
+     * @param tracker destino que cancela la petición si nadie va a mostrarla
+     */
+    void loadDeckList(String uid, CachePolicy policy, CallTracker tracker,
+                      CachedLoader.ResultCallback<DeckListResponse> callback);
+
+    /**
+     * Relee la lista desde disco tras un cambio local, sin ir a la red.
+     */
+    void loadLocalDeckList(String uid, CachedLoader.ResultCallback<DeckListResponse> callback);
+
+    /**
+     * Indica si hay una lista en memoria que pueda pintarse sin esperar.
+     */
+    boolean hasCachedDeckList(String uid);
+
+    /**
+     * Descarta la lista en memoria: la siguiente lectura irá a disco o a la red.
+     */
+    void invalidateDeckList(String uid);
+
+    /**
+     * Obtiene el detalle de una baraja aplicando la política de caché indicada.
+     * @param tracker destino que cancela la petición si nadie va a mostrarla
+     */
+    void loadDeckDetail(String uid, int deckId, CachePolicy policy, CallTracker tracker,
+                        CachedLoader.ResultCallback<DeckDetailResponse> callback);
+
+    /**
+     * Indica si el detalle de una baraja está en memoria y puede pintarse sin esperar.
+     */
+    boolean hasCachedDeckDetail(String uid, int deckId);
+
+    /**
+     * Adelanta la carga del detalle de una baraja para que esté en memoria al abrirla;
+     * si aún está en curso al pedir el detalle, la lectura se suma a la misma petición.
+     * @param pressed true si el usuario ya está pulsando la baraja; si solo es visible,
+     *                se descarga únicamente en redes rápidas y sin tarificar
+     */
+    void prefetchDeckDetail(String uid, int deckId, boolean pressed);
+
+    /**
+     * Crea una baraja como trabajo asíncrono en el servidor, con una clave de idempotencia
+     * que se reutiliza al reintentar la misma solicitud.
+     */
+    void createDeck(String uid, DeckCreationRequest request, CreationListener listener);
+
+    /**
+     * La baraja se ha borrado en local: sale de las cachés, del pool y de los pesos.
+     * Se llama en el hilo de disco.
+     */
+    void onDeckDeleted(String uid, int deckId);
+
+    /**
+     * Un borrado se ha deshecho y la baraja vuelve a estar en disco.
+     * Se llama en el hilo de disco.
+     */
+    void onDeckRestored(String uid, int deckId);
+
+    /**
+     * Carga las barajas con cartas del usuario y sus pesos. Solo lee disco la primera vez
+     * por usuario: después el pool se mantiene al día baraja a baraja.
+     */
+    void loadDrawPool(String uid, DrawPoolCallback callback);
+
+    /**
+     * Peso de una baraja en el modo "todas las barajas" (el propio, el de su disciplina o 1).
+     */
+    double getDrawWeight(String uid, Deck deck);
+
+    /**
+     * Fija el peso de una baraja en el modo "todas las barajas" (0 la excluye).
+     */
+    void setDeckDrawWeight(String uid, int deckId, double weight);
+
+    /**
+     * Fija el peso de toda una disciplina. La baraja indicada deja de tener peso propio
+     * para seguir al de su disciplina.
+     */
+    void setDisciplineDrawWeight(String uid, Deck deck, double weight);
+
+    /**
+     * Libera memoria: con presión alta vacía las cachés y si no se queda con la mitad de
+     * los detalles más usados. Lo descartado sigue en disco.
+     */
+    void trimMemory(boolean critical);
+
+    /**
+     * Aciertos, fallos, expulsiones y bytes usados de la caché de detalles.
+     */
+    TtlLruCache.Stats getDeckDetailCacheStats();
+}
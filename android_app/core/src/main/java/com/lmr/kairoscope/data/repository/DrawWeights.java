@@ -0,0 +1,29 @@
+package com.lmr.kairoscope.data.repository;
+
+/**
+ * Pesos guardados por usuario para el modo "todas las barajas": por baraja y por disciplina.
+ */
+public interface DrawWeights {
+
+    /**
+     * Carga en el pool todos los pesos guardados del usuario.
+     */
+    void applyTo(String uid, DeckDrawPool pool);
+
+    /**
+     * @return el peso o null si la baraja no tiene uno propio
+     */
+    Double getDeckWeight(String uid, int deckId);
+
+    /**
+     * @return el peso o null si la disciplina no tiene uno
+     */
+    Double getDisciplineWeight(String uid, String discipline);
+
+    /**
+     * @param weight peso o null para quitarlo
+     */
+    void setDeckWeight(String uid, int deckId, Double weight);
+
+    void setDisciplineWeight(String uid, String discipline, Double weight);
+}
@@ -0,0 +1,26 @@
+package com.lmr.kairoscope.data.repository;
+
+/**
+ * Claves de idempotencia de la creación de baraja pendiente. Deben sobrevivir a un
+ * reinicio de la app para que un reintento nunca genere una baraja duplicada.
+ * Los métodos bloquean (escriben en disco) y se llaman desde el hilo de disco.
+ */
+public interface IdempotencyKeys {
+
+    /**
+     * Devuelve la clave de la solicitud indicada, creando una nueva si no es la pendiente.
+     */
+    String keyFor(String fingerprint);
+
+    /**
+     * Olvida la clave cuando la solicitud ya tiene una respuesta definitiva.
+     */
+    void clear(String key);
+
+    /**
+     * Identifica una solicitud de creación por usuario y parámetros.
+     */
+    static String fingerprint(String uid, String discipline, String blockDescription, String color) {
+        return uid + '\u0000' + discipline + '\u0000' + blockDescription + '\u0000' + color;
+    }
+}
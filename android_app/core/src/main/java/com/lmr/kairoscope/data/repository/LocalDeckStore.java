@@ -0,0 +1,53 @@
+package com.lmr.kairoscope.data.repository;
+
+import com.lmr.kairoscope.data.model.Card;
+import com.lmr.kairoscope.data.model.Deck;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Base de datos local de barajas y cartas, fuente de verdad de {@link CachedDeckSource}.
+ * En la app la implementa Room; en pruebas basta con mapas en memoria.
+ * Todos los métodos son bloqueantes y se llaman desde el hilo de disco.
+ */
+public interface LocalDeckStore {
+
+    /**
+     * Barajas del usuario sin cartas, sin las que tienen un borrado pendiente.
+     */
+    List<Deck> getDecks(String uid);
+
+    /**
+     * Una baraja con sus cartas.
+     * @return la baraja o null si no está guardada o aún no tiene cartas
+     */
+    Deck getDeck(String uid, int deckId);
+
+    /**
+     * Sustituye la lista de barajas por la del servidor, conservando las cartas, la
+     * descripción y los cambios pendientes de las que siguen existiendo.
+     */
+    void replaceDeckList(String uid, List<Deck> decks);
+
+    /**
+     * Guarda una baraja completa sustituyendo sus cartas.
+     */
+    void replaceDeckDetail(String uid, Deck deck);
+
+    /**
+     * Guarda (o actualiza) una baraja sin tocar sus cartas, como la provisional de una creación.
+     */
+    void upsertDeck(String uid, Deck deck);
+
+    /**
+     * Añade cartas recibidas en streaming, por posición, si la baraja sigue guardada.
+     */
+    void appendCards(String uid, int deckId, Map<Integer, Card> cardsByPosition);
+
+    void renameDeck(String uid, int deckId, String name);
+
+    void deleteDeck(String uid, int deckId);
+
+    void deleteCards(int deckId);
+}
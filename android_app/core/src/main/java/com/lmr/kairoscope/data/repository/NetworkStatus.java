@@ -0,0 +1,19 @@
+package com.lmr.kairoscope.data.repository;
+
+/**
+ * Estado de la red que consulta {@link CachedDeckSource} antes de pedir algo al servidor.
+ */
+public interface NetworkStatus {
+
+    /**
+     * Hay una red validada con salida a Internet.
+     */
+    boolean isOnline();
+
+    /**
+     * La red es rápida y sin tarificar: se pueden adelantar descargas que quizá no se usen.
+     */
+    boolean shouldPrefetch();
+
+    boolean isMetered();
+}
@@ -0,0 +1,61 @@
+package com.lmr.kairoscope.data.repository;
+
+import com.lmr.kairoscope.util.Metrics;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Agrupa peticiones idénticas en curso: los llamadores concurrentes con la misma clave
+ * comparten una única llamada de red y un único resultado ya parseado.
+ */
+class RequestCoalescer<T> {
+
+    private final String name;
+    private final Map<String, List<CachedLoader.ResultCallback<T>>> inFlight = new HashMap<>();
+
+    RequestCoalescer(String name) {
+        this.name = name;
+    }
+
+    /**
+     * Ejecuta la petición o, si ya hay una en curso con la misma clave, se suma a ella.
+     */
+    void execute(String key, CachedLoader.NetworkSource<T> source, CachedLoader.ResultCallback<T> callback) {
+        synchronized (this) {
+            List<CachedLoader.ResultCallback<T>> waiting = inFlight.get(key);
+            if (waiting != null) {
+                waiting.add(callback);
+                Metrics.increment("coalesce." + name + ".absorbed");
+                return;
+            }
+            waiting = new ArrayList<>();
+            waiting.add(callback);
+            inFlight.put(key, waiting);
+        }
+
+        Metrics.increment("coalesce." + name + ".executed");
+        source.fetch(new CachedLoader.ResultCallback<T>() {
+            @Override
+            public void onSuccess(T value) {
+                for (CachedLoader.ResultCallback<T> waiting : complete(key)) {
+                    waiting.onSuccess(value);
+                }
+            }
+
+            @Override
+            public void onError() {
+                for (CachedLoader.ResultCallback<T> waiting : complete(key)) {
+                    waiting.onError();
+                }
+            }
+        });
+    }
+
+    private synchronized List<CachedLoader.ResultCallback<T>> complete(String key) {
+        List<CachedLoader.ResultCallback<T>> waiting = inFlight.remove(key);
+        return waiting != null ? waiting : new ArrayList<>();
+    }
+}
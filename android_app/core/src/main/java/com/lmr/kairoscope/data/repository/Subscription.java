@@ -0,0 +1,8 @@
+package com.lmr.kairoscope.data.repository;
+
+/**
+ * Suscripción a un stream de resultados o a un trabajo en curso. El ViewModel la cancela en onCleared().
+ */
+public interface Subscription {
+    void cancel();
+}
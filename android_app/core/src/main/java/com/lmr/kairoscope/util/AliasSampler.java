@@ -0,0 +1,85 @@
+package com.lmr.kairoscope.util;
+
+import java.util.Random;
+
+/**
+ * Muestreo de índices 0..n-1 con probabilidad proporcional a su peso (método alias de
+ * Walker, construcción de Vose). Construir la tabla es O(n); cada muestra es O(1) y no
+ * crea objetos. La tabla es inmutable: si cambian los pesos se construye otra.
+ */
+public final class AliasSampler {
+
+    // Probabilidad de quedarse con la columna i en lugar de saltar a alias[i]
+    private final double[] probability;
+    private final int[] alias;
+
+    /**
+     * @param weights pesos no negativos, con al menos uno mayor que cero
+     * @throws IllegalArgumentException si no hay pesos válidos
+     */
+    public AliasSampler(double[] weights) {
+        int n = weights.length;
+        if (n == 0) {
+            throw new IllegalArgumentException("no weights");
+        }
+        double total = 0;
+        for (double weight : weights) {
+            if (!(weight >= 0) || Double.isInfinite(weight)) {
+                throw new IllegalArgumentException("invalid weight: " + weight);
+            }
+            total += weight;
+        }
+        if (total <= 0) {
+            throw new IllegalArgumentException("all weights are zero");
+        }
+
+        probability = new double[n];
+        alias = new int[n];
+        // Pesos escalados para que la media sea 1; se reparten en dos pilas sobre un solo array
+        double[] scaled = new double[n];
+        int[] small = new int[n];
+        int[] large = new int[n];
+        int smallCount = 0;
+        int largeCount = 0;
+        for (int i = 0; i < n; i++) {
+            scaled[i] = weights[i] * n / total;
+            if (scaled[i] < 1) {
+                small[smallCount++] = i;
+            } else {
+                large[largeCount++] = i;
+            }
+        }
+        while (smallCount > 0 && largeCount > 0) {
+            int less = small[--smallCount];
+            int more = large[--largeCount];
+            probability[less] = scaled[less];
+            alias[less] = more;
+            // La columna grande cede lo que le falta a la pequeña
+            scaled[more] = scaled[more] + scaled[less] - 1;
+            if (scaled[more] < 1) {
+                small[smallCount++] = more;
+            } else {
+                large[largeCount++] = more;
+            }
+        }
+        // Lo que queda vale 1 salvo por errores de redondeo
+        while (largeCount > 0) {
+            probability[large[--largeCount]] = 1;
+        }
+        while (smallCount > 0) {
+            probability[small[--smallCount]] = 1;
+        }
+    }
+
+    /**
+     * Saca un índice según los pesos.
+     */
+    public int sample(Random random) {
+        int column = random.nextInt(probability.length);
+        return random.nextDouble() < probability[column] ? column : alias[column];
+    }
+
+    public int size() {
+        return probability.length;
+    }
+}
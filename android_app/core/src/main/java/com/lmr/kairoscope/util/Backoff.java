@@ -0,0 +1,38 @@
+package com.lmr.kairoscope.util;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Retraso exponencial con jitter para reintentos y sondeos.
+ * No es thread-safe: cada seguimiento usa su propia instancia.
+ */
+public class Backoff {
+
+    private final long initialMs;
+    private final long maxMs;
+    private long currentMs;
+
+    public Backoff(long initialMs, long maxMs) {
+        this.initialMs = initialMs;
+        this.maxMs = maxMs;
+        this.currentMs = initialMs;
+    }
+
+    /**
+     * Devuelve el retraso actual con jitter y duplica el siguiente hasta el máximo.
+     */
+    public long next() {
+        long current = currentMs;
+        currentMs = Math.min(maxMs, currentMs * 2);
+        // Jitter: entre la mitad y el total para que los clientes no se sincronicen
+        long half = current / 2;
+        return half + ThreadLocalRandom.current().nextLong(half + 1);
+    }
+
+    /**
+     * Vuelve al retraso inicial tras una respuesta correcta.
+     */
+    public void reset() {
+        currentMs = initialMs;
+    }
+}
@@ -0,0 +1,68 @@
+package com.lmr.kairoscope.util;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Registro en memoria de contadores y valores de rendimiento de la aplicación.
+ * Seguro para uso concurrente; se consulta con {@link #snapshot()} para logs o pruebas.
+ */
+public class Metrics {
+
+    private static final ConcurrentHashMap<String, AtomicLong> values = new ConcurrentHashMap<>();
+
+    /**
+     * Incrementa en uno el contador indicado.
+     */
+    public static void increment(String name) {
+        add(name, 1);
+    }
+
+    /**
+     * Suma una cantidad al contador indicado.
+     */
+    public static void add(String name, long delta) {
+        counter(name).addAndGet(delta);
+    }
+
+    /**
+     * Fija el valor actual de una métrica de tipo indicador (p. ej. estado de un circuito).
+     */
+    public static void set(String name, long value) {
+        counter(name).set(value);
+    }
+
+    public static long get(String name) {
+        AtomicLong value = values.get(name);
+        return value != null ? value.get() : 0;
+    }
+
+    /**
+     * Devuelve una copia ordenada de todas las métricas registradas.
+     */
+    public static Map<String, Long> snapshot() {
+        Map<String, Long> copy = new TreeMap<>();
+        for (Map.Entry<String, AtomicLong> entry : values.entrySet()) {
+            copy.put(entry.getKey(), entry.getValue().get());
+        }
+        return copy;
+    }
+
+    public static void reset() {
+        values.clear();
+    }
+
+    private static AtomicLong counter(String name) {
+        AtomicLong value = values.get(name);
+        if (value == null) {
+            AtomicLong created = new AtomicLong();
+            value = values.putIfAbsent(name, created);
+            if (value == null) {
+                value = created;
+            }
+        }
+        return value;
+    }
+}
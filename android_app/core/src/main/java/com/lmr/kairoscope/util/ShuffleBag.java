@@ -0,0 +1,111 @@
+package com.lmr.kairoscope.util;
+
+import java.util.Random;
+
+/**
+ * Bolsa barajada de índices 0..n-1: cada índice sale exactamente una vez por ciclo
+ * y al agotarse se vuelve a barajar (Fisher–Yates sobre un int[]).
+ * Sacar un índice es O(1) y no crea objetos; el orden y el cursor se pueden
+ * guardar y restaurar para continuar un ciclo en otra sesión. No es thread-safe.
+ */
+public final class ShuffleBag {
+
+    private final int[] order;
+    private final Random random;
+    private int cursor;
+
+    /**
+     * Crea una bolsa con un orden nuevo.
+     */
+    public ShuffleBag(int size, Random random) {
+        if (size <= 0) {
+            throw new IllegalArgumentException("size must be positive: " + size);
+        }
+        this.order = new int[size];
+        this.random = random;
+        for (int i = 0; i < size; i++) {
+            order[i] = i;
+        }
+        shuffle(-1);
+    }
+
+    private ShuffleBag(int[] order, int cursor, Random random) {
+        this.order = order;
+        this.cursor = cursor;
+        this.random = random;
+    }
+
+    /**
+     * Restaura una bolsa guardada con {@link #getOrder()} y {@link #getCursor()}.
+     * @throws IllegalArgumentException si el orden no es una permutación de 0..n-1
+     *                                  o el cursor está fuera de rango
+     */
+    public static ShuffleBag restore(int[] order, int cursor, Random random) {
+        if (order == null || order.length == 0) {
+            throw new IllegalArgumentException("empty order");
+        }
+        if (cursor < 0 || cursor > order.length) {
+            throw new IllegalArgumentException("cursor out of range: " + cursor);
+        }
+        boolean[] seen = new boolean[order.length];
+        for (int index : order) {
+            if (index < 0 || index >= order.length || seen[index]) {
+                throw new IllegalArgumentException("order is not a permutation");
+            }
+            seen[index] = true;
+        }
+        return new ShuffleBag(order.clone(), cursor, random);
+    }
+
+    /**
+     * Saca el siguiente índice; si el ciclo terminó, baraja uno nuevo
+     * sin repetir al principio el último índice sacado.
+     */
+    public int next() {
+        if (cursor == order.length) {
+            shuffle(order[order.length - 1]);
+        }
+        return order[cursor++];
+    }
+
+    public int size() {
+        return order.length;
+    }
+
+    /**
+     * Índices que faltan por salir en el ciclo actual.
+     */
+    public int remaining() {
+        return order.length - cursor;
+    }
+
+    /**
+     * Posición en el orden del próximo índice a sacar (igual a {@link #size()} si el ciclo terminó).
+     */
+    public int getCursor() {
+        return cursor;
+    }
+
+    /**
+     * Copia del orden del ciclo actual, para guardarlo.
+     */
+    public int[] getOrder() {
+        return order.clone();
+    }
+
+    private void shuffle(int previous) {
+        for (int i = order.length - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int swap = order[i];
+            order[i] = order[j];
+            order[j] = swap;
+        }
+        if (order.length > 1 && order[0] == previous) {
+            // Evita que la última carta de un ciclo sea la primera del siguiente
+            int j = 1 + random.nextInt(order.length - 1);
+            order[0] = order[j];
+            order[j] = previous;
+        }
+        cursor = 0;
+    }
+}
@@ -0,0 +1,108 @@
+package com.lmr.kairoscope.data.cache;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Pruebas de {@link TtlLruCache} limitada por peso: expulsión LRU por presupuesto,
+ * recorte por presión de memoria y contadores.
+ */
+public class TtlLruCacheTest {
+
+    private static final long TTL_MS = TimeUnit.MINUTES.toMillis(10);
+
+    // El peso de cada valor es su longitud
+    private final TtlLruCache<String, String> cache = new TtlLruCache<>(10, TTL_MS, String::length);
+
+    @Test
+    public void leastRecentlyUsedEntriesAreEvictedWhenOverBudget() {
+        cache.put("a", "aaaa");
+        cache.put("b", "bbbb");
+        // "a" pasa a ser la más reciente
+        cache.get("a");
+        cache.put("c", "cccc");
+
+        assertNotNull(cache.peek("a"));
+        assertNull(cache.peek("b"));
+        assertNotNull(cache.peek("c"));
+        assertEquals(8, cache.stats().getWeight());
+        assertEquals(1, cache.stats().getEvictions());
+    }
+
+    @Test
+    public void replacingAValueUpdatesTheWeight() {
+        cache.put("a", "aaaa");
+        cache.put("a", "aa");
+        cache.remove("missing");
+
+        assertEquals(2, cache.stats().getWeight());
+        cache.remove("a");
+        assertEquals(0, cache.stats().getWeight());
+    }
+
+    @Test
+    public void valuesLargerThanTheBudgetAreNotCached() {
+        cache.put("a", "aaaa");
+        cache.put("big", "bbbbbbbbbbbb");
+
+        assertNull(cache.peek("big"));
+        assertNotNull(cache.peek("a"));
+        assertEquals(0, cache.stats().getEvictions());
+    }
+
+    @Test
+    public void trimKeepsTheMostRecentlyUsedEntries() {
+        cache.put("a", "aaa");
+        cache.put("b", "bbb");
+        cache.put("c", "ccc");
+
+        cache.trimTo(5);
+        assertEquals(1, cache.size());
+        assertNotNull(cache.peek("c"));
+
+        cache.trimTo(0);
+        assertEquals(0, cache.size());
+        assertEquals(0, cache.stats().getWeight());
+        assertEquals(3, cache.stats().getEvictions());
+    }
+
+    @Test
+    public void hitsAndMissesAreCountedOnGetOnly() {
+        cache.put("a", "a");
+        cache.get("a");
+        cache.get("b");
+        cache.peek("a");
+        cache.peek("b");
+
+        TtlLruCache.Stats stats = cache.stats();
+        assertEquals(1, stats.getHits());
+        assertEquals(1, stats.getMisses());
+    }
+
+    @Test
+    public void entriesStoredWithZeroTtlAreStale() {
+        cache.put("fresh", "f");
+        cache.put("stale", "s", 0);
+
+        assertTrue(cache.isFresh(cache.peek("fresh")));
+        assertFalse(cache.isFresh(cache.peek("stale")));
+    }
+
+    @Test
+    public void entryCountConstructorWeighsEachEntryAsOne() {
+        TtlLruCache<String, String> counted = new TtlLruCache<>(2, TTL_MS);
+        counted.put("a", "long value");
+        counted.put("b", "long value");
+        counted.put("c", "long value");
+
+        assertEquals(2, counted.size());
+        assertNull(counted.peek("a"));
+    }
+}
@@ -0,0 +1,126 @@
+package com.lmr.kairoscope.data.model;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonSyntaxException;
+import com.google.gson.TypeAdapter;
+import com.lmr.kairoscope.data.network.ApiClient;
+import com.lmr.kairoscope.data.network.ApiService;
+
+import org.junit.Test;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.Arrays;
+
+/**
+ * Los TypeAdapter generados para los @JsonModel deben leer y escribir lo mismo que el
+ * adaptador reflexivo de Gson, y cubrir todos los modelos que devuelve {@link ApiService}
+ * (con R8 un modelo sin adaptador generado perdería los nombres de sus campos).
+ */
+public class GeneratedTypeAdapterFactoryTest {
+
+    private static final String DECK_DETAIL = "{\"status\":\"success\",\"extra\":{\"a\":[1,2]},"
+            + "\"deck\":{\"id\":7,\"name\":\"Baraja\",\"discipline\":\"Música\",\"block_description\":null,"
+            + "\"chosen_color\":\"#3F51B5\",\"created_at\":\"2024-05-01T10:00:00Z\",\"card_count\":\"2\","
+            + "\"pending\":true,\"cards\":[{\"id\":1,\"text\":\"Honra tu error\"},{\"id\":null,\"text\":true}]}}";
+
+    private static final String DECK_JOB = "{\"status\":\"success\",\"job\":{\"job_id\":\"j1\","
+            + "\"status\":\"completed\",\"progress\":100,\"stage\":\"done\",\"version\":3,\"deck_id\":null,"
+            + "\"card_count\":40,\"deck\":{\"id\":9,\"name\":\"Nueva\",\"user\":\"u1\",\"created_at\":\"hoy\"}}}";
+
+    private final Gson generated = ApiClient.createGson();
+    private final Gson reflective = new Gson();
+
+    @Test
+    public void usesGeneratedAdapters() {
+        assertTrue(generated.getAdapter(Deck.class) instanceof DeckTypeAdapter);
+        assertTrue(generated.getAdapter(DeckResponse.DeckInfo.class) instanceof DeckResponse_DeckInfoTypeAdapter);
+    }
+
+    @Test
+    public void deckDetailMatchesReflectiveGson() {
+        DeckDetailResponse fromGenerated = generated.fromJson(DECK_DETAIL, DeckDetailResponse.class);
+        DeckDetailResponse fromReflective = reflective.fromJson(DECK_DETAIL, DeckDetailResponse.class);
+
+        assertEquals(reflective.toJson(fromReflective), reflective.toJson(fromGenerated));
+        assertEquals(reflective.toJson(fromReflective), generated.toJson(fromGenerated));
+        assertEquals(2, fromGenerated.getDeck().getCard_count());
+        assertEquals("true", fromGenerated.getDeck().getCards().get(1).getText());
+        assertNull(fromGenerated.getDeck().getBlock_description());
+        // transient: no se lee del JSON
+        assertFalse(fromGenerated.getDeck().isPending());
+    }
+
+    @Test
+    public void deckJobMatchesReflectiveGson() {
+        DeckJobResponse fromGenerated = generated.fromJson(DECK_JOB, DeckJobResponse.class);
+        DeckJobResponse fromReflective = reflective.fromJson(DECK_JOB, DeckJobResponse.class);
+
+        assertEquals(reflective.toJson(fromReflective), generated.toJson(fromGenerated));
+        assertNull(fromGenerated.getJob().getDeckId());
+        assertEquals("u1", fromGenerated.getJob().getDeck().getUser());
+    }
+
+    @Test
+    public void writesSameJsonAsReflectiveGson() {
+        Deck deck = new Deck(3, "Baraja", "Pintura", null, "#000000", "ayer", 1,
+                Arrays.asList(new Card(1, "Usa un color que no te guste")));
+        deck.setPending(true);
+
+        assertEquals(reflective.toJson(deck), generated.toJson(deck));
+        assertEquals(new Gson().newBuilder().serializeNulls().create().toJson(deck),
+                generated.newBuilder().serializeNulls().create().toJson(deck));
+    }
+
+    @Test
+    public void nullObjectsAreWrittenAndReadAsNull() {
+        assertEquals("null", generated.toJson(null, Deck.class));
+        assertNull(generated.fromJson("null", Deck.class));
+    }
+
+    @Test(expected = JsonSyntaxException.class)
+    public void invalidNumberIsASyntaxError() {
+        generated.fromJson("{\"id\":\"siete\"}", Card.class);
+    }
+
+    @Test
+    public void everyApiModelHasAGeneratedAdapter() {
+        for (Method method : ApiService.class.getDeclaredMethods()) {
+            // Call<Modelo>
+            Type body = ((ParameterizedType) method.getGenericReturnType()).getActualTypeArguments()[0];
+            assertGenerated((Class<?>) body);
+        }
+    }
+
+    /**
+     * Comprueba el modelo y, recursivamente, los modelos de sus campos y listas.
+     */
+    private void assertGenerated(Class<?> type) {
+        if (!type.getPackage().getName().equals(Deck.class.getPackage().getName())) {
+            return;
+        }
+        TypeAdapter<?> adapter = generated.getAdapter(type);
+        assertEquals(type.getName(), getClass().getPackage().getName(), adapter.getClass().getPackage().getName());
+        for (Field field : type.getDeclaredFields()) {
+            if (Modifier.isStatic(field.getModifiers()) || Modifier.isTransient(field.getModifiers())) {
+                continue;
+            }
+            Type fieldType = field.getGenericType();
+            if (fieldType instanceof ParameterizedType) {
+                for (Type argument : ((ParameterizedType) fieldType).getActualTypeArguments()) {
+                    assertGenerated((Class<?>) argument);
+                }
+            } else if (fieldType instanceof Class && !((Class<?>) fieldType).isPrimitive()) {
+                assertGenerated((Class<?>) fieldType);
+            }
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package com.lmr.kairoscope.data.network;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import com.lmr.kairoscope.data.model.DeckListResponse;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import okhttp3.logging.HttpLoggingInterceptor;
+import retrofit2.Response;
+
+/**
+ * Pruebas de {@link ApiClient} en la JVM contra un servidor local: token en cada petición,
+ * renovación ante un 401 y parseo de la respuesta a los modelos.
+ */
+public class ApiClientTest {
+
+    private static final String DECK_LIST = "{\"status\":\"success\",\"total\":1,\"decks\":["
+            + "{\"id\":7,\"name\":\"Baraja\",\"discipline\":\"Música\",\"chosen_color\":\"#3F51B5\","
+            + "\"created_at\":\"2024-05-01T10:00:00Z\",\"card_count\":40}]}";
+
+    private HttpServer server;
+    private final List<String> authorizations = new CopyOnWriteArrayList<>();
+    // Token que el servidor acepta
+    private volatile String validToken = "t1";
+    private final FakeTokens tokens = new FakeTokens();
+
+    @Before
+    public void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        server.createContext("/", this::handle);
+        server.start();
+    }
+
+    @After
+    public void tearDown() {
+        server.stop(0);
+    }
+
+    @Test
+    public void addsTokenAndParsesDeckList() throws IOException {
+        Response<DeckListResponse> response = client().getApiService().getDeckList().execute();
+
+        assertEquals(200, response.code());
+        assertEquals(1, response.body().getDecks().size());
+        assertEquals("Baraja", response.body().getDecks().get(0).getName());
+        assertEquals("Bearer t1", authorizations.get(0));
+    }
+
+    @Test
+    public void rejectedTokenIsRefreshedOnce() throws IOException {
+        validToken = "t2";
+
+        Response<DeckListResponse> response = client().getApiService().getDeckList().execute();
+
+        assertEquals(200, response.code());
+        assertEquals(2, authorizations.size());
+        assertEquals("Bearer t2", authorizations.get(1));
+        assertEquals(1, tokens.refreshes.get());
+    }
+
+    @Test
+    public void worksWithoutHttpCache() throws IOException {
+        ApiClient client = client();
+        client.clearCache();
+        assertTrue(client.getApiService().getDeckList().execute().isSuccessful());
+    }
+
+    private ApiClient client() {
+        return new ApiClient("http://127.0.0.1:" + server.getAddress().getPort() + "/", tokens, null, 0,
+                HttpLoggingInterceptor.Level.NONE);
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        String authorization = exchange.getRequestHeaders().getFirst("Authorization");
+        authorizations.add(authorization);
+        boolean authorized = ("Bearer " + validToken).equals(authorization);
+        byte[] body = (authorized ? DECK_LIST : "{\"status\":\"error\"}").getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(authorized ? 200 : 401, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    /**
+     * Devuelve "t1" y, tras renovar, "t2".
+     */
+    private static class FakeTokens implements TokenSource {
+        final AtomicInteger refreshes = new AtomicInteger();
+
+        @Override
+        public String getToken() {
+            return refreshes.get() == 0 ? "t1" : "t2";
+        }
+
+        @Override
+        public String refreshToken() {
+            refreshes.incrementAndGet();
+            return "t2";
+        }
+    }
+}
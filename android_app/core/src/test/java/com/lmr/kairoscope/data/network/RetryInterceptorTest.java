@@ -0,0 +1,206 @@
+package com.lmr.kairoscope.data.network;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import com.lmr.kairoscope.util.Metrics;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import okhttp3.MediaType;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.RequestBody;
+import okhttp3.Response;
+
+/**
+ * Pruebas de {@link RetryInterceptor} y {@link CircuitBreaker} contra un servidor local
+ * que responde con los códigos encolados en orden (200 cuando se agotan).
+ */
+public class RetryInterceptorTest {
+
+    private static final int MAX_ATTEMPTS = 3;
+    private static final int FAILURE_THRESHOLD = 4;
+    private static final long OPEN_MS = 200;
+
+    private HttpServer server;
+    private final ConcurrentLinkedQueue<Integer> codes = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger requests = new AtomicInteger();
+    private volatile String retryAfter;
+    private OkHttpClient client;
+
+    @Before
+    public void setUp() throws IOException {
+        Metrics.reset();
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        server.createContext("/", this::handle);
+        server.start();
+        client = new OkHttpClient.Builder()
+                .addInterceptor(new RetryInterceptor(MAX_ATTEMPTS, 10, 50, 1000,
+                        FAILURE_THRESHOLD, OPEN_MS))
+                .build();
+    }
+
+    @After
+    public void tearDown() {
+        server.stop(0);
+    }
+
+    @Test
+    public void getIsRetriedAfterTransientError() throws IOException {
+        codes.add(503);
+        codes.add(502);
+
+        try (Response response = client.newCall(get("api/deck/7/")).execute()) {
+            assertEquals(200, response.code());
+        }
+        assertEquals(3, requests.get());
+        assertEquals(2, Metrics.get(RetryInterceptor.METRIC_RETRIES));
+        assertEquals(2, Metrics.get("http.retry.GET:api/deck/{id}/"));
+    }
+
+    @Test
+    public void clientErrorsAndPlainPostsAreNotRetried() throws IOException {
+        codes.add(404);
+        try (Response response = client.newCall(get("api/deck/7/")).execute()) {
+            assertEquals(404, response.code());
+        }
+
+        codes.add(503);
+        try (Response response = client.newCall(post(null)).execute()) {
+            assertEquals(503, response.code());
+        }
+        assertEquals(2, requests.get());
+    }
+
+    @Test
+    public void postWithIdempotencyKeyIsRetried() throws IOException {
+        codes.add(504);
+        try (Response response = client.newCall(post("clave-1")).execute()) {
+            assertEquals(200, response.code());
+        }
+        assertEquals(2, requests.get());
+    }
+
+    @Test
+    public void retryAfterLongerThanLimitReturnsResponse() throws IOException {
+        retryAfter = "120";
+        codes.add(429);
+        try (Response response = client.newCall(get("api/deck/")).execute()) {
+            assertEquals(429, response.code());
+        }
+        assertEquals(1, requests.get());
+    }
+
+    @Test
+    public void gaveUpAfterMaxAttempts() throws IOException {
+        for (int i = 0; i < MAX_ATTEMPTS; i++) {
+            codes.add(503);
+        }
+        try (Response response = client.newCall(get("api/deck/")).execute()) {
+            assertEquals(503, response.code());
+        }
+        assertEquals(MAX_ATTEMPTS, requests.get());
+        assertEquals(1, Metrics.get(RetryInterceptor.METRIC_EXHAUSTED));
+    }
+
+    @Test
+    public void circuitOpensAndRecoversAfterProbe() throws Exception {
+        for (int i = 0; i < FAILURE_THRESHOLD; i++) {
+            codes.add(500);
+        }
+        for (int i = 0; i < FAILURE_THRESHOLD; i++) {
+            client.newCall(get("api/deck/" + i + "/")).execute().close();
+        }
+        String metric = "http.circuit.GET:api/deck/{id}/.state";
+        assertEquals(CircuitBreaker.State.OPEN.ordinal(), Metrics.get(metric));
+
+        // Abierto: falla sin llegar al servidor
+        int before = requests.get();
+        try {
+            client.newCall(get("api/deck/1/")).execute().close();
+            fail("El circuito debería rechazar la petición");
+        } catch (CircuitOpenException e) {
+            assertEquals("GET:api/deck/{id}/", e.getEndpoint());
+        }
+        assertEquals(before, requests.get());
+        assertEquals(1, Metrics.get(RetryInterceptor.METRIC_REJECTED));
+
+        // Otro endpoint no se ve afectado
+        client.newCall(get("api/deck/")).execute().close();
+
+        // Pasado el tiempo de espera, una petición de prueba correcta cierra el circuito
+        Thread.sleep(OPEN_MS + 50);
+        try (Response response = client.newCall(get("api/deck/1/")).execute()) {
+            assertEquals(200, response.code());
+        }
+        assertEquals(CircuitBreaker.State.CLOSED.ordinal(), Metrics.get(metric));
+    }
+
+    @Test
+    public void halfOpenAdmitsSingleProbe() {
+        long[] now = {0};
+        CircuitBreaker breaker = new CircuitBreaker("test", 1, 100, () -> now[0]);
+
+        breaker.onFailure();
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+        assertFalse(breaker.allowRequest());
+
+        now[0] = 100;
+        assertTrue(breaker.allowRequest());
+        assertEquals(CircuitBreaker.State.HALF_OPEN, breaker.getState());
+        assertFalse(breaker.allowRequest());
+
+        // La prueba falla: vuelve a abrirse sin esperar al umbral
+        breaker.onFailure();
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+        assertFalse(breaker.allowRequest());
+    }
+
+    private Request get(String path) {
+        return new Request.Builder().url(baseUrl() + path).build();
+    }
+
+    private Request post(String idempotencyKey) {
+        Request.Builder builder = new Request.Builder()
+                .url(baseUrl() + "api/deck/jobs/")
+                .post(RequestBody.create("{}", MediaType.get("application/json")));
+        if (idempotencyKey != null) {
+            builder.header("Idempotency-Key", idempotencyKey);
+        }
+        return builder.build();
+    }
+
+    private String baseUrl() {
+        return "http://127.0.0.1:" + server.getAddress().getPort() + "/";
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        requests.incrementAndGet();
+        Integer code = codes.poll();
+        int status = code != null ? code : 200;
+        if (retryAfter != null && status == 429) {
+            exchange.getResponseHeaders().set("Retry-After", retryAfter);
+        }
+        byte[] body = "{}".getBytes(StandardCharsets.UTF_8);
+        exchange.sendResponseHeaders(status, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+        exchange.close();
+    }
+}
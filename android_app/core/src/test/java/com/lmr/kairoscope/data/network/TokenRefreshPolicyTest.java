@@ -0,0 +1,38 @@
+package com.lmr.kairoscope.data.network;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+/**
+ * Pruebas de {@link TokenRefreshPolicy}: márgenes de uso y de renovación anticipada.
+ */
+public class TokenRefreshPolicyTest {
+
+    private final TokenRefreshPolicy policy = new TokenRefreshPolicy(5_000, 1_000);
+
+    @Test
+    public void freshTokenIsUsedWithoutRefreshing() {
+        assertTrue(policy.isUsable(10_000, 0));
+        assertFalse(policy.shouldRefresh(10_000, 0));
+    }
+
+    @Test
+    public void tokenCloseToExpiryIsUsedButRefreshedAhead() {
+        assertTrue(policy.isUsable(3_000, 0));
+        assertTrue(policy.shouldRefresh(3_000, 0));
+    }
+
+    @Test
+    public void tokenInsideMinValidityIsNotUsable() {
+        assertFalse(policy.isUsable(1_000, 0));
+        assertFalse(policy.isUsable(500, 1_000));
+        assertTrue(policy.shouldRefresh(500, 1_000));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsRefreshMarginShorterThanValidity() {
+        new TokenRefreshPolicy(1_000, 5_000);
+    }
+}
@@ -0,0 +1,422 @@
+package com.lmr.kairoscope.data.repository;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import com.google.gson.Gson;
+import com.lmr.kairoscope.data.model.Card;
+import com.lmr.kairoscope.data.model.Deck;
+import com.lmr.kairoscope.data.model.DeckCreationRequest;
+import com.lmr.kairoscope.data.model.DeckDetailResponse;
+import com.lmr.kairoscope.data.model.DeckJob;
+import com.lmr.kairoscope.data.model.DeckResponse;
+import com.lmr.kairoscope.data.network.ApiService;
+import com.lmr.kairoscope.data.network.TokenSource;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import retrofit2.Retrofit;
+import retrofit2.converter.gson.GsonConverterFactory;
+
+/**
+ * Pruebas de {@link CachedDeckSource} en la JVM: la creación contra {@link StandInDeckServer},
+ * y cachés, pool y precarga sobre una base de datos en memoria con executors directos.
+ */
+public class CachedDeckSourceTest {
+
+    private static final String UID = "user-1";
+
+    private StandInDeckServer server;
+    private ExecutorService executor;
+    private ScheduledExecutorService scheduler;
+    private final InMemoryDeckStore store = new InMemoryDeckStore();
+    private final FakeNetwork network = new FakeNetwork();
+    private final FakeKeys keys = new FakeKeys();
+    private final FakeWeights weights = new FakeWeights();
+    private final FakeTokens tokens = new FakeTokens();
+    private CachedDeckSource source;
+
+    @Before
+    public void setUp() throws IOException {
+        server = new StandInDeckServer(50, 20, 40, 60, 80);
+        ApiService apiService = new Retrofit.Builder()
+                .baseUrl(server.baseUrl())
+                .addConverterFactory(GsonConverterFactory.create())
+                .build()
+                .create(ApiService.class);
+        executor = Executors.newCachedThreadPool();
+        scheduler = Executors.newSingleThreadScheduledExecutor();
+        source = new CachedDeckSource(apiService, store, network, keys, weights, tokens,
+                new DeckJobStreamer(apiService, executor, new Gson(), 10, 100, 3),
+                new DeckJobPoller(apiService, scheduler),
+                Runnable::run, Runnable::run, 1024 * 1024);
+    }
+
+    @After
+    public void tearDown() {
+        executor.shutdownNow();
+        scheduler.shutdownNow();
+        server.close();
+    }
+
+    @Test
+    public void createdDeckIsStoredWithStreamedCards() throws Exception {
+        RecordingCreation creation = new RecordingCreation();
+        source.createDeck(UID, request(), creation);
+
+        assertTrue(creation.await());
+        assertTrue(creation.result.isSuccess());
+        assertEquals(4, creation.cards.size());
+        assertEquals(1, creation.batchResets.get());
+        assertEquals(DeckJob.STATUS_COMPLETED, creation.progress.get(creation.progress.size() - 1).getStatus());
+
+        Deck saved = store.getDeck(UID, StandInDeckServer.DECK_ID);
+        assertNotNull(saved);
+        assertEquals(StandInDeckServer.DECK_NAME, saved.getName());
+        assertEquals(4, saved.getCards().size());
+        assertEquals("Carta 3", saved.getCards().get(3).getText());
+        // Respuesta definitiva: la clave se olvida
+        assertTrue(keys.keys.isEmpty());
+    }
+
+    @Test
+    public void offlineCreationIsHandedOverWithItsKey() {
+        network.online = false;
+        RecordingCreation creation = new RecordingCreation();
+
+        source.createDeck(UID, request(), creation);
+
+        assertNotNull(creation.queuedKey);
+        assertNull(creation.result);
+        assertNull(creation.progress.get(creation.progress.size() - 1));
+        assertEquals(0, server.createdJobs());
+        // La clave viaja con la solicitud guardada; una nueva igual tendrá otra
+        assertTrue(keys.keys.isEmpty());
+    }
+
+    @Test
+    public void detailIsServedFromDiskAndKeptInMemory() {
+        store.replaceDeckDetail(UID, deck(7, "Música", 3));
+        network.online = false;
+        AtomicReference<DeckDetailResponse> delivered = new AtomicReference<>();
+
+        source.loadDeckDetail(UID, 7, CachePolicy.CACHE_FIRST, null, callback(delivered));
+
+        assertEquals(3, delivered.get().getDeck().getCards().size());
+        assertTrue(source.hasCachedDeckDetail(UID, 7));
+        assertFalse(source.hasCachedDeckDetail("user-2", 7));
+
+        source.trimMemory(true);
+        assertFalse(source.hasCachedDeckDetail(UID, 7));
+    }
+
+    @Test
+    public void visiblePrefetchWaitsForUnmeteredNetwork() {
+        network.prefetch = false;
+        source.prefetchDeckDetail(UID, 7, false);
+        assertEquals(0, tokens.prefetches.get());
+
+        // Pendiente de crear: aún no existe en el servidor
+        source.prefetchDeckDetail(UID, -1, true);
+        assertEquals(0, tokens.prefetches.get());
+
+        store.replaceDeckDetail(UID, deck(7, "Música", 3));
+        source.prefetchDeckDetail(UID, 7, true);
+        assertEquals(1, tokens.prefetches.get());
+        assertTrue(source.hasCachedDeckDetail(UID, 7));
+    }
+
+    @Test
+    public void drawPoolFollowsDeletesRestoresAndWeights() {
+        store.replaceDeckDetail(UID, deck(1, "Música", 2));
+        store.replaceDeckDetail(UID, deck(2, "Pintura", 3));
+        AtomicReference<DeckDrawPool> loaded = new AtomicReference<>();
+        source.loadDrawPool(UID, loaded::set);
+        DeckDrawPool pool = loaded.get();
+        assertEquals(2, pool.getDeckCount());
+        assertEquals(5, pool.getCardCount());
+
+        source.setDisciplineDrawWeight(UID, deck(1, "Música", 0), 3);
+        assertEquals(3, source.getDrawWeight(UID, deck(1, "Música", 0)), 0);
+
+        store.deleted.add(1);
+        source.onDeckDeleted(UID, 1);
+        assertEquals(1, pool.getDeckCount());
+
+        store.deleted.remove(Integer.valueOf(1));
+        source.onDeckRestored(UID, 1);
+        assertEquals(2, pool.getDeckCount());
+        assertEquals(3, pool.getWeight(deck(1, "Música", 0)), 0);
+    }
+
+    private static DeckCreationRequest request() {
+        return new DeckCreationRequest("Música", "Bloqueo al componer", "#3F51B5");
+    }
+
+    private static Deck deck(int id, String discipline, int cardCount) {
+        List<Card> cards = new ArrayList<>();
+        for (int i = 0; i < cardCount; i++) {
+            cards.add(new Card(id * 100 + i, "Carta " + i));
+        }
+        return new Deck(id, "Baraja " + id, discipline, null, "#000000",
+                "2024-05-01T10:00:00Z", cardCount, cards);
+    }
+
+    private static <T> CachedLoader.ResultCallback<T> callback(AtomicReference<T> delivered) {
+        return new CachedLoader.ResultCallback<T>() {
+            @Override
+            public void onSuccess(T value) {
+                delivered.set(value);
+            }
+
+            @Override
+            public void onError() {
+                // La prueba comprueba que no se entregó nada
+            }
+        };
+    }
+
+    private static final class RecordingCreation implements DeckSource.CreationListener {
+        final List<DeckJob> progress = new CopyOnWriteArrayList<>();
+        final List<Card> cards = new CopyOnWriteArrayList<>();
+        final AtomicInteger batchResets = new AtomicInteger();
+        final CountDownLatch finished = new CountDownLatch(1);
+        volatile DeckResponse result;
+        volatile String queuedKey;
+
+        @Override
+        public void onProgress(DeckJob job) {
+            progress.add(job);
+        }
+
+        @Override
+        public void onCards(List<Card> batch) {
+            if (batch == null) {
+                batchResets.incrementAndGet();
+            } else {
+                cards.addAll(batch);
+            }
+        }
+
+        @Override
+        public void onResult(DeckResponse response) {
+            result = response;
+            finished.countDown();
+        }
+
+        @Override
+        public void onQueuedOffline(String uid, DeckCreationRequest request, String idempotencyKey) {
+            queuedKey = idempotencyKey;
+        }
+
+        boolean await() throws InterruptedException {
+            return finished.await(10, TimeUnit.SECONDS);
+        }
+    }
+
+    /**
+     * Base de datos local en memoria con la misma semántica que la de Room.
+     */
+    private static final class InMemoryDeckStore implements LocalDeckStore {
+        private final Map<Integer, Deck> decks = new LinkedHashMap<>();
+        private final Map<Integer, TreeMap<Integer, Card>> cards = new HashMap<>();
+        // Barajas con borrado pendiente: siguen guardadas pero no se listan
+        final List<Integer> deleted = new CopyOnWriteArrayList<>();
+
+        @Override
+        public synchronized List<Deck> getDecks(String uid) {
+            List<Deck> result = new ArrayList<>();
+            for (Deck deck : decks.values()) {
+                if (!deleted.contains(deck.getId())) {
+                    result.add(copy(deck, null));
+                }
+            }
+            return result;
+        }
+
+        @Override
+        public synchronized Deck getDeck(String uid, int deckId) {
+            Deck deck = decks.get(deckId);
+            TreeMap<Integer, Card> deckCards = cards.get(deckId);
+            if (deck == null || deckCards == null || deckCards.isEmpty()) {
+                return null;
+            }
+            return copy(deck, new ArrayList<>(deckCards.values()));
+        }
+
+        @Override
+        public synchronized void replaceDeckList(String uid, List<Deck> newDecks) {
+            decks.clear();
+            for (Deck deck : newDecks) {
+                decks.put(deck.getId(), copy(deck, null));
+            }
+        }
+
+        @Override
+        public synchronized void replaceDeckDetail(String uid, Deck deck) {
+            decks.put(deck.getId(), copy(deck, null));
+            TreeMap<Integer, Card> deckCards = new TreeMap<>();
+            if (deck.getCards() != null) {
+                for (int i = 0; i < deck.getCards().size(); i++) {
+                    deckCards.put(i, deck.getCards().get(i));
+                }
+            }
+            cards.put(deck.getId(), deckCards);
+        }
+
+        @Override
+        public synchronized void upsertDeck(String uid, Deck deck) {
+            decks.put(deck.getId(), copy(deck, null));
+        }
+
+        @Override
+        public synchronized void appendCards(String uid, int deckId, Map<Integer, Card> cardsByPosition) {
+            if (decks.containsKey(deckId)) {
+                cards.computeIfAbsent(deckId, id -> new TreeMap<>()).putAll(cardsByPosition);
+            }
+        }
+
+        @Override
+        public synchronized void renameDeck(String uid, int deckId, String name) {
+            Deck deck = decks.get(deckId);
+            if (deck != null) {
+                deck.setName(name);
+            }
+        }
+
+        @Override
+        public synchronized void deleteDeck(String uid, int deckId) {
+            decks.remove(deckId);
+            cards.remove(deckId);
+        }
+
+        @Override
+        public synchronized void deleteCards(int deckId) {
+            cards.remove(deckId);
+        }
+
+        private static Deck copy(Deck deck, List<Card> deckCards) {
+            return new Deck(deck.getId(), deck.getName(), deck.getDiscipline(), deck.getBlock_description(),
+                    deck.getChosen_color(), deck.getCreated_at(), deck.getCard_count(), deckCards);
+        }
+    }
+
+    private static final class FakeNetwork implements NetworkStatus {
+        volatile boolean online = true;
+        volatile boolean prefetch = true;
+
+        @Override
+        public boolean isOnline() {
+            return online;
+        }
+
+        @Override
+        public boolean shouldPrefetch() {
+            return online && prefetch;
+        }
+
+        @Override
+        public boolean isMetered() {
+            return false;
+        }
+    }
+
+    private static final class FakeKeys implements IdempotencyKeys {
+        final Map<String, String> keys = new HashMap<>();
+        private int nextKey;
+
+        @Override
+        public synchronized String keyFor(String fingerprint) {
+            return keys.computeIfAbsent(fingerprint, f -> "key-" + nextKey++);
+        }
+
+        @Override
+        public synchronized void clear(String key) {
+            keys.values().remove(key);
+        }
+    }
+
+    private static final class FakeWeights implements DrawWeights {
+        private final Map<String, Double> weights = new HashMap<>();
+
+        @Override
+        public synchronized void applyTo(String uid, DeckDrawPool pool) {
+            for (Map.Entry<String, Double> entry : weights.entrySet()) {
+                String[] parts = entry.getKey().split(":", 2);
+                if ("deck".equals(parts[0])) {
+                    pool.setDeckWeight(Integer.parseInt(parts[1]), entry.getValue());
+                } else {
+                    pool.setDisciplineWeight(parts[1], entry.getValue());
+                }
+            }
+        }
+
+        @Override
+        public synchronized Double getDeckWeight(String uid, int deckId) {
+            return weights.get("deck:" + deckId);
+        }
+
+        @Override
+        public synchronized Double getDisciplineWeight(String uid, String discipline) {
+            return weights.get("discipline:" + discipline);
+        }
+
+        @Override
+        public synchronized void setDeckWeight(String uid, int deckId, Double weight) {
+            set("deck:" + deckId, weight);
+        }
+
+        @Override
+        public synchronized void setDisciplineWeight(String uid, String discipline, Double weight) {
+            set("discipline:" + discipline, weight);
+        }
+
+        private void set(String key, Double weight) {
+            if (weight == null) {
+                weights.remove(key);
+            } else {
+                weights.put(key, weight);
+            }
+        }
+    }
+
+    private static final class FakeTokens implements TokenSource {
+        final AtomicInteger prefetches = new AtomicInteger();
+
+        @Override
+        public String getToken() {
+            return "t1";
+        }
+
+        @Override
+        public String refreshToken() {
+            return "t1";
+        }
+
+        @Override
+        public void prefetch() {
+            prefetches.incrementAndGet();
+        }
+    }
+}
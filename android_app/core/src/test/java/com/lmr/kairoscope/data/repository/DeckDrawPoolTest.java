@@ -0,0 +1,135 @@
+package com.lmr.kairoscope.data.repository;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import com.lmr.kairoscope.data.model.Card;
+import com.lmr.kairoscope.data.model.Deck;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Pruebas de {@link DeckDrawPool}: pesos por baraja y por disciplina,
+ * altas y bajas de barajas entre extracciones.
+ */
+public class DeckDrawPoolTest {
+
+    private static final int SAMPLES = 200_000;
+
+    @Test
+    public void defaultWeightsMakeEveryCardEquallyLikely() {
+        DeckDrawPool pool = new DeckDrawPool();
+        pool.putDeck(deck(1, "Música", 100));
+        pool.putDeck(deck(2, "Pintura", 300));
+
+        int[] perDeck = drawPerDeck(pool, 3, new Random(1));
+        // 100 de 400 cartas
+        assertEquals(0.25, perDeck[1] / (double) SAMPLES, 0.01);
+        assertEquals(400, pool.getCardCount());
+    }
+
+    @Test
+    public void deckWeightOverridesDisciplineWeight() {
+        DeckDrawPool pool = new DeckDrawPool();
+        pool.putDeck(deck(1, "Música", 100));
+        pool.putDeck(deck(2, "Música", 100));
+        pool.putDeck(deck(3, "Pintura", 100));
+        pool.setDisciplineWeight("Música", 3.0);
+        pool.setDeckWeight(2, 0.0);
+
+        int[] perDeck = drawPerDeck(pool, 4, new Random(2));
+        assertEquals(0, perDeck[2]);
+        assertEquals(0.75, perDeck[1] / (double) SAMPLES, 0.01);
+        assertEquals(0.0, pool.getWeight(deck(2, "Música", 1)), 0);
+        assertEquals(3.0, pool.getWeight(deck(1, "Música", 1)), 0);
+    }
+
+    @Test
+    public void removedDeckIsNoLongerDrawn() {
+        DeckDrawPool pool = new DeckDrawPool();
+        pool.putDeck(deck(1, "Música", 10));
+        pool.putDeck(deck(2, "Pintura", 20));
+        pool.putDeck(deck(3, "Danza", 30));
+        pool.draw(new Random(3));
+
+        pool.removeDeck(1);
+        int[] perDeck = drawPerDeck(pool, 4, new Random(4));
+        assertEquals(0, perDeck[1]);
+        assertEquals(0.4, perDeck[2] / (double) SAMPLES, 0.01);
+        assertEquals(50, pool.getCardCount());
+        assertEquals(2, pool.getDeckCount());
+    }
+
+    @Test
+    public void replacingADeckUpdatesItsCards() {
+        DeckDrawPool pool = new DeckDrawPool();
+        pool.putDeck(deck(1, "Música", 10));
+        pool.putDeck(deck(1, "Música", 30));
+        assertEquals(1, pool.getDeckCount());
+        assertEquals(30, pool.getCardCount());
+        assertNotNull(pool.find(1, 1029));
+    }
+
+    @Test
+    public void retainDecksDropsTheRest() {
+        DeckDrawPool pool = new DeckDrawPool();
+        for (int id = 1; id <= 5; id++) {
+            pool.putDeck(deck(id, "Música", 10));
+        }
+        pool.retainDecks(Arrays.asList(2, 4));
+        assertEquals(2, pool.getDeckCount());
+        assertNull(pool.find(1, 1000));
+        assertNotNull(pool.find(4, 4000));
+    }
+
+    @Test
+    public void allWeightsZeroDrawsNothing() {
+        DeckDrawPool pool = new DeckDrawPool();
+        assertNull(pool.draw(new Random(5)));
+        pool.putDeck(deck(1, "Música", 10));
+        pool.setDisciplineWeight("Música", 0.0);
+        assertNull(pool.draw(new Random(5)));
+        pool.setDisciplineWeight("Música", null);
+        assertNotNull(pool.draw(new Random(5)));
+    }
+
+    @Test
+    public void drawReturnsTheCardsDeck() {
+        DeckDrawPool pool = new DeckDrawPool();
+        pool.putDeck(deck(1, "Música", 10));
+        pool.putDeck(deck(2, "Pintura", 10));
+        Random random = new Random(6);
+        for (int i = 0; i < 1000; i++) {
+            DeckDrawPool.Draw draw = pool.draw(random);
+            assertTrue(draw.getCard().getId() / 1000 == draw.getDeck().getId());
+        }
+    }
+
+    /**
+     * Baraja con cartas de id deckId * 1000 + posición.
+     */
+    private static Deck deck(int id, String discipline, int cards) {
+        List<Card> list = new ArrayList<>(cards);
+        for (int i = 0; i < cards; i++) {
+            list.add(new Card(id * 1000 + i, "Carta " + i));
+        }
+        Deck deck = new Deck(id, "Baraja " + id, discipline, "#3F51B5", "2024-05-01T10:00:00Z", cards);
+        deck.setCards(list);
+        return deck;
+    }
+
+    private static int[] drawPerDeck(DeckDrawPool pool, int maxDeckId, Random random) {
+        int[] counts = new int[maxDeckId];
+        for (int i = 0; i < SAMPLES; i++) {
+            counts[pool.draw(random).getDeck().getId()]++;
+        }
+        return counts;
+    }
+}
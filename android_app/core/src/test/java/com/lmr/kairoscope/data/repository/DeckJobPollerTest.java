@@ -0,0 +1,201 @@
+package com.lmr.kairoscope.data.repository;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import com.google.gson.JsonObject;
+import com.lmr.kairoscope.data.model.DeckJob;
+import com.lmr.kairoscope.data.model.DeckJobResponse;
+import com.lmr.kairoscope.data.network.ApiService;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import retrofit2.Response;
+import retrofit2.Retrofit;
+import retrofit2.converter.gson.GsonConverterFactory;
+
+/**
+ * Pruebas del sondeo de trabajos de generación contra {@link StandInDeckServer}.
+ */
+public class DeckJobPollerTest {
+
+    private static final int WAIT_SECONDS = 2;
+    private static final long INITIAL_BACKOFF_MS = 10;
+    private static final long MAX_BACKOFF_MS = 100;
+    private static final int MAX_FAILURES = 3;
+
+    private StandInDeckServer server;
+    private ApiService apiService;
+    private ScheduledExecutorService scheduler;
+    private DeckJobPoller poller;
+
+    @Before
+    public void setUp() throws IOException {
+        server = new StandInDeckServer(50, 20, 50, 80);
+        apiService = new Retrofit.Builder()
+                .baseUrl(server.baseUrl())
+                .addConverterFactory(GsonConverterFactory.create())
+                .build()
+                .create(ApiService.class);
+        scheduler = Executors.newSingleThreadScheduledExecutor();
+        poller = new DeckJobPoller(apiService, scheduler, WAIT_SECONDS,
+                INITIAL_BACKOFF_MS, MAX_BACKOFF_MS, MAX_FAILURES);
+    }
+
+    @After
+    public void tearDown() {
+        scheduler.shutdownNow();
+        server.close();
+    }
+
+    @Test
+    public void reportsProgressUntilCompleted() throws Exception {
+        RecordingListener listener = new RecordingListener();
+        poller.poll(submitJob(), listener);
+
+        assertTrue(listener.await());
+        assertNull(listener.failure);
+        assertNotNull(listener.completed);
+        assertEquals(StandInDeckServer.DECK_ID, listener.completed.getDeck().getId());
+        assertEquals(100, listener.completed.getProgress());
+
+        // El progreso llega en orden y nunca retrocede
+        assertFalse(listener.progress.isEmpty());
+        int last = 0;
+        for (int progress : listener.progress) {
+            assertTrue(progress >= last);
+            last = progress;
+        }
+        // Con long-polling basta una consulta por cambio de estado
+        assertTrue("Demasiadas consultas: " + server.pollCount(), server.pollCount() <= 6);
+    }
+
+    @Test
+    public void retriesAfterTransientErrors() throws Exception {
+        server.failNextPolls(2);
+        RecordingListener listener = new RecordingListener();
+        poller.poll(submitJob(), listener);
+
+        assertTrue(listener.await());
+        assertNull(listener.failure);
+        assertNotNull(listener.completed);
+        assertTrue(server.pollCount() >= 3);
+    }
+
+    @Test
+    public void givesUpAfterTooManyConsecutiveFailures() throws Exception {
+        server.failNextPolls(100);
+        RecordingListener listener = new RecordingListener();
+        poller.poll(submitJob(), listener);
+
+        assertTrue(listener.await());
+        assertNull(listener.completed);
+        assertNotNull(listener.failure);
+        assertEquals(MAX_FAILURES + 1, server.pollCount());
+    }
+
+    @Test
+    public void failsWhenServerForgetsTheJob() throws Exception {
+        DeckJob job = submitJob();
+        server.forgetJobs();
+        RecordingListener listener = new RecordingListener();
+        poller.poll(job, listener);
+
+        assertTrue(listener.await());
+        assertNull(listener.completed);
+        assertNotNull(listener.failure);
+        assertEquals(1, server.pollCount());
+    }
+
+    @Test
+    public void cancelStopsPolling() throws Exception {
+        RecordingListener listener = new RecordingListener();
+        Subscription subscription = poller.poll(submitJob(), listener);
+        subscription.cancel();
+
+        // El trabajo termina en el servidor, pero ya no se entrega a nadie
+        assertFalse(listener.finished.await(500, TimeUnit.MILLISECONDS));
+        int polls = server.pollCount();
+        Thread.sleep(200);
+        assertEquals(polls, server.pollCount());
+    }
+
+    @Test
+    public void retryWithSameIdempotencyKeyReturnsOriginalJob() throws Exception {
+        String key = UUID.randomUUID().toString();
+        Response<DeckJobResponse> first = apiService.createDeckJob(key, requestBody()).execute();
+        Response<DeckJobResponse> retry = apiService.createDeckJob(key, requestBody()).execute();
+
+        assertEquals(202, first.code());
+        assertEquals(200, retry.code());
+        assertNotNull(first.body());
+        assertNotNull(retry.body());
+        assertEquals(first.body().getJob().getJobId(), retry.body().getJob().getJobId());
+        assertEquals(1, server.createdJobs());
+
+        // Una clave nueva sí crea otro trabajo
+        apiService.createDeckJob(UUID.randomUUID().toString(), requestBody()).execute();
+        assertEquals(2, server.createdJobs());
+    }
+
+    private DeckJob submitJob() throws IOException {
+        Response<DeckJobResponse> response =
+                apiService.createDeckJob(UUID.randomUUID().toString(), requestBody()).execute();
+        assertEquals(202, response.code());
+        assertNotNull(response.body());
+        return response.body().getJob();
+    }
+
+    private static JsonObject requestBody() {
+        JsonObject body = new JsonObject();
+        body.addProperty("discipline", "Música");
+        body.addProperty("blockDescription", "Bloqueo general");
+        body.addProperty("color", "#e24939");
+        return body;
+    }
+
+    /**
+     * Receptor que guarda lo recibido y avisa al terminar.
+     */
+    private static class RecordingListener implements DeckJobPoller.Listener {
+        final List<Integer> progress = new CopyOnWriteArrayList<>();
+        final CountDownLatch finished = new CountDownLatch(1);
+        volatile DeckJob completed;
+        volatile String failure;
+
+        @Override
+        public void onProgress(DeckJob job) {
+            progress.add(job.getProgress());
+        }
+
+        @Override
+        public void onCompleted(DeckJob job) {
+            completed = job;
+            finished.countDown();
+        }
+
+        @Override
+        public void onFailed(String message) {
+            failure = message;
+            finished.countDown();
+        }
+
+        boolean await() throws InterruptedException {
+            return finished.await(10, TimeUnit.SECONDS);
+        }
+    }
+}
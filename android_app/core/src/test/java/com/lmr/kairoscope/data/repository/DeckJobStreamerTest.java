@@ -0,0 +1,191 @@
+package com.lmr.kairoscope.data.repository;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonObject;
+import com.lmr.kairoscope.data.model.Card;
+import com.lmr.kairoscope.data.model.DeckJob;
+import com.lmr.kairoscope.data.model.DeckJobResponse;
+import com.lmr.kairoscope.data.model.DeckResponse;
+import com.lmr.kairoscope.data.network.ApiService;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import retrofit2.Retrofit;
+import retrofit2.converter.gson.GsonConverterFactory;
+
+/**
+ * Pruebas de la lectura en streaming de cartas contra {@link StandInDeckServer}.
+ */
+public class DeckJobStreamerTest {
+
+    private StandInDeckServer server;
+    private ApiService apiService;
+    private ExecutorService executor;
+    private DeckJobStreamer streamer;
+
+    @Before
+    public void setUp() throws IOException {
+        server = new StandInDeckServer(50, 20, 40, 60, 80);
+        apiService = new Retrofit.Builder()
+                .baseUrl(server.baseUrl())
+                .addConverterFactory(GsonConverterFactory.create())
+                .build()
+                .create(ApiService.class);
+        executor = Executors.newCachedThreadPool();
+        streamer = new DeckJobStreamer(apiService, executor, new Gson(), 10, 100, 3);
+    }
+
+    @After
+    public void tearDown() {
+        executor.shutdownNow();
+        server.close();
+    }
+
+    @Test
+    public void deliversEveryCardInOrderOverOneConnection() throws Exception {
+        RecordingListener listener = new RecordingListener();
+        streamer.stream(submitJob(), listener);
+
+        assertTrue(listener.await());
+        assertNull(listener.failure);
+        assertNotNull(listener.completed);
+        assertEquals(StandInDeckServer.DECK_ID, listener.completed.getId());
+        assertEquals(StandInDeckServer.DECK_ID, listener.deckId);
+        assertCards(listener.cards, 4);
+        assertEquals(1, server.streamConnections());
+    }
+
+    @Test
+    public void resumesFromLastCardAfterDisconnect() throws Exception {
+        server.dropNextStreamAfter(2);
+        RecordingListener listener = new RecordingListener();
+        streamer.stream(submitJob(), listener);
+
+        assertTrue(listener.await());
+        assertNotNull(listener.completed);
+        // Ninguna carta se pierde ni se repite tras reconectar
+        assertCards(listener.cards, 4);
+        assertEquals(2, server.streamConnections());
+    }
+
+    @Test
+    public void failsWhenServerForgetsTheJob() throws Exception {
+        DeckJob job = submitJob();
+        server.forgetJobs();
+        RecordingListener listener = new RecordingListener();
+        streamer.stream(job, listener);
+
+        assertTrue(listener.await());
+        assertNull(listener.completed);
+        assertNotNull(listener.failure);
+    }
+
+    @Test
+    public void readerAcceptsFieldsInAnyOrderAndStopsAtFinalEvent() throws IOException {
+        String ndjson = "{\"type\":\"heartbeat\"}\n"
+                + "{\"text\":\"Primera\",\"id\":7,\"type\":\"card\",\"position\":0}\n"
+                + "{\"type\":\"progress\",\"progress\":40,\"stage\":\"generating_strategies\",\"extra\":[1,2]}\n"
+                + "{\"type\":\"completed\",\"deck\":{\"id\":3,\"name\":\"Nombre\"}}\n"
+                + "{\"type\":\"card\",\"position\":1,\"id\":8,\"text\":\"Ignorada\"}\n";
+        RecordingListener listener = new RecordingListener();
+
+        assertTrue(new DeckJobStreamReader(new Gson()).read(new StringReader(ndjson), listener));
+        assertEquals(1, listener.cards.size());
+        assertEquals(7, listener.cards.get(0).getId());
+        assertEquals("Primera", listener.cards.get(0).getText());
+        assertEquals(Integer.valueOf(40), listener.progress.get(0));
+        assertEquals("Nombre", listener.completed.getName());
+    }
+
+    @Test
+    public void readerReportsStreamEndedWithoutFinalEvent() throws IOException {
+        String ndjson = "{\"type\":\"card\",\"position\":0,\"id\":1,\"text\":\"Sola\"}\n";
+        RecordingListener listener = new RecordingListener();
+
+        assertFalse(new DeckJobStreamReader(new Gson()).read(new StringReader(ndjson), listener));
+        assertEquals(1, listener.cards.size());
+        assertNull(listener.completed);
+    }
+
+    private static void assertCards(List<Card> cards, int expected) {
+        assertEquals(expected, cards.size());
+        for (int i = 0; i < expected; i++) {
+            assertEquals("Carta " + i, cards.get(i).getText());
+        }
+    }
+
+    private DeckJob submitJob() throws IOException {
+        JsonObject body = new JsonObject();
+        body.addProperty("discipline", "Música");
+        DeckJobResponse response = apiService.createDeckJob(UUID.randomUUID().toString(), body).execute().body();
+        assertNotNull(response);
+        return response.getJob();
+    }
+
+    /**
+     * Receptor que guarda lo recibido y avisa al terminar.
+     */
+    private static class RecordingListener implements DeckJobStreamer.Listener {
+        final List<Card> cards = new CopyOnWriteArrayList<>();
+        final List<Integer> progress = new CopyOnWriteArrayList<>();
+        final CountDownLatch finished = new CountDownLatch(1);
+        volatile int deckId = -1;
+        volatile DeckResponse.DeckInfo completed;
+        volatile String failure;
+
+        @Override
+        public void onDeck(int id) {
+            deckId = id;
+        }
+
+        @Override
+        public void onCard(int position, Card card) {
+            cards.add(card);
+        }
+
+        @Override
+        public void onProgress(int value, String stage) {
+            progress.add(value);
+        }
+
+        @Override
+        public void onCompleted(DeckResponse.DeckInfo deck) {
+            completed = deck;
+            finished.countDown();
+        }
+
+        @Override
+        public void onFailed(String error) {
+            failure = error;
+            finished.countDown();
+        }
+
+        @Override
+        public void onStreamUnavailable() {
+            failure = "stream unavailable";
+            finished.countDown();
+        }
+
+        boolean await() throws InterruptedException {
+            return finished.await(10, TimeUnit.SECONDS);
+        }
+    }
+}
@@ -0,0 +1,358 @@
+package com.lmr.kairoscope.data.repository;
+
+import com.google.gson.JsonObject;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Servidor local que imita los endpoints de trabajos de generación del backend.
+ * Cada trabajo avanza por los porcentajes indicados cada stepMillis y termina
+ * con una baraja ficticia; cada paso genera una carta. Admite long-polling con
+ * ?since=&wait=, el stream NDJSON con ?from= y la cabecera Idempotency-Key igual que Django.
+ */
+final class StandInDeckServer implements AutoCloseable {
+
+    static final int DECK_ID = 42;
+    static final String DECK_NAME = "Baraja de prueba";
+
+    private static final String JOBS_PATH = "/api/deck/jobs/";
+
+    private final HttpServer server;
+    private final ExecutorService requestExecutor = Executors.newCachedThreadPool();
+    private final ScheduledExecutorService ticker = Executors.newSingleThreadScheduledExecutor();
+    private final Map<String, Job> jobs = new ConcurrentHashMap<>();
+    private final Map<String, Job> jobsByKey = new ConcurrentHashMap<>();
+    private final AtomicInteger createdJobs = new AtomicInteger();
+    private final AtomicInteger pollCount = new AtomicInteger();
+    private final AtomicInteger failuresToInject = new AtomicInteger();
+    private final AtomicInteger streamConnections = new AtomicInteger();
+    private final AtomicInteger dropStreamAfterCards = new AtomicInteger(-1);
+    private final long stepMillis;
+    private final int[] progressSteps;
+
+    StandInDeckServer(long stepMillis, int... progressSteps) throws IOException {
+        this.stepMillis = stepMillis;
+        this.progressSteps = progressSteps;
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        server.createContext(JOBS_PATH, this::handle);
+        // Varios hilos: un long-poll no debe bloquear al resto de peticiones
+        server.setExecutor(requestExecutor);
+        server.start();
+    }
+
+    String baseUrl() {
+        return "http://127.0.0.1:" + server.getAddress().getPort() + "/";
+    }
+
+    /**
+     * Las próximas n consultas de estado responden 503.
+     */
+    void failNextPolls(int n) {
+        failuresToInject.set(n);
+    }
+
+    /**
+     * Olvida todos los trabajos, como tras un reinicio del servidor.
+     */
+    void forgetJobs() {
+        jobs.clear();
+        jobsByKey.clear();
+    }
+
+    /**
+     * Trabajos creados de verdad (sin contar las respuestas repetidas por idempotencia).
+     */
+    int createdJobs() {
+        return createdJobs.get();
+    }
+
+    int pollCount() {
+        return pollCount.get();
+    }
+
+    int streamConnections() {
+        return streamConnections.get();
+    }
+
+    /**
+     * La próxima conexión de streaming se corta tras enviar n cartas.
+     */
+    void dropNextStreamAfter(int cards) {
+        dropStreamAfterCards.set(cards);
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        ticker.shutdownNow();
+        requestExecutor.shutdownNow();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try {
+            String path = exchange.getRequestURI().getPath();
+            if ("POST".equals(exchange.getRequestMethod()) && JOBS_PATH.equals(path)) {
+                createJob(exchange);
+            } else if ("GET".equals(exchange.getRequestMethod()) && path.endsWith("/stream/")) {
+                String jobId = path.substring(JOBS_PATH.length(), path.length() - "/stream/".length());
+                streamJob(exchange, jobId);
+            } else if ("GET".equals(exchange.getRequestMethod()) && path.length() > JOBS_PATH.length()) {
+                String jobId = path.substring(JOBS_PATH.length()).replace("/", "");
+                getJob(exchange, jobId);
+            } else {
+                send(exchange, 405, error("Método no permitido"));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            send(exchange, 503, error("Servidor detenido"));
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private void createJob(HttpExchange exchange) throws IOException {
+        // Consumir el cuerpo para que el cliente termine de enviarlo
+        byte[] buffer = new byte[1024];
+        try (InputStream in = exchange.getRequestBody()) {
+            while (in.read(buffer) != -1) {
+                // descartar
+            }
+        }
+
+        String idempotencyKey = exchange.getRequestHeaders().getFirst("Idempotency-Key");
+        if (idempotencyKey != null) {
+            Job existing = jobsByKey.get(idempotencyKey);
+            if (existing != null) {
+                JsonObject body = new JsonObject();
+                body.addProperty("status", "success");
+                body.addProperty("replayed", true);
+                body.add("job", existing.toJson());
+                send(exchange, 200, body);
+                return;
+            }
+        }
+
+        Job job = new Job();
+        jobs.put(job.id, job);
+        createdJobs.incrementAndGet();
+        if (idempotencyKey != null) {
+            jobsByKey.put(idempotencyKey, job);
+        }
+        for (int i = 0; i < progressSteps.length; i++) {
+            final int progress = progressSteps[i];
+            ticker.schedule(() -> job.advance(progress), stepMillis * (i + 1), TimeUnit.MILLISECONDS);
+        }
+        ticker.schedule(job::complete, stepMillis * (progressSteps.length + 1), TimeUnit.MILLISECONDS);
+
+        JsonObject body = new JsonObject();
+        body.addProperty("status", "success");
+        body.add("job", job.toJson());
+        send(exchange, 202, body);
+    }
+
+    private void getJob(HttpExchange exchange, String jobId) throws IOException, InterruptedException {
+        pollCount.incrementAndGet();
+        if (failuresToInject.getAndUpdate(n -> Math.max(0, n - 1)) > 0) {
+            send(exchange, 503, error("No disponible"));
+            return;
+        }
+
+        Job job = jobs.get(jobId);
+        if (job == null) {
+            send(exchange, 404, error("Trabajo no encontrado"));
+            return;
+        }
+
+        Map<String, String> query = parseQuery(exchange.getRequestURI().getRawQuery());
+        int since = Integer.parseInt(query.getOrDefault("since", "-1"));
+        long waitMillis = TimeUnit.SECONDS.toMillis(Long.parseLong(query.getOrDefault("wait", "0")));
+
+        JsonObject body = new JsonObject();
+        body.addProperty("status", "success");
+        body.add("job", job.awaitChange(since, waitMillis));
+        send(exchange, 200, body);
+    }
+
+    private void streamJob(HttpExchange exchange, String jobId) throws IOException, InterruptedException {
+        streamConnections.incrementAndGet();
+        Job job = jobs.get(jobId);
+        if (job == null) {
+            send(exchange, 404, error("Trabajo no encontrado"));
+            return;
+        }
+
+        Map<String, String> query = parseQuery(exchange.getRequestURI().getRawQuery());
+        int sentCards = Integer.parseInt(query.getOrDefault("from", "0"));
+        int dropAfter = dropStreamAfterCards.getAndSet(-1);
+
+        exchange.getResponseHeaders().set("Content-Type", "application/x-ndjson");
+        // Longitud 0: respuesta chunked, cada evento se envía en cuanto se escribe
+        exchange.sendResponseHeaders(200, 0);
+        try (OutputStream out = exchange.getResponseBody()) {
+            writeEvent(out, event("deck", "deck_id", DECK_ID));
+            int seenVersion = -1;
+            int cardsThisConnection = 0;
+            while (true) {
+                Job.Snapshot snapshot = job.awaitSnapshot(seenVersion, 5000);
+                seenVersion = snapshot.version;
+                for (; sentCards < snapshot.cards; sentCards++) {
+                    if (cardsThisConnection++ == dropAfter) {
+                        // Corte simulado: cerrar sin evento final
+                        return;
+                    }
+                    JsonObject card = event("card", "position", sentCards);
+                    card.addProperty("id", 1000 + sentCards);
+                    card.addProperty("text", "Carta " + sentCards);
+                    writeEvent(out, card);
+                }
+                if (snapshot.completed) {
+                    JsonObject completed = event("completed", null, 0);
+                    completed.add("deck", snapshot.json.get("deck"));
+                    writeEvent(out, completed);
+                    return;
+                }
+                JsonObject progress = event("progress", "progress", snapshot.json.get("progress").getAsInt());
+                progress.addProperty("stage", snapshot.json.get("stage").getAsString());
+                writeEvent(out, progress);
+            }
+        }
+    }
+
+    private static JsonObject event(String type, String field, int value) {
+        JsonObject event = new JsonObject();
+        event.addProperty("type", type);
+        if (field != null) {
+            event.addProperty(field, value);
+        }
+        return event;
+    }
+
+    private static void writeEvent(OutputStream out, JsonObject event) throws IOException {
+        out.write((event.toString() + "\n").getBytes(StandardCharsets.UTF_8));
+        out.flush();
+    }
+
+    private static Map<String, String> parseQuery(String rawQuery) {
+        Map<String, String> params = new HashMap<>();
+        if (rawQuery == null) {
+            return params;
+        }
+        for (String pair : rawQuery.split("&")) {
+            int eq = pair.indexOf('=');
+            if (eq > 0) {
+                params.put(pair.substring(0, eq), pair.substring(eq + 1));
+            }
+        }
+        return params;
+    }
+
+    private static JsonObject error(String message) {
+        JsonObject body = new JsonObject();
+        body.addProperty("error", message);
+        return body;
+    }
+
+    private static void send(HttpExchange exchange, int code, JsonObject body) throws IOException {
+        byte[] bytes = body.toString().getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(code, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    /**
+     * Trabajo simulado; su monitor sirve para despertar los long-polls.
+     */
+    private static final class Job {
+        final String id = UUID.randomUUID().toString().replace("-", "");
+        private String status = "pending";
+        private String stage = "queued";
+        private int progress;
+        private int version;
+        private int cards;
+
+        synchronized void advance(int newProgress) {
+            status = "running";
+            stage = "generating_strategies";
+            progress = newProgress;
+            cards++;
+            version++;
+            notifyAll();
+        }
+
+        synchronized void complete() {
+            status = "completed";
+            stage = "done";
+            progress = 100;
+            version++;
+            notifyAll();
+        }
+
+        synchronized JsonObject awaitChange(int since, long waitMillis) throws InterruptedException {
+            long deadline = System.currentTimeMillis() + waitMillis;
+            while (version <= since && !"completed".equals(status)) {
+                long remaining = deadline - System.currentTimeMillis();
+                if (remaining <= 0) {
+                    break;
+                }
+                wait(remaining);
+            }
+            return toJson();
+        }
+
+        synchronized Snapshot awaitSnapshot(int since, long waitMillis) throws InterruptedException {
+            awaitChange(since, waitMillis);
+            return new Snapshot(version, cards, "completed".equals(status), toJson());
+        }
+
+        synchronized JsonObject toJson() {
+            JsonObject json = new JsonObject();
+            json.addProperty("job_id", id);
+            json.addProperty("status", status);
+            json.addProperty("progress", progress);
+            json.addProperty("stage", stage);
+            json.addProperty("version", version);
+            if ("completed".equals(status)) {
+                JsonObject deck = new JsonObject();
+                deck.addProperty("id", DECK_ID);
+                deck.addProperty("name", DECK_NAME);
+                json.add("deck", deck);
+            }
+            return json;
+        }
+
+        /**
+         * Estado leído de forma atómica para el stream.
+         */
+        static final class Snapshot {
+            final int version;
+            final int cards;
+            final boolean completed;
+            final JsonObject json;
+
+            Snapshot(int version, int cards, boolean completed, JsonObject json) {
+                this.version = version;
+                this.cards = cards;
+                this.completed = completed;
+                this.json = json;
+            }
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package com.lmr.kairoscope.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+/**
+ * Pruebas de {@link AliasSampler}: frecuencias proporcionales a los pesos,
+ * pesos cero y validación de entradas.
+ */
+public class AliasSamplerTest {
+
+    private static final int SAMPLES = 1_000_000;
+
+    @Test
+    public void frequenciesFollowWeights() {
+        double[] weights = {1, 2, 3, 4, 0.5};
+        double total = 10.5;
+        int[] counts = sample(new AliasSampler(weights), weights.length, new Random(3));
+        for (int i = 0; i < weights.length; i++) {
+            double expected = weights[i] / total;
+            double observed = counts[i] / (double) SAMPLES;
+            assertEquals("index " + i, expected, observed, 0.005);
+        }
+    }
+
+    @Test
+    public void zeroWeightIsNeverSampled() {
+        double[] weights = {0, 5, 0, 1};
+        int[] counts = sample(new AliasSampler(weights), weights.length, new Random(11));
+        assertEquals(0, counts[0]);
+        assertEquals(0, counts[2]);
+        assertTrue(counts[1] > counts[3]);
+    }
+
+    @Test
+    public void singleWeightAlwaysWins() {
+        AliasSampler sampler = new AliasSampler(new double[]{0.25});
+        Random random = new Random(5);
+        for (int i = 0; i < 1000; i++) {
+            assertEquals(0, sampler.sample(random));
+        }
+    }
+
+    @Test
+    public void manySkewedWeights() {
+        // Muchas columnas pequeñas frente a una grande: el caso que más redondea
+        double[] weights = new double[10_000];
+        for (int i = 0; i < weights.length; i++) {
+            weights[i] = 1;
+        }
+        weights[0] = 10_000;
+        int[] counts = sample(new AliasSampler(weights), weights.length, new Random(17));
+        assertEquals(0.5, counts[0] / (double) SAMPLES, 0.005);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsEmptyWeights() {
+        new AliasSampler(new double[0]);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsAllZeroWeights() {
+        new AliasSampler(new double[]{0, 0});
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsNegativeWeights() {
+        new AliasSampler(new double[]{1, -1});
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsNaNWeights() {
+        new AliasSampler(new double[]{1, Double.NaN});
+    }
+
+    private static int[] sample(AliasSampler sampler, int size, Random random) {
+        int[] counts = new int[size];
+        for (int i = 0; i < SAMPLES; i++) {
+            counts[sampler.sample(random)]++;
+        }
+        return counts;
+    }
+}
@@ -0,0 +1,90 @@
+package com.lmr.kairoscope.util;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+/**
+ * Pruebas de {@link ShuffleBag}: cobertura por ciclo, reanudación desde un estado
+ * guardado y validación de estados corruptos.
+ */
+public class ShuffleBagTest {
+
+    @Test
+    public void everyIndexAppearsOncePerCycle() {
+        ShuffleBag bag = new ShuffleBag(52, new Random(1));
+        for (int cycle = 0; cycle < 20; cycle++) {
+            boolean[] seen = new boolean[52];
+            for (int i = 0; i < 52; i++) {
+                int index = bag.next();
+                assertTrue("repeated index " + index + " in cycle " + cycle, !seen[index]);
+                seen[index] = true;
+            }
+            assertEquals(0, bag.remaining());
+        }
+    }
+
+    @Test
+    public void lastIndexOfACycleIsNotFirstOfTheNext() {
+        ShuffleBag bag = new ShuffleBag(3, new Random(7));
+        int previous = -1;
+        for (int draw = 0; draw < 3000; draw++) {
+            boolean cycleStart = bag.remaining() == 0;
+            int index = bag.next();
+            if (cycleStart) {
+                assertNotEquals(previous, index);
+            }
+            previous = index;
+        }
+    }
+
+    @Test
+    public void restoredBagContinuesTheSameCycle() {
+        ShuffleBag original = new ShuffleBag(10, new Random(3));
+        original.next();
+        original.next();
+        original.next();
+
+        ShuffleBag restored = ShuffleBag.restore(original.getOrder(), original.getCursor(), new Random(99));
+        assertEquals(7, restored.remaining());
+        for (int i = 0; i < 7; i++) {
+            assertEquals(original.next(), restored.next());
+        }
+    }
+
+    @Test
+    public void savedOrderIsACopy() {
+        ShuffleBag bag = new ShuffleBag(5, new Random(5));
+        int[] saved = bag.getOrder();
+        saved[0] = -1;
+        assertArrayEquals(bag.getOrder(), ShuffleBag.restore(bag.getOrder(), 0, new Random()).getOrder());
+    }
+
+    @Test
+    public void singleCardBagAlwaysDrawsIt() {
+        ShuffleBag bag = new ShuffleBag(1, new Random());
+        for (int i = 0; i < 5; i++) {
+            assertEquals(0, bag.next());
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void restoreRejectsRepeatedIndexes() {
+        ShuffleBag.restore(new int[] {0, 1, 1}, 0, new Random());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void restoreRejectsCursorOutOfRange() {
+        ShuffleBag.restore(new int[] {0, 1, 2}, 4, new Random());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void emptyBagIsRejected() {
+        new ShuffleBag(0, new Random());
+    }
+}
@@ -0,0 +1,45 @@
+// Benchmarks de la app instalada contra un backend local (arranque, scroll de la biblioteca y
+// volteo de cartas) y generador del Baseline Profile de :app.
+//   ./gradlew :macrobenchmark:connectedBenchmarkReleaseAndroidTest
+//   ./gradlew :app:generateBaselineProfile
+plugins {
+    alias(libs.plugins.android.test)
+    alias(libs.plugins.baselineprofile)
+}
+
+android {
+    namespace = "com.lmr.kairoscope.macrobenchmark"
+    compileSdk = 35
+
+    defaultConfig {
+        minSdk = 26
+        //noinspection OldTargetApi
+        targetSdk = 34
+
+        testInstrumentationRunner = "androidx.test.runner.AndroidJUnitRunner"
+    }
+
+    compileOptions {
+        sourceCompatibility = JavaVersion.VERSION_1_8
+        targetCompatibility = JavaVersion.VERSION_1_8
+    }
+
+    // El plugin de Baseline Profile crea las builds benchmarkRelease (medir) y
+    // nonMinifiedRelease (generar el perfil) de :app y de este módulo
+    targetProjectPath = ":app"
+    // El APK de pruebas se instrumenta a sí mismo y lanza la app como un proceso aparte
+    experimentalProperties["android.experimental.self-instrumenting"] = true
+}
+
+dependencies {
+    implementation(libs.ext.junit)
+    implementation(libs.uiautomator)
+    implementation(libs.benchmark.macro.junit4)
+    // Backend de pruebas en el propio dispositivo
+    implementation(libs.mockwebserver)
+}
+
+baselineProfile {
+    // Dispositivo conectado: emulador, o físico con Android 13+ (o con root)
+    useConnectedDevices = true
+}
@@ -0,0 +1,103 @@
+package com.lmr.kairoscope.macrobenchmark;
+
+import androidx.benchmark.macro.junit4.BaselineProfileRule;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.platform.app.InstrumentationRegistry;
+import androidx.test.uiautomator.UiDevice;
+
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.io.IOException;
+
+import kotlin.Unit;
+
+/**
+ * Genera los perfiles de la app. Se lanza con ./gradlew :app:generateBaselineProfile, que
+ * copia el resultado a app/src/main/generated/baselineProfiles:
+ * <ul>
+ *     <li>{@link #startup()}: arranque hasta la pantalla de inicio. Va también al perfil de
+ *     arranque, cuyas clases dexLayoutOptimization agrupa en el DEX principal.</li>
+ *     <li>{@link #criticalJourneys()}: los caminos críticos (login, inicio, biblioteca,
+ *     detalle de baraja y robo de cartas), solo para el Baseline Profile.</li>
+ * </ul>
+ */
+@RunWith(AndroidJUnit4.class)
+public class BaselineProfileGenerator {
+
+    private static final int MAX_ITERATIONS = 15;
+    private static final int STABLE_ITERATIONS = 3;
+    private static final int FLIPS = 6;
+
+    private static StandInBackend backend;
+
+    @Rule
+    public BaselineProfileRule baselineProfileRule = new BaselineProfileRule();
+
+    @BeforeClass
+    public static void startBackend() throws IOException {
+        backend = new StandInBackend();
+    }
+
+    @AfterClass
+    public static void stopBackend() throws IOException {
+        backend.close();
+    }
+
+    @Before
+    public void logOut() throws IOException {
+        // Sin sesión la primera iteración pasa por el login; las siguientes ya entran
+        // directas al inicio y el perfil acumula ambos caminos
+        KairoscopeJourneys.clearAppData(UiDevice.getInstance(InstrumentationRegistry.getInstrumentation()));
+    }
+
+    @Test
+    public void startup() {
+        baselineProfileRule.collect(
+                KairoscopeJourneys.PACKAGE_NAME,
+                MAX_ITERATIONS,
+                STABLE_ITERATIONS,
+                null,
+                // También al perfil de arranque
+                true,
+                false,
+                rule -> true,
+                scope -> {
+                    UiDevice device = scope.getDevice();
+                    scope.pressHome();
+                    scope.startActivityAndWait();
+                    KairoscopeJourneys.logInIfNeeded(device);
+                    KairoscopeJourneys.waitForHome(device);
+                    return Unit.INSTANCE;
+                });
+    }
+
+    @Test
+    public void criticalJourneys() {
+        baselineProfileRule.collect(
+                KairoscopeJourneys.PACKAGE_NAME,
+                MAX_ITERATIONS,
+                STABLE_ITERATIONS,
+                null,
+                // Scroll y volteos no son arranque: fuera del perfil de arranque
+                false,
+                false,
+                rule -> true,
+                scope -> {
+                    UiDevice device = scope.getDevice();
+                    scope.pressHome();
+                    scope.startActivityAndWait();
+                    KairoscopeJourneys.logInIfNeeded(device);
+                    KairoscopeJourneys.waitForHome(device);
+                    KairoscopeJourneys.openDeckList(device);
+                    KairoscopeJourneys.scrollDeckList(device);
+                    KairoscopeJourneys.openFirstDeck(device);
+                    KairoscopeJourneys.flipCards(device, FLIPS);
+                    return Unit.INSTANCE;
+                });
+    }
+}
@@ -0,0 +1,27 @@
+package com.lmr.kairoscope.macrobenchmark;
+
+import androidx.benchmark.macro.CompilationMode;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Modos de compilación con los que se repite cada benchmark. Por ahora solo sin compilar
+ * (solo JIT): la app aún no lleva perfiles generados en src/main/generated/baselineProfiles.
+ * Cuando se generen con {@link BaselineProfileGenerator} y se suban, se añade
+ * CompilationMode.Partial(BaselineProfileMode.Require), y la diferencia entre ambos modos
+ * es la ganancia del perfil.
+ */
+final class CompilationModes {
+
+    private CompilationModes() {
+    }
+
+    /**
+     * Parámetros para {@code @Parameterized.Parameters}.
+     */
+    static List<Object[]> all() {
+        return Arrays.asList(
+                new Object[]{new CompilationMode.None()});
+    }
+}
@@ -0,0 +1,87 @@
+package com.lmr.kairoscope.macrobenchmark;
+
+import androidx.benchmark.macro.CompilationMode;
+import androidx.benchmark.macro.FrameTimingMetric;
+import androidx.benchmark.macro.StartupMode;
+import androidx.benchmark.macro.junit4.MacrobenchmarkRule;
+import androidx.test.platform.app.InstrumentationRegistry;
+import androidx.test.uiautomator.UiDevice;
+
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.List;
+
+import kotlin.Unit;
+
+/**
+ * Tiempos de frame de las animaciones de volteo de DeckDetailFragment: cada volteo gira
+ * una cara 90° y la otra desde -90°, y al volver al reverso saca una carta nueva.
+ * Se repite en cada modo de {@link CompilationModes}.
+ */
+@RunWith(Parameterized.class)
+public class DeckDetailFlipBenchmark {
+
+    private static final int ITERATIONS = 10;
+    // Cinco cartas reveladas y cinco sacadas por iteración
+    private static final int FLIPS = 10;
+
+    private static StandInBackend backend;
+
+    @Rule
+    public MacrobenchmarkRule benchmarkRule = new MacrobenchmarkRule();
+
+    private final CompilationMode compilationMode;
+
+    public DeckDetailFlipBenchmark(CompilationMode compilationMode) {
+        this.compilationMode = compilationMode;
+    }
+
+    @Parameterized.Parameters(name = "{0}")
+    public static List<Object[]> compilationModes() {
+        return CompilationModes.all();
+    }
+
+    @BeforeClass
+    public static void startBackend() throws IOException {
+        backend = new StandInBackend();
+    }
+
+    @AfterClass
+    public static void stopBackend() throws IOException {
+        backend.close();
+    }
+
+    @Before
+    public void logIn() {
+        KairoscopeJourneys.ensureLoggedIn(UiDevice.getInstance(InstrumentationRegistry.getInstrumentation()));
+    }
+
+    @Test
+    public void flipCards() {
+        benchmarkRule.measureRepeated(
+                KairoscopeJourneys.PACKAGE_NAME,
+                Collections.singletonList(new FrameTimingMetric()),
+                compilationMode,
+                // Proceso nuevo en cada iteración: sin cachés en memoria de la anterior
+                StartupMode.COLD,
+                ITERATIONS,
+                scope -> {
+                    scope.startActivityAndWait();
+                    KairoscopeJourneys.openDeckList(scope.getDevice());
+                    KairoscopeJourneys.openFirstDeck(scope.getDevice());
+                    return Unit.INSTANCE;
+                },
+                scope -> {
+                    KairoscopeJourneys.flipCards(scope.getDevice(), FLIPS);
+                    return Unit.INSTANCE;
+                });
+    }
+}
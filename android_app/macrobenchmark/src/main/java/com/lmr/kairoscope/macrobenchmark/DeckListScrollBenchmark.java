@@ -0,0 +1,85 @@
+package com.lmr.kairoscope.macrobenchmark;
+
+import androidx.benchmark.macro.CompilationMode;
+import androidx.benchmark.macro.FrameTimingMetric;
+import androidx.benchmark.macro.StartupMode;
+import androidx.benchmark.macro.junit4.MacrobenchmarkRule;
+import androidx.test.platform.app.InstrumentationRegistry;
+import androidx.test.uiautomator.UiDevice;
+
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.List;
+
+import kotlin.Unit;
+
+/**
+ * Jank al hacer scroll en la biblioteca con {@link StandInBackend#DECK_COUNT} barajas:
+ * duración de frame en CPU y frameOverrunMs (negativo = frame a tiempo) por percentiles.
+ * Se repite en cada modo de {@link CompilationModes}.
+ */
+@RunWith(Parameterized.class)
+public class DeckListScrollBenchmark {
+
+    private static final int ITERATIONS = 10;
+
+    private static StandInBackend backend;
+
+    @Rule
+    public MacrobenchmarkRule benchmarkRule = new MacrobenchmarkRule();
+
+    private final CompilationMode compilationMode;
+
+    public DeckListScrollBenchmark(CompilationMode compilationMode) {
+        this.compilationMode = compilationMode;
+    }
+
+    @Parameterized.Parameters(name = "{0}")
+    public static List<Object[]> compilationModes() {
+        return CompilationModes.all();
+    }
+
+    @BeforeClass
+    public static void startBackend() throws IOException {
+        backend = new StandInBackend();
+    }
+
+    @AfterClass
+    public static void stopBackend() throws IOException {
+        backend.close();
+    }
+
+    @Before
+    public void logIn() {
+        KairoscopeJourneys.ensureLoggedIn(UiDevice.getInstance(InstrumentationRegistry.getInstrumentation()));
+    }
+
+    @Test
+    public void scrollDeckList() {
+        benchmarkRule.measureRepeated(
+                KairoscopeJourneys.PACKAGE_NAME,
+                Collections.singletonList(new FrameTimingMetric()),
+                compilationMode,
+                // Proceso nuevo en cada iteración: sin cachés en memoria de la anterior
+                StartupMode.COLD,
+                ITERATIONS,
+                scope -> {
+                    // Solo se miden los frames del scroll, no la navegación
+                    scope.startActivityAndWait();
+                    KairoscopeJourneys.openDeckList(scope.getDevice());
+                    return Unit.INSTANCE;
+                },
+                scope -> {
+                    KairoscopeJourneys.scrollDeckList(scope.getDevice());
+                    return Unit.INSTANCE;
+                });
+    }
+}
@@ -0,0 +1,139 @@
+package com.lmr.kairoscope.macrobenchmark;
+
+import android.content.Context;
+import android.content.Intent;
+import android.os.SystemClock;
+
+import androidx.test.platform.app.InstrumentationRegistry;
+import androidx.test.uiautomator.By;
+import androidx.test.uiautomator.BySelector;
+import androidx.test.uiautomator.Direction;
+import androidx.test.uiautomator.UiDevice;
+import androidx.test.uiautomator.UiObject2;
+import androidx.test.uiautomator.Until;
+
+import java.io.IOException;
+
+/**
+ * Recorridos de usuario sobre la app instalada, compartidos por los benchmarks y el
+ * generador del Baseline Profile. Solo usan UiAutomator, así que funcionan con la build
+ * benchmarkRelease minificada.
+ */
+final class KairoscopeJourneys {
+
+    static final String PACKAGE_NAME = "com.lmr.kairoscope";
+
+
+    private static final long TIMEOUT_MILLIS = 10_000;
+    // Cada volteo son dos animaciones de 200 ms en DeckDetailFragment
+    private static final long FLIP_MILLIS = 500;
+
+    private KairoscopeJourneys() {
+    }
+
+    /**
+     * Abre la app y, si muestra el login, inicia sesión con la cuenta del emulador de Auth.
+     * Firebase guarda la sesión en disco, así que los arranques medidos van directos al inicio.
+     */
+    static void ensureLoggedIn(UiDevice device) {
+        Context context = InstrumentationRegistry.getInstrumentation().getContext();
+        Intent intent = context.getPackageManager().getLaunchIntentForPackage(PACKAGE_NAME);
+        if (intent == null) {
+            throw new IllegalStateException(PACKAGE_NAME + " no está instalada");
+        }
+        context.startActivity(intent.addFlags(Intent.FLAG_ACTIVITY_NEW_TASK | Intent.FLAG_ACTIVITY_CLEAR_TASK));
+
+        device.wait(Until.hasObject(By.pkg(PACKAGE_NAME).depth(0)), TIMEOUT_MILLIS);
+        logInIfNeeded(device);
+        device.pressHome();
+    }
+
+    /**
+     * Con la app ya abierta: si muestra el login, inicia sesión y espera a la navegación inferior.
+     */
+    static void logInIfNeeded(UiDevice device) {
+        if (device.wait(Until.hasObject(res("editTextEmail")), TIMEOUT_MILLIS / 2)) {
+            logIn(device);
+        }
+        waitFor(device, res("bottom_navigation"));
+    }
+
+    /**
+     * Borra los datos de la app (sesión de Firebase, Room y preferencias) para que el
+     * siguiente arranque pase por el login.
+     */
+    static void clearAppData(UiDevice device) throws IOException {
+        device.executeShellCommand("pm clear " + PACKAGE_NAME);
+    }
+
+    /**
+     * Espera a que la pantalla de inicio muestre la última baraja (o el estado vacío).
+     */
+    static void waitForHome(UiDevice device) {
+        waitFor(device, res("cardViewDeck"));
+    }
+
+    /**
+     * Inicio → biblioteca, esperando a que se pinten las barajas.
+     */
+    static void openDeckList(UiDevice device) {
+        waitFor(device, res("deckListFragment")).click();
+        waitFor(device, res("textViewCardCount"));
+    }
+
+    /**
+     * Recorre la biblioteca con flings hacia abajo y vuelve arriba.
+     */
+    static void scrollDeckList(UiDevice device) {
+        UiObject2 list = waitFor(device, res("recyclerViewDecks"));
+        // Sin margen el gesto empieza en el borde y puede abrir la navegación del sistema
+        list.setGestureMargin(device.getDisplayWidth() / 5);
+        for (int i = 0; i < 3; i++) {
+            list.fling(Direction.DOWN);
+            device.waitForIdle();
+        }
+        list.fling(Direction.UP);
+        device.waitForIdle();
+    }
+
+    /**
+     * Biblioteca → detalle de la primera baraja, esperando a que la carta esté lista.
+     */
+    static void openFirstDeck(UiDevice device) {
+        waitFor(device, res("textViewDeckName")).click();
+        waitFor(device, res("cardContainer"));
+        device.wait(Until.gone(res("progressBar")), TIMEOUT_MILLIS);
+    }
+
+    /**
+     * Voltea la carta varias veces: revelar y sacar otra, alternando.
+     */
+    static void flipCards(UiDevice device, int flips) {
+        UiObject2 card = waitFor(device, res("cardContainer"));
+        for (int i = 0; i < flips; i++) {
+            card.click();
+            SystemClock.sleep(FLIP_MILLIS);
+        }
+    }
+
+    /**
+     * Login contra {@link StandInAuthEmulator}: ni cuenta real ni red.
+     */
+    private static void logIn(UiDevice device) {
+        waitFor(device, res("editTextEmail")).setText(StandInAuthEmulator.EMAIL);
+        waitFor(device, res("editTextPassword")).setText(StandInAuthEmulator.PASSWORD);
+        waitFor(device, res("buttonLogin")).click();
+    }
+
+    private static UiObject2 waitFor(UiDevice device, BySelector selector) {
+        UiObject2 object = device.wait(Until.findObject(selector), TIMEOUT_MILLIS);
+        if (object == null) {
+            throw new IllegalStateException("No aparece " + selector);
+        }
+        return object;
+    }
+
+    private static BySelector res(String id) {
+        return By.res(PACKAGE_NAME, id);
+    }
+}
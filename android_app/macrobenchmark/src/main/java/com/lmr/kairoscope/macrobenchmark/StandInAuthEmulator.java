@@ -0,0 +1,131 @@
+package com.lmr.kairoscope.macrobenchmark;
+
+import android.util.Base64;
+
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+import okhttp3.mockwebserver.MockResponse;
+
+/**
+ * Lo mínimo del emulador de Firebase Auth para las builds de benchmark, que llaman a
+ * FirebaseAuth.useEmulator() con la dirección de {@link StandInBackend}: login con
+ * contraseña, datos de la cuenta y renovación del token. Hay una sola cuenta y no se
+ * comprueba la contraseña; los tokens van sin firmar, como los del emulador oficial.
+ */
+final class StandInAuthEmulator {
+
+    static final String EMAIL = "benchmark@kairoscope.test";
+    static final String PASSWORD = "benchmark";
+
+    private static final String IDENTITY_TOOLKIT_PATH = "/identitytoolkit.googleapis.com/";
+    private static final String SECURE_TOKEN_PATH = "/securetoken.googleapis.com/";
+    private static final String PROJECT_ID = "kairoscope-benchmark";
+    private static final String USER_ID = "benchmark-user";
+    private static final String REFRESH_TOKEN = "benchmark-refresh-token";
+    private static final long TOKEN_LIFETIME_SECONDS = TimeUnit.HOURS.toSeconds(1);
+
+    private StandInAuthEmulator() {
+    }
+
+    static boolean handles(String path) {
+        return path.startsWith(IDENTITY_TOOLKIT_PATH) || path.startsWith(SECURE_TOKEN_PATH);
+    }
+
+    /**
+     * Respuesta del emulador para una ruta de {@link #handles(String)}, sin query.
+     */
+    static MockResponse respond(String path) {
+        try {
+            if (path.endsWith("accounts:signInWithPassword")) {
+                return json(new JSONObject()
+                        .put("kind", "identitytoolkit#VerifyPasswordResponse")
+                        .put("localId", USER_ID)
+                        .put("email", EMAIL)
+                        .put("displayName", "")
+                        .put("registered", true)
+                        .put("idToken", idToken())
+                        .put("refreshToken", REFRESH_TOKEN)
+                        .put("expiresIn", String.valueOf(TOKEN_LIFETIME_SECONDS)));
+            }
+            if (path.endsWith("accounts:lookup")) {
+                return json(new JSONObject().put("users", new JSONArray().put(account())));
+            }
+            if (path.startsWith(SECURE_TOKEN_PATH) && path.endsWith("/token")) {
+                String token = idToken();
+                return json(new JSONObject()
+                        .put("access_token", token)
+                        .put("id_token", token)
+                        .put("expires_in", String.valueOf(TOKEN_LIFETIME_SECONDS))
+                        .put("token_type", "Bearer")
+                        .put("refresh_token", REFRESH_TOKEN)
+                        .put("user_id", USER_ID)
+                        .put("project_id", PROJECT_ID));
+            }
+            if (path.endsWith("/recaptchaConfig")) {
+                return json(new JSONObject().put("recaptchaEnforcementState", new JSONArray()));
+            }
+            return new MockResponse()
+                    .setResponseCode(400)
+                    .setHeader("Content-Type", "application/json; charset=utf-8")
+                    .setBody(new JSONObject().put("error", new JSONObject()
+                            .put("code", 400)
+                            .put("message", "OPERATION_NOT_ALLOWED")).toString());
+        } catch (JSONException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static JSONObject account() throws JSONException {
+        long now = System.currentTimeMillis();
+        return new JSONObject()
+                .put("localId", USER_ID)
+                .put("email", EMAIL)
+                .put("emailVerified", true)
+                .put("providerUserInfo", new JSONArray().put(new JSONObject()
+                        .put("providerId", "password")
+                        .put("email", EMAIL)
+                        .put("federatedId", EMAIL)
+                        .put("rawId", EMAIL)))
+                .put("createdAt", String.valueOf(now))
+                .put("lastLoginAt", String.valueOf(now));
+    }
+
+    /**
+     * JWT sin firma (alg "none") con los claims que lee el SDK de Firebase.
+     */
+    private static String idToken() throws JSONException {
+        long now = TimeUnit.MILLISECONDS.toSeconds(System.currentTimeMillis());
+        JSONObject header = new JSONObject().put("alg", "none").put("typ", "JWT");
+        JSONObject claims = new JSONObject()
+                .put("iss", "https://securetoken.google.com/" + PROJECT_ID)
+                .put("aud", PROJECT_ID)
+                .put("auth_time", now)
+                .put("user_id", USER_ID)
+                .put("sub", USER_ID)
+                .put("iat", now)
+                .put("exp", now + TOKEN_LIFETIME_SECONDS)
+                .put("email", EMAIL)
+                .put("email_verified", true)
+                .put("firebase", new JSONObject()
+                        .put("identities", new JSONObject().put("email", new JSONArray().put(EMAIL)))
+                        .put("sign_in_provider", "password"));
+        return base64(header) + "." + base64(claims) + ".";
+    }
+
+    private static String base64(JSONObject json) {
+        return Base64.encodeToString(json.toString().getBytes(StandardCharsets.UTF_8),
+                Base64.URL_SAFE | Base64.NO_WRAP | Base64.NO_PADDING);
+    }
+
+    private static MockResponse json(JSONObject body) {
+        return new MockResponse()
+                .setResponseCode(200)
+                .setHeader("Content-Type", "application/json; charset=utf-8")
+                .setBody(body.toString());
+    }
+}
@@ -0,0 +1,135 @@
+package com.lmr.kairoscope.macrobenchmark;
+
+import androidx.annotation.NonNull;
+
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.util.Locale;
+
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+
+/**
+ * Backend de pruebas que corre en el proceso de los benchmarks, en el mismo dispositivo
+ * que la app. Responde a la lista y al detalle de barajas con datos fijos, así los
+ * resultados no dependen de la red ni del servidor Django. Las builds benchmarkRelease y
+ * nonMinifiedRelease de la app apuntan a {@link #PORT} (BuildConfig.API_BASE_URL), y
+ * Firebase Auth también: el mismo servidor hace de emulador ({@link StandInAuthEmulator}).
+ */
+final class StandInBackend implements AutoCloseable {
+
+    static final int PORT = 8765;
+    // Suficientes para que la biblioteca tenga scroll largo (varias pantallas de fling)
+    static final int DECK_COUNT = 300;
+    // Las barajas generadas por el backend real tienen 123 cartas
+    static final int CARDS_PER_DECK = 123;
+
+    private static final String DECKS_PATH = "/api/deck/";
+    private static final String[] DISCIPLINES = {"Música", "Pintura", "Escritura", "Fotografía", "Danza"};
+    private static final String[] COLORS = {"#3F51B5", "#E91E63", "#009688", "#FF9800", "#795548"};
+
+    private final MockWebServer server = new MockWebServer();
+    private final String deckList;
+
+    StandInBackend() throws IOException {
+        deckList = buildDeckList();
+        server.setDispatcher(new Dispatcher() {
+            @NonNull
+            @Override
+            public MockResponse dispatch(@NonNull RecordedRequest request) {
+                return respond(request);
+            }
+        });
+        server.start(InetAddress.getByName("127.0.0.1"), PORT);
+    }
+
+    @Override
+    public void close() throws IOException {
+        server.shutdown();
+    }
+
+    private MockResponse respond(RecordedRequest request) {
+        String path = request.getPath() != null ? request.getPath() : "";
+        int query = path.indexOf('?');
+        if (query >= 0) {
+            path = path.substring(0, query);
+        }
+        if (StandInAuthEmulator.handles(path)) {
+            return StandInAuthEmulator.respond(path);
+        }
+        if (!"GET".equals(request.getMethod()) || !path.startsWith(DECKS_PATH)) {
+            return json(404, "{\"status\":\"error\",\"message\":\"No disponible en el backend de pruebas\"}");
+        }
+        if (path.equals(DECKS_PATH)) {
+            return json(200, deckList);
+        }
+        try {
+            int deckId = Integer.parseInt(path.substring(DECKS_PATH.length()).replace("/", ""));
+            if (deckId >= 1 && deckId <= DECK_COUNT) {
+                return json(200, buildDeckDetail(deckId));
+            }
+        } catch (NumberFormatException e) {
+            // Ruta de trabajos u otra no soportada
+        }
+        return json(404, "{\"status\":\"error\",\"message\":\"Baraja no encontrada\"}");
+    }
+
+    private static MockResponse json(int code, String body) {
+        return new MockResponse()
+                .setResponseCode(code)
+                .setHeader("Content-Type", "application/json; charset=utf-8")
+                .setBody(body);
+    }
+
+    private static String buildDeckList() {
+        try {
+            JSONArray decks = new JSONArray();
+            // La más reciente primero, como ordena el backend
+            for (int id = DECK_COUNT; id >= 1; id--) {
+                decks.put(deck(id));
+            }
+            return new JSONObject()
+                    .put("status", "success")
+                    .put("total", DECK_COUNT)
+                    .put("decks", decks)
+                    .toString();
+        } catch (JSONException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static String buildDeckDetail(int deckId) {
+        try {
+            JSONObject deck = deck(deckId)
+                    .put("block_description", "Bloqueo de prueba número " + deckId);
+            JSONArray cards = new JSONArray();
+            for (int i = 1; i <= CARDS_PER_DECK; i++) {
+                cards.put(new JSONObject()
+                        .put("id", deckId * 1000 + i)
+                        .put("text", "Estrategia " + i + " de la baraja " + deckId
+                                + ": haz lo contrario de lo que harías normalmente"));
+            }
+            deck.put("cards", cards);
+            return new JSONObject().put("status", "success").put("deck", deck).toString();
+        } catch (JSONException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static JSONObject deck(int id) throws JSONException {
+        return new JSONObject()
+                .put("id", id)
+                .put("name", "Baraja " + id)
+                .put("discipline", DISCIPLINES[id % DISCIPLINES.length])
+                .put("chosen_color", COLORS[id % COLORS.length])
+                .put("created_at", String.format(Locale.ROOT,
+                        "2025-%02d-%02dT10:00:00Z", 1 + id % 12, 1 + id % 28))
+                .put("card_count", CARDS_PER_DECK);
+    }
+}
@@ -0,0 +1,93 @@
+package com.lmr.kairoscope.macrobenchmark;
+
+import androidx.benchmark.macro.CompilationMode;
+import androidx.benchmark.macro.StartupMode;
+import androidx.benchmark.macro.StartupTimingMetric;
+import androidx.benchmark.macro.junit4.MacrobenchmarkRule;
+import androidx.test.platform.app.InstrumentationRegistry;
+import androidx.test.uiautomator.UiDevice;
+
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.List;
+
+import kotlin.Unit;
+
+/**
+ * Arranque en frío y en caliente hasta el primer frame de HomeFragment
+ * (timeToInitialDisplayMs) y hasta que muestra la última baraja (timeToFullDisplayMs,
+ * por reportFullyDrawn).
+ * Se repite en cada modo de {@link CompilationModes}.
+ */
+@RunWith(Parameterized.class)
+public class StartupBenchmark {
+
+    private static final int ITERATIONS = 10;
+
+    private static StandInBackend backend;
+
+    @Rule
+    public MacrobenchmarkRule benchmarkRule = new MacrobenchmarkRule();
+
+    private final CompilationMode compilationMode;
+
+    public StartupBenchmark(CompilationMode compilationMode) {
+        this.compilationMode = compilationMode;
+    }
+
+    @Parameterized.Parameters(name = "{0}")
+    public static List<Object[]> compilationModes() {
+        return CompilationModes.all();
+    }
+
+    @BeforeClass
+    public static void startBackend() throws IOException {
+        backend = new StandInBackend();
+    }
+
+    @AfterClass
+    public static void stopBackend() throws IOException {
+        backend.close();
+    }
+
+    @Before
+    public void logIn() {
+        KairoscopeJourneys.ensureLoggedIn(UiDevice.getInstance(InstrumentationRegistry.getInstrumentation()));
+    }
+
+    @Test
+    public void startupCold() {
+        measureStartup(StartupMode.COLD);
+    }
+
+    @Test
+    public void startupWarm() {
+        measureStartup(StartupMode.WARM);
+    }
+
+    private void measureStartup(StartupMode mode) {
+        benchmarkRule.measureRepeated(
+                KairoscopeJourneys.PACKAGE_NAME,
+                Collections.singletonList(new StartupTimingMetric()),
+                compilationMode,
+                mode,
+                ITERATIONS,
+                scope -> {
+                    scope.pressHome();
+                    return Unit.INSTANCE;
+                },
+                scope -> {
+                    scope.startActivityAndWait();
+                    KairoscopeJourneys.waitForHome(scope.getDevice());
+                    return Unit.INSTANCE;
+                });
+    }
+}
@@ -21,4 +21,7 @@ dependencyResolutionManagement {
 
 rootProject.name = "kAIroscope"
 include(":app")
+include(":core")
+include(":codegen")
+include(":macrobenchmark")
  
\ No newline at end of file
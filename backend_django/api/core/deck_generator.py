@@ -5,7 +5,7 @@ Combina recuperación de documentos con generación de IA para crear estrategias
 import os
 import logging
 import json
-from typing import Dict, List, Any
+from typing import Any, Dict, Iterator, List
 
 from langchain_openai import ChatOpenAI
 from langchain_core.prompts import PromptTemplate
@@ -14,6 +14,7 @@ from langchain.chains.retrieval import create_retrieval_chain
 from langchain_core.vectorstores import VectorStoreRetriever
 
 from api.core import RAGProcessor
+from api.core.strategy_stream import StrategyStreamParser
 
 logger = logging.getLogger('api.core')
 
@@ -283,6 +284,60 @@ class DeckGenerator:
             logger.error(f"Error during LangChain generation: {e}")
             raise
 
+    def stream_strategies(self, discipline: str, block_description: str,
+                          color: str, num_cards: int = 123) -> Iterator[str]:
+        """
+        Genera estrategias en streaming: produce cada una en cuanto el LLM la completa.
+        Si la respuesta no contiene un array JSON reconocible, recurre al
+        parseo por líneas al terminar.
+        """
+        logger.info(
+            f"Streaming {num_cards} strategies for discipline='{discipline}', color='{color}'")
+
+        retriever_query = f"Estrategias oblicuas para {discipline}: {block_description}"
+        chain_input = {
+            "input": retriever_query,
+            "discipline": discipline,
+            "block_description": block_description,
+            "color": color,
+            "num_cards": num_cards,
+        }
+
+        parser = StrategyStreamParser()
+        emitted = 0
+        # Texto recibido mientras no se ha reconocido ninguna estrategia (para el fallback)
+        unparsed = []
+
+        for chunk in self.retrieval_chain.stream(chain_input):
+            answer = chunk.get("answer")
+            if not answer:
+                continue
+            if emitted == 0:
+                unparsed.append(answer)
+            for strategy in parser.feed(answer):
+                if emitted >= num_cards:
+                    break
+                emitted += 1
+                unparsed = []
+                yield strategy
+            if emitted >= num_cards or parser.done:
+                break
+
+        if emitted == 0:
+            logger.warning("Streamed response was not a JSON array, falling back to line split")
+            raw_response = "".join(unparsed).strip().strip('`')
+            for line in raw_response.split('\n'):
+                strategy = line.strip()
+                if strategy and emitted < num_cards:
+                    emitted += 1
+                    yield strategy
+
+        logger.info(f"Streamed {emitted} strategies")
+
+    def generate_name(self, discipline: str, color: str) -> str:
+        """Genera el nombre de una baraja (usado por la generación en streaming)."""
+        return self._generate_deck_name(discipline, color)
+
     def _generate_deck_name(self, discipline: str, color: str) -> str:
         """
         Genera un nombre evocativo para la baraja.
@@ -0,0 +1,254 @@
+"""
+Registro en memoria de trabajos de generación de barajas.
+La generación con el LLM se ejecuta en un pool de hilos y el cliente consulta
+el estado (con long-polling opcional) o recibe las cartas por streaming
+en lugar de mantener abierta una única petición bloqueante.
+El registro es por proceso: con varios workers se necesitaría un backend compartido.
+"""
+import logging
+import threading
+import time
+import uuid
+from concurrent.futures import ThreadPoolExecutor
+from typing import Any, Callable, Dict, Iterator, List, Optional, Tuple
+
+logger = logging.getLogger('api.core')
+
+STATUS_PENDING = 'pending'
+STATUS_RUNNING = 'running'
+STATUS_COMPLETED = 'completed'
+STATUS_FAILED = 'failed'
+
+FINISHED_STATUSES = (STATUS_COMPLETED, STATUS_FAILED)
+
+
+class DeckJob:
+    """Estado de un trabajo de generación. Se modifica solo bajo el lock del registro."""
+
+    def __init__(self, owner_uid: str, idempotency_key: Optional[str] = None):
+        self.id = uuid.uuid4().hex
+        self.owner_uid = owner_uid
+        self.idempotency_key = idempotency_key
+        self.status = STATUS_PENDING
+        self.progress = 0
+        self.stage = 'queued'
+        # Se incrementa en cada cambio para que el long-polling detecte novedades
+        self.version = 0
+        self.deck: Optional[Dict[str, Any]] = None
+        self.error: Optional[str] = None
+        # Baraja provisional y cartas ya guardadas, para el streaming
+        self.deck_id: Optional[int] = None
+        self.cards: List[Dict[str, Any]] = []
+        self.updated_at = time.time()
+
+    @property
+    def finished(self) -> bool:
+        return self.status in FINISHED_STATUSES
+
+    def to_dict(self) -> Dict[str, Any]:
+        return {
+            'job_id': self.id,
+            'status': self.status,
+            'progress': self.progress,
+            'stage': self.stage,
+            'version': self.version,
+            'deck': self.deck,
+            'error': self.error,
+            'deck_id': self.deck_id,
+            'card_count': len(self.cards),
+        }
+
+
+class DeckJobRegistry:
+    """
+    Ejecuta trabajos en segundo plano y permite esperar cambios de estado.
+    Los trabajos terminados se descartan pasado finished_ttl segundos.
+    """
+
+    def __init__(self, max_workers: int = 2, finished_ttl: float = 3600):
+        self._executor = ThreadPoolExecutor(max_workers=max_workers,
+                                            thread_name_prefix='deck-job')
+        self._jobs: Dict[str, DeckJob] = {}
+        # (usuario, clave de idempotencia) -> id del trabajo
+        self._keys: Dict[Tuple[str, str], str] = {}
+        self._condition = threading.Condition()
+        self._finished_ttl = finished_ttl
+
+    def submit(self, owner_uid: str,
+               work: Callable[[DeckJob, Callable[[int, str], None]], Dict[str, Any]],
+               idempotency_key: Optional[str] = None) -> Tuple[Dict[str, Any], bool]:
+        """
+        Registra un trabajo y lo encola. work recibe el DeckJob y una función
+        report(progreso, etapa), y devuelve los datos de la baraja creada.
+        Si ya hay un trabajo con la misma clave de idempotencia, no se crea otro.
+        Devuelve el estado del trabajo y si se ha creado ahora.
+        """
+        with self._condition:
+            self._purge_locked()
+            if idempotency_key:
+                existing = self._find_by_key_locked(owner_uid, idempotency_key)
+                if existing is not None:
+                    logger.info(f"Deck job {existing.id} replayed for key {idempotency_key}")
+                    return existing.to_dict(), False
+            job = DeckJob(owner_uid, idempotency_key)
+            self._jobs[job.id] = job
+            if idempotency_key:
+                self._keys[(owner_uid, idempotency_key)] = job.id
+            snapshot = job.to_dict()
+        self._executor.submit(self._run, job, work)
+        logger.info(f"Deck job {job.id} submitted for user {owner_uid}")
+        return snapshot, True
+
+    def find_by_key(self, owner_uid: str, idempotency_key: str) -> Optional[Dict[str, Any]]:
+        """Estado del trabajo asociado a una clave de idempotencia, si sigue registrado."""
+        with self._condition:
+            job = self._find_by_key_locked(owner_uid, idempotency_key)
+            return job.to_dict() if job is not None else None
+
+    def get(self, job_id: str, owner_uid: str, since_version: int = -1,
+            wait_seconds: float = 0) -> Optional[Dict[str, Any]]:
+        """
+        Devuelve el estado del trabajo. Si aún no ha cambiado desde since_version
+        y no ha terminado, espera hasta wait_seconds a que haya novedades.
+        """
+        deadline = time.monotonic() + max(0.0, wait_seconds)
+        with self._condition:
+            job = self._jobs.get(job_id)
+            if job is None or job.owner_uid != owner_uid:
+                return None
+            while job.version <= since_version and not job.finished:
+                remaining = deadline - time.monotonic()
+                if remaining <= 0:
+                    break
+                self._condition.wait(remaining)
+            return job.to_dict()
+
+    def active_count(self, owner_uid: str) -> int:
+        """Número de trabajos sin terminar del usuario (cuentan para el límite de barajas)."""
+        with self._condition:
+            return sum(1 for job in self._jobs.values()
+                       if job.owner_uid == owner_uid and not job.finished)
+
+    def active_deck_ids(self, owner_uid: str) -> List[int]:
+        """Barajas provisionales que siguen generándose en este proceso."""
+        with self._condition:
+            return [job.deck_id for job in self._jobs.values()
+                    if job.owner_uid == owner_uid and not job.finished
+                    and job.deck_id is not None]
+
+    def set_deck(self, job: DeckJob, deck_id: int):
+        """Asocia al trabajo la baraja provisional donde se van guardando las cartas."""
+        with self._condition:
+            job.deck_id = deck_id
+            job.version += 1
+            self._condition.notify_all()
+
+    def add_card(self, job: DeckJob, card: Dict[str, Any], progress: int):
+        """Publica una carta ya guardada para los clientes en streaming."""
+        with self._condition:
+            job.cards.append(card)
+            job.progress = max(job.progress, min(99, progress))
+            job.version += 1
+            job.updated_at = time.time()
+            self._condition.notify_all()
+
+    def stream(self, job_id: str, owner_uid: str, from_card: int = 0,
+               heartbeat_seconds: float = 15) -> Optional[Iterator[Dict[str, Any]]]:
+        """
+        Devuelve un iterador de eventos del trabajo (deck, card, progress, completed,
+        failed, heartbeat) o None si no existe. Las cartas empiezan en from_card,
+        lo que permite reanudar tras un corte. Se emite un heartbeat si no hay
+        cambios en heartbeat_seconds para que la conexión no se considere inactiva.
+        """
+        with self._condition:
+            job = self._jobs.get(job_id)
+            if job is None or job.owner_uid != owner_uid:
+                return None
+
+        def events():
+            sent_cards = max(0, from_card)
+            sent_version = -1
+            deck_sent = False
+            sent_progress = None
+            while True:
+                with self._condition:
+                    if job.version == sent_version and not job.finished:
+                        self._condition.wait(heartbeat_seconds)
+                    changed = job.version != sent_version
+                    sent_version = job.version
+                    deck_id = job.deck_id
+                    new_cards = job.cards[sent_cards:]
+                    snapshot = job.to_dict()
+
+                if deck_id is not None and not deck_sent:
+                    deck_sent = True
+                    yield {'type': 'deck', 'deck_id': deck_id}
+                for card in new_cards:
+                    yield dict(card, type='card', position=sent_cards)
+                    sent_cards += 1
+
+                if snapshot['status'] == STATUS_COMPLETED:
+                    yield {'type': 'completed', 'deck': snapshot['deck']}
+                    return
+                if snapshot['status'] == STATUS_FAILED:
+                    yield {'type': 'failed', 'error': snapshot['error']}
+                    return
+                progress = (snapshot['progress'], snapshot['stage'])
+                if progress != sent_progress:
+                    sent_progress = progress
+                    yield {'type': 'progress', 'progress': snapshot['progress'],
+                           'stage': snapshot['stage'], 'card_count': snapshot['card_count']}
+                elif not changed:
+                    yield {'type': 'heartbeat'}
+
+        return events()
+
+    def _run(self, job: DeckJob, work):
+        self._update(job, status=STATUS_RUNNING, progress=5, stage='starting')
+        try:
+            deck = work(job, lambda progress, stage: self._update(job, progress=progress, stage=stage))
+            self._update(job, status=STATUS_COMPLETED, progress=100, stage='done', deck=deck)
+            logger.info(f"Deck job {job.id} completed")
+        except Exception as e:
+            logger.error(f"Deck job {job.id} failed: {e}")
+            self._update(job, status=STATUS_FAILED, stage='failed', error=str(e))
+            # Un reintento con la misma clave debe poder generar de nuevo
+            with self._condition:
+                if job.idempotency_key:
+                    self._keys.pop((job.owner_uid, job.idempotency_key), None)
+
+    def _update(self, job: DeckJob, status: Optional[str] = None,
+                progress: Optional[int] = None, stage: Optional[str] = None,
+                deck: Optional[Dict[str, Any]] = None, error: Optional[str] = None):
+        with self._condition:
+            if status is not None:
+                job.status = status
+            if progress is not None:
+                # El progreso nunca retrocede
+                job.progress = max(job.progress, min(100, progress))
+            if stage is not None:
+                job.stage = stage
+            if deck is not None:
+                job.deck = deck
+            if error is not None:
+                job.error = error
+            job.version += 1
+            job.updated_at = time.time()
+            self._condition.notify_all()
+
+    def _purge_locked(self):
+        limit = time.time() - self._finished_ttl
+        expired = [job_id for job_id, job in self._jobs.items()
+                   if job.finished and job.updated_at < limit]
+        for job_id in expired:
+            job = self._jobs.pop(job_id)
+            if job.idempotency_key:
+                self._keys.pop((job.owner_uid, job.idempotency_key), None)
+
+    def _find_by_key_locked(self, owner_uid: str, idempotency_key: str) -> Optional[DeckJob]:
+        job_id = self._keys.get((owner_uid, idempotency_key))
+        return self._jobs.get(job_id) if job_id is not None else None
+
+
+# Registro compartido por las vistas del proceso
+deck_jobs = DeckJobRegistry()
@@ -0,0 +1,88 @@
+"""
+Parser incremental de la respuesta del LLM en streaming.
+Extrae cada estrategia del array JSON "estrategias" en cuanto llega completa,
+sin esperar a que termine la respuesta.
+"""
+import json
+from typing import List
+
+
+class StrategyStreamParser:
+    """
+    Recibe fragmentos de texto con feed() y devuelve las cadenas del primer
+    array JSON que se han completado. Solo conserva en memoria el fragmento
+    aún no procesado.
+    """
+
+    def __init__(self):
+        self._buffer = ''
+        self._in_array = False
+        self._done = False
+
+    @property
+    def done(self) -> bool:
+        """True cuando el array se ha cerrado."""
+        return self._done
+
+    def feed(self, chunk: str) -> List[str]:
+        if self._done or not chunk:
+            return []
+        self._buffer += chunk
+
+        results = []
+        pos = 0
+        buffer = self._buffer
+        while True:
+            if not self._in_array:
+                start = buffer.find('[', pos)
+                if start < 0:
+                    # Nada útil todavía: descartar lo leído
+                    pos = len(buffer)
+                    break
+                self._in_array = True
+                pos = start + 1
+
+            # Saltar separadores entre elementos
+            while pos < len(buffer) and buffer[pos] in ' \t\r\n,':
+                pos += 1
+            if pos >= len(buffer):
+                break
+
+            char = buffer[pos]
+            if char == ']':
+                self._done = True
+                pos = len(buffer)
+                break
+            if char != '"':
+                # Contenido inesperado dentro del array: ignorarlo
+                pos += 1
+                continue
+
+            end = self._find_string_end(buffer, pos)
+            if end < 0:
+                # Cadena incompleta: esperar al siguiente fragmento
+                break
+            try:
+                text = json.loads(buffer[pos:end + 1]).strip()
+            except json.JSONDecodeError:
+                text = ''
+            if text:
+                results.append(text)
+            pos = end + 1
+
+        self._buffer = buffer[pos:]
+        return results
+
+    @staticmethod
+    def _find_string_end(buffer: str, start: int) -> int:
+        """Posición de la comilla que cierra la cadena que empieza en start, o -1."""
+        i = start + 1
+        while i < len(buffer):
+            char = buffer[i]
+            if char == '\\':
+                i += 2
+                continue
+            if char == '"':
+                return i
+            i += 1
+        return -1
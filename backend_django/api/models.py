@@ -24,6 +24,8 @@ class Deck(models.Model):
    block_description = models.CharField(max_length=255)
    chosen_color = models.CharField(max_length=7)  # Formato color hexadecimal
    created_at = models.DateTimeField(auto_now_add=True)
+   # False mientras la baraja se genera en streaming y aún no tiene todas sus cartas
+   is_ready = models.BooleanField(default=True)
 
    class Meta:
        """
@@ -46,4 +48,22 @@ class Card(models.Model):
    text = models.TextField()
 
    def __str__(self):
-       return f"Card: {self.text[:50]}... - Deck: {self.deck.name}"
\ No newline at end of file
+       return f"Card: {self.text[:50]}... - Deck: {self.deck.name}"
+
+class IdempotencyRecord(models.Model):
+   """
+   Asocia la clave de idempotencia enviada por el cliente con la baraja que produjo.
+   Permite responder a un reintento con la baraja original en lugar de generar otra.
+   """
+   user = models.ForeignKey(UserProfile, on_delete=models.CASCADE,
+                            related_name='idempotency_records')
+   key = models.CharField(max_length=64)
+   deck = models.ForeignKey(Deck, on_delete=models.CASCADE,
+                            related_name='idempotency_records')
+   created_at = models.DateTimeField(auto_now_add=True)
+
+   class Meta:
+       unique_together = ('user', 'key')
+
+   def __str__(self):
+       return f"IdempotencyRecord: {self.key} - Deck: {self.deck_id}"
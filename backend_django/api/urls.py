@@ -8,6 +8,11 @@ from . import views
 urlpatterns = [
     # Endpoint para listar (GET) y crear (POST) barajas
     path('deck/', views.deck_handler, name='deck_handler'),
+    # Endpoints de generación asíncrona: crear trabajo (POST) y consultar su estado (GET)
+    path('deck/jobs/', views.deck_job_handler, name='deck_job_handler'),
+    path('deck/jobs/<str:job_id>/', views.get_deck_job, name='deck_job_detail'),
+    # Cartas del trabajo en streaming (NDJSON) a medida que se generan
+    path('deck/jobs/<str:job_id>/stream/', views.get_deck_job_stream, name='deck_job_stream'),
     # Endpoint para obtener detalles (GET) y eliminar (DELETE) una baraja específica
     path('deck/<int:deck_id>/', views.deck_detail_handler, name='deck_detail_handler')
 ]
\ No newline at end of file
@@ -4,15 +4,24 @@ Implementa endpoints RESTful con autenticación Firebase y generación IA.
 """
 import json
 import logging
-from django.http import JsonResponse
+from django.db import connection
+from django.http import JsonResponse, StreamingHttpResponse
+from django.views.decorators.cache import cache_control
 from django.views.decorators.csrf import csrf_exempt
 from .firebase_config import initialize_firebase, verify_id_token
-from .models import UserProfile, Deck, Card
+from .models import UserProfile, Deck, Card, IdempotencyRecord
 from .core.deck_generator import DeckGenerator
+from .core.deck_jobs import deck_jobs
 from .apps import ApiConfig
 
 logger = logging.getLogger('api.views')
 
+# Longitud máxima aceptada para la cabecera Idempotency-Key (un UUID ocupa 36)
+MAX_IDEMPOTENCY_KEY_LENGTH = 64
+
+# Espera máxima de un long-poll sobre un trabajo (por debajo del timeout del cliente)
+MAX_JOB_WAIT_SECONDS = 20
+
 # Inicializar Firebase al cargar el módulo
 initialize_firebase()
 
@@ -31,6 +40,128 @@ def get_or_create_user_profile(firebase_uid):
 
     return user_profile
 
+def get_idempotency_key(request):
+    """
+    Lee la cabecera Idempotency-Key generada por el cliente.
+    Devuelve (clave, None) o (None, respuesta de error) si no es válida.
+    """
+    key = request.headers.get('Idempotency-Key', '').strip()
+    if not key:
+        return None, None
+    if len(key) > MAX_IDEMPOTENCY_KEY_LENGTH:
+        logger.warning("Idempotency key too long")
+        return None, JsonResponse({'error': 'Idempotency-Key inválida'}, status=400)
+    return key, None
+
+
+def find_idempotent_deck(user_profile, idempotency_key):
+    """Baraja ya creada con esta clave de idempotencia, o None."""
+    record = (IdempotencyRecord.objects.select_related('deck')
+              .filter(user=user_profile, key=idempotency_key).first())
+    return record.deck if record is not None else None
+
+
+def remember_idempotent_deck(user_profile, idempotency_key, deck_id):
+    """Asocia la clave de idempotencia con la baraja creada."""
+    if idempotency_key:
+        IdempotencyRecord.objects.get_or_create(
+            user=user_profile, key=idempotency_key, defaults={'deck_id': deck_id})
+
+
+def deck_summary(deck, firebase_uid):
+    """Datos resumidos de una baraja recién creada, tal como los espera el cliente."""
+    return {
+        'id': deck.id,
+        'name': deck.name,
+        'user': firebase_uid,
+        'created_at': deck.created_at.isoformat()
+    }
+
+
+def generate_and_save_deck(user_profile, discipline, block_description, chosen_color):
+    """
+    Genera la baraja con el LLM/RAG y la persiste con sus cartas de una sola vez.
+    Usado por la creación síncrona que mantienen los clientes antiguos.
+    """
+    # Generar baraja usando LLM/RAG con el vector store cargado
+    logger.info("Starting deck generation with LLM")
+    generator = DeckGenerator(retriever=ApiConfig.vector_store_retriever)
+    generated_deck = generator.generate_deck(
+        discipline=discipline,
+        block_description=block_description,
+        color=chosen_color,
+        num_cards=123
+    )
+    logger.info(f"Generated deck: {generated_deck['name']}")
+
+    # Persistir baraja en base de datos
+    deck = Deck.objects.create(
+        user=user_profile,
+        name=generated_deck['name'],
+        discipline=discipline,
+        block_description=block_description,
+        chosen_color=chosen_color
+    )
+
+    # Crear cartas en lote, filtrando estrategias vacías
+    cards = [
+        Card(deck=deck, text=strategy_text)
+        for strategy_text in generated_deck['strategies']
+        if strategy_text and strategy_text.strip()
+    ]
+    Card.objects.bulk_create(cards)
+    logger.info(f"Created deck {deck.id} with {len(cards)} cards")
+
+    return deck_summary(deck, user_profile.firebase_uid)
+
+
+def stream_and_save_deck(job, user_profile, discipline, block_description,
+                         chosen_color, report, num_cards=123):
+    """
+    Genera la baraja en streaming dentro de un trabajo.
+    Crea una baraja provisional y guarda cada carta en cuanto el LLM la produce,
+    publicándola en el trabajo para los clientes conectados al stream.
+    """
+    generator = DeckGenerator(retriever=ApiConfig.vector_store_retriever)
+
+    # Baraja provisional: el nombre definitivo se genera al final
+    deck = Deck.objects.create(
+        user=user_profile,
+        name=f"Generando… {job.id[:8]}",
+        discipline=discipline,
+        block_description=block_description,
+        chosen_color=chosen_color,
+        is_ready=False
+    )
+    deck_jobs.set_deck(job, deck.id)
+
+    try:
+        report(10, 'generating_strategies')
+        card_count = 0
+        for strategy_text in generator.stream_strategies(
+                discipline, block_description, chosen_color, num_cards):
+            card = Card.objects.create(deck=deck, text=strategy_text)
+            card_count += 1
+            deck_jobs.add_card(job, {'id': card.id, 'text': card.text},
+                               10 + 70 * card_count // num_cards)
+
+        if card_count == 0:
+            raise ValueError('No se generaron estrategias')
+
+        report(80, 'naming')
+        deck.name = generator.generate_name(discipline, chosen_color)
+        deck.is_ready = True
+        report(90, 'saving')
+        deck.save(update_fields=['name', 'is_ready'])
+        logger.info(f"Streamed deck {deck.id} with {card_count} cards")
+    except Exception:
+        # No dejar barajas a medias si la generación falla
+        deck.delete()
+        raise
+
+    return deck_summary(deck, user_profile.firebase_uid)
+
+
 @csrf_exempt
 def deck_handler(request):
     """
@@ -64,8 +195,13 @@ def create_deck(request):
         data = json.loads(request.body)
         logger.debug(f"Request data keys: {list(data.keys())}")
 
-        # Autenticación Firebase mediante ID Token
-        token = data.get('token')
+        # Autenticación Firebase mediante Authorization header
+        # (se acepta el token en el cuerpo por compatibilidad con clientes antiguos)
+        auth_header = request.headers.get('Authorization')
+        if auth_header and auth_header.startswith('Bearer '):
+            token = auth_header.split(' ')[1]
+        else:
+            token = data.get('token')
         if not token:
             logger.warning("Request missing authentication token")
             return JsonResponse({'error': 'Token requerido'}, status=400)
@@ -84,8 +220,25 @@ def create_deck(request):
 
         logger.debug(f"Generation params - discipline: {discipline}, color: {chosen_color}")
 
-        # Verificar límite de barajas por usuario antes de generar
+        idempotency_key, error_response = get_idempotency_key(request)
+        if error_response is not None:
+            return error_response
+
         user_profile = get_or_create_user_profile(firebase_uid)
+
+        # Reintento de una creación que ya terminó: devolver la baraja original
+        if idempotency_key:
+            existing_deck = find_idempotent_deck(user_profile, idempotency_key)
+            if existing_deck is not None:
+                logger.info(f"Replaying deck {existing_deck.id} for idempotency key")
+                return JsonResponse({
+                    'status': 'success',
+                    'message': 'Deck creado exitosamente',
+                    'replayed': True,
+                    'deck': deck_summary(existing_deck, firebase_uid)
+                }, status=200)
+
+        # Verificar límite de barajas por usuario antes de generar
         current_deck_count = user_profile.decks.count()
 
         if current_deck_count >= 8:
@@ -94,44 +247,15 @@ def create_deck(request):
                 'error': 'Has alcanzado el límite de 8 barajas'
             }, status=400)
 
-        # Generar baraja usando LLM/RAG con el vector store cargado
-        logger.info("Starting deck generation with LLM")
-        generator = DeckGenerator(retriever=ApiConfig.vector_store_retriever)
-        generated_deck = generator.generate_deck(
-            discipline=discipline,
-            block_description=block_description,
-            color=chosen_color,
-            num_cards=123
-        )
-        logger.info(f"Generated deck: {generated_deck['name']}")
-
-        # Persistir baraja en base de datos
-        deck = Deck.objects.create(
-            user=user_profile,
-            name=generated_deck['name'],
-            discipline=discipline,
-            block_description=block_description,
-            chosen_color=chosen_color
+        deck_data = generate_and_save_deck(
+            user_profile, discipline, block_description, chosen_color
         )
-
-        # Crear cartas en lote, filtrando estrategias vacías
-        cards = [
-            Card(deck=deck, text=strategy_text)
-            for strategy_text in generated_deck['strategies']
-            if strategy_text and strategy_text.strip()
-        ]
-        Card.objects.bulk_create(cards)
-        logger.info(f"Created deck {deck.id} with {len(cards)} cards")
+        remember_idempotent_deck(user_profile, idempotency_key, deck_data['id'])
 
         return JsonResponse({
             'status': 'success',
             'message': 'Deck creado exitosamente',
-            'deck': {
-                'id': deck.id,
-                'name': deck.name,
-                'user': firebase_uid,
-                'created_at': deck.created_at.isoformat()
-            }
+            'deck': deck_data
         }, status=201)
 
     except json.JSONDecodeError:
@@ -142,6 +266,223 @@ def create_deck(request):
         return JsonResponse({'error': str(e)}, status=500)
 
 
+def find_idempotent_job(user_profile, firebase_uid, idempotency_key):
+    """
+    Estado a devolver ante un reintento con la misma clave: el trabajo si sigue
+    registrado o, si ya se descartó, un trabajo terminado con la baraja creada.
+    """
+    job = deck_jobs.find_by_key(firebase_uid, idempotency_key)
+    if job is not None:
+        return job
+
+    deck = find_idempotent_deck(user_profile, idempotency_key)
+    if deck is None:
+        return None
+    logger.info(f"Replaying deck {deck.id} for idempotency key")
+    return {
+        'job_id': idempotency_key,
+        'status': 'completed',
+        'progress': 100,
+        'stage': 'done',
+        'version': 0,
+        'deck': deck_summary(deck, firebase_uid),
+        'error': None,
+        'deck_id': deck.id,
+        'card_count': deck.cards.count(),
+    }
+
+
+@csrf_exempt
+def deck_job_handler(request):
+    """
+    Maneja POST para /api/deck/jobs/
+    Encola la generación de una baraja y responde de inmediato con el trabajo.
+    """
+    if request.method == 'POST':
+        return create_deck_job(request)
+    else:
+        return JsonResponse({'error': 'Método no permitido'}, status=405)
+
+
+def create_deck_job(request):
+    """
+    Crea un trabajo de generación de baraja en segundo plano.
+    Proceso: validar token → verificar límites → encolar → responder 202 con el job_id.
+    Con Idempotency-Key, un reintento recibe el trabajo o la baraja originales (200).
+    """
+    logger.info("Deck job request received")
+
+    if ApiConfig.vector_store_retriever is None:
+        logger.error("Vector store not loaded - service unavailable")
+        return JsonResponse(
+            {'error': 'Vector store no cargado. El servicio no está listo.'},
+            status=503
+        )
+
+    try:
+        data = json.loads(request.body)
+
+        # Autenticación Firebase mediante Authorization header
+        auth_header = request.headers.get('Authorization')
+        if not auth_header or not auth_header.startswith('Bearer '):
+            logger.warning("Missing or invalid Authorization header")
+            return JsonResponse({'error': 'Token requerido'}, status=401)
+
+        token = auth_header.split(' ')[1]
+        firebase_uid = verify_id_token(token)
+        if not firebase_uid:
+            logger.warning("Invalid Firebase token provided")
+            return JsonResponse({'error': 'Token inválido'}, status=401)
+
+        discipline = data.get('discipline', 'Arte')
+        block_description = data.get('blockDescription', 'Bloqueo general')
+        chosen_color = data.get('color', '#000000')
+
+        idempotency_key, error_response = get_idempotency_key(request)
+        if error_response is not None:
+            return error_response
+
+        user_profile = get_or_create_user_profile(firebase_uid)
+
+        # Reintento: devolver el trabajo en curso o la baraja ya creada con la misma clave
+        if idempotency_key:
+            replayed_job = find_idempotent_job(user_profile, firebase_uid, idempotency_key)
+            if replayed_job is not None:
+                return JsonResponse({
+                    'status': 'success',
+                    'message': 'Solicitud ya recibida',
+                    'replayed': True,
+                    'job': replayed_job
+                }, status=200)
+
+        # Barajas provisionales sin trabajo activo (p. ej. tras un reinicio): descartarlas
+        user_profile.decks.filter(is_ready=False).exclude(
+            id__in=deck_jobs.active_deck_ids(firebase_uid)).delete()
+
+        # Los trabajos en curso cuentan para el límite de barajas
+        current_deck_count = (user_profile.decks.filter(is_ready=True).count()
+                              + deck_jobs.active_count(firebase_uid))
+
+        if current_deck_count >= 8:
+            logger.warning(f"User {firebase_uid} exceeded deck limit ({current_deck_count}/8)")
+            return JsonResponse({
+                'error': 'Has alcanzado el límite de 8 barajas'
+            }, status=400)
+
+        def work(job, report):
+            try:
+                deck_data = stream_and_save_deck(
+                    job, user_profile, discipline, block_description, chosen_color, report
+                )
+                # Registrar la clave antes de marcar el trabajo como terminado
+                remember_idempotent_deck(user_profile, idempotency_key, deck_data['id'])
+                return deck_data
+            finally:
+                # Cada hilo del pool abre su propia conexión: cerrarla al terminar
+                connection.close()
+
+        job, created = deck_jobs.submit(firebase_uid, work, idempotency_key)
+
+        return JsonResponse({
+            'status': 'success',
+            'message': 'Generación en curso' if created else 'Solicitud ya recibida',
+            'replayed': not created,
+            'job': job
+        }, status=202 if created else 200)
+
+    except json.JSONDecodeError:
+        logger.error("Invalid JSON in request body")
+        return JsonResponse({'error': 'JSON inválido'}, status=400)
+    except Exception as e:
+        logger.error(f"Unexpected error creating deck job: {e}")
+        return JsonResponse({'error': str(e)}, status=500)
+
+
+@cache_control(no_store=True)
+def get_deck_job(request, job_id):
+    """
+    Devuelve el estado de un trabajo de generación.
+    Con ?wait=N&since=V la respuesta se retiene hasta N segundos
+    mientras el trabajo no cambie respecto a la versión V (long-polling).
+    """
+    if request.method != 'GET':
+        return JsonResponse({'error': 'Método no permitido'}, status=405)
+
+    try:
+        auth_header = request.headers.get('Authorization')
+        if not auth_header or not auth_header.startswith('Bearer '):
+            logger.warning("Missing or invalid Authorization header")
+            return JsonResponse({'error': 'Token requerido'}, status=401)
+
+        token = auth_header.split(' ')[1]
+        firebase_uid = verify_id_token(token)
+        if not firebase_uid:
+            logger.warning("Invalid Firebase token provided")
+            return JsonResponse({'error': 'Token inválido'}, status=401)
+
+        try:
+            wait_seconds = min(max(float(request.GET.get('wait', 0)), 0), MAX_JOB_WAIT_SECONDS)
+            since_version = int(request.GET.get('since', -1))
+        except ValueError:
+            return JsonResponse({'error': 'Parámetros inválidos'}, status=400)
+
+        job = deck_jobs.get(job_id, firebase_uid, since_version, wait_seconds)
+        if job is None:
+            logger.warning(f"Deck job {job_id} not found for user {firebase_uid}")
+            return JsonResponse({'error': 'Trabajo no encontrado'}, status=404)
+
+        return JsonResponse({
+            'status': 'success',
+            'job': job
+        })
+
+    except Exception as e:
+        logger.error(f"Error getting deck job: {e}")
+        return JsonResponse({'error': str(e)}, status=500)
+
+
+@cache_control(no_store=True)
+def get_deck_job_stream(request, job_id):
+    """
+    Emite los eventos de un trabajo como JSON delimitado por saltos de línea (NDJSON):
+    deck, card (una por estrategia), progress, heartbeat y completed/failed.
+    Con ?from=N se omiten las N primeras cartas, para reanudar tras un corte.
+    """
+    if request.method != 'GET':
+        return JsonResponse({'error': 'Método no permitido'}, status=405)
+
+    auth_header = request.headers.get('Authorization')
+    if not auth_header or not auth_header.startswith('Bearer '):
+        logger.warning("Missing or invalid Authorization header")
+        return JsonResponse({'error': 'Token requerido'}, status=401)
+
+    token = auth_header.split(' ')[1]
+    firebase_uid = verify_id_token(token)
+    if not firebase_uid:
+        logger.warning("Invalid Firebase token provided")
+        return JsonResponse({'error': 'Token inválido'}, status=401)
+
+    try:
+        from_card = int(request.GET.get('from', 0))
+    except ValueError:
+        return JsonResponse({'error': 'Parámetros inválidos'}, status=400)
+
+    events = deck_jobs.stream(job_id, firebase_uid, from_card)
+    if events is None:
+        logger.warning(f"Deck job {job_id} not found for user {firebase_uid}")
+        return JsonResponse({'error': 'Trabajo no encontrado'}, status=404)
+
+    response = StreamingHttpResponse(
+        (json.dumps(event, ensure_ascii=False) + '\n' for event in events),
+        content_type='application/x-ndjson'
+    )
+    # Evitar que un proxy intermedio acumule la respuesta
+    response['X-Accel-Buffering'] = 'no'
+    return response
+
+
+# Caché privada del cliente, siempre revalidada con ETag (ConditionalGetMiddleware)
+@cache_control(private=True, no_cache=True)
 def list_decks(request):
     """
     Lista las barajas del usuario autenticado.
@@ -176,7 +517,8 @@ def list_decks(request):
             'discipline': deck.discipline,
             'chosen_color': deck.chosen_color,
             'created_at': deck.created_at.isoformat(),
-            'card_count': deck.cards.count()
+            'card_count': deck.cards.count(),
+            'is_ready': deck.is_ready
         } for deck in decks]
 
         return JsonResponse({
@@ -204,6 +546,7 @@ def deck_detail_handler(request, deck_id):
         return JsonResponse({'error': 'Método no permitido'}, status=405)
 
 
+@cache_control(private=True, no_cache=True)
 def get_deck_detail(request, deck_id):
     """
     Obtiene detalles completos de una baraja con sus cartas.